@@ -21,6 +21,8 @@ import java.util.stream.*;
 import org.eclipse.swt.*;
 import org.eclipse.swt.custom.*;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.*;
+import org.eclipse.swt.internal.ResourceTracker.*;
 import org.eclipse.swt.internal.WidgetSpy.*;
 import org.eclipse.swt.layout.*;
 import org.eclipse.swt.widgets.*;
@@ -52,6 +54,13 @@ public class Sleak {
 
 	NonDisposedWidgetTracker nonDisposedWidgetTracker = new NonDisposedWidgetTracker();
 
+	/* Allocation site histogram, only available on platforms providing a ResourceTracker */
+	static final String RESOURCE_TRACKER_KEY = "org.eclipse.swt.internal.resourceTracker";
+	static final int MAX_ALLOCATION_SITES = 10;
+	ResourceTracker resourceTracker;
+	long allocationSitesStamp;
+	Set<AllocationSite> allocationSites = new HashSet<> ();
+
 public static void main (String [] args) {
 	DeviceData data = new DeviceData();
 	data.tracking = true;
@@ -193,7 +202,32 @@ void refreshLabel (java.util.List<ObjectWithError> createdObjects, java.util.Lis
 	deletedAndCreated.distinct().sorted().forEach(type -> addCounts(sb, type, deleted.get(type), created.get(type)));
 
 	String description = sb.length() > 0 ? sb.toString() :  "0 object(s)";
-	list.setToolTipText(description);
+	list.setToolTipText(description + getAllocationSitesDescription());
+}
+
+String getAllocationSitesDescription () {
+	Object tracker = list.getDisplay().getData(RESOURCE_TRACKER_KEY);
+	if (!(tracker instanceof ResourceTracker)) {
+		resourceTracker = null;
+		allocationSites.clear();
+		return "";
+	}
+	if (tracker != resourceTracker) {
+		resourceTracker = (ResourceTracker) tracker;
+		allocationSitesStamp = 0;
+		allocationSites.clear();
+	}
+	// Only the sites which changed since the last snapshot are returned by the tracker
+	long stamp = resourceTracker.getStamp();
+	allocationSites.addAll(resourceTracker.getAllocationSites(allocationSitesStamp));
+	allocationSitesStamp = stamp;
+	StringBuilder sb = new StringBuilder("\nTop allocation sites:\n");
+	allocationSites.stream()
+		.filter(site -> site.getLiveCount() > 0)
+		.sorted(Comparator.comparingInt(AllocationSite::getLiveCount).reversed())
+		.limit(MAX_ALLOCATION_SITES)
+		.forEach(site -> sb.append(site).append('\n'));
+	return sb.toString();
 }
 
 static void addCounts (StringBuilder string, String type, Long deleted, Long created) {
@@ -314,6 +348,7 @@ private DeviceData getDeviceData(Display display) {
 }
 
 boolean creatorEquals (StackTraceElement first, StackTraceElement second) {
+	if (first == null || second == null) return first == second;
 	switch (diffType.getSelectionIndex()) {
 		case 1: return first.equals(second);
 		case 2: return first.getClassName().equals(second.getClassName());
@@ -378,7 +413,7 @@ private void saveToFile(boolean prompt) {
 				file.print(suffix);
 			}
 			file.println();
-			if (stackTrace.getSelection()) {
+			if (stackTrace.getSelection() && error != null) {
 				error.printStackTrace(file);
 				System.out.println();
 			}
@@ -522,7 +557,8 @@ private static final class ObjectWithError {
 	}
 
 	StackTraceElement getCreator() {
-		if (creator == null) {
+		// The creation stack is null when the device only samples stack traces
+		if (creator == null && error != null) {
 			String objectType = object.getClass().getName();
 			Iterator<StackTraceElement> stack = Arrays.asList(error.getStackTrace()).iterator();
 			while (stack.hasNext()) {
@@ -537,6 +573,9 @@ private static final class ObjectWithError {
 	}
 
 	String getStack() {
+		if (stack == null && error == null) {
+			stack = "Creation stack trace not sampled";
+		}
 		if (stack == null) {
 			ByteArrayOutputStream stream = new ByteArrayOutputStream();
 			PrintStream s = new PrintStream(stream);
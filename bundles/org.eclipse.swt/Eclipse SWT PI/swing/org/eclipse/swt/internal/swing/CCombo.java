@@ -21,9 +21,8 @@ import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 
-import javax.swing.DefaultComboBoxModel;
+import javax.swing.ComboBoxModel;
 import javax.swing.DefaultListCellRenderer;
-import javax.swing.DefaultListModel;
 import javax.swing.ImageIcon;
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
@@ -41,6 +40,7 @@ import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DocumentFilter;
 import javax.swing.text.JTextComponent;
+import javax.swing.text.Position;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Combo;
@@ -52,6 +52,7 @@ class CComboSimple extends JPanel implements CCombo {
   protected JTextField textField;
   protected JScrollPane scrollPane;
   protected JList list;
+  protected ComboItemModel itemModel;
 
   public void requestFocus() {
     textField.requestFocus();
@@ -109,7 +110,17 @@ class CComboSimple extends JPanel implements CCombo {
     userAttributeHandler = new UserAttributeHandler(textField);
     add(textField, BorderLayout.NORTH);
     scrollPane = new JScrollPane();
-    list = new JList(new DefaultListModel()) {
+    itemModel = new ComboItemModel();
+    list = new JList(itemModel) {
+      public int getNextMatch(String prefix, int startIndex, Position.Bias bias) {
+        if(bias != Position.Bias.Forward) {
+          return super.getNextMatch(prefix, startIndex, bias);
+        }
+        if(prefix == null || startIndex < 0 || startIndex >= itemModel.getSize()) {
+          throw new IllegalArgumentException();
+        }
+        return itemModel.indexOfPrefix(prefix, startIndex);
+      }
       public Dimension getPreferredScrollableViewportSize() {
         Dimension preferredSize = getPreferredSize();
         preferredSize.width += scrollPane.getVerticalScrollBar().getPreferredSize().width;
@@ -243,27 +254,44 @@ class CComboSimple extends JPanel implements CCombo {
   }
 
   public void addItem(Object o) {
-    ((DefaultListModel)list.getModel()).addElement(o);
+    itemModel.addElement(o);
   }
 
   public Object getItemAt(int index) {
-    return list.getModel().getElementAt(index);
+    return itemModel.getElementAt(index);
   }
 
   public void removeItemAt(int index) {
-    ((DefaultListModel)list.getModel()).remove(index);
+    itemModel.removeElementAt(index);
+  }
+
+  public void removeItems(int start, int end) {
+    itemModel.removeRange(start, end);
   }
 
   public void removeAllItems() {
-    ((DefaultListModel)list.getModel()).removeAllElements();
+    itemModel.removeAllElements();
   }
 
   public void insertElementAt(Object o, int index) {
-    ((DefaultListModel)list.getModel()).add(index, o);
+    itemModel.insertElementAt(o, index);
+  }
+
+  public void setItems(String[] items) {
+    list.clearSelection();
+    itemModel.setElements(items);
+  }
+
+  public String[] getItems() {
+    return itemModel.getStrings();
+  }
+
+  public int indexOf(String text, int start) {
+    return itemModel.indexOf(text, start);
   }
 
   public int getItemCount() {
-    return list.getModel().getSize();
+    return itemModel.getSize();
   }
 
   public int getSelectedIndex() {
@@ -372,6 +400,7 @@ class CComboImplementation extends JComboBox implements CCombo {
   }
   
   public CComboImplementation(Combo combo, int style) {
+    super(new ComboItemModel());
     this.handle = combo;
     userAttributeHandler = new UserAttributeHandler(this);
     setLightWeightPopupEnabled(Utils.isLightweightPopups());
@@ -432,6 +461,28 @@ class CComboImplementation extends JComboBox implements CCombo {
         handle.processEvent(e);
       }
     });
+    setKeySelectionManager(new KeySelectionManager() {
+      protected String typedPrefix = "";
+      protected long lastKeyTime;
+      public int selectionForKey(char aKey, ComboBoxModel aModel) {
+        long time = System.currentTimeMillis();
+        String prefix = String.valueOf(aKey);
+        if(time - lastKeyTime < TYPE_AHEAD_DELAY && !(typedPrefix.length() == 1 && typedPrefix.charAt(0) == aKey)) {
+          prefix = typedPrefix + aKey;
+        }
+        typedPrefix = prefix;
+        lastKeyTime = time;
+        int selectedIndex = getSelectedIndex();
+        // A new prefix moves to the next item, a longer one may stay on the selected item.
+        return getItemModel().indexOfPrefix(prefix, prefix.length() == 1? selectedIndex + 1: Math.max(selectedIndex, 0));
+      }
+    });
+  }
+
+  protected static final int TYPE_AHEAD_DELAY = 1000;
+
+  protected ComboItemModel getItemModel() {
+    return (ComboItemModel)getModel();
   }
 
   public JScrollBar getHorizontalScrollBar() {
@@ -449,7 +500,36 @@ class CComboImplementation extends JComboBox implements CCombo {
   }
 
   public void insertElementAt(Object anObject, int index) {
-    ((DefaultComboBoxModel)getModel()).insertElementAt(anObject, index);
+    getItemModel().insertElementAt(anObject, index);
+  }
+
+  public void removeItems(int start, int end) {
+    getItemModel().removeRange(start, end);
+  }
+
+  public void removeAllItems() {
+    getItemModel().removeAllElements();
+    selectedItemReminder = null;
+    if(isEditable()) {
+      editor.setItem(null);
+    }
+  }
+
+  public void setItems(String[] items) {
+    getItemModel().setElements(items);
+  }
+
+  public String[] getItems() {
+    return getItemModel().getStrings();
+  }
+
+  public int indexOf(String text, int start) {
+    return getItemModel().indexOf(text, start);
+  }
+
+  public int getSelectedIndex() {
+    Object selectedItem = getModel().getSelectedItem();
+    return selectedItem == null? -1: getItemModel().indexOf(String.valueOf(selectedItem), 0);
   }
 
   public String getEditorText() {
@@ -582,8 +662,25 @@ public interface CCombo extends CComposite {
 
   public void removeAllItems();
 
+  /**
+   * Removes the items between two indices, inclusive.
+   */
+  public void removeItems(int start, int end);
+
   public void insertElementAt(Object anObject, int index);
 
+  /**
+   * Replaces all the items at once.
+   */
+  public void setItems(String[] items);
+
+  public String[] getItems();
+
+  /**
+   * Returns the first index from a start index whose item has a text, or -1.
+   */
+  public int indexOf(String text, int start);
+
   public int getItemCount();
 
   public int getSelectedIndex();
@@ -14,7 +14,9 @@ import java.awt.Container;
 import java.awt.Cursor;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.event.PaintEvent;
 
 import javax.swing.ImageIcon;
@@ -89,6 +91,24 @@ class CCompositeImplementation extends JPanel implements CComposite {
         return (CCompositeImplementation.this == null || backgroundImageIcon == null) && super.isOpaque();
       }
       protected void paintComponent (Graphics g) {
+        RetainedBuffer retainedBuffer = RetainedBuffer.getRetainedBuffer(this);
+        if(retainedBuffer != null && retainedBuffer.validate(this)) {
+          Rectangle updateRect = retainedBuffer.getUpdateRect(g.getClipBounds());
+          if(updateRect != null) {
+            Graphics2D bufferGraphics = retainedBuffer.createGraphics(updateRect);
+            graphics = bufferGraphics;
+            putClientProperty(Utils.SWTSwingGraphics2DClientProperty, bufferGraphics);
+            super.paintComponent(bufferGraphics);
+            handle.processEvent(new PaintEvent(this, PaintEvent.PAINT, updateRect));
+            putClientProperty(Utils.SWTSwingGraphics2DClientProperty, null);
+            graphics = null;
+            bufferGraphics.dispose();
+          }
+          if(!retainedBuffer.show(g)) {
+            repaint();
+          }
+          return;
+        }
         graphics = g;
         putClientProperty(Utils.SWTSwingGraphics2DClientProperty, g);
         if(!(getParent() instanceof JViewport)) {
@@ -35,10 +35,7 @@ import java.awt.event.PaintEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -945,41 +942,35 @@ public interface CShell extends CScrollable {
 
   public static interface CEmbeddedShell {}
   
+  /**
+   * Blocks the input to the shells which are blocked by modal shells.
+   * <p>
+   * The blocked state of each shell is computed when a shell is shown or
+   * hidden, and the first of its blockers is kept, so that filtering an
+   * input event only reads the handler of the window it is targeted at.
+   * </p>
+   */
   public static class ModalityHandler {
     
     protected List blockerList = new ArrayList(0);
     protected static List applicationBlockerList = new ArrayList(0);
+    /** The handlers of the shells which are shown, in the order they were shown. */
+    protected static List shownHandlerList = new ArrayList();
 
     protected static final CShell[] NO_BLOCKERS = new CShell[0];
-    protected static Set windowSet = new HashSet();
     
     public static void initialize() {
-      Toolkit defaultToolkit = Toolkit.getDefaultToolkit();
-      defaultToolkit.addAWTEventListener(new AWTEventListener() {
-        public void eventDispatched(AWTEvent event) {
-          if(event.getSource() instanceof Window) {
-            switch(event.getID()) {
-              case ComponentEvent.COMPONENT_SHOWN:
-                windowSet.add(event.getSource());
-                break;
-              case ComponentEvent.COMPONENT_HIDDEN:
-                windowSet.remove(event.getSource());
-                break;
-            }
-          }
-        }
-      }, ComponentEvent.COMPONENT_EVENT_MASK);
-      defaultToolkit.addAWTEventListener(new AWTEventListener() {
+      Toolkit.getDefaultToolkit().addAWTEventListener(new AWTEventListener() {
         public void eventDispatched(AWTEvent event) {
           InputEvent ie = (InputEvent)event;
           Component component = ie.getComponent();
           if(component != null) {
-            Window window = SwingUtilities.getWindowAncestor(component);
+            Window window = component instanceof Window? (Window)component: SwingUtilities.getWindowAncestor(component);
             if(window instanceof CShell) {
-              CShell[] blockers = ((CShell)window).getModalityHandler().getBlockers();
-              if(blockers.length != 0) {
+              CShell blocker = ((CShell)window).getModalityHandler().blocker;
+              if(blocker != null) {
                 if(ie.getID() == MouseEvent.MOUSE_PRESSED) {
-                  blockers[0].getModalityHandler().advertiseBlocker();
+                  blocker.getModalityHandler().advertiseBlocker();
                 }
                 ie.consume();
                 return;
@@ -1039,6 +1030,8 @@ public interface CShell extends CScrollable {
     
     protected Shell parent;
     protected CShell cShell;
+    /** The first shell blocking this one, or null if it is not blocked. Read on the event dispatch thread. */
+    protected volatile CShell blocker;
     
     protected ModalityHandler(CShell cShell) {
       this.cShell = cShell;
@@ -1046,13 +1039,18 @@ public interface CShell extends CScrollable {
     
     protected boolean isEnabled;
     
-    protected void adjustBlockedShells() {
-      for(Iterator it=windowSet.iterator(); it.hasNext(); ) {
-        Window window = (Window)it.next();
-        if(window instanceof CShell) {
-          CShell cShell = (CShell)window;
-          cShell.setModallyBlocked(cShell.getModalityHandler().isBlocked());
-        }
+    protected static void adjustBlockedShells() {
+      for(int i=shownHandlerList.size()-1; i>=0; i--) {
+        ((ModalityHandler)shownHandlerList.get(i)).adjustBlocked();
+      }
+    }
+    
+    protected void adjustBlocked() {
+      CShell[] blockers = getBlockers();
+      blocker = blockers.length == 0? null: blockers[0];
+      boolean isBlocked = isBlocked();
+      if(cShell.isModallyBlocked() != isBlocked) {
+        cShell.setModallyBlocked(isBlocked);
       }
     }
     
@@ -1065,6 +1063,7 @@ public interface CShell extends CScrollable {
         if(!handle.isDisposed()) {
           parent = (Shell)cShell.getSWTHandle().getParent();
           this.isEnabled = isEnabled;
+          shownHandlerList.add(this);
           int style = handle.getStyle();
           if((style & SWT.APPLICATION_MODAL) != 0 || (style & SWT.SYSTEM_MODAL) != 0) {
             applicationBlockerList.add(cShell);
@@ -1076,6 +1075,9 @@ public interface CShell extends CScrollable {
           }
         }
       } else {
+        this.isEnabled = isEnabled;
+        shownHandlerList.remove(this);
+        blocker = null;
         applicationBlockerList.remove(cShell);
         if(parent != null) {
           ((CShell)parent.handle).getModalityHandler().blockerList.remove(cShell);
@@ -25,7 +25,10 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
 import java.awt.event.PaintEvent;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.EventObject;
+import java.util.function.IntPredicate;
 
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListSelectionModel;
@@ -43,13 +46,14 @@ import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.event.TableColumnModelEvent;
 import javax.swing.event.TableColumnModelListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 import javax.swing.table.TableColumnModel;
-import javax.swing.table.TableModel;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.swing.CTableItem.TableItemObject;
@@ -92,9 +96,24 @@ class CTableImplementation extends JScrollPane implements CTable {
 
   public class CTableModel extends AbstractTableModel {
     protected Table table;
+    protected boolean isCachingRowValues;
+    protected int cachedRow = -1;
+    protected CTableItem cachedRowItem;
+    protected TableItemObject[] cachedRowValues = new TableItemObject[0];
     protected CTableModel(Table table) {
       this.table = table;
     }
+    /**
+     * Keeps the values of the row read last, so that the cells of a row
+     * look up the item once, while the cells are painted and the items
+     * cannot change.
+     */
+    protected void setCachingRowValues(boolean isCachingRowValues) {
+      this.isCachingRowValues = isCachingRowValues;
+      cachedRow = -1;
+      cachedRowItem = null;
+      Arrays.fill(cachedRowValues, null);
+    }
     public int getRowCount() {
 //      if(table.isDisposed()) return 0;
 //      return table.getItemCount();
@@ -104,7 +123,30 @@ class CTableImplementation extends JScrollPane implements CTable {
       return table.getColumnCount();
     }
     public Object getValueAt(int rowIndex, int columnIndex) {
-      return table.getItem(rowIndex).handle.getTableItemObject(columnIndex);
+      if(!isCachingRowValues) {
+        return table.getItem(rowIndex).handle.getTableItemObject(columnIndex);
+      }
+      if(rowIndex != cachedRow) {
+        cachedRowItem = table.getItem(rowIndex).handle;
+        cachedRow = rowIndex;
+        Arrays.fill(cachedRowValues, null);
+      }
+      if(columnIndex >= cachedRowValues.length) {
+        TableItemObject[] newCachedRowValues = new TableItemObject[columnIndex + 1];
+        System.arraycopy(cachedRowValues, 0, newCachedRowValues, 0, cachedRowValues.length);
+        cachedRowValues = newCachedRowValues;
+      }
+      TableItemObject value = cachedRowValues[columnIndex];
+      if(value == null) {
+        value = cachedRowItem.getTableItemObject(columnIndex);
+        cachedRowValues[columnIndex] = value;
+      }
+      return value;
+    }
+    public void fireTableChanged(TableModelEvent e) {
+      cachedRow = -1;
+      cachedRowItem = null;
+      super.fireTableChanged(e);
     }
   }
 
@@ -166,7 +208,7 @@ class CTableImplementation extends JScrollPane implements CTable {
         return new Dimension(width, getPreferredSize().height);
       }
       final JTable table = this;
-      protected TableCellRenderer renderer = new DefaultTableCellRenderer() {
+      protected class CellRenderer extends DefaultTableCellRenderer {
         protected boolean isInitialized;
         protected boolean isDefaultOpaque;
         protected boolean isSelectionOpaque;
@@ -177,10 +219,27 @@ class CTableImplementation extends JScrollPane implements CTable {
         protected Color selectionBackground;
         protected Font selectionFont;
         public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-          if(value instanceof CTableItem.TableItemObject) {
+          if(this == renderer && isCheckType && column == table.convertColumnIndexToView(0)) {
+            if(checkColumnRenderer == null) {
+              checkColumnRenderer = new CellRenderer();
+            }
+            return checkColumnRenderer.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+          }
+          if(value instanceof CTableItem.TableItemObject && isPaintingDirectly) {
             tableItemObject = (CTableItem.TableItemObject)value;
-            CellPaintEvent event = new CellPaintEvent(table, CellPaintEvent.ERASE_TYPE);
-            event.row = row;
+            isOwnerDrawn = false;
+            ignoreDrawForeground = false;
+            ignoreDrawBackground = false;
+            ignoreDrawSelection = !isSelected;
+            ignoreDrawFocused = !hasFocus;
+            this.row = row;
+            this.column = column;
+          } else if(value instanceof CTableItem.TableItemObject) {
+            tableItemObject = (CTableItem.TableItemObject)value;
+            isOwnerDrawn = true;
+            int itemIndex = convertRowIndexToModel(row);
+            CellPaintEvent event = obtainCellPaintEvent(CellPaintEvent.ERASE_TYPE);
+            event.row = itemIndex;
             event.column = column;
             event.tableItem = tableItemObject.getTableItem();
             event.ignoreDrawSelection = !isSelected;
@@ -190,9 +249,10 @@ class CTableImplementation extends JScrollPane implements CTable {
             ignoreDrawBackground = event.ignoreDrawBackground;
             ignoreDrawSelection = event.ignoreDrawSelection;
             ignoreDrawFocused = event.ignoreDrawFocused;
+            releaseCellPaintEvent(event);
             isSelected = !event.ignoreDrawSelection;
             hasFocus = !event.ignoreDrawFocused;
-            this.row = row;
+            this.row = itemIndex;
             this.column = column;
           } else {
             tableItemObject = null;
@@ -287,13 +347,31 @@ class CTableImplementation extends JScrollPane implements CTable {
           if(!isCheckType || column != table.convertColumnIndexToView(0)) {
             return c;
           }
-          CheckBoxCellRenderer checkBoxCellRenderer = new CheckBoxCellRenderer(c);
-          if(tableItemObject != null) {
-            checkBoxCellRenderer.getStateCheckBox().setSelected(tableItemObject.isChecked());
+          // This renderer only renders the check column, so its label stays in the check box panel.
+          if(checkBoxCellRenderer == null) {
+            checkBoxCellRenderer = new CheckBoxCellRenderer(c);
           }
+          checkBoxCellRenderer.getStateCheckBox().setSelected(tableItemObject != null && tableItemObject.isChecked());
           return checkBoxCellRenderer;
         }
+        protected CheckBoxCellRenderer checkBoxCellRenderer;
         protected CTableItem.TableItemObject tableItemObject;
+        /** Whether the events are sent for the cell, which is false when the pass has no owner draw listeners. */
+        protected boolean isOwnerDrawn;
+        /** The event sent for the cells, unless a cell event is being sent. */
+        protected CellPaintEvent cellPaintEvent;
+        protected CellPaintEvent obtainCellPaintEvent(int type) {
+          CellPaintEvent event = cellPaintEvent;
+          if(event == null) {
+            return new CellPaintEvent(table, type);
+          }
+          cellPaintEvent = null;
+          event.reset(type);
+          return event;
+        }
+        protected void releaseCellPaintEvent(CellPaintEvent event) {
+          cellPaintEvent = event;
+        }
         protected int row;
         protected int column;
         protected boolean ignoreDrawForeground;
@@ -309,8 +387,8 @@ class CTableImplementation extends JScrollPane implements CTable {
           }
 //          graphics = g;
           super.paintComponent(g);
-          if(tableItemObject != null) {
-            CellPaintEvent event = new CellPaintEvent(table, CellPaintEvent.PAINT_TYPE);
+          if(tableItemObject != null && isOwnerDrawn) {
+            CellPaintEvent event = obtainCellPaintEvent(CellPaintEvent.PAINT_TYPE);
             event.row = row;
             event.column = column;
             event.tableItem = tableItemObject.getTableItem();
@@ -319,10 +397,14 @@ class CTableImplementation extends JScrollPane implements CTable {
             event.ignoreDrawSelection = this.ignoreDrawSelection;
             event.ignoreDrawFocused = this.ignoreDrawFocused;
             handle.processEvent(event);
+            releaseCellPaintEvent(event);
           }
 //          graphics = null;
         }
-      };
+      }
+      protected CellRenderer renderer = new CellRenderer();
+      /** Renders the check column with its own label, which the renderer pane does not take for the other cells. */
+      protected CellRenderer checkColumnRenderer;
       public TableCellRenderer getCellRenderer(int row, int column) {
         return renderer;
       }
@@ -443,10 +525,25 @@ class CTableImplementation extends JScrollPane implements CTable {
       public boolean isOpaque() {
         return backgroundImageIcon == null && super.isOpaque();
       }
+      protected final CellPaintEvent beginPassEvent = new CellPaintEvent(this, CellPaintEvent.BEGIN_PASS_TYPE);
+      protected final CellPaintEvent endPassEvent = new CellPaintEvent(this, CellPaintEvent.END_PASS_TYPE);
+      /** Whether the cells of the pass are rendered from the items alone, without owner draw events. */
+      protected boolean isPaintingDirectly;
       protected void paintComponent (Graphics g) {
         graphics = g;
         putClientProperty(Utils.SWTSwingGraphics2DClientProperty, g);
-        super.paintComponent(g);
+        beginPassEvent.isOwnerDrawn = true;
+        handle.processEvent(beginPassEvent);
+        CTableModel model = (CTableModel)getModel();
+        isPaintingDirectly = !beginPassEvent.isOwnerDrawn;
+        model.setCachingRowValues(isPaintingDirectly);
+        try {
+          super.paintComponent(g);
+        } finally {
+          isPaintingDirectly = false;
+          model.setCachingRowValues(false);
+          handle.processEvent(endPassEvent);
+        }
         handle.processEvent(new PaintEvent(this, PaintEvent.PAINT, null));
         putClientProperty(Utils.SWTSwingGraphics2DClientProperty, null);
         graphics = null;
@@ -474,7 +571,7 @@ class CTableImplementation extends JScrollPane implements CTable {
                 if(component == stateCheckBox) {
                   switch(me.getID()) {
                   case MouseEvent.MOUSE_PRESSED:
-                    CTableItem cTableItem = handle.getItem(row).handle;
+                    CTableItem cTableItem = handle.getItem(convertRowIndexToModel(row)).handle;
                     TableItemObject tableItemObject = cTableItem.getTableItemObject(0);
                     boolean ischecked = !tableItemObject.isChecked();
                     tableItemObject.getTableItem().setChecked(ischecked);
@@ -723,9 +820,10 @@ class CTableImplementation extends JScrollPane implements CTable {
   }
 
   public Rectangle getCellRect(int row, int column, boolean includeSpacing) {
-    Rectangle cellRect = table.getCellRect(row, column, includeSpacing);
-    if(isCheckType && column == 0) {
-      Component c = getCellRenderer(row, column).getTableCellRendererComponent(table, getModel().getValueAt(row, column), false, false, row, column);
+    int viewRow = convertRowIndexToView(row);
+    Rectangle cellRect = table.getCellRect(viewRow, column, includeSpacing);
+    if(isCheckType && column == 0 && viewRow != -1) {
+      Component c = getCellRenderer(viewRow, column).getTableCellRendererComponent(table, getModel().getValueAt(row, column), false, false, viewRow, column);
       c.setBounds(cellRect);
       c.validate();
       if(c instanceof CheckBoxCellRenderer) {
@@ -763,19 +861,8 @@ class CTableImplementation extends JScrollPane implements CTable {
   }
 
   public int getPreferredColumnWidth(int columnIndex) {
-    int count = handle.getItemCount();
     int newWidth = Math.max(table.getColumnModel().getColumn(columnIndex).getMinWidth(), 10);
-    if((handle.getStyle() & SWT.VIRTUAL) != 0) {
-      // TODO: is there a way to know the preferred size? The method below generates an exception (cf Snippet144)
-      return newWidth;
-    }
-    // TODO: is there a better way than this hack?
-    TableModel model = table.getModel();
-    for(int i=0; i<count; i++) {
-      javax.swing.table.TableCellRenderer renderer = table.getCellRenderer(i, columnIndex);
-      java.awt.Component component = renderer.getTableCellRendererComponent(table, model.getValueAt(i, columnIndex), false, false, i, columnIndex);
-      newWidth = Math.max(newWidth, (int)component.getPreferredSize().getWidth());
-    }
+    newWidth = Math.max(newWidth, getEstimatedColumnWidth(columnIndex));
     JTableHeader tableHeader = getTableHeader();
     TableColumn column = tableHeader.getColumnModel().getColumn(columnIndex);
     java.awt.Component component = tableHeader.getDefaultRenderer().getTableCellRendererComponent(table, column.getHeaderValue(), false, false, -1, columnIndex);
@@ -783,6 +870,118 @@ class CTableImplementation extends JScrollPane implements CTable {
     return newWidth;
   }
 
+  protected ColumnWidthEstimator columnWidthEstimator;
+  protected int checkBoxWidth;
+  protected boolean isEstimatingColumnWidth;
+
+  /**
+   * Returns the maximum width of the cells of a column, which is maintained
+   * as the cells change once it was requested.
+   */
+  protected int getEstimatedColumnWidth(int columnIndex) {
+    if(columnWidthEstimator == null) {
+      columnWidthEstimator = new ColumnWidthEstimator(table);
+      getModel().addTableModelListener(new TableModelListener() {
+        public void tableChanged(TableModelEvent e) {
+          updateEstimatedColumnWidths(e);
+        }
+      });
+    }
+    ColumnWidthEstimator estimator = columnWidthEstimator;
+    Font defaultFont = userAttributeHandler.font != null? userAttributeHandler.font: table.getFont();
+    if(!estimator.isCalibrated(defaultFont)) {
+      int checkColumn = table.convertColumnIndexToView(0);
+      Component c = getCellRenderer(0, Math.max(0, checkColumn)).getTableCellRendererComponent(table, null, false, false, 0, checkColumn);
+      checkBoxWidth = 0;
+      if(c instanceof CheckBoxCellRenderer) {
+        CheckBoxCellRenderer checkBoxCellRenderer = (CheckBoxCellRenderer)c;
+        checkBoxWidth = checkBoxCellRenderer.getStateCheckBox().getPreferredSize().width;
+        c = checkBoxCellRenderer.getComponent();
+      }
+      estimator.calibrate(c, defaultFont);
+    }
+    int columnCount = Math.max(1, handle.getColumnCount());
+    estimator.setColumnCount(columnCount);
+    if(columnIndex >= columnCount) {
+      return 0;
+    }
+    // Providing the data of a virtual row may set texts, which estimates the width again.
+    if(!isEstimatingColumnWidth) {
+      isEstimatingColumnWidth = true;
+      try {
+        int rowCount = getModel().getRowCount();
+        if((handle.getStyle() & SWT.VIRTUAL) != 0) {
+          // The rows are sampled in the view, so that only the items shown are requested.
+          int viewRowCount = getViewRowCount();
+          Rectangle visibleRect = table.getVisibleRect();
+          int firstVisibleRow = table.rowAtPoint(visibleRect.getLocation());
+          int lastVisibleRow = table.rowAtPoint(new Point(visibleRect.x, visibleRect.y + visibleRect.height - 1));
+          if(firstVisibleRow >= 0 && lastVisibleRow < 0) {
+            lastVisibleRow = viewRowCount - 1;
+          }
+          int[] rows = estimator.getSampleRows(viewRowCount, firstVisibleRow, lastVisibleRow, ColumnWidthEstimator.DEFAULT_SAMPLE_SIZE);
+          if(!estimator.isValid(columnIndex)) {
+            estimator.reset(columnIndex);
+          }
+          for(int i=0; i<rows.length; i++) {
+            int index = convertRowIndexToModel(rows[i]);
+            // Getting the text of a virtual item requests its data.
+            handle.getItem(index).getText(columnIndex);
+            updateEstimatedColumnWidth(index, columnIndex);
+          }
+        } else if(!estimator.isValid(columnIndex)) {
+          estimator.reset(columnIndex);
+          for(int i=0; i<rowCount; i++) {
+            updateEstimatedColumnWidth(i, columnIndex);
+          }
+        }
+      } finally {
+        isEstimatingColumnWidth = false;
+      }
+    }
+    int width = estimator.getWidth(columnIndex);
+    if(checkBoxWidth > 0 && columnIndex == 0) {
+      width += checkBoxWidth;
+    }
+    return width;
+  }
+
+  protected void updateEstimatedColumnWidth(int row, int column) {
+    TableItemObject tableItemObject = (TableItemObject)getModel().getValueAt(row, column);
+    Font font = tableItemObject.getFont();
+    if(font == null) {
+      font = tableItemObject.getTableItem().getFont();
+    }
+    int oldWidth = columnWidthEstimator.getMeasuredWidth(tableItemObject);
+    columnWidthEstimator.update(column, oldWidth, columnWidthEstimator.measure(tableItemObject, font));
+  }
+
+  protected void updateEstimatedColumnWidths(TableModelEvent e) {
+    ColumnWidthEstimator estimator = columnWidthEstimator;
+    if(e.getType() != TableModelEvent.UPDATE || e.getFirstRow() == TableModelEvent.HEADER_ROW || e.getLastRow() == Integer.MAX_VALUE) {
+      // Removed rows may have been the widest ones, inserted rows are empty.
+      if(e.getType() != TableModelEvent.INSERT) {
+        estimator.invalidateColumns();
+      }
+      return;
+    }
+    int columnCount = estimator.getColumnCount();
+    int firstColumn = e.getColumn() == TableModelEvent.ALL_COLUMNS? 0: e.getColumn();
+    int lastColumn = e.getColumn() == TableModelEvent.ALL_COLUMNS? columnCount - 1: e.getColumn();
+    if(lastColumn >= columnCount) {
+      estimator.invalidateColumns();
+      return;
+    }
+    int lastRow = Math.min(e.getLastRow(), getModel().getRowCount() - 1);
+    for(int row=e.getFirstRow(); row<=lastRow; row++) {
+      for(int column=firstColumn; column<=lastColumn; column++) {
+        if(estimator.isValid(column)) {
+          updateEstimatedColumnWidth(row, column);
+        }
+      }
+    }
+  }
+
   protected ImageIcon backgroundImageIcon;
 
   public void setBackgroundImage(Image backgroundImage) {
@@ -806,12 +1005,16 @@ class CTableImplementation extends JScrollPane implements CTable {
   }
 
   public void ensureRowVisible(int index) {
-    if(index < 0 || index >= table.getRowCount()) {
+    ensureViewRowVisible(convertRowIndexToView(index));
+  }
+
+  protected void ensureViewRowVisible(int row) {
+    if(row < 0 || row >= table.getRowCount()) {
       return;
     }
-    Rectangle bounds = getCellRect(index, 0, true);
+    Rectangle bounds = table.getCellRect(row, 0, true);
     bounds.width = table.getWidth();
-    bounds.height = table.getRowHeight(index);
+    bounds.height = table.getRowHeight(row);
     table.scrollRectToVisible(bounds);
   }
 
@@ -844,7 +1047,7 @@ class CTableImplementation extends JScrollPane implements CTable {
 
   public int rowAtPoint(Point point) {
     point = SwingUtilities.convertPoint(this, point.x, point.y, table);
-    return table.rowAtPoint(point);
+    return convertRowIndexToModel(table.rowAtPoint(point));
   }
 
   public void setTopIndex(int index) {
@@ -852,15 +1055,70 @@ class CTableImplementation extends JScrollPane implements CTable {
     if(rowCount == 0) {
       return;
     }
-    ensureRowVisible(rowCount - 1);
-    if(index != 0) {
-      ensureRowVisible(index);
+    ensureViewRowVisible(rowCount - 1);
+    int row = convertRowIndexToView(index);
+    if(row > 0) {
+      ensureViewRowVisible(row);
     }
   }
 
   public int getTopIndex() {
     return rowAtPoint(new Point(0, 0));
   }
+
+  protected ItemRowSorter rowSorter;
+
+  public void setRowSorting(int column, Comparator<?> comparator, boolean isDescending, IntPredicate filter) {
+    if(rowSorter == null) {
+      if((column < 0 || comparator == null) && filter == null) {
+        return;
+      }
+      // The sorter is kept once installed, as installing it clears the selection. Its rows are not sorted yet.
+      int[] selectedRows = table.getSelectedRows();
+      ListSelectionModel selectionModel = table.getSelectionModel();
+      int anchor = selectionModel.getAnchorSelectionIndex();
+      int lead = selectionModel.getLeadSelectionIndex();
+      rowSorter = new ItemRowSorter(getModel());
+      table.setRowSorter(rowSorter);
+      for(int i=0; i<selectedRows.length; i++) {
+        selectionModel.addSelectionInterval(selectedRows[i], selectedRows[i]);
+      }
+      if(lead != -1) {
+        selectionModel.setAnchorSelectionIndex(anchor);
+        selectionModel.setLeadSelectionIndex(lead);
+      }
+    }
+    // The table keeps the selected items when the rows are sorted.
+    rowSorter.setSorting(column, comparator, isDescending, filter);
+  }
+
+  public boolean isRowSorted() {
+    return rowSorter != null && rowSorter.isTransforming();
+  }
+
+  public int getViewRowCount() {
+    return table.getRowCount();
+  }
+
+  public int convertRowIndexToView(int index) {
+    if(!isRowSorted()) {
+      return index;
+    }
+    if(index < 0 || index >= rowSorter.getModelRowCount()) {
+      return -1;
+    }
+    return rowSorter.convertRowIndexToView(index);
+  }
+
+  public int convertRowIndexToModel(int row) {
+    if(!isRowSorted() || row < 0) {
+      return row;
+    }
+    if(row >= rowSorter.getViewRowCount()) {
+      return -1;
+    }
+    return rowSorter.convertRowIndexToModel(row);
+  }
   
   public void moveColumn(int column, int targetColumn) {
     table.moveColumn(column, targetColumn);
@@ -916,8 +1174,9 @@ class CTableImplementation extends JScrollPane implements CTable {
   }
   
   public Rectangle getImageBounds(int row, int column) {
-    Component c = getCellRenderer(row, column).getTableCellRendererComponent(table, getModel().getValueAt(row, column), false, false, row, column);
-    Rectangle cellRect = table.getCellRect(row, column, false);
+    int viewRow = convertRowIndexToView(row);
+    Component c = getCellRenderer(viewRow, column).getTableCellRendererComponent(table, getModel().getValueAt(row, column), false, false, viewRow, column);
+    Rectangle cellRect = table.getCellRect(viewRow, column, false);
     c.setBounds(cellRect);
     c.validate();
     Rectangle bounds = new Rectangle();
@@ -949,7 +1208,12 @@ public interface CTable extends CComposite {
     public static final int ERASE_TYPE = 1;
     public static final int PAINT_TYPE = 2;
     public static final int MEASURE_TYPE = 3;
+    /** Sent before the cells are painted, so that they share resources. */
+    public static final int BEGIN_PASS_TYPE = 4;
+    /** Sent after the cells are painted, even if painting failed. */
+    public static final int END_PASS_TYPE = 5;
     protected int type;
+    /** The index of the item, which differs from the row in the view when the rows are sorted. */
     public int row;
     public int column;
     public CTableItem tableItem;
@@ -958,6 +1222,11 @@ public interface CTable extends CComposite {
     public boolean ignoreDrawSelection;
     public boolean ignoreDrawFocused;
     public int rowHeight;
+    /**
+     * Set by the control when a pass begins, false if the cells have no
+     * listeners to erase or paint them.
+     */
+    public boolean isOwnerDrawn;
 
     CellPaintEvent(Object source, int type) {
       super(source);
@@ -967,6 +1236,21 @@ public interface CTable extends CComposite {
     public int getType() {
       return type;
     }
+
+    /**
+     * Prepares the event to be sent again for another cell.
+     */
+    void reset(int type) {
+      this.type = type;
+      row = 0;
+      column = 0;
+      tableItem = null;
+      ignoreDrawForeground = false;
+      ignoreDrawBackground = false;
+      ignoreDrawSelection = false;
+      ignoreDrawFocused = false;
+      rowHeight = 0;
+    }
     
   }
   
@@ -1017,6 +1301,34 @@ public interface CTable extends CComposite {
   public void setTopIndex(int index);
 
   public int getTopIndex();
+
+  /**
+   * Sorts and filters the rows in the view, the items keeping their
+   * indices, or shows the rows in the order of the items if there is
+   * neither a comparator nor a filter.
+   *
+   * @param column the index of the column whose texts are compared, or -1
+   * @param comparator the comparator of the texts, or null
+   * @param isDescending whether the order of the comparator is reversed
+   * @param filter the predicate of the indices of the items to show, or null
+   */
+  public void setRowSorting(int column, Comparator<?> comparator, boolean isDescending, IntPredicate filter);
+
+  public boolean isRowSorted();
+
+  public int getViewRowCount();
+
+  /**
+   * Returns the row showing the item at an index, or -1 if the item is
+   * filtered out.
+   */
+  public int convertRowIndexToView(int index);
+
+  /**
+   * Returns the index of the item shown in a row, or -1 if there is no
+   * such row.
+   */
+  public int convertRowIndexToModel(int row);
   
   public void moveColumn(int column, int targetColumn);
 
@@ -142,7 +142,7 @@ class CTableItemImplementation implements CTableItem {
 
 public interface CTableItem {
 
-  public static class TableItemObject {
+  public static class TableItemObject extends ColumnWidthEstimator.Cell {
 
     protected CTableItem tableItem;
 
@@ -158,6 +158,7 @@ public interface CTableItem {
 
     public void setText(String text) {
       this.text = text;
+      invalidateWidth();
     }
 
     public String getText() {
@@ -168,6 +169,7 @@ public interface CTableItem {
 
     public void setIcon(Icon icon) {
       this.icon = icon;
+      invalidateWidth();
     }
 
     public Icon getIcon() {
@@ -198,6 +200,7 @@ public interface CTableItem {
 
     public void setFont(Font font) {
       this.font = font;
+      invalidateWidth();
     }
 
     public Font getFont() {
@@ -294,6 +294,13 @@ class CTreeImplementation extends JScrollPane implements CTree {
       public Font getFont() {
         return CTreeImplementation.this != null && userAttributeHandler != null && userAttributeHandler.font != null? userAttributeHandler.font: super.getFont();
       }
+      protected int getPreferredCellWidth(int row, int columnIndex) {
+        Object value = ((DefaultMutableTreeTableNode)getPathForRow(row).getLastPathComponent()).getUserObject(columnIndex);
+        if(!(value instanceof CTreeItem.TreeItemObject)) {
+          return super.getPreferredCellWidth(row, columnIndex);
+        }
+        return getEstimatedCellWidth((CTreeItem.TreeItemObject)value, columnIndex);
+      }
       public Cursor getCursor() {
         if(Utils.globalCursor != null) {
           return Utils.globalCursor;
@@ -313,10 +320,17 @@ class CTreeImplementation extends JScrollPane implements CTree {
       public boolean isOpaque() {
         return backgroundImageIcon == null && super.isOpaque();
       }
+      protected final CellPaintEvent beginPassEvent = new CellPaintEvent(this, CellPaintEvent.BEGIN_PASS_TYPE);
+      protected final CellPaintEvent endPassEvent = new CellPaintEvent(this, CellPaintEvent.END_PASS_TYPE);
       protected void paintComponent (Graphics g) {
         graphics = g;
         putClientProperty(Utils.SWTSwingGraphics2DClientProperty, g);
-        super.paintComponent(g);
+        handle.processEvent(beginPassEvent);
+        try {
+          super.paintComponent(g);
+        } finally {
+          handle.processEvent(endPassEvent);
+        }
         handle.processEvent(new PaintEvent(this, PaintEvent.PAINT, null));
         putClientProperty(Utils.SWTSwingGraphics2DClientProperty, null);
         graphics = null;
@@ -337,7 +351,7 @@ class CTreeImplementation extends JScrollPane implements CTree {
       public Component getTreeTableCellRendererComponent(JTreeTable treeTable, Object value, boolean isSelected, boolean expanded, boolean leaf, int row, int column, boolean hasFocus) {
         if(value instanceof CTreeItem.TreeItemObject) {
           treeItemObject = (CTreeItem.TreeItemObject)value;
-          CellPaintEvent event = new CellPaintEvent(treeTable, CellPaintEvent.ERASE_TYPE);
+          CellPaintEvent event = obtainCellPaintEvent(CellPaintEvent.ERASE_TYPE);
           event.row = row;
           event.column = column;
           event.treeItem = treeItemObject.getTreeItem();
@@ -348,6 +362,7 @@ class CTreeImplementation extends JScrollPane implements CTree {
           ignoreDrawBackground = event.ignoreDrawBackground;
           ignoreDrawSelection = event.ignoreDrawSelection;
           ignoreDrawFocused = event.ignoreDrawFocused;
+          releaseCellPaintEvent(event);
           isSelected = !event.ignoreDrawSelection;
           hasFocus = !event.ignoreDrawFocused;
           this.row = row;
@@ -444,6 +459,20 @@ class CTreeImplementation extends JScrollPane implements CTree {
         return checkBoxCellRenderer;
       }
       protected CTreeItem.TreeItemObject treeItemObject;
+      /** The event sent for the cells, unless a cell event is being sent. */
+      protected CellPaintEvent cellPaintEvent;
+      protected CellPaintEvent obtainCellPaintEvent(int type) {
+        CellPaintEvent event = cellPaintEvent;
+        if(event == null) {
+          return new CellPaintEvent(treeTable, type);
+        }
+        cellPaintEvent = null;
+        event.reset(type);
+        return event;
+      }
+      protected void releaseCellPaintEvent(CellPaintEvent event) {
+        cellPaintEvent = event;
+      }
       protected int row;
       protected int column;
       protected boolean ignoreDrawForeground;
@@ -462,7 +491,7 @@ class CTreeImplementation extends JScrollPane implements CTree {
 //        graphics = g;
         super.paintComponent(c, g);
         if(treeItemObject != null) {
-          CellPaintEvent event = new CellPaintEvent(treeTable, CellPaintEvent.PAINT_TYPE);
+          CellPaintEvent event = obtainCellPaintEvent(CellPaintEvent.PAINT_TYPE);
           event.row = row;
           event.column = column;
           event.treeItem = treeItemObject.getTreeItem();
@@ -471,6 +500,7 @@ class CTreeImplementation extends JScrollPane implements CTree {
           event.ignoreDrawSelection = this.ignoreDrawSelection;
           event.ignoreDrawFocused = this.ignoreDrawFocused;
           handle.processEvent(event);
+          releaseCellPaintEvent(event);
         }
 //        graphics = null;
       }
@@ -719,6 +749,28 @@ class CTreeImplementation extends JScrollPane implements CTree {
     return treeTable.getPreferredColumnWidth(columnIndex);
   }
 
+  protected ColumnWidthEstimator columnWidthEstimator;
+
+  /**
+   * Returns the width of a cell from its text, icon and font, which is
+   * only measured again when they change.
+   */
+  protected int getEstimatedCellWidth(CTreeItem.TreeItemObject treeItemObject, int columnIndex) {
+    if(columnWidthEstimator == null) {
+      columnWidthEstimator = new ColumnWidthEstimator(treeTable);
+    }
+    Font defaultFont = treeTable.getFont();
+    if(!columnWidthEstimator.isCalibrated(defaultFont)) {
+      Component c = treeTable.getCellRenderer().getTreeTableCellRendererComponent(treeTable, null, false, false, true, 0, columnIndex, false);
+      columnWidthEstimator.calibrate(c, defaultFont);
+    }
+    Font font = treeItemObject.getFont();
+    if(font == null) {
+      font = treeItemObject.getTreeItem().getFont();
+    }
+    return columnWidthEstimator.measure(treeItemObject, font);
+  }
+
   protected ImageIcon backgroundImageIcon;
 
   public void setBackgroundImage(Image backgroundImage) {
@@ -877,6 +929,10 @@ public interface CTree extends CComposite {
     public static final int ERASE_TYPE = 1;
     public static final int PAINT_TYPE = 2;
     public static final int MEASURE_TYPE = 3;
+    /** Sent before the cells are painted, so that they share resources. */
+    public static final int BEGIN_PASS_TYPE = 4;
+    /** Sent after the cells are painted, even if painting failed. */
+    public static final int END_PASS_TYPE = 5;
     protected int type;
     public int row;
     public int column;
@@ -895,6 +951,21 @@ public interface CTree extends CComposite {
     public int getType() {
       return type;
     }
+
+    /**
+     * Prepares the event to be sent again for another cell.
+     */
+    void reset(int type) {
+      this.type = type;
+      row = 0;
+      column = 0;
+      treeItem = null;
+      ignoreDrawForeground = false;
+      ignoreDrawBackground = false;
+      ignoreDrawSelection = false;
+      ignoreDrawFocused = false;
+      rowHeight = 0;
+    }
     
   }
   
@@ -121,7 +121,7 @@ class CTreeItemImplementation extends DefaultMutableTreeTableNode implements CTr
 
 public interface CTreeItem {
 
-  public static class TreeItemObject {
+  public static class TreeItemObject extends ColumnWidthEstimator.Cell {
 
     protected CTreeItem treeItem;
 
@@ -137,6 +137,7 @@ public interface CTreeItem {
 
     public void setText(String text) {
       this.text = text;
+      invalidateWidth();
     }
 
     public String getText() {
@@ -147,6 +148,7 @@ public interface CTreeItem {
 
     public void setIcon(Icon icon) {
       this.icon = icon;
+      invalidateWidth();
     }
 
     public Icon getIcon() {
@@ -177,6 +179,7 @@ public interface CTreeItem {
 
     public void setFont(Font font) {
       this.font = font;
+      invalidateWidth();
     }
 
     public Font getFont() {
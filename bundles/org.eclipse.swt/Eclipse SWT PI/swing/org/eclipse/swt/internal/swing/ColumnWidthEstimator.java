@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Insets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import javax.swing.Icon;
+import javax.swing.JLabel;
+import javax.swing.LookAndFeel;
+import javax.swing.UIManager;
+
+/**
+ * Estimates the preferred widths of the columns of a table from the text,
+ * icon and font of their cells, without configuring a renderer component
+ * for each cell.
+ * <p>
+ * The width of a cell is measured with cached font metrics and kept in
+ * the cell until its content changes. The maximum width of each column is
+ * maintained as cells are updated, together with the number of cells at
+ * that width, so that it only has to be computed again from the cells when
+ * the last of them shrinks or when rows are removed. The padding of the
+ * cells and the gap between their icon and text are taken once from the
+ * renderer component, and all widths are measured again when they or the
+ * default font change.
+ * </p>
+ * <p>
+ * Measuring a cell of a virtual table makes the application provide the
+ * data of its row, so virtual tables measure a sample of their rows: the
+ * visible ones and a number of random ones.
+ * </p>
+ * <p>
+ * IMPORTANT: This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public class ColumnWidthEstimator {
+
+  /** The number of random rows measured in addition to the visible rows of a virtual table. */
+  public static final int DEFAULT_SAMPLE_SIZE = 64;
+
+  /**
+   * The content of a cell, which caches its measured width.
+   */
+  public static abstract class Cell {
+
+    protected int width = -1;
+    protected int widthGeneration;
+    protected Font widthFont;
+    protected boolean isWidthDirty;
+
+    public abstract String getText();
+
+    public abstract Icon getIcon();
+
+    /**
+     * Marks the measured width as outdated, when the text or the icon of
+     * the cell change.
+     */
+    protected void invalidateWidth() {
+      isWidthDirty = true;
+    }
+
+  }
+
+  protected final Component component;
+  protected final Map<Font, FontMetrics> fontMetricsMap = new HashMap<Font, FontMetrics>();
+  protected final Random random = new Random();
+  protected int generation = 1;
+  protected Font defaultFont;
+  protected LookAndFeel lookAndFeel;
+  protected int padding;
+  protected int iconTextGap;
+  protected int[] maxWidths = new int[0];
+  protected int[] maxCounts = new int[0];
+  protected boolean[] isValid = new boolean[0];
+
+  /**
+   * @param component the component which provides the font metrics
+   */
+  public ColumnWidthEstimator(Component component) {
+    this.component = component;
+  }
+
+  /**
+   * Indicates whether the metrics were taken with the default font and
+   * the current look and feel.
+   */
+  public boolean isCalibrated(Font defaultFont) {
+    return defaultFont != null && defaultFont.equals(this.defaultFont) && lookAndFeel == UIManager.getLookAndFeel();
+  }
+
+  /**
+   * Takes the padding and the icon text gap of the cells from a renderer
+   * component, which may be modified. All cells are measured again if
+   * the metrics differ from the previous ones.
+   *
+   * @param rendererComponent the component returned by the renderer
+   * @param defaultFont the font of the cells which do not have their own
+   */
+  public void calibrate(Component rendererComponent, Font defaultFont) {
+    int padding = 0;
+    int iconTextGap = 0;
+    if(rendererComponent instanceof JLabel) {
+      JLabel label = (JLabel)rendererComponent;
+      label.setIcon(null);
+      label.setText("");
+      padding = label.getPreferredSize().width;
+      iconTextGap = label.getIconTextGap();
+    } else if(rendererComponent instanceof Container) {
+      Insets insets = ((Container)rendererComponent).getInsets();
+      padding = insets.left + insets.right;
+    }
+    lookAndFeel = UIManager.getLookAndFeel();
+    if(padding != this.padding || iconTextGap != this.iconTextGap || !defaultFont.equals(this.defaultFont)) {
+      this.padding = padding;
+      this.iconTextGap = iconTextGap;
+      this.defaultFont = defaultFont;
+      invalidate();
+    }
+  }
+
+  /**
+   * Drops all measured widths.
+   */
+  public void invalidate() {
+    generation++;
+    fontMetricsMap.clear();
+    invalidateColumns();
+  }
+
+  /**
+   * Marks the maximum widths of all columns as outdated, when cells were
+   * removed or moved.
+   */
+  public void invalidateColumns() {
+    Arrays.fill(isValid, false);
+  }
+
+  public int getColumnCount() {
+    return maxWidths.length;
+  }
+
+  public void setColumnCount(int columnCount) {
+    if(columnCount == maxWidths.length) {
+      return;
+    }
+    maxWidths = new int[columnCount];
+    maxCounts = new int[columnCount];
+    isValid = new boolean[columnCount];
+  }
+
+  /**
+   * Indicates whether the maximum width of a column is up to date.
+   */
+  public boolean isValid(int column) {
+    return isValid[column];
+  }
+
+  /**
+   * Returns the maximum width of the cells of a column.
+   */
+  public int getWidth(int column) {
+    return maxWidths[column];
+  }
+
+  /**
+   * Empties a column, before its cells are added with <code>update</code>.
+   */
+  public void reset(int column) {
+    maxWidths[column] = 0;
+    maxCounts[column] = 0;
+    isValid[column] = true;
+  }
+
+  /**
+   * Updates the maximum width of a column after the width of one of its
+   * cells changed.
+   *
+   * @param column the column of the cell
+   * @param oldWidth the width of the cell which was counted in the column, or -1 if it was not
+   * @param newWidth the width of the cell
+   */
+  public void update(int column, int oldWidth, int newWidth) {
+    if(!isValid[column]) {
+      return;
+    }
+    int maxWidth = maxWidths[column];
+    if(oldWidth >= 0 && oldWidth == maxWidth) {
+      maxCounts[column]--;
+    }
+    if(newWidth > maxWidth) {
+      maxWidths[column] = newWidth;
+      maxCounts[column] = 1;
+    } else if(newWidth == maxWidth) {
+      maxCounts[column]++;
+    } else if(maxCounts[column] <= 0) {
+      isValid[column] = false;
+    }
+  }
+
+  /**
+   * Returns the width of a cell measured with the current metrics, even if
+   * its content changed since, or -1 if it was not measured.
+   */
+  public int getMeasuredWidth(Cell cell) {
+    return cell.widthGeneration == generation? cell.width: -1;
+  }
+
+  /**
+   * Returns the width of a cell, measuring it if its content or its font
+   * changed since it was last measured.
+   *
+   * @param cell the cell
+   * @param font the font of the cell, or null for the default font
+   */
+  public int measure(Cell cell, Font font) {
+    if(font == null) {
+      font = defaultFont;
+    }
+    if(cell.widthGeneration == generation && !cell.isWidthDirty && cell.widthFont == font) {
+      return cell.width;
+    }
+    int width = measure(cell.getText(), cell.getIcon(), font);
+    cell.width = width;
+    cell.widthGeneration = generation;
+    cell.widthFont = font;
+    cell.isWidthDirty = false;
+    return width;
+  }
+
+  /**
+   * Returns the preferred width of a cell showing a text and an icon.
+   *
+   * @param font the font of the text, or null for the default font
+   */
+  public int measure(String text, Icon icon, Font font) {
+    int width = padding;
+    boolean hasText = text != null && text.length() > 0;
+    if(icon != null) {
+      width += icon.getIconWidth();
+      if(hasText) {
+        width += iconTextGap;
+      }
+    }
+    if(hasText) {
+      width += getFontMetrics(font == null? defaultFont: font).stringWidth(text);
+    }
+    return width;
+  }
+
+  protected FontMetrics getFontMetrics(Font font) {
+    FontMetrics fontMetrics = fontMetricsMap.get(font);
+    if(fontMetrics == null) {
+      fontMetrics = component.getFontMetrics(font);
+      fontMetricsMap.put(font, fontMetrics);
+    }
+    return fontMetrics;
+  }
+
+  /**
+   * Returns the rows of a virtual table to measure: the visible rows,
+   * followed by random rows. All rows are returned if there are not more
+   * than the sample would contain.
+   *
+   * @param rowCount the number of rows
+   * @param firstVisibleRow the first visible row, or -1 if no row is visible
+   * @param lastVisibleRow the last visible row, or -1 if no row is visible
+   * @param sampleSize the number of random rows
+   */
+  public int[] getSampleRows(int rowCount, int firstVisibleRow, int lastVisibleRow, int sampleSize) {
+    int visibleCount = firstVisibleRow < 0 || lastVisibleRow < firstVisibleRow? 0: lastVisibleRow - firstVisibleRow + 1;
+    if(rowCount <= visibleCount + sampleSize) {
+      int[] rows = new int[rowCount];
+      for(int i=0; i<rowCount; i++) {
+        rows[i] = i;
+      }
+      return rows;
+    }
+    int[] rows = new int[visibleCount + sampleSize];
+    for(int i=0; i<visibleCount; i++) {
+      rows[i] = firstVisibleRow + i;
+    }
+    for(int i=visibleCount; i<rows.length; i++) {
+      rows[i] = random.nextInt(rowCount);
+    }
+    return rows;
+  }
+
+}
@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import javax.swing.AbstractListModel;
+import javax.swing.MutableComboBoxModel;
+
+/**
+ * The items of a combo, which can be replaced, inserted and removed in bulk
+ * with a single change event.
+ * <p>
+ * The items may be supplied lazily: they are then requested from the
+ * supplier when they are first needed, for example when the popup list
+ * paints them. They are all requested when items are inserted or removed.
+ * </p>
+ * <p>
+ * Searches by text use an index of the items sorted ignoring case, which
+ * is built on the second search after the items changed, so that adding
+ * items one at a time after checking that they are not present does not
+ * rebuild it for each of them. Building the index requests all the lazy
+ * items.
+ * </p>
+ * <p>
+ * IMPORTANT: This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public class ComboItemModel extends AbstractListModel<Object> implements MutableComboBoxModel<Object> {
+
+  protected static final Object[] NO_ITEMS = new Object[0];
+
+  protected Object[] items = NO_ITEMS;
+  protected int size;
+  protected IntFunction<?> supplier;
+  protected Object selectedItem;
+  /** The indices of the items sorted by their text ignoring case, or null when outdated. */
+  protected int[] sortedIndices;
+  protected int searchCount;
+
+  public int getSize() {
+    return size;
+  }
+
+  public Object getElementAt(int index) {
+    if(index < 0 || index >= size) {
+      return null;
+    }
+    Object item = items[index];
+    if(item == null && supplier != null) {
+      item = supplier.apply(index);
+      items[index] = item;
+    }
+    return item;
+  }
+
+  public Object getSelectedItem() {
+    return selectedItem;
+  }
+
+  public void setSelectedItem(Object item) {
+    if(selectedItem == null? item == null: selectedItem.equals(item)) {
+      return;
+    }
+    selectedItem = item;
+    fireContentsChanged(this, -1, -1);
+  }
+
+  public void addElement(Object item) {
+    insertElementAt(item, size);
+  }
+
+  public void insertElementAt(Object item, int index) {
+    insertElementsAt(new Object[] {item}, index);
+  }
+
+  /**
+   * Inserts items, firing a single event.
+   */
+  public void insertElementsAt(Object[] newItems, int index) {
+    if(index < 0 || index > size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    int count = newItems.length;
+    if(count == 0) {
+      return;
+    }
+    resolveAll();
+    ensureCapacity(size + count);
+    System.arraycopy(items, index, items, index + count, size - index);
+    System.arraycopy(newItems, 0, items, index, count);
+    size += count;
+    itemsChanged();
+    fireIntervalAdded(this, index, index + count - 1);
+    if(size == count && selectedItem == null) {
+      setSelectedItem(getElementAt(0));
+    }
+  }
+
+  public void removeElement(Object item) {
+    int index = indexOf(item);
+    if(index != -1) {
+      removeElementAt(index);
+    }
+  }
+
+  public void removeElementAt(int index) {
+    removeRange(index, index);
+  }
+
+  /**
+   * Removes the items between two indices, inclusive, firing a single
+   * event. The selection moves to the item before the range if the
+   * selected item is removed.
+   */
+  public void removeRange(int start, int end) {
+    if(start < 0 || end >= size || start > end) {
+      throw new ArrayIndexOutOfBoundsException(start < 0? start: end);
+    }
+    resolveAll();
+    if(selectedItem != null) {
+      for(int i=start; i<=end; i++) {
+        if(selectedItem.equals(getElementAt(i))) {
+          int newSelectedIndex = start == 0? end + 1: start - 1;
+          setSelectedItem(newSelectedIndex < size? getElementAt(newSelectedIndex): null);
+          break;
+        }
+      }
+    }
+    System.arraycopy(items, end + 1, items, start, size - end - 1);
+    Arrays.fill(items, size - (end - start + 1), size, null);
+    size -= end - start + 1;
+    itemsChanged();
+    fireIntervalRemoved(this, start, end);
+  }
+
+  public void removeAllElements() {
+    int oldSize = size;
+    items = NO_ITEMS;
+    size = 0;
+    supplier = null;
+    selectedItem = null;
+    itemsChanged();
+    if(oldSize > 0) {
+      fireIntervalRemoved(this, 0, oldSize - 1);
+    }
+  }
+
+  /**
+   * Replaces all the items, firing a single event. The first item is
+   * selected, as if the items were added one at a time to an empty model.
+   */
+  public void setElements(Object[] newItems) {
+    items = newItems.length == 0? NO_ITEMS: newItems.clone();
+    supplier = null;
+    replaced(newItems.length);
+  }
+
+  /**
+   * Replaces all the items with items which are requested from a supplier
+   * when they are first needed, firing a single event.
+   *
+   * @param count the number of items
+   * @param supplier the function returning the item at an index
+   */
+  public void setElements(int count, IntFunction<?> supplier) {
+    items = count == 0? NO_ITEMS: new Object[count];
+    this.supplier = supplier;
+    replaced(count);
+  }
+
+  protected void replaced(int count) {
+    int oldSize = size;
+    size = count;
+    selectedItem = count == 0? null: getElementAt(0);
+    itemsChanged();
+    int changedSize = Math.max(oldSize, count);
+    fireContentsChanged(this, changedSize == 0? -1: 0, changedSize - 1);
+  }
+
+  /**
+   * Requests the lazy items from the supplier, before the items move.
+   */
+  protected void resolveAll() {
+    if(supplier == null) {
+      return;
+    }
+    for(int i=0; i<size; i++) {
+      getElementAt(i);
+    }
+    supplier = null;
+  }
+
+  protected void ensureCapacity(int capacity) {
+    if(capacity <= items.length) {
+      return;
+    }
+    Object[] newItems = new Object[Math.max(capacity, items.length + (items.length >> 1) + 4)];
+    System.arraycopy(items, 0, newItems, 0, size);
+    items = newItems;
+  }
+
+  protected void itemsChanged() {
+    sortedIndices = null;
+    searchCount = 0;
+  }
+
+  /**
+   * Returns all the items as strings.
+   */
+  public String[] getStrings() {
+    String[] strings = new String[size];
+    for(int i=0; i<size; i++) {
+      strings[i] = String.valueOf(getElementAt(i));
+    }
+    return strings;
+  }
+
+  protected int indexOf(Object item) {
+    for(int i=0; i<size; i++) {
+      if(item.equals(getElementAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the first index from a start index whose item has a text,
+   * or -1 if there is none.
+   */
+  public int indexOf(String text, int start) {
+    if(start < 0) {
+      start = 0;
+    }
+    int[] sortedIndices = getSortedIndices();
+    if(sortedIndices == null) {
+      for(int i=start; i<size; i++) {
+        if(text.equals(String.valueOf(getElementAt(i)))) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    int index = -1;
+    for(int i=lowerBound(sortedIndices, text); i<size; i++) {
+      int itemIndex = sortedIndices[i];
+      String itemText = String.valueOf(items[itemIndex]);
+      if(!itemText.equalsIgnoreCase(text)) {
+        break;
+      }
+      if(itemIndex >= start && (index == -1 || itemIndex < index) && itemText.equals(text)) {
+        index = itemIndex;
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Returns the first index from a start index whose item starts with a
+   * prefix ignoring case, wrapping around to the first item, or -1 if
+   * there is none.
+   */
+  public int indexOfPrefix(String prefix, int start) {
+    if(start < 0 || start >= size) {
+      start = 0;
+    }
+    int[] sortedIndices = getSortedIndices();
+    if(sortedIndices == null) {
+      for(int i=0; i<size; i++) {
+        int index = (start + i) % size;
+        String itemText = String.valueOf(getElementAt(index));
+        if(itemText.regionMatches(true, 0, prefix, 0, prefix.length())) {
+          return index;
+        }
+      }
+      return -1;
+    }
+    int firstIndex = -1;
+    int nextIndex = -1;
+    for(int i=lowerBound(sortedIndices, prefix); i<size; i++) {
+      int itemIndex = sortedIndices[i];
+      if(!String.valueOf(items[itemIndex]).regionMatches(true, 0, prefix, 0, prefix.length())) {
+        break;
+      }
+      if(firstIndex == -1 || itemIndex < firstIndex) {
+        firstIndex = itemIndex;
+      }
+      if(itemIndex >= start && (nextIndex == -1 || itemIndex < nextIndex)) {
+        nextIndex = itemIndex;
+      }
+    }
+    return nextIndex != -1? nextIndex: firstIndex;
+  }
+
+  /**
+   * Returns the index, or null if the items should rather be scanned.
+   */
+  protected int[] getSortedIndices() {
+    if(sortedIndices == null && ++searchCount > 1) {
+      Integer[] indices = new Integer[size];
+      for(int i=0; i<size; i++) {
+        getElementAt(i);
+        indices[i] = i;
+      }
+      // The sort is stable, so equal texts stay in the order of their indices.
+      Arrays.sort(indices, (i1, i2) -> String.CASE_INSENSITIVE_ORDER.compare(String.valueOf(items[i1]), String.valueOf(items[i2])));
+      sortedIndices = new int[size];
+      for(int i=0; i<size; i++) {
+        sortedIndices[i] = indices[i];
+      }
+    }
+    return sortedIndices;
+  }
+
+  /**
+   * Returns the first position in the index whose text is not before a
+   * text ignoring case.
+   */
+  protected int lowerBound(int[] sortedIndices, String text) {
+    int low = 0;
+    int high = size;
+    while(low < high) {
+      int middle = (low + high) >>> 1;
+      if(String.CASE_INSENSITIVE_ORDER.compare(String.valueOf(items[sortedIndices[middle]]), text) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import javax.swing.DefaultRowSorter;
+import javax.swing.RowFilter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableModel;
+
+/**
+ * Sorts and filters the rows of a table in the view, leaving the order of
+ * the rows of the model, and thus the items, unchanged.
+ * <p>
+ * The rows are sorted by the texts of one column, which are compared with
+ * a comparator of strings. The texts of the column are read once for each
+ * sort rather than for each comparison. The rows are filtered with a
+ * predicate of their model indices. The sort keys can only be changed with
+ * <code>setSorting</code>: clicks on the header of the table do not change
+ * them.
+ * </p>
+ * <p>
+ * IMPORTANT: This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public class ItemRowSorter extends DefaultRowSorter<TableModel, Integer> {
+
+  protected class ItemModelWrapper extends ModelWrapper<TableModel, Integer> {
+
+    protected TableModel model;
+
+    protected ItemModelWrapper(TableModel model) {
+      this.model = model;
+    }
+
+    public TableModel getModel() {
+      return model;
+    }
+
+    public int getColumnCount() {
+      // A table without columns shows its items in a column of index 0.
+      return Math.max(1, model.getColumnCount());
+    }
+
+    public int getRowCount() {
+      return model.getRowCount();
+    }
+
+    public Object getValueAt(int row, int column) {
+      if(sortedTexts != null && column == sortColumn) {
+        return sortedTexts[row];
+      }
+      return getStringValueAt(row, column);
+    }
+
+    public String getStringValueAt(int row, int column) {
+      Object value = model.getValueAt(row, column);
+      return value == null? "": value.toString();
+    }
+
+    public Integer getIdentifier(int row) {
+      return row;
+    }
+
+  }
+
+  protected int sortColumn = -1;
+  protected Comparator<?> comparator;
+  protected List<SortKey> sortKeys = Collections.emptyList();
+  /** The texts of the sort column while the rows are sorted, or null. */
+  protected String[] sortedTexts;
+  protected boolean isAdjustingSorting;
+
+  public ItemRowSorter(TableModel model) {
+    setModelWrapper(new ItemModelWrapper(model));
+    setSortsOnUpdates(true);
+  }
+
+  /**
+   * Sets how the rows are sorted and filtered, and sorts them once.
+   *
+   * @param column the model index of the column whose texts are compared, or -1 to leave the rows unsorted
+   * @param comparator the comparator of the texts, or null to leave the rows unsorted
+   * @param isDescending whether the order of the comparator is reversed
+   * @param filter the predicate of the model indices of the rows to show, or null to show all the rows
+   */
+  public void setSorting(int column, Comparator<?> comparator, boolean isDescending, final IntPredicate filter) {
+    if(column < 0 || comparator == null) {
+      sortColumn = -1;
+      this.comparator = null;
+      sortKeys = Collections.emptyList();
+    } else {
+      sortColumn = column;
+      this.comparator = comparator;
+      sortKeys = Collections.singletonList(new SortKey(column, isDescending? SortOrder.DESCENDING: SortOrder.ASCENDING));
+    }
+    isAdjustingSorting = true;
+    try {
+      setRowFilter(filter == null? null: new RowFilter<TableModel, Integer>() {
+        public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+          return filter.test(entry.getIdentifier());
+        }
+      });
+    } finally {
+      isAdjustingSorting = false;
+    }
+    sort();
+  }
+
+  /**
+   * Returns whether the rows are sorted or filtered, rather than shown in
+   * the order of the model.
+   */
+  public boolean isTransforming() {
+    return sortColumn != -1 || getRowFilter() != null;
+  }
+
+  public Comparator<?> getComparator(int column) {
+    return column == sortColumn? comparator: null;
+  }
+
+  protected boolean useToString(int column) {
+    // The values are already the texts.
+    return false;
+  }
+
+  public List<? extends SortKey> getSortKeys() {
+    return sortKeys;
+  }
+
+  public void setSortKeys(List<? extends SortKey> sortKeys) {
+    // The sort keys follow the sort column of the table.
+  }
+
+  public void toggleSortOrder(int column) {
+    // The application sorts the table in response to the selection of a column.
+  }
+
+  public void modelStructureChanged() {
+    super.modelStructureChanged();
+    // The sort keys cannot be reset here, so the rows are sorted again with them.
+    if(sortColumn != -1) {
+      sort();
+    }
+  }
+
+  public void sort() {
+    if(isAdjustingSorting) {
+      return;
+    }
+    if(sortColumn == -1) {
+      super.sort();
+      return;
+    }
+    ModelWrapper<TableModel, Integer> modelWrapper = getModelWrapper();
+    int rowCount = modelWrapper.getRowCount();
+    String[] texts = new String[rowCount];
+    for(int i=0; i<rowCount; i++) {
+      texts[i] = modelWrapper.getStringValueAt(i, sortColumn);
+    }
+    sortedTexts = texts;
+    try {
+      super.sort();
+    } finally {
+      sortedTexts = null;
+    }
+  }
+
+}
@@ -728,13 +728,8 @@ public class JTreeTable extends JPanel implements Scrollable {
     int count = getRowCount();
     int newWidth = Math.max(getColumnModel().getColumn(columnIndex).getMinWidth(), 10);
     // TODO: is there a better way than this hack?
-    TreeTableCellRenderer renderer = getCellRenderer();
     for(int i=0; i<count; i++) {
-      TreePath treePath = getPathForRow(i);
-      DefaultMutableTreeTableNode treeTableNode = (DefaultMutableTreeTableNode)treePath.getLastPathComponent();
-      Object value = treeTableNode.getUserObject(columnIndex);
-      java.awt.Component component = renderer.getTreeTableCellRendererComponent(this, value, false, isExpanded(treePath), treeTableNode.isLeaf(), i, columnIndex, false);
-      newWidth = Math.max(newWidth, (int)component.getPreferredSize().getWidth());
+      newWidth = Math.max(newWidth, getPreferredCellWidth(i, columnIndex));
     }
 //    TableModel model = table.getModel();
 //    for(int i=0; i<count; i++) {
@@ -749,6 +744,18 @@ public class JTreeTable extends JPanel implements Scrollable {
     return newWidth;
   }
 
+  /**
+   * Returns the preferred width of a cell, which is used to compute the
+   * preferred width of its column.
+   */
+  protected int getPreferredCellWidth(int row, int columnIndex) {
+    TreePath treePath = getPathForRow(row);
+    DefaultMutableTreeTableNode treeTableNode = (DefaultMutableTreeTableNode)treePath.getLastPathComponent();
+    Object value = treeTableNode.getUserObject(columnIndex);
+    java.awt.Component component = getCellRenderer().getTreeTableCellRendererComponent(this, value, false, isExpanded(treePath), treeTableNode.isLeaf(), row, columnIndex, false);
+    return (int)component.getPreferredSize().getWidth();
+  }
+
   public int getRowHeight() {
     return table.getRowHeight();
   }
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+import org.eclipse.swt.graphics.ImageData;
+
+/**
+ * The image data of an image scaled to the zoom levels it was requested
+ * at, like the variants of a <code>java.awt.image.MultiResolutionImage</code>.
+ * <p>
+ * The variants are softly referenced, so that they survive moving a shell
+ * between monitors of different resolutions but are released when memory
+ * runs low. They are dropped when the source pixels are replaced.
+ * </p>
+ * <p>
+ * IMPORTANT: This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public class ResolutionVariants {
+
+  protected final Map<Integer, SoftReference<ImageData>> variants = new TreeMap<>();
+  protected Object source;
+
+  /**
+   * Returns the variant of the source pixels at a zoom level, scaling
+   * them with the scaler if it is not cached. The returned image data is
+   * shared and must not be modified.
+   *
+   * @param source the object holding the pixels at 100% zoom, which
+   *        identifies them until <code>clear()</code> is called
+   * @param zoom the zoom level
+   * @param scaler scales the source pixels to a zoom level
+   */
+  public synchronized ImageData getResolutionVariant(Object source, int zoom, IntFunction<ImageData> scaler) {
+    if (this.source != source) {
+      variants.clear();
+      this.source = source;
+    }
+    SoftReference<ImageData> reference = variants.get(zoom);
+    ImageData variant = reference != null ? reference.get() : null;
+    if (variant == null) {
+      variant = scaler.apply(zoom);
+      variants.put(zoom, new SoftReference<>(variant));
+    }
+    return variant;
+  }
+
+  /**
+   * Returns the cached variants which have not been released, in the order
+   * of their zoom levels.
+   */
+  public synchronized List<ImageData> getResolutionVariants() {
+    List<ImageData> result = new ArrayList<>(variants.size());
+    for (SoftReference<ImageData> reference : variants.values()) {
+      ImageData variant = reference.get();
+      if (variant != null) {
+        result.add(variant);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drops all the variants, when the pixels of the image change.
+   */
+  public synchronized void clear() {
+    variants.clear();
+    source = null;
+  }
+
+}
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.VolatileImage;
+
+import javax.swing.JComponent;
+
+/**
+ * A retained copy of the pixels of a client area, kept in a
+ * <code>VolatileImage</code>.
+ * <p>
+ * The client area paints into the buffer and the buffer is then copied to the
+ * screen. Scrolling moves the pixels inside the buffer, so that only the strip
+ * which becomes visible has to be painted by the application. The pixels are
+ * only trusted after a paint covering the whole component, and any drawing
+ * which bypasses the buffer invalidates them.
+ * </p>
+ * The buffer is installed as a client property of the client area.
+ */
+public class RetainedBuffer {
+
+  public static final String CLIENT_PROPERTY = "SWTSwingRetainedBufferClientProperty";
+
+  /** Larger components are painted directly. */
+  static final int MAX_PIXEL_COUNT = 4096 * 4096;
+
+  public static RetainedBuffer getRetainedBuffer(Component component) {
+    if(component instanceof JComponent) {
+      return (RetainedBuffer)((JComponent)component).getClientProperty(CLIENT_PROPERTY);
+    }
+    return null;
+  }
+
+  public static void setRetainedBufferEnabled(Component component, boolean isEnabled) {
+    if(!(component instanceof JComponent)) {
+      return;
+    }
+    JComponent jComponent = (JComponent)component;
+    RetainedBuffer retainedBuffer = getRetainedBuffer(component);
+    if(isEnabled == (retainedBuffer != null)) {
+      return;
+    }
+    if(isEnabled) {
+      jComponent.putClientProperty(CLIENT_PROPERTY, new RetainedBuffer());
+    } else {
+      retainedBuffer.dispose();
+      jComponent.putClientProperty(CLIENT_PROPERTY, null);
+    }
+    jComponent.repaint();
+  }
+
+  protected VolatileImage image;
+  /** Whether all the pixels of the image are up to date. */
+  protected boolean isValid;
+  /** The area whose pixels are stale and must be painted. */
+  protected Rectangle dirtyRect;
+  /** The area whose pixels were moved and only have to be shown. */
+  protected Rectangle blitRect;
+
+  /**
+   * Makes sure the image matches the component.
+   * @return false if the component cannot be buffered and must be painted directly.
+   */
+  public boolean validate(Component component) {
+    int width = component.getWidth();
+    int height = component.getHeight();
+    GraphicsConfiguration configuration = component.getGraphicsConfiguration();
+    if(configuration == null || !component.isOpaque() || width <= 0 || height <= 0 || (long)width * height > MAX_PIXEL_COUNT) {
+      dispose();
+      return false;
+    }
+    if(image == null || image.getWidth() != width || image.getHeight() != height) {
+      if(image != null) {
+        image.flush();
+      }
+      image = configuration.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+      invalidate();
+    } else if(image.validate(configuration) != VolatileImage.IMAGE_OK) {
+      invalidate();
+    }
+    return true;
+  }
+
+  /**
+   * Returns the area of the clip which has to be painted into the buffer,
+   * or null if the buffer already holds the pixels of the clip.
+   */
+  public Rectangle getUpdateRect(Rectangle clip) {
+    Rectangle bounds = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+    clip = clip == null? bounds: clip.intersection(bounds);
+    Rectangle updateRect;
+    if(!isValid) {
+      updateRect = clip;
+      if(clip.contains(bounds)) {
+        isValid = true;
+      }
+    } else {
+      updateRect = blitRect == null? clip: subtract(clip, blitRect);
+      if(dirtyRect != null) {
+        Rectangle dirtyClip = dirtyRect.intersection(clip);
+        if(!dirtyClip.isEmpty()) {
+          updateRect = updateRect == null? dirtyClip: updateRect.union(dirtyClip);
+        }
+        if(clip.contains(dirtyRect)) {
+          dirtyRect = null;
+        }
+      }
+    }
+    blitRect = null;
+    return updateRect == null || updateRect.isEmpty()? null: updateRect;
+  }
+
+  /**
+   * Creates a graphics painting into the buffer, clipped to the given area.
+   */
+  public Graphics2D createGraphics(Rectangle updateRect) {
+    Graphics2D g = image.createGraphics();
+    g.clip(updateRect);
+    return g;
+  }
+
+  /**
+   * Copies the buffer to the graphics.
+   * @return false if the pixels were lost and the component must be painted again.
+   */
+  public boolean show(Graphics g) {
+    g.drawImage(image, 0, 0, null);
+    if(image.contentsLost()) {
+      invalidate();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Moves the pixels of an area inside the buffer.
+   * @return the area to repaint, covering the moved pixels and the exposed strip, or null if the buffer holds no trusted pixels.
+   */
+  public Rectangle scroll(int x, int y, int width, int height, int dx, int dy) {
+    if(image == null || !isValid || image.contentsLost()) {
+      return null;
+    }
+    Rectangle bounds = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+    Rectangle source = new Rectangle(x, y, width, height).intersection(bounds);
+    if(source.isEmpty()) {
+      return null;
+    }
+    Graphics2D g = image.createGraphics();
+    g.copyArea(source.x, source.y, source.width, source.height, dx, dy);
+    g.dispose();
+    Rectangle destination = new Rectangle(source.x + dx, source.y + dy, source.width, source.height).intersection(bounds);
+    Rectangle exposed = subtract(source, destination);
+    if(dirtyRect != null) {
+      // Stale pixels were moved along
+      Rectangle movedDirtyRect = new Rectangle(dirtyRect.x + dx, dirtyRect.y + dy, dirtyRect.width, dirtyRect.height);
+      exposed = exposed == null? movedDirtyRect.union(dirtyRect): exposed.union(movedDirtyRect).union(dirtyRect);
+    }
+    dirtyRect = exposed == null? null: exposed.intersection(bounds);
+    if(destination.isEmpty()) {
+      return dirtyRect;
+    }
+    blitRect = blitRect == null? destination: blitRect.union(destination);
+    return dirtyRect == null? blitRect: blitRect.union(dirtyRect);
+  }
+
+  /**
+   * Marks all the pixels as stale, for example after drawing bypassed the buffer.
+   */
+  public void invalidate() {
+    isValid = false;
+    dirtyRect = null;
+    blitRect = null;
+  }
+
+  /**
+   * Marks an area as stale.
+   */
+  public void invalidate(Rectangle rect) {
+    dirtyRect = dirtyRect == null? new Rectangle(rect): dirtyRect.union(rect);
+    blitRect = null;
+  }
+
+  public void dispose() {
+    if(image != null) {
+      image.flush();
+      image = null;
+    }
+    invalidate();
+  }
+
+  /**
+   * Returns the bounds of the area of r1 not covered by r2, or null if r2 covers r1.
+   */
+  public static Rectangle subtract(Rectangle r1, Rectangle r2) {
+    Rectangle intersection = r1.intersection(r2);
+    if(intersection.isEmpty()) {
+      return new Rectangle(r1);
+    }
+    if(intersection.equals(r1)) {
+      return null;
+    }
+    boolean spansWidth = intersection.x == r1.x && intersection.width == r1.width;
+    boolean spansHeight = intersection.y == r1.y && intersection.height == r1.height;
+    if(spansWidth) {
+      if(intersection.y == r1.y) {
+        return new Rectangle(r1.x, intersection.y + intersection.height, r1.width, r1.y + r1.height - intersection.y - intersection.height);
+      }
+      if(intersection.y + intersection.height == r1.y + r1.height) {
+        return new Rectangle(r1.x, r1.y, r1.width, intersection.y - r1.y);
+      }
+    } else if(spansHeight) {
+      if(intersection.x == r1.x) {
+        return new Rectangle(intersection.x + intersection.width, r1.y, r1.x + r1.width - intersection.x - intersection.width, r1.height);
+      }
+      if(intersection.x + intersection.width == r1.x + r1.width) {
+        return new Rectangle(r1.x, r1.y, intersection.x - r1.x, r1.height);
+      }
+    }
+    return new Rectangle(r1);
+  }
+
+}
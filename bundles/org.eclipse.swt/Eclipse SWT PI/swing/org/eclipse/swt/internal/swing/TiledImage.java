@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+
+/**
+ * An image too large to be held in memory, split into square tiles.
+ * <p>
+ * The pixels are written once, from top to bottom, and spooled to a
+ * temporary file one row of tiles at a time. Drawing only decodes the
+ * tiles intersecting the visible part of the destination, and keeps the
+ * most recently drawn ones in a least recently used cache. A small
+ * overview of the whole image is built while the pixels are written and
+ * is drawn instead of the tiles when the image is scaled down so much
+ * that the overview has enough resolution.
+ * </p>
+ */
+public class TiledImage {
+
+  public static final int DEFAULT_TILE_SIZE = 256;
+  public static final int DEFAULT_CACHE_SIZE = 64;
+  static final int MAX_OVERVIEW_SIZE = 512;
+
+  protected final int width;
+  protected final int height;
+  protected final int tileSize;
+  protected final int columnCount;
+  protected final int rowCount;
+  protected final int background;
+
+  protected File file;
+  protected FileChannel channel;
+  protected long[] tileOffsets;
+  /** The pixels of the row of tiles being written. */
+  protected int[] rowBuffer;
+  protected int writtenRowCount;
+
+  protected BufferedImage overview;
+  protected int[] overviewColumns;
+
+  protected final Map<Integer, BufferedImage> tileCache;
+
+  /**
+   * @param background the pixel of the areas which are not written
+   */
+  public TiledImage(int width, int height, int tileSize, int cacheSize, int background) {
+    this.width = width;
+    this.height = height;
+    this.tileSize = tileSize;
+    this.background = background;
+    columnCount = (width + tileSize - 1) / tileSize;
+    rowCount = (height + tileSize - 1) / tileSize;
+    tileOffsets = new long[columnCount * rowCount];
+    rowBuffer = new int[width * Math.min(tileSize, height)];
+    tileCache = new LinkedHashMap<Integer, BufferedImage>(cacheSize, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+        return size() > cacheSize;
+      }
+    };
+    double scale = Math.min(1, (double)MAX_OVERVIEW_SIZE / Math.max(width, height));
+    int overviewWidth = Math.max(1, (int)Math.round(width * scale));
+    int overviewHeight = Math.max(1, (int)Math.round(height * scale));
+    overview = new BufferedImage(overviewWidth, overviewHeight, BufferedImage.TYPE_INT_ARGB);
+    overviewColumns = new int[overviewWidth];
+    for(int i=0; i<overviewWidth; i++) {
+      overviewColumns[i] = (int)((long)i * width / overviewWidth);
+    }
+    try {
+      file = File.createTempFile("swt", ".tiles");
+      file.deleteOnExit();
+      channel = new RandomAccessFile(file, "rw").getChannel();
+    } catch(IOException e) {
+      dispose();
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public BufferedImage getOverview() {
+    return overview;
+  }
+
+  /**
+   * Writes the next rows of the image.
+   * @param pixels the ARGB pixels of the rows, <code>width</code> pixels per row.
+   */
+  public void setRows(int[] pixels, int offset, int rows) {
+    while(rows > 0) {
+      int tileRowStart = writtenRowCount / tileSize * tileSize;
+      int tileRowHeight = Math.min(tileSize, height - tileRowStart);
+      int count = Math.min(rows, tileRowStart + tileRowHeight - writtenRowCount);
+      System.arraycopy(pixels, offset, rowBuffer, (writtenRowCount - tileRowStart) * width, count * width);
+      for(int i=0; i<count; i++) {
+        setOverviewRow(writtenRowCount + i, pixels, offset + i * width);
+      }
+      writtenRowCount += count;
+      offset += count * width;
+      rows -= count;
+      if(writtenRowCount == tileRowStart + tileRowHeight) {
+        writeTileRow(tileRowStart / tileSize, tileRowHeight);
+      }
+    }
+  }
+
+  /**
+   * Marks the end of the pixels. Rows which were not written keep the background.
+   */
+  public void finish() {
+    if(writtenRowCount >= height) {
+      return;
+    }
+    int[] row = new int[width];
+    Arrays.fill(row, background);
+    while(writtenRowCount < height) {
+      setRows(row, 0, 1);
+    }
+  }
+
+  protected void setOverviewRow(int y, int[] pixels, int offset) {
+    int overviewHeight = overview.getHeight();
+    // Overview row k samples row k * height / overviewHeight
+    int overviewY = (int)(((long)y * overviewHeight + height - 1) / height);
+    if(overviewY >= overviewHeight || (int)((long)overviewY * height / overviewHeight) != y) {
+      return;
+    }
+    int[] overviewPixels = ((DataBufferInt)overview.getRaster().getDataBuffer()).getData();
+    int overviewWidth = overview.getWidth();
+    int overviewOffset = overviewY * overviewWidth;
+    for(int i=0; i<overviewWidth; i++) {
+      overviewPixels[overviewOffset + i] = pixels[offset + overviewColumns[i]];
+    }
+  }
+
+  protected void writeTileRow(int tileRow, int tileRowHeight) {
+    try {
+      for(int column=0; column<columnCount; column++) {
+        int tileX = column * tileSize;
+        int tileWidth = Math.min(tileSize, width - tileX);
+        ByteBuffer buffer = ByteBuffer.allocate(tileWidth * tileRowHeight * 4);
+        for(int y=0; y<tileRowHeight; y++) {
+          buffer.asIntBuffer().position(y * tileWidth).put(rowBuffer, y * width + tileX, tileWidth);
+        }
+        long offset = channel.size();
+        tileOffsets[tileRow * columnCount + column] = offset;
+        while(buffer.hasRemaining()) {
+          channel.write(buffer, offset + buffer.position());
+        }
+      }
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  /**
+   * Returns the pixels of a tile, reading them from the spool file if they are not cached.
+   */
+  public BufferedImage getTile(int column, int row) {
+    Integer key = row * columnCount + column;
+    BufferedImage tile = tileCache.get(key);
+    if(tile != null) {
+      return tile;
+    }
+    int tileWidth = Math.min(tileSize, width - column * tileSize);
+    int tileHeight = Math.min(tileSize, height - row * tileSize);
+    tile = new BufferedImage(tileWidth, tileHeight, BufferedImage.TYPE_INT_ARGB);
+    int[] pixels = ((DataBufferInt)tile.getRaster().getDataBuffer()).getData();
+    if(row * tileSize + tileHeight > writtenRowCount) {
+      Arrays.fill(pixels, background);
+    } else {
+      ByteBuffer buffer = ByteBuffer.allocate(tileWidth * tileHeight * 4);
+      long offset = tileOffsets[key];
+      try {
+        while(buffer.hasRemaining()) {
+          if(channel.read(buffer, offset + buffer.position()) < 0) {
+            SWT.error(SWT.ERROR_IO);
+          }
+        }
+      } catch(IOException e) {
+        SWT.error(SWT.ERROR_IO, e);
+      }
+      buffer.flip();
+      buffer.asIntBuffer().get(pixels);
+    }
+    tileCache.put(key, tile);
+    return tile;
+  }
+
+  /**
+   * Draws an area of the image, decoding only the tiles which intersect the clip of the graphics.
+   */
+  public void draw(CGC g, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+    if(srcWidth <= 0 || srcHeight <= 0 || destWidth <= 0 || destHeight <= 0) {
+      return;
+    }
+    if((long)destWidth * width <= (long)srcWidth * overview.getWidth() && (long)destHeight * height <= (long)srcHeight * overview.getHeight()) {
+      // The overview has at least the resolution of the destination
+      double scaleX = (double)overview.getWidth() / width;
+      double scaleY = (double)overview.getHeight() / height;
+      g.drawImage(overview, destX, destY, destX + destWidth, destY + destHeight, (int)Math.floor(srcX * scaleX), (int)Math.floor(srcY * scaleY), (int)Math.ceil((srcX + srcWidth) * scaleX), (int)Math.ceil((srcY + srcHeight) * scaleY), null);
+      return;
+    }
+    Rectangle visible = getVisibleBounds(g);
+    Rectangle dest = new Rectangle(destX, destY, destWidth, destHeight);
+    if(visible != null) {
+      dest = dest.intersection(visible);
+      if(dest.isEmpty()) {
+        return;
+      }
+    }
+    // The visible part of the source, rounded outwards
+    int x1 = srcX + (int)((long)(dest.x - destX) * srcWidth / destWidth);
+    int y1 = srcY + (int)((long)(dest.y - destY) * srcHeight / destHeight);
+    int x2 = srcX + (int)(((long)(dest.x + dest.width - destX) * srcWidth + destWidth - 1) / destWidth);
+    int y2 = srcY + (int)(((long)(dest.y + dest.height - destY) * srcHeight + destHeight - 1) / destHeight);
+    x1 = Math.max(0, x1);
+    y1 = Math.max(0, y1);
+    x2 = Math.min(Math.min(width, srcX + srcWidth), x2);
+    y2 = Math.min(Math.min(height, srcY + srcHeight), y2);
+    for(int row=y1 / tileSize; row * tileSize < y2; row++) {
+      int tileY = row * tileSize;
+      int sy1 = Math.max(tileY, srcY);
+      int sy2 = Math.min(tileY + tileSize, Math.min(height, srcY + srcHeight));
+      int dy1 = destY + (int)((long)(sy1 - srcY) * destHeight / srcHeight);
+      int dy2 = destY + (int)((long)(sy2 - srcY) * destHeight / srcHeight);
+      for(int column=x1 / tileSize; column * tileSize < x2; column++) {
+        int tileX = column * tileSize;
+        int sx1 = Math.max(tileX, srcX);
+        int sx2 = Math.min(tileX + tileSize, Math.min(width, srcX + srcWidth));
+        int dx1 = destX + (int)((long)(sx1 - srcX) * destWidth / srcWidth);
+        int dx2 = destX + (int)((long)(sx2 - srcX) * destWidth / srcWidth);
+        g.drawImage(getTile(column, row), dx1, dy1, dx2, dy2, sx1 - tileX, sy1 - tileY, sx2 - tileX, sy2 - tileY, null);
+      }
+    }
+  }
+
+  /**
+   * Returns the bounds of the area of the graphics which can be painted, in user space, or null if unknown.
+   */
+  protected static Rectangle getVisibleBounds(CGC g) {
+    Rectangle visible = null;
+    AffineTransform transform = g.getTransform();
+    java.awt.Dimension size = g.getDeviceSize();
+    if(size != null && transform != null) {
+      try {
+        visible = transform.createInverse().createTransformedShape(new Rectangle(0, 0, size.width, size.height)).getBounds();
+      } catch(NoninvertibleTransformException e) {
+        return new Rectangle();
+      }
+    }
+    // The clip of the graphics combines the paint area and the user clip
+    Graphics2D graphics = g.getGraphics();
+    Rectangle clip = graphics == null? null: graphics.getClipBounds();
+    if(clip != null) {
+      visible = visible == null? clip: visible.intersection(clip);
+    }
+    return visible;
+  }
+
+  /**
+   * Creates an image holding all the pixels.
+   */
+  public BufferedImage toBufferedImage() {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    for(int row=0; row<rowCount; row++) {
+      for(int column=0; column<columnCount; column++) {
+        g.drawImage(getTile(column, row), column * tileSize, row * tileSize, null);
+      }
+    }
+    g.dispose();
+    return image;
+  }
+
+  public void dispose() {
+    tileCache.clear();
+    rowBuffer = null;
+    if(channel != null) {
+      try {
+        channel.close();
+      } catch(IOException e) {
+      }
+      channel = null;
+    }
+    if(file != null) {
+      file.delete();
+      file = null;
+    }
+  }
+
+}
@@ -153,7 +153,65 @@ public class UIThreadUtils {
     }
   }
 
+  /**
+   * The thread dispatching the AWT events which holds the exclusive
+   * section, so that it can enter it again without taking the lock.
+   */
+  protected static volatile Thread exclusiveSectionOwner;
+  /** The number of times the owner entered the exclusive section, only accessed by the owner. */
+  protected static int exclusiveSectionDepth;
+
+  /**
+   * Counters of the exclusive sections entered by the thread dispatching
+   * the AWT events, for diagnostics.
+   */
+  public static class ExclusiveSectionStatistics {
+    /** The number of sections entered while the thread already held one, without locking. */
+    public final long reentrantCount;
+    /** The number of sections entered by taking the lock. */
+    public final long lockedCount;
+    /** The number of sections which had to wait for the user-interface thread to release it. */
+    public final long handOverCount;
+    /** The total time spent waiting for the user-interface thread, in nanoseconds. */
+    public final long handOverNanos;
+    protected ExclusiveSectionStatistics(long reentrantCount, long lockedCount, long handOverCount, long handOverNanos) {
+      this.reentrantCount = reentrantCount;
+      this.lockedCount = lockedCount;
+      this.handOverCount = handOverCount;
+      this.handOverNanos = handOverNanos;
+    }
+    public String toString() {
+      return "reentrant=" + reentrantCount + ", locked=" + lockedCount + ", handOvers=" + handOverCount + ", handOverTime=" + handOverNanos / 1000000 + "ms";
+    }
+  }
+
+  protected static long reentrantCount;
+  protected static long lockedCount;
+  protected static long handOverCount;
+  protected static long handOverNanos;
+
+  public static ExclusiveSectionStatistics getExclusiveSectionStatistics() {
+    synchronized(UI_LOCK) {
+      return new ExclusiveSectionStatistics(reentrantCount, lockedCount, handOverCount, handOverNanos);
+    }
+  }
+
+  public static void resetExclusiveSectionStatistics() {
+    synchronized(UI_LOCK) {
+      reentrantCount = 0;
+      lockedCount = 0;
+      handOverCount = 0;
+      handOverNanos = 0;
+    }
+  }
+
   public static void startExclusiveSection(Display display) {
+    if(exclusiveSectionOwner == Thread.currentThread()) {
+      // Nested section, for example an event sent while handling another one.
+      exclusiveSectionDepth++;
+      reentrantCount++;
+      return;
+    }
     if(isRealDispatch() || !SwingUtilities.isEventDispatchThread()) {
       exclusiveSectionCount++;
       return;
@@ -164,23 +222,35 @@ public class UIThreadUtils {
       } catch(Exception e) {}
     }
     synchronized(UI_LOCK) {
+      lockedCount++;
       exclusiveSectionCount++;
       if(exclusiveSectionCount == 1) {
+        long time = System.nanoTime();
         try {
           display.wake();
           UI_LOCK.wait();
         } catch(Exception e) {
         }
+        handOverCount++;
+        handOverNanos += System.nanoTime() - time;
       }
+      exclusiveSectionOwner = Thread.currentThread();
+      exclusiveSectionDepth = 1;
     }
   }
 
   public static void stopExclusiveSection() {
+    if(exclusiveSectionOwner == Thread.currentThread() && exclusiveSectionDepth > 1) {
+      exclusiveSectionDepth--;
+      return;
+    }
     if(isRealDispatch() || !SwingUtilities.isEventDispatchThread()) {
       exclusiveSectionCount--;
       return;
     }
     synchronized(UI_LOCK) {
+      exclusiveSectionOwner = null;
+      exclusiveSectionDepth = 0;
       exclusiveSectionCount--;
       if(exclusiveSectionCount == 0) {
         UI_LOCK.notify();
@@ -450,6 +450,40 @@ public class Utils {
 //    return "SWTSwing UI - ";
 //  }
 
+  static final Map<GraphicsDevice, Robot> deviceToRobotMap = new HashMap<>();
+
+  /**
+   * Returns the robot of the given screen device, or of the default screen if
+   * the device is null. Robots are expensive to create, so one is kept per device.
+   */
+  public static Robot getRobot(GraphicsDevice device) throws AWTException {
+    if(device == null) {
+      device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+    }
+    synchronized(deviceToRobotMap) {
+      Robot robot = deviceToRobotMap.get(device);
+      if(robot == null) {
+        robot = new Robot(device);
+        deviceToRobotMap.put(device, robot);
+      }
+      return robot;
+    }
+  }
+
+  /**
+   * Returns the screen device containing the given point in screen coordinates,
+   * or the default screen if no device contains it.
+   */
+  public static GraphicsDevice getGraphicsDevice(int x, int y) {
+    GraphicsEnvironment environment = GraphicsEnvironment.getLocalGraphicsEnvironment();
+    for(GraphicsDevice device: environment.getScreenDevices()) {
+      if(device.getDefaultConfiguration().getBounds().contains(x, y)) {
+        return device;
+      }
+    }
+    return environment.getDefaultScreenDevice();
+  }
+
   public static void paintTiledImage(Component component, Graphics g, ImageIcon backgroundImageIcon) {
     Dimension size = component.getSize();
     paintTiledImage(g, backgroundImageIcon, 0, 0, size.width, size.height);
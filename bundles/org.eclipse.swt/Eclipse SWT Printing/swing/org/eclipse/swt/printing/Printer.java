@@ -14,16 +14,13 @@ package org.eclipse.swt.printing;
 import java.awt.*;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Image;
-import java.awt.RenderingHints.*;
 import java.awt.font.*;
 import java.awt.geom.*;
 import java.awt.image.*;
 import java.awt.print.*;
 import java.io.*;
 import java.util.*;
-import java.util.List;
 
 import javax.print.*;
 import javax.print.attribute.*;
@@ -262,23 +259,16 @@ protected void create(DeviceData deviceData) {
 	if (handle == null) SWT.error(SWT.ERROR_NO_HANDLES);
 }
 
-abstract class CGCCommand {
-  public abstract void run(CGC cgc);
-}
-
 volatile int pageCount;
-volatile List pageCommandList;
+volatile PrinterDisplayList displayList;
 volatile State initialState;
-CGCRecorder lastRecorder;
 
-void addCommand(CGCRecorder recorder, CGCCommand command) {
-  if(pageCount > 0) {
-    if(lastRecorder != recorder) {
-      lastRecorder = recorder;
-      addCommand(recorder, recorder.getStateCommand());
-    }
-    ((List)pageCommandList.get(pageCount - 1)).add(command);
-  }
+/**
+ * Returns the display list of the current page or null if there is none.
+ */
+PrinterDisplayList getPageDisplayList() {
+  PrinterDisplayList displayList = this.displayList;
+  return displayList != null && displayList.isRecording()? displayList: null;
 }
 
 class State {
@@ -295,254 +285,172 @@ class State {
 
 class CGCRecorder extends CGC.CGCGraphics2D {
   protected Graphics2D graphics2D = new NullGraphics2D();
+  /** The current Color or Paint. */
+  protected Paint paint;
+  /** The current Composite or the Color of the XOR mode. */
+  protected Object composite;
   @Override
 public Graphics2D getGraphics() {
     return graphics2D;
   }
   public void setState(State state) {
-    super.setFont(state.font);
-    super.setBackground(state.background);
-    super.setColor(state.color);
-    super.setUserClip(state.userClip);
-    super.setComposite(state.composite);
-    super.setRenderingHints(state.renderingHints);
-    super.setStroke(state.stroke);
-    super.setTransform(state.transform);
+    setFont(state.font);
+    setBackground(state.background);
+    setColor(state.color);
+    setUserClip(state.userClip);
+    setComposite(state.composite);
+    setRenderingHints(state.renderingHints);
+    setStroke(state.stroke);
+    setTransform(state.transform);
     setFontRenderContext(state.fontRenderContext);
   }
-  public State getState() {
-    State state = new State();
-    state.font = super.getFont();
-    state.background = super.getBackground();
-    state.color = super.getColor();
-    state.userClip = super.getUserClip();
-    state.composite = super.getComposite();
-    state.renderingHints = super.getRenderingHints();
-    state.stroke = super.getStroke();
-    state.fontRenderContext = super.getFontRenderContext();
-    state.transform = super.getTransform();
-    return state;
-  }
-  public CGCCommand getStateCommand() {
-    final State state = getState();
-    return new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setFont(state.font);
-        cgc.setColor(state.color);
-        cgc.setBackground(state.background);
-        cgc.setUserClip(state.userClip);
-        cgc.setComposite(state.composite);
-        cgc.setRenderingHints(state.renderingHints);
-        cgc.setStroke(state.stroke);
-        if(cgc instanceof CGCRecorder) {
-          ((CGCRecorder)cgc).setFontRenderContext(state.fontRenderContext);
-        }
-        cgc.setTransform(state.transform);
-      }
-    };
+  /**
+   * Returns the display list of the current page after bringing its
+   * state up to date with the state of this recorder.
+   */
+  protected PrinterDisplayList record() {
+    PrinterDisplayList displayList = getPageDisplayList();
+    if(displayList != null) {
+      displayList.writeState(getFont(), paint, getBackground(), getUserClip(), composite, getRenderingHints(), getStroke(), getTransform());
+    }
+    return displayList;
   }
   @Override
-public void copyArea(final int x, final int y, final int width, final int height, final int dx, final int dy) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        copyArea(x, y, width, height, dx, dy);
-      }
-    });
+public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_COPY_AREA, x, y, width, height, dx, dy);
+    }
     super.copyArea(x, y, width, height, dx, dy);
   }
   @Override
-public void dispose() {
-//    addCommand(this, new CGCCommand() {
-//      public void run(CGC cgc) {
-//        cgc.dispose();
-//      }
-//    });
-    super.dispose();
-  }
-  @Override
-public void draw(final Shape s) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.draw(s);
-      }
-    });
+public void draw(Shape s) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeShapeOp(PrinterDisplayList.OP_DRAW, s);
+    }
     super.draw(s);
   }
   @Override
-public void drawArc(final int x, final int y, final int width, final int height, final int startAngle, final int arcAngle) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawArc(x, y, width, height, startAngle, arcAngle);
-      }
-    });
+public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_DRAW_ARC, x, y, width, height, startAngle, arcAngle);
+    }
     super.drawArc(x, y, width, height, startAngle, arcAngle);
   }
   @Override
-public boolean drawImage(Image img, final int dx1, final int dy1, final int dx2, final int dy2, final int sx1, final int sy1, final int sx2, final int sy2, final ImageObserver observer) {
-    final BufferedImage image = new BufferedImage(sx2 - sx1, sy2 - sy1, BufferedImage.TYPE_INT_ARGB);
-    image.getGraphics().drawImage(img, 0, 0, image.getWidth(), image.getHeight(), sx1, sy1, sx2, sy2, observer);
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawImage(image, dx1, dy1, dx2, dy2, 0, 0, image.getWidth(), image.getHeight(), observer);
-      }
-    });
+public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2);
+    }
     return super.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer);
   }
   @Override
-public void drawLine(final int x1, final int y1, final int x2, final int y2) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawLine(x1, y1, x2, y2);
-      }
-    });
+public void drawLine(int x1, int y1, int x2, int y2) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_DRAW_LINE, x1, y1, x2, y2);
+    }
     super.drawLine(x1, y1, x2, y2);
   }
   @Override
-public void drawOval(final int x, final int y, final int width, final int height) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawOval(x, y, width, height);
-      }
-    });
+public void drawOval(int x, int y, int width, int height) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_DRAW_OVAL, x, y, width, height);
+    }
     super.drawOval(x, y, width, height);
   }
   @Override
-public void drawPolygon(final int[] points, final int[] points2, final int points3) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawPolygon(points, points2, points3);
-      }
-    });
-    super.drawPolygon(points, points2, points3);
+public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writePolygonOp(PrinterDisplayList.OP_DRAW_POLYGON, xPoints, yPoints, nPoints);
+    }
+    super.drawPolygon(xPoints, yPoints, nPoints);
   }
   @Override
-public void drawPolyline(final int[] points, final int[] points2, final int points3) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawPolyline(points, points2, points3);
-      }
-    });
-    super.drawPolyline(points, points2, points3);
+public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writePolygonOp(PrinterDisplayList.OP_DRAW_POLYLINE, xPoints, yPoints, nPoints);
+    }
+    super.drawPolyline(xPoints, yPoints, nPoints);
   }
   @Override
-public void drawRect(final int x, final int y, final int width, final int height) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawRect(x, y, width, height);
-      }
-    });
+public void drawRect(int x, int y, int width, int height) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_DRAW_RECT, x, y, width, height);
+    }
     super.drawRect(x, y, width, height);
   }
   @Override
-public void drawRoundRect(final int x, final int y, final int width, final int height, final int arcWidth, final int arcHeight) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawRoundRect(x, y, width, height, arcWidth, arcHeight);
-      }
-    });
+public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_DRAW_ROUND_RECT, x, y, width, height, arcWidth, arcHeight);
+    }
     super.drawRoundRect(x, y, width, height, arcWidth, arcHeight);
   }
   @Override
-public void drawString(final String str, final int x, final int y) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.drawString(str, x, y);
-      }
-    });
+public void drawString(String str, int x, int y) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeString(str, x, y);
+    }
     super.drawString(str, x, y);
   }
   @Override
-public void fill(final Shape s) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.fill(s);
-      }
-    });
+public void fill(Shape s) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeShapeOp(PrinterDisplayList.OP_FILL, s);
+    }
     super.fill(s);
   }
   @Override
-public void fillArc(final int x, final int y, final int width, final int height, final int startAngle, final int arcAngle) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.fillArc(x, y, width, height, startAngle, arcAngle);
-      }
-    });
+public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_FILL_ARC, x, y, width, height, startAngle, arcAngle);
+    }
     super.fillArc(x, y, width, height, startAngle, arcAngle);
   }
   @Override
-public void fillOval(final int x, final int y, final int width, final int height) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.fillOval(x, y, width, height);
-      }
-    });
+public void fillOval(int x, int y, int width, int height) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_FILL_OVAL, x, y, width, height);
+    }
     super.fillOval(x, y, width, height);
   }
   @Override
-public void fillPolygon(final int[] xPoints, final int[] yPoints, final int nPoints) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.fillPolygon(xPoints, yPoints, nPoints);
-      }
-    });
+public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writePolygonOp(PrinterDisplayList.OP_FILL_POLYGON, xPoints, yPoints, nPoints);
+    }
     super.fillPolygon(xPoints, yPoints, nPoints);
   }
   @Override
-public void fillRect(final int x, final int y, final int width, final int height) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.fillRect(x, y, width, height);
-      }
-    });
+public void fillRect(int x, int y, int width, int height) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_FILL_RECT, x, y, width, height);
+    }
     super.fillRect(x, y, width, height);
   }
   @Override
-public void fillRoundRect(final int x, final int y, final int width, final int height, final int arcWidth, final int arcHeight) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.fillRoundRect(x, y, width, height, arcWidth, arcHeight);
-      }
-    });
+public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+    PrinterDisplayList displayList = record();
+    if(displayList != null) {
+      displayList.writeOp(PrinterDisplayList.OP_FILL_ROUND_RECT, x, y, width, height, arcWidth, arcHeight);
+    }
     super.fillRoundRect(x, y, width, height, arcWidth, arcHeight);
   }
-  @Override
-public Color getBackground() {
-    return super.getBackground();
-  }
-  @Override
-public Color getColor() {
-    return super.getColor();
-  }
-  @Override
-public Composite getComposite() {
-    return super.getComposite();
-  }
-  @Override
-public Font getFont() {
-    return super.getFont();
-  }
-  @Override
-public FontMetrics getFontMetrics() {
-    return super.getFontMetrics();
-  }
   protected FontRenderContext fontRenderContext;
   public void setFontRenderContext(FontRenderContext fontRenderContext) {
     this.fontRenderContext = fontRenderContext;
@@ -555,160 +463,33 @@ public FontRenderContext getFontRenderContext() {
     return super.getFontRenderContext();
   }
   @Override
-public Paint getPaint() {
-    return super.getPaint();
-  }
-  @Override
-public Object getRenderingHint(Key hintKey) {
-    return super.getRenderingHint(hintKey);
-  }
-  @Override
-public RenderingHints getRenderingHints() {
-    return super.getRenderingHints();
-  }
-  @Override
-public Stroke getStroke() {
-    return super.getStroke();
-  }
-  @Override
-public AffineTransform getTransform() {
-    return super.getTransform();
-  }
-  @Override
-public void setBackground(final Color background) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setBackground(background);
-      }
-    });
-    super.setBackground(background);
-  }
-  @Override
-public void setColor(final Color color) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setColor(color);
-      }
-    });
+public void setColor(Color color) {
+    paint = color;
     super.setColor(color);
   }
   @Override
-public void setComposite(final Composite comp) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setComposite(comp);
-      }
-    });
+public void setComposite(Composite comp) {
+    composite = comp;
     super.setComposite(comp);
   }
   @Override
-public void setFont(final Font font) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setFont(font);
-      }
-    });
-    super.setFont(font);
-  }
-  @Override
-public void setPaint(final Paint paint) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setPaint(paint);
-      }
-    });
+public void setPaint(Paint paint) {
+    this.paint = paint;
+    if(paint instanceof Color) {
+      super.setColor((Color)paint);
+    }
     super.setPaint(paint);
   }
   @Override
 public void setPaintMode() {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setPaintMode();
-      }
-    });
-    super.setPaintMode();
-  }
-  @Override
-public void setRenderingHint(final Key hintKey, final Object hintValue) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setRenderingHint(hintKey, hintValue);
-      }
-    });
-    super.setRenderingHint(hintKey, hintValue);
-  }
-  @Override
-public void setRenderingHints(final Map hints) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setRenderingHints(hints);
-      }
-    });
-    super.setRenderingHints(hints);
+    setComposite(AlphaComposite.SrcOver);
   }
   @Override
-public void setStroke(final Stroke s) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setStroke(s);
-      }
-    });
-    super.setStroke(s);
-  }
-  @Override
-public void setTransform(final AffineTransform tx) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setTransform(tx);
-      }
-    });
-    super.setTransform(tx);
-  }
-  @Override
-public void setXORMode(final Color c1) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setXORMode(c1);
-      }
-    });
+public void setXORMode(Color c1) {
+    composite = c1;
     super.setXORMode(c1);
   }
   @Override
-public void transform(final AffineTransform tx) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.transform(tx);
-      }
-    });
-    super.transform(tx);
-  }
-  @Override
-public void setUserClip(final Shape userClip) {
-    addCommand(this, new CGCCommand() {
-      @Override
-	public void run(CGC cgc) {
-        cgc.setUserClip(userClip);
-      }
-    });
-    super.setUserClip(userClip);
-  }
-  @Override
-public Shape getUserClip() {
-    return super.getUserClip();
-  }
-  @Override
 public Dimension getDeviceSize() {
     Rectangle bounds = getBounds();
     return new Dimension(bounds.width, bounds.height);
@@ -810,8 +591,11 @@ public boolean startJob(String jobName) {
 	checkDevice();
 	handle.setJobName(jobName);
 //	handle.setCopies(data.copyCount);
+  if(displayList != null) {
+    displayList.dispose();
+  }
   pageCount = 0;
-  pageCommandList = new ArrayList();
+  displayList = new PrinterDisplayList();
   // TODO: Check conditions that return false;
   return true;
 //	DOCINFO di = new DOCINFO();
@@ -854,53 +638,17 @@ public boolean startJob(String jobName) {
  */
 public void endJob() {
 	checkDevice();
-  handle.setPageable(new Pageable() {
-    @Override
-	public int getNumberOfPages() {
-      return pageCount;
-    }
-    @Override
-	public Printable getPrintable(int pageIndex) throws IndexOutOfBoundsException {
-      return (g, pageFormat, pageIndex1) -> {
-	  if(pageIndex1 < 0 || pageIndex1 >= pageCount) {
-	    return Printable.NO_SUCH_PAGE;
-	  }
-	  final Graphics2D g2D = ((Graphics2D)g);
-	  CGC cgc = new CGC.CGCGraphics2D() {
-	    @Override
-		public Graphics2D getGraphics() {
-	      return g2D;
-	    }
-	    @Override
-		public Dimension getDeviceSize() {
-	      Rectangle bounds = getBounds();
-	      return new Dimension(bounds.width, bounds.height);
-	    }
-	  };
-	  List commandList = (List)pageCommandList.get(pageIndex1);
-//      int iX = (int)Math.round(referencePageFormat.getImageableX());
-//      int iY = (int)Math.round(referencePageFormat.getImageableY());
-//      g.translate(iX, iY);
-	  for(int i=0; i<commandList.size(); i++) {
-	    CGCCommand command = (CGCCommand)commandList.get(i);
-	    command.run(cgc);
-	  }
-//      g.translate(-iX, -iY);
-	  return Printable.PAGE_EXISTS;
-	};
-    }
-    @Override
-	public PageFormat getPageFormat(int pageIndex) throws IndexOutOfBoundsException {
-      return referencePageFormat;
-    }
-  });
+  Rectangle bounds = getBounds();
+  handle.setPageable(displayList.createPageable(referencePageFormat, new Dimension(bounds.width, bounds.height)));
   try {
     handle.print(getHashPrintRequestAttributeSet());
   } catch(Exception e) {
     e.printStackTrace();
+  } finally {
+    displayList.dispose();
+    displayList = null;
+    pageCount = 0;
   }
-  pageCommandList = null;
-  lastRecorder = null;
 //	OS.EndDoc(handle);
 }
 
@@ -914,7 +662,11 @@ public void endJob() {
 public void cancelJob() {
 	checkDevice();
   handle.cancel();
-  pageCommandList = null;
+  if(displayList != null) {
+    displayList.dispose();
+    displayList = null;
+  }
+  pageCount = 0;
 //	OS.AbortDoc(handle);
 }
 
@@ -938,9 +690,8 @@ public void cancelJob() {
  */
 public boolean startPage() {
 	checkDevice();
+  displayList.startPage();
   pageCount++;
-  pageCommandList.add(new ArrayList());
-  lastRecorder = null;
   // TODO: find if false can happen
   return true;
 }
@@ -958,6 +709,7 @@ public boolean startPage() {
  */
 public void endPage() {
 	checkDevice();
+  displayList.closePage();
 	//TODO: set the default attributes for the next page?
 }
 
@@ -1102,6 +854,10 @@ protected void checkDevice() {
 @Override
 protected void release() {
 	super.release();
+  if(displayList != null) {
+    displayList.dispose();
+    displayList = null;
+  }
 	data = null;
 }
 
@@ -0,0 +1,817 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.printing;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.*;
+import java.awt.print.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.swing.*;
+
+/**
+ * Compact binary display list of the pages of a print job.
+ * <p>
+ * Every page is spooled to its own temporary file as a stream of op-codes
+ * followed by their arguments. Integers are written as zig-zag varints and
+ * polygon points are delta encoded. Graphics state is only written when it
+ * differs from the state already present in the stream of the page, so
+ * switching between GCs emits the changed attributes only. Objects which
+ * have no compact encoding (fonts, composites, paints, rendering hints) are
+ * kept once per job in a deduplicated object table. Images are deduplicated
+ * by content and their pixels are spooled to a job wide image file.
+ * </p><p>
+ * Pages are replayed in a streaming fashion when the <code>PrinterJob</code>
+ * requests them, so only the page being printed and a few recently used
+ * images are held in memory.
+ * </p>
+ */
+class PrinterDisplayList {
+
+  static final byte OP_END = 0;
+  static final byte OP_STATE = 1;
+  static final byte OP_COPY_AREA = 2;
+  static final byte OP_DRAW = 3;
+  static final byte OP_DRAW_ARC = 4;
+  static final byte OP_DRAW_IMAGE = 5;
+  static final byte OP_DRAW_LINE = 6;
+  static final byte OP_DRAW_OVAL = 7;
+  static final byte OP_DRAW_POLYGON = 8;
+  static final byte OP_DRAW_POLYLINE = 9;
+  static final byte OP_DRAW_RECT = 10;
+  static final byte OP_DRAW_ROUND_RECT = 11;
+  static final byte OP_DRAW_STRING = 12;
+  static final byte OP_FILL = 13;
+  static final byte OP_FILL_ARC = 14;
+  static final byte OP_FILL_OVAL = 15;
+  static final byte OP_FILL_POLYGON = 16;
+  static final byte OP_FILL_RECT = 17;
+  static final byte OP_FILL_ROUND_RECT = 18;
+
+  /*
+   * State attributes, used as bits of OP_STATE. The paint is either a Color
+   * or another Paint, the composite is either a Composite or the Color of
+   * the XOR mode.
+   */
+  static final int FONT = 0;
+  static final int PAINT = 1;
+  static final int BACKGROUND = 2;
+  static final int CLIP = 3;
+  static final int COMPOSITE = 4;
+  static final int HINTS = 5;
+  static final int STROKE = 6;
+  static final int TRANSFORM = 7;
+  static final int STATE_COUNT = 8;
+
+  /* Value encodings */
+  static final byte NULL = 0;
+  static final byte RECTANGLE = 1;
+  static final byte PATH = 2;
+  static final byte BASIC_STROKE = 3;
+  static final byte COLOR = 4;
+  static final byte OBJECT = 5;
+
+  /* Marks a state attribute whose value in the stream is not known */
+  static final Object UNKNOWN = new Object();
+
+  static final int IMAGE_CACHE_SIZE = 8;
+
+  static class ImageEntry {
+    final int width;
+    final int height;
+    final long offset;
+    /** Second hash of the pixels, independent of the key of the entry. */
+    final long check;
+    ImageEntry(int width, int height, long offset, long check) {
+      this.width = width;
+      this.height = height;
+      this.offset = offset;
+      this.check = check;
+    }
+  }
+
+  final List<File> pageFiles = new ArrayList<>();
+  final List<Object> objects = new ArrayList<>();
+  final Map<Object, Integer> objectIndexes = new HashMap<>();
+  final List<ImageEntry> images = new ArrayList<>();
+  final Map<Long, Integer> imageIndexes = new HashMap<>();
+  File imageFile;
+  DataOutputStream imageOut;
+  RandomAccessFile imageIn;
+  long imageOffset;
+
+  DataOutputStream out;
+  final Object[] state = new Object[STATE_COUNT];
+  int[] pixels = new int[0];
+  BufferedImage scratchImage;
+  byte[] bytes = new byte[256];
+
+  /**
+   * Starts spooling a new page, ending the current one.
+   */
+  void startPage() {
+    closePage();
+    try {
+      File file = File.createTempFile("swt-print", ".page");
+      pageFiles.add(file);
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+    Arrays.fill(state, UNKNOWN);
+  }
+
+  void closePage() {
+    if(out == null) {
+      return;
+    }
+    try {
+      out.writeByte(OP_END);
+      out.close();
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    } finally {
+      out = null;
+    }
+  }
+
+  boolean isRecording() {
+    return out != null;
+  }
+
+  int getPageCount() {
+    return pageFiles.size();
+  }
+
+  /**
+   * Deletes all the spooled data.
+   */
+  void dispose() {
+    try {
+      if(out != null) {
+        out.close();
+      }
+      if(imageOut != null) {
+        imageOut.close();
+      }
+      if(imageIn != null) {
+        imageIn.close();
+      }
+    } catch(IOException e) {
+    }
+    out = null;
+    imageOut = null;
+    imageIn = null;
+    for(File file: pageFiles) {
+      file.delete();
+    }
+    pageFiles.clear();
+    if(imageFile != null) {
+      imageFile.delete();
+      imageFile = null;
+    }
+    objects.clear();
+    objectIndexes.clear();
+    images.clear();
+    imageIndexes.clear();
+    scratchImage = null;
+    pixels = new int[0];
+  }
+
+  /* Recording */
+
+  /**
+   * Writes the attributes which differ from the state of the stream. Called
+   * before every drawing operation, so the setters of a GC never have to be
+   * recorded and switching between GCs costs only the changed attributes.
+   */
+  void writeState(Font font, Paint paint, Color background, Shape clip, Object composite, RenderingHints hints, Stroke stroke, AffineTransform transform) {
+    Object[] values = {font, paint, background, clip, composite, hints, stroke, transform};
+    int mask = 0;
+    for(int i=0; i<STATE_COUNT; i++) {
+      if(!isCurrent(i, values[i])) {
+        mask |= 1 << i;
+      }
+    }
+    if(mask == 0) {
+      return;
+    }
+    try {
+      out.writeByte(OP_STATE);
+      out.writeByte(mask);
+      for(int i=0; i<STATE_COUNT; i++) {
+        if((mask & (1 << i)) != 0) {
+          writeStateValue(i, values[i]);
+        }
+      }
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  boolean isCurrent(int attribute, Object value) {
+    Object current = state[attribute];
+    if(current == UNKNOWN) {
+      return false;
+    }
+    if(current instanceof Path2D && value instanceof Shape) {
+      // The clip is kept as a copy of its path, which only equals itself.
+      return hasSamePath((Shape)current, (Shape)value);
+    }
+    return Objects.equals(current, value);
+  }
+
+  static boolean hasSamePath(Shape shape1, Shape shape2) {
+    PathIterator iterator1 = shape1.getPathIterator(null);
+    PathIterator iterator2 = shape2.getPathIterator(null);
+    if(iterator1.getWindingRule() != iterator2.getWindingRule()) {
+      return false;
+    }
+    double[] coords1 = new double[6];
+    double[] coords2 = new double[6];
+    for(; !iterator1.isDone() && !iterator2.isDone(); iterator1.next(), iterator2.next()) {
+      int type = iterator1.currentSegment(coords1);
+      if(type != iterator2.currentSegment(coords2)) {
+        return false;
+      }
+      int count = type == PathIterator.SEG_QUADTO? 4: type == PathIterator.SEG_CUBICTO? 6: type == PathIterator.SEG_CLOSE? 0: 2;
+      for(int i=0; i<count; i++) {
+        if(coords1[i] != coords2[i]) {
+          return false;
+        }
+      }
+    }
+    return iterator1.isDone() && iterator2.isDone();
+  }
+
+  void writeStateValue(int attribute, Object value) throws IOException {
+    switch(attribute) {
+      case FONT: writeObject(value); break;
+      case HINTS: writeObject(value == null? null: ((RenderingHints)value).clone()); break;
+      case PAINT: case COMPOSITE: writeValue(value); break;
+      case BACKGROUND: writeColor((Color)value); break;
+      case CLIP: writeShape((Shape)value); break;
+      case STROKE: writeStroke((Stroke)value); break;
+      case TRANSFORM: writeTransform((AffineTransform)value); break;
+    }
+    if(value instanceof AffineTransform) {
+      value = ((AffineTransform)value).clone();
+    } else if(value instanceof Rectangle) {
+      value = new Rectangle((Rectangle)value);
+    } else if(value instanceof Shape) {
+      value = new Path2D.Double((Shape)value);
+    } else if(value instanceof RenderingHints) {
+      value = ((RenderingHints)value).clone();
+    }
+    state[attribute] = value;
+  }
+
+  void writeOp(byte op, int... args) {
+    try {
+      out.writeByte(op);
+      for(int arg: args) {
+        writeInt(arg);
+      }
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  void writeShapeOp(byte op, Shape shape) {
+    try {
+      out.writeByte(op);
+      writeShape(shape);
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  void writePolygonOp(byte op, int[] xPoints, int[] yPoints, int nPoints) {
+    try {
+      out.writeByte(op);
+      writeInt(nPoints);
+      int lastX = 0;
+      int lastY = 0;
+      for(int i=0; i<nPoints; i++) {
+        writeInt(xPoints[i] - lastX);
+        writeInt(yPoints[i] - lastY);
+        lastX = xPoints[i];
+        lastY = yPoints[i];
+      }
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  void writeString(String string, int x, int y) {
+    try {
+      out.writeByte(OP_DRAW_STRING);
+      byte[] data = string.getBytes(StandardCharsets.UTF_8);
+      writeInt(data.length);
+      out.write(data);
+      writeInt(x);
+      writeInt(y);
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  void writeImage(Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2) {
+    int width = sx2 - sx1;
+    int height = sy2 - sy1;
+    if(width <= 0 || height <= 0) {
+      return;
+    }
+    try {
+      int index = addImage(image, sx1, sy1, width, height);
+      out.writeByte(OP_DRAW_IMAGE);
+      writeInt(index);
+      writeInt(dx1);
+      writeInt(dy1);
+      writeInt(dx2);
+      writeInt(dy2);
+    } catch(IOException e) {
+      SWT.error(SWT.ERROR_IO, e);
+    }
+  }
+
+  int addImage(Image image, int x, int y, int width, int height) throws IOException {
+    int length = width * height;
+    if(pixels.length < length) {
+      pixels = new int[length];
+    }
+    if(image instanceof BufferedImage) {
+      ((BufferedImage)image).getRGB(x, y, width, height, pixels, 0, width);
+    } else {
+      if(scratchImage == null || scratchImage.getWidth() < width || scratchImage.getHeight() < height) {
+        scratchImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      }
+      Graphics2D g = scratchImage.createGraphics();
+      g.setComposite(AlphaComposite.Src);
+      g.drawImage(image, 0, 0, width, height, x, y, x + width, y + height, null);
+      g.dispose();
+      scratchImage.getRGB(0, 0, width, height, pixels, 0, width);
+    }
+    long hash = hash(pixels, width, height);
+    long check = check(pixels, length);
+    Integer index = imageIndexes.get(hash);
+    if(index != null) {
+      ImageEntry entry = images.get(index);
+      // The hashes only select the candidate, the spooled pixels decide.
+      if(entry.width == width && entry.height == height && entry.check == check && hasPixels(entry, pixels, length)) {
+        return index;
+      }
+    }
+    if(imageOut == null) {
+      imageFile = File.createTempFile("swt-print", ".images");
+      imageOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(imageFile)));
+    }
+    for(int i=0; i<length; i++) {
+      imageOut.writeInt(pixels[i]);
+    }
+    images.add(new ImageEntry(width, height, imageOffset, check));
+    imageOffset += length * 4L;
+    index = images.size() - 1;
+    imageIndexes.put(hash, index);
+    return index;
+  }
+
+  static long hash(int[] pixels, int width, int height) {
+    long hash = width * 31L + height;
+    for(int i=0, length=width * height; i<length; i++) {
+      hash = (hash ^ pixels[i]) * 0x9E3779B97F4A7C15L;
+    }
+    return hash ^ (hash >>> 29);
+  }
+
+  static long check(int[] pixels, int length) {
+    long check = 0xCBF29CE484222325L;
+    for(int i=0; i<length; i++) {
+      check = (check + pixels[i]) * 0x100000001B3L;
+    }
+    return check;
+  }
+
+  /**
+   * Returns whether the spooled pixels of an image are the given pixels.
+   * Only called when both hashes match, the image file stays open for the
+   * next candidate until the display list is disposed.
+   */
+  boolean hasPixels(ImageEntry entry, int[] pixels, int length) throws IOException {
+    imageOut.flush();
+    if(imageIn == null) {
+      imageIn = new RandomAccessFile(imageFile, "r");
+    }
+    imageIn.seek(entry.offset);
+    byte[] data = new byte[Math.min(length, 16384) * 4];
+    IntBuffer buffer = ByteBuffer.wrap(data).asIntBuffer();
+    for(int i=0; i<length; ) {
+      int count = Math.min(length - i, data.length / 4);
+      imageIn.readFully(data, 0, count * 4);
+      for(int j=0; j<count; j++, i++) {
+        if(buffer.get(j) != pixels[i]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  void writeInt(int value) throws IOException {
+    int v = (value << 1) ^ (value >> 31);
+    while((v & ~0x7F) != 0) {
+      out.writeByte((v & 0x7F) | 0x80);
+      v >>>= 7;
+    }
+    out.writeByte(v);
+  }
+
+  void writeObject(Object object) throws IOException {
+    if(object == null) {
+      writeInt(-1);
+      return;
+    }
+    Integer index = objectIndexes.get(object);
+    if(index == null) {
+      index = objects.size();
+      objects.add(object);
+      objectIndexes.put(object, index);
+    }
+    writeInt(index);
+  }
+
+  void writeValue(Object value) throws IOException {
+    if(value == null) {
+      out.writeByte(NULL);
+    } else if(value instanceof Color && value.getClass() == Color.class) {
+      out.writeByte(COLOR);
+      out.writeInt(((Color)value).getRGB());
+    } else {
+      out.writeByte(OBJECT);
+      writeObject(value);
+    }
+  }
+
+  void writeColor(Color color) throws IOException {
+    out.writeBoolean(color != null);
+    if(color != null) {
+      out.writeInt(color.getRGB());
+    }
+  }
+
+  void writeTransform(AffineTransform transform) throws IOException {
+    out.writeBoolean(transform != null);
+    if(transform != null) {
+      double[] matrix = new double[6];
+      transform.getMatrix(matrix);
+      for(double value: matrix) {
+        out.writeDouble(value);
+      }
+    }
+  }
+
+  void writeStroke(Stroke stroke) throws IOException {
+    if(stroke == null) {
+      out.writeByte(NULL);
+    } else if(stroke instanceof BasicStroke && stroke.getClass() == BasicStroke.class) {
+      BasicStroke basicStroke = (BasicStroke)stroke;
+      out.writeByte(BASIC_STROKE);
+      out.writeFloat(basicStroke.getLineWidth());
+      out.writeByte(basicStroke.getEndCap());
+      out.writeByte(basicStroke.getLineJoin());
+      out.writeFloat(basicStroke.getMiterLimit());
+      float[] dash = basicStroke.getDashArray();
+      writeInt(dash == null? -1: dash.length);
+      if(dash != null) {
+        for(float value: dash) {
+          out.writeFloat(value);
+        }
+      }
+      out.writeFloat(basicStroke.getDashPhase());
+    } else {
+      out.writeByte(OBJECT);
+      writeObject(stroke);
+    }
+  }
+
+  void writeShape(Shape shape) throws IOException {
+    if(shape == null) {
+      out.writeByte(NULL);
+      return;
+    }
+    if(shape instanceof Rectangle) {
+      Rectangle r = (Rectangle)shape;
+      out.writeByte(RECTANGLE);
+      writeInt(r.x);
+      writeInt(r.y);
+      writeInt(r.width);
+      writeInt(r.height);
+      return;
+    }
+    out.writeByte(PATH);
+    PathIterator iterator = shape.getPathIterator(null);
+    out.writeByte(iterator.getWindingRule());
+    float[] coords = new float[6];
+    for(; !iterator.isDone(); iterator.next()) {
+      int type = iterator.currentSegment(coords);
+      out.writeByte(type);
+      int count;
+      switch(type) {
+        case PathIterator.SEG_MOVETO: case PathIterator.SEG_LINETO: count = 2; break;
+        case PathIterator.SEG_QUADTO: count = 4; break;
+        case PathIterator.SEG_CUBICTO: count = 6; break;
+        default: count = 0; break;
+      }
+      for(int i=0; i<count; i++) {
+        out.writeFloat(coords[i]);
+      }
+    }
+    out.writeByte(-1);
+  }
+
+  /* Replay */
+
+  /**
+   * Replays the page with the given index on the graphics.
+   */
+  void replay(int pageIndex, CGC cgc) throws IOException {
+    closePage();
+    if(imageOut != null) {
+      imageOut.flush();
+    }
+    try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(pageFiles.get(pageIndex))));
+        Reader reader = new Reader(in)) {
+      reader.replay(cgc);
+    }
+  }
+
+  class Reader implements Closeable {
+    final DataInputStream in;
+    RandomAccessFile imageIn;
+    final Map<Integer, BufferedImage> imageCache = new LinkedHashMap<Integer, BufferedImage>(IMAGE_CACHE_SIZE, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+        return size() > IMAGE_CACHE_SIZE;
+      }
+    };
+
+    Reader(DataInputStream in) {
+      this.in = in;
+    }
+
+    void replay(CGC cgc) throws IOException {
+      while(true) {
+        byte op = in.readByte();
+        switch(op) {
+          case OP_END: return;
+          case OP_STATE: readState(cgc); break;
+          case OP_COPY_AREA: cgc.copyArea(readInt(), readInt(), readInt(), readInt(), readInt(), readInt()); break;
+          case OP_DRAW: cgc.draw(readShape()); break;
+          case OP_DRAW_ARC: cgc.drawArc(readInt(), readInt(), readInt(), readInt(), readInt(), readInt()); break;
+          case OP_DRAW_IMAGE: {
+            BufferedImage image = readImage(readInt());
+            cgc.drawImage(image, readInt(), readInt(), readInt(), readInt(), 0, 0, image.getWidth(), image.getHeight(), null);
+            break;
+          }
+          case OP_DRAW_LINE: cgc.drawLine(readInt(), readInt(), readInt(), readInt()); break;
+          case OP_DRAW_OVAL: cgc.drawOval(readInt(), readInt(), readInt(), readInt()); break;
+          case OP_DRAW_POLYGON: {
+            int[][] points = readPolygon();
+            cgc.drawPolygon(points[0], points[1], points[0].length);
+            break;
+          }
+          case OP_DRAW_POLYLINE: {
+            int[][] points = readPolygon();
+            cgc.drawPolyline(points[0], points[1], points[0].length);
+            break;
+          }
+          case OP_DRAW_RECT: cgc.drawRect(readInt(), readInt(), readInt(), readInt()); break;
+          case OP_DRAW_ROUND_RECT: cgc.drawRoundRect(readInt(), readInt(), readInt(), readInt(), readInt(), readInt()); break;
+          case OP_DRAW_STRING: {
+            byte[] data = new byte[readInt()];
+            in.readFully(data);
+            cgc.drawString(new String(data, StandardCharsets.UTF_8), readInt(), readInt());
+            break;
+          }
+          case OP_FILL: cgc.fill(readShape()); break;
+          case OP_FILL_ARC: cgc.fillArc(readInt(), readInt(), readInt(), readInt(), readInt(), readInt()); break;
+          case OP_FILL_OVAL: cgc.fillOval(readInt(), readInt(), readInt(), readInt()); break;
+          case OP_FILL_POLYGON: {
+            int[][] points = readPolygon();
+            cgc.fillPolygon(points[0], points[1], points[0].length);
+            break;
+          }
+          case OP_FILL_RECT: cgc.fillRect(readInt(), readInt(), readInt(), readInt()); break;
+          case OP_FILL_ROUND_RECT: cgc.fillRoundRect(readInt(), readInt(), readInt(), readInt(), readInt(), readInt()); break;
+          default: throw new IOException("Invalid display list op-code: " + op);
+        }
+      }
+    }
+
+    void readState(CGC cgc) throws IOException {
+      int mask = in.readByte() & 0xFF;
+      if((mask & (1 << FONT)) != 0) cgc.setFont((Font)readObject());
+      if((mask & (1 << PAINT)) != 0) {
+        Object paint = readValue();
+        if(paint instanceof Color) {
+          cgc.setColor((Color)paint);
+        } else {
+          cgc.setPaint((Paint)paint);
+        }
+      }
+      if((mask & (1 << BACKGROUND)) != 0) cgc.setBackground(readColor());
+      if((mask & (1 << CLIP)) != 0) cgc.setUserClip(readShape());
+      if((mask & (1 << COMPOSITE)) != 0) {
+        Object composite = readValue();
+        if(composite instanceof Color) {
+          cgc.setXORMode((Color)composite);
+        } else {
+          cgc.setComposite((Composite)composite);
+        }
+      }
+      if((mask & (1 << HINTS)) != 0) cgc.setRenderingHints((Map)readObject());
+      if((mask & (1 << STROKE)) != 0) cgc.setStroke(readStroke());
+      if((mask & (1 << TRANSFORM)) != 0) cgc.setTransform(readTransform());
+    }
+
+    int readInt() throws IOException {
+      int v = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = in.readByte();
+        v |= (b & 0x7F) << shift;
+        shift += 7;
+      } while((b & 0x80) != 0);
+      return (v >>> 1) ^ -(v & 1);
+    }
+
+    Object readObject() throws IOException {
+      int index = readInt();
+      return index < 0? null: objects.get(index);
+    }
+
+    Object readValue() throws IOException {
+      switch(in.readByte()) {
+        case COLOR: return new Color(in.readInt(), true);
+        case OBJECT: return readObject();
+        default: return null;
+      }
+    }
+
+    Color readColor() throws IOException {
+      return in.readBoolean()? new Color(in.readInt(), true): null;
+    }
+
+    AffineTransform readTransform() throws IOException {
+      if(!in.readBoolean()) {
+        return null;
+      }
+      double[] matrix = new double[6];
+      for(int i=0; i<matrix.length; i++) {
+        matrix[i] = in.readDouble();
+      }
+      return new AffineTransform(matrix);
+    }
+
+    Stroke readStroke() throws IOException {
+      switch(in.readByte()) {
+        case BASIC_STROKE: {
+          float width = in.readFloat();
+          int cap = in.readByte();
+          int join = in.readByte();
+          float miterLimit = in.readFloat();
+          int dashLength = readInt();
+          float[] dash = null;
+          if(dashLength >= 0) {
+            dash = new float[dashLength];
+            for(int i=0; i<dashLength; i++) {
+              dash[i] = in.readFloat();
+            }
+          }
+          return new BasicStroke(width, cap, join, miterLimit, dash, in.readFloat());
+        }
+        case OBJECT: return (Stroke)readObject();
+        default: return null;
+      }
+    }
+
+    Shape readShape() throws IOException {
+      switch(in.readByte()) {
+        case RECTANGLE: return new Rectangle(readInt(), readInt(), readInt(), readInt());
+        case PATH: {
+          Path2D.Float path = new Path2D.Float(in.readByte());
+          while(true) {
+            byte type = in.readByte();
+            switch(type) {
+              case PathIterator.SEG_MOVETO: path.moveTo(in.readFloat(), in.readFloat()); break;
+              case PathIterator.SEG_LINETO: path.lineTo(in.readFloat(), in.readFloat()); break;
+              case PathIterator.SEG_QUADTO: path.quadTo(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat()); break;
+              case PathIterator.SEG_CUBICTO: path.curveTo(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat()); break;
+              case PathIterator.SEG_CLOSE: path.closePath(); break;
+              default: return path;
+            }
+          }
+        }
+        default: return null;
+      }
+    }
+
+    int[][] readPolygon() throws IOException {
+      int count = readInt();
+      int[] xPoints = new int[count];
+      int[] yPoints = new int[count];
+      int x = 0;
+      int y = 0;
+      for(int i=0; i<count; i++) {
+        xPoints[i] = x += readInt();
+        yPoints[i] = y += readInt();
+      }
+      return new int[][] {xPoints, yPoints};
+    }
+
+    BufferedImage readImage(int index) throws IOException {
+      BufferedImage image = imageCache.get(index);
+      if(image != null) {
+        return image;
+      }
+      ImageEntry entry = images.get(index);
+      if(imageIn == null) {
+        imageIn = new RandomAccessFile(imageFile, "r");
+      }
+      byte[] data = new byte[entry.width * entry.height * 4];
+      imageIn.seek(entry.offset);
+      imageIn.readFully(data);
+      image = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB);
+      int[] imagePixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+      ByteBuffer.wrap(data).asIntBuffer().get(imagePixels);
+      imageCache.put(index, image);
+      return image;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(imageIn != null) {
+        imageIn.close();
+      }
+    }
+  }
+
+  /**
+   * Returns a <code>Pageable</code> replaying the spooled pages.
+   */
+  Pageable createPageable(final PageFormat pageFormat, final Dimension deviceSize) {
+    closePage();
+    return new Pageable() {
+      @Override
+      public int getNumberOfPages() {
+        return getPageCount();
+      }
+      @Override
+      public Printable getPrintable(int pageIndex) throws IndexOutOfBoundsException {
+        return (g, pageFormat1, pageIndex1) -> {
+          if(pageIndex1 < 0 || pageIndex1 >= getPageCount()) {
+            return Printable.NO_SUCH_PAGE;
+          }
+          final Graphics2D g2D = (Graphics2D)g;
+          CGC cgc = new CGC.CGCGraphics2D() {
+            @Override
+            public Graphics2D getGraphics() {
+              return g2D;
+            }
+            @Override
+            public Dimension getDeviceSize() {
+              return deviceSize;
+            }
+          };
+          try {
+            replay(pageIndex1, cgc);
+          } catch(IOException e) {
+            throw new PrinterIOException(e);
+          }
+          return Printable.PAGE_EXISTS;
+        };
+      }
+      @Override
+      public PageFormat getPageFormat(int pageIndex) throws IndexOutOfBoundsException {
+        return pageFormat;
+      }
+    };
+  }
+
+}
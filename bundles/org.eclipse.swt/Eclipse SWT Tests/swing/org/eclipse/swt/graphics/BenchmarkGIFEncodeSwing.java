@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.io.*;
+import java.util.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * Saves animated GIFs of 4K 8-bit frames and reports the encoding time and
+ * the throughput.
+ */
+public class BenchmarkGIFEncodeSwing {
+	private static final int WIDTH = 3840;
+	private static final int HEIGHT = 2160;
+	private static final int FRAME_COUNT = 4;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[FRAME_COUNT];
+		for (int i = 0; i < FRAME_COUNT; i++) {
+			loader.data[i] = createFrame(i);
+		}
+		loader.logicalScreenWidth = WIDTH;
+		loader.logicalScreenHeight = HEIGHT;
+		for (int runs = 0; runs < 10; runs++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(WIDTH * HEIGHT * FRAME_COUNT / 2);
+			long start = System.nanoTime();
+			loader.save(out, SWT.IMAGE_GIF);
+			long time = System.nanoTime() - start;
+			double pixels = (double) WIDTH * HEIGHT * FRAME_COUNT;
+			System.out.printf("%d frames: %d ms, %.1f Mpixel/s, %d KB%n", FRAME_COUNT, time / 1_000_000, pixels * 1000 / time, out.size() / 1024);
+		}
+	}
+
+	/**
+	 * Creates a frame mixing smooth gradients, which give long dictionary
+	 * matches, with noise, which fills the dictionary quickly.
+	 */
+	static ImageData createFrame(int index) {
+		RGB[] rgbs = new RGB[256];
+		for (int i = 0; i < rgbs.length; i++) {
+			rgbs[i] = new RGB(i, (i * 7) & 0xFF, 255 - i);
+		}
+		ImageData data = new ImageData(WIDTH, HEIGHT, 8, new PaletteData(rgbs));
+		Random random = new Random(index);
+		for (int y = 0; y < HEIGHT; y++) {
+			int offset = y * data.bytesPerLine;
+			for (int x = 0; x < WIDTH; x++) {
+				int pixel = y < HEIGHT / 2 ? (x + index * 16) / 15 : random.nextInt(64);
+				data.data[offset + x] = (byte) pixel;
+			}
+		}
+		return data;
+	}
+}
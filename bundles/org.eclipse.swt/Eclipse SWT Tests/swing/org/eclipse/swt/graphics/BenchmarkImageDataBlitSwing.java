@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * Blits a 4K image with each specialized kernel of <code>ImageData.blit</code>
+ * and with the generic loops, and reports the time and the throughput of
+ * both, and the time of the filtered scaling on one and on all threads.
+ */
+public class BenchmarkImageDataBlitSwing {
+	private static final int WIDTH = 3840;
+	private static final int HEIGHT = 2160;
+
+	interface Blit {
+		void run();
+	}
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		byte[] src32 = random(WIDTH * HEIGHT * 4);
+		byte[] src24 = random(WIDTH * HEIGHT * 3);
+		byte[] src8 = random(WIDTH * HEIGHT);
+		byte[] dest = new byte[WIDTH * HEIGHT * 4 * 4];
+		byte[] reds = random(256), greens = random(256), blues = random(256);
+		ImageData image = new ImageData(WIDTH / 2, HEIGHT / 2, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000), 4, random(WIDTH * HEIGHT));
+		ImageData large = new ImageData(WIDTH, HEIGHT, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000), 4, src32);
+
+		Map<String, Blit> blits = new LinkedHashMap<>();
+		blits.put("32 to 32 swizzle", () -> ImageData.blit(
+			src32, 32, WIDTH * 4, ImageData.MSB_FIRST, WIDTH, HEIGHT, 0xFF00, 0xFF0000, 0xFF000000,
+			dest, 32, WIDTH * 4, ImageData.MSB_FIRST, WIDTH, HEIGHT, 0xFF0000, 0xFF00, 0xFF, false, false));
+		blits.put("32 to 32 copy", () -> ImageData.blit(
+			src32, 32, WIDTH * 4, ImageData.MSB_FIRST, WIDTH, HEIGHT, 0, 0, 0,
+			dest, 32, WIDTH * 4, ImageData.MSB_FIRST, WIDTH, HEIGHT, 0, 0, 0, false, false));
+		blits.put("24 to 32", () -> ImageData.blit(
+			src24, 24, WIDTH * 3, ImageData.MSB_FIRST, WIDTH, HEIGHT, 0xFF, 0xFF00, 0xFF0000,
+			dest, 32, WIDTH * 4, ImageData.LSB_FIRST, WIDTH, HEIGHT, 0xFF0000, 0xFF00, 0xFF, false, false));
+		blits.put("8 index to 32", () -> ImageData.blit(
+			WIDTH, HEIGHT, src8, 8, WIDTH, ImageData.MSB_FIRST, reds, greens, blues,
+			dest, 32, WIDTH * 4, ImageData.LSB_FIRST, 0xFF0000, 0xFF00, 0xFF));
+		blits.put("nearest 2x 32", () -> image.scaledTo(WIDTH, HEIGHT));
+		blits.put("nearest 1/2x flipped 24", () -> ImageData.blit(
+			src24, 24, WIDTH * 3, ImageData.MSB_FIRST, WIDTH, HEIGHT, 0xFF, 0xFF00, 0xFF0000,
+			dest, 24, WIDTH / 2 * 3, ImageData.MSB_FIRST, WIDTH / 2, HEIGHT / 2, 0xFF0000, 0xFF00, 0xFF, true, true));
+
+		for (int runs = 0; runs < 5; runs++) {
+			for (Map.Entry<String, Blit> entry : blits.entrySet()) {
+				long generic = time(entry.getValue(), false);
+				long kernel = time(entry.getValue(), true);
+				System.out.printf("%-24s generic %4d ms, kernel %4d ms, %.1fx%n", entry.getKey(), generic / 1_000_000, kernel / 1_000_000, (double) generic / kernel);
+			}
+			long nearest = time(() -> image.scaledTo(WIDTH, HEIGHT), true);
+			long bilinear = time(() -> image.scaledTo(WIDTH, HEIGHT, SWT.HIGH), true);
+			System.out.printf("%-24s nearest %4d ms, bilinear %4d ms%n", "scaledTo 2x 32", nearest / 1_000_000, bilinear / 1_000_000);
+			long sequential = time(() -> {
+				ImageResampler.parallelThreshold = Integer.MAX_VALUE;
+				large.scaledTo(WIDTH / 3, HEIGHT / 3, SWT.HIGH);
+			}, true);
+			ImageResampler.parallelThreshold = 512 * 512;
+			long parallel = time(() -> large.scaledTo(WIDTH / 3, HEIGHT / 3, SWT.HIGH), true);
+			System.out.printf("%-24s sequential %4d ms, parallel %4d ms%n", "Mitchell 1/3x 32", sequential / 1_000_000, parallel / 1_000_000);
+		}
+	}
+
+	static long time(Blit blit, boolean kernels) {
+		BlitKernels.enabled = kernels;
+		try {
+			long start = System.nanoTime();
+			blit.run();
+			return System.nanoTime() - start;
+		} finally {
+			BlitKernels.enabled = true;
+		}
+	}
+
+	static byte[] random(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.io.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * Loads a thousand 16x16 icons and a large image from files, through a
+ * <code>FileInputStream</code> and by file name, and reports the time of
+ * both.
+ */
+public class BenchmarkImageLoadFileSwing {
+	private static final int ICON_COUNT = 1000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) throws IOException {
+		File directory = File.createTempFile("icons", "");
+		directory.delete();
+		directory.mkdir();
+		try {
+			String[] icons = new String[ICON_COUNT];
+			for (int i = 0; i < ICON_COUNT; i++) {
+				icons[i] = save(createImage(16, 16, i), new File(directory, i + ".bmp"), SWT.IMAGE_BMP);
+			}
+			String[] large = {save(createImage(2000, 1500, 0), new File(directory, "large.bmp"), SWT.IMAGE_BMP)};
+			for (int runs = 0; runs < 5; runs++) {
+				System.out.printf("icons: stream %4d ms, file %4d ms%n", time(icons, true) / 1_000_000, time(icons, false) / 1_000_000);
+				System.out.printf("large: stream %4d ms, file %4d ms%n", time(large, true) / 1_000_000, time(large, false) / 1_000_000);
+			}
+		} finally {
+			for (File file : directory.listFiles()) {
+				file.delete();
+			}
+			directory.delete();
+		}
+	}
+
+	static long time(String[] filenames, boolean stream) throws IOException {
+		long start = System.nanoTime();
+		for (String filename : filenames) {
+			if (stream) {
+				try (InputStream in = new FileInputStream(filename)) {
+					new ImageLoader().load(in);
+				}
+			} else {
+				new ImageLoader().load(filename);
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	static String save(ImageData data, File file, int format) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] {data};
+		loader.save(file.getPath(), format);
+		return file.getPath();
+	}
+
+	static ImageData createImage(int width, int height, int seed) {
+		ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				data.setPixel(x, y, (x * 7 + y * 13 + seed) & 0xFFFFFF);
+			}
+		}
+		return data;
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.awt.image.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import javax.imageio.*;
+
+/**
+ * Loads a corpus of large RGBA PNGs and reports the decoding time and the
+ * throughput. The corpus is generated unless a directory of PNG files is
+ * given as argument.
+ */
+public class BenchmarkPNGDecodeSwing {
+	private static final int SIZE = 2048;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args an optional directory of PNG files
+	 */
+	public static void main(String[] args) throws IOException {
+		List<byte[]> corpus = args.length > 0 ? readCorpus(new File(args[0])) : createCorpus();
+		long pixels = 0;
+		for (byte[] bytes : corpus) {
+			ImageData data = new ImageLoader().load(new ByteArrayInputStream(bytes))[0];
+			pixels += (long) data.width * data.height;
+		}
+		for (int runs = 0; runs < 10; runs++) {
+			long start = System.nanoTime();
+			for (byte[] bytes : corpus) {
+				new ImageLoader().load(new ByteArrayInputStream(bytes));
+			}
+			long time = System.nanoTime() - start;
+			System.out.printf("%d images: %d ms, %.1f Mpixel/s%n", corpus.size(), time / 1_000_000, pixels * 1000.0 / time);
+		}
+	}
+
+	static List<byte[]> readCorpus(File directory) throws IOException {
+		List<byte[]> corpus = new ArrayList<>();
+		for (File file : directory.listFiles((dir, name) -> name.endsWith(".png"))) {
+			corpus.add(Files.readAllBytes(file.toPath()));
+		}
+		return corpus;
+	}
+
+	/**
+	 * Creates a smooth image, a photo-like noisy image and an image of flat
+	 * areas with sharp edges, so that the encoder uses all the filter types.
+	 */
+	static List<byte[]> createCorpus() throws IOException {
+		List<byte[]> corpus = new ArrayList<>();
+		Random random = new Random(0);
+		for (int kind = 0; kind < 3; kind++) {
+			BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+			for (int y = 0; y < SIZE; y++) {
+				for (int x = 0; x < SIZE; x++) {
+					int argb;
+					switch (kind) {
+						case 0: argb = (x + y) / 16 << 24 | x / 8 << 16 | y / 8 << 8 | (x ^ y) & 0xFF; break;
+						case 1: argb = 0xFF000000 | (x / 8 + random.nextInt(16)) << 16 | (y / 8 + random.nextInt(16)) << 8 | random.nextInt(48); break;
+						default: argb = ((x / 64 + y / 64) & 1) == 0 ? 0xFF204080 : 0x80F0C010; break;
+					}
+					image.setRGB(x, y, argb);
+				}
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ImageIO.write(image, "png", out);
+			corpus.add(out.toByteArray());
+		}
+		return corpus;
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * Saves a 4K screenshot-like RGB image as PNG on the calling thread and
+ * concurrently, and reports the encoding time and the size of the file
+ * for each compression level.
+ */
+public class BenchmarkPNGEncodeSwing {
+	private static final int WIDTH = 3840;
+	private static final int HEIGHT = 2160;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] {createImage()};
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		System.out.printf("%d threads%n", pool.getParallelism());
+		for (int compression = 1; compression <= 3; compression++) {
+			loader.compression = compression;
+			System.out.printf("compression %d%n", compression);
+			for (int runs = 0; runs < 5; runs++) {
+				save(loader, null);
+				save(loader, pool);
+			}
+		}
+	}
+
+	static void save(ImageLoader loader, Executor executor) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(WIDTH * HEIGHT);
+		long start = System.nanoTime();
+		if (executor == null) {
+			loader.save(out, SWT.IMAGE_PNG);
+		} else {
+			loader.save(out, SWT.IMAGE_PNG, executor);
+		}
+		long time = System.nanoTime() - start;
+		System.out.printf("  %s: %d ms, %d KB%n", executor == null ? "sequential" : "concurrent", time / 1_000_000, out.size() / 1024);
+	}
+
+	/**
+	 * Creates an image of flat windows with text-like noise and a gradient
+	 * chart, like a screenshot of an application.
+	 */
+	static ImageData createImage() {
+		ImageData data = new ImageData(WIDTH, HEIGHT, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		Random random = new Random(0);
+		int[] pixels = new int[WIDTH];
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				int pixel;
+				if (x < WIDTH / 2) {
+					boolean text = y % 24 < 14 && x % 400 < 300 && random.nextInt(3) == 0;
+					pixel = text ? 0x202020 : (x / 400 + y / 300) % 2 == 0 ? 0xF0F0F0 : 0xD8E4F0;
+				} else {
+					pixel = (x * 255 / WIDTH) << 16 | (y * 255 / HEIGHT) << 8 | ((x ^ y) >> 4) & 0xFF;
+				}
+				pixels[x] = pixel;
+			}
+			data.setPixels(0, y, WIDTH, pixels, 0);
+		}
+		return data;
+	}
+}
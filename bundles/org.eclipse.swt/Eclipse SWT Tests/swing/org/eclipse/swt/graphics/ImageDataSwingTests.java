@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.junit.jupiter.api.*;
+
+class ImageDataSwingTests {
+
+	/** Direct formats as depth, byte order and red, green and blue masks. */
+	static final int[][] FORMATS = {
+		{24, ImageData.MSB_FIRST, 0xFF0000, 0xFF00, 0xFF},
+		{24, ImageData.MSB_FIRST, 0xFF, 0xFF00, 0xFF0000},
+		{32, ImageData.MSB_FIRST, 0xFF0000, 0xFF00, 0xFF},
+		{32, ImageData.MSB_FIRST, 0xFF00, 0xFF0000, 0xFF000000},
+		{32, ImageData.LSB_FIRST, 0xFF0000, 0xFF00, 0xFF},
+		{32, ImageData.LSB_FIRST, 0xFF000000, 0xFF0000, 0xFF00},
+	};
+
+	/** Source and destination sizes, scaling up and down. */
+	static final int[][] SIZES = {
+		{13, 7, 13, 7},
+		{13, 7, 29, 15},
+		{29, 15, 13, 7},
+		{1, 1, 5, 3},
+	};
+
+	@AfterEach
+	void tearDown() {
+		BlitKernels.enabled = true;
+		ImageResampler.parallelThreshold = 512 * 512;
+	}
+
+	static byte[] random(int length, long seed) {
+		byte[] bytes = new byte[length];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+
+	static byte[] blitDirect(boolean kernels, byte[] srcData, int[] src, int[] size, int[] dest, boolean flipX, boolean flipY) {
+		BlitKernels.enabled = kernels;
+		int srcStride = size[0] * src[0] / 8 + 3;
+		int destStride = size[2] * dest[0] / 8 + 1;
+		byte[] destData = new byte[destStride * size[3]];
+		ImageData.blit(
+			srcData, src[0], srcStride, src[1], size[0], size[1], src[2], src[3], src[4],
+			destData, dest[0], destStride, dest[1], size[2], size[3], dest[2], dest[3], dest[4],
+			flipX, flipY);
+		return destData;
+	}
+
+	@Test
+	void test_directKernelsMatchGenericBlit() {
+		for (int[] src : FORMATS) {
+			for (int[] dest : FORMATS) {
+				for (int[] size : SIZES) {
+					byte[] srcData = random((size[0] * src[0] / 8 + 3) * size[1], size[0]);
+					for (int flip = 0; flip < 4; flip++) {
+						boolean flipX = (flip & 1) != 0, flipY = (flip & 2) != 0;
+						byte[] expected = blitDirect(false, srcData, src, size, dest, flipX, flipY);
+						byte[] actual = blitDirect(true, srcData, src, size, dest, flipX, flipY);
+						assertArrayEquals(expected, actual, Arrays.toString(src) + " to " + Arrays.toString(dest) + " " + Arrays.toString(size) + " flip " + flip);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void test_copyKernelsMatchGenericBlit() {
+		/* The masks are ignored when the formats are the same */
+		for (int depth : new int[] {8, 16, 24, 32}) {
+			int[] format = {depth, ImageData.MSB_FIRST, 0, 0, 0};
+			for (int[] size : SIZES) {
+				byte[] srcData = random((size[0] * depth / 8 + 3) * size[1], depth);
+				for (int flip = 0; flip < 4; flip++) {
+					boolean flipX = (flip & 1) != 0, flipY = (flip & 2) != 0;
+					byte[] expected = blitDirect(false, srcData, format, size, format, flipX, flipY);
+					byte[] actual = blitDirect(true, srcData, format, size, format, flipX, flipY);
+					assertArrayEquals(expected, actual, depth + " " + Arrays.toString(size) + " flip " + flip);
+				}
+			}
+		}
+	}
+
+	@Test
+	void test_indexKernelsMatchGenericBlit() {
+		int[][] formats = {
+			{24, ImageData.MSB_FIRST, 0xFF0000, 0xFF00, 0xFF},
+			{24, ImageData.MSB_FIRST, 0xFF, 0xFF00, 0xFF0000},
+			{32, ImageData.MSB_FIRST, 0xFF0000, 0xFF00, 0xFF},
+			{32, ImageData.LSB_FIRST, 0xFF00, 0xFF0000, 0xFF000000},
+			{32, ImageData.MSB_FIRST, 0x3FF00000, 0xFFC00, 0x3FF},
+		};
+		byte[] reds = random(256, 1), greens = random(256, 2), blues = random(256, 3);
+		int width = 17, height = 5, srcStride = 20;
+		byte[] srcData = random(srcStride * height, 4);
+		for (int[] dest : formats) {
+			byte[][] results = new byte[2][];
+			for (int i = 0; i < 2; i++) {
+				BlitKernels.enabled = i == 1;
+				int destStride = width * dest[0] / 8 + 2;
+				results[i] = new byte[destStride * height];
+				ImageData.blit(
+					width, height, srcData, 8, srcStride, ImageData.MSB_FIRST, reds, greens, blues,
+					results[i], dest[0], destStride, dest[1], dest[2], dest[3], dest[4]);
+			}
+			assertArrayEquals(results[0], results[1], Arrays.toString(dest));
+		}
+	}
+
+	@Test
+	void test_scaledToKernelsMatchGenericBlit() {
+		ImageData data = new ImageData(31, 17, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000), 4, random(31 * 4 * 17, 5));
+		data.alphaData = random(31 * 17, 6);
+		for (int[] size : new int[][] {{62, 34}, {-15, 8}, {40, -40}}) {
+			BlitKernels.enabled = false;
+			ImageData expected = data.scaledTo(size[0], size[1]);
+			BlitKernels.enabled = true;
+			ImageData actual = data.scaledTo(size[0], size[1]);
+			assertArrayEquals(expected.data, actual.data);
+			assertArrayEquals(expected.alphaData, actual.alphaData);
+		}
+	}
+
+	@Test
+	void test_scaledToBilinear() {
+		ImageData data = new ImageData(2, 1, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		data.setPixel(0, 0, 0x000000);
+		data.setPixel(1, 0, 0xFF40C8);
+		data.setAlpha(0, 0, 0);
+		data.setAlpha(1, 0, 200);
+		ImageData scaled = data.scaledTo(4, 2, SWT.HIGH);
+		assertEquals(4, scaled.width);
+		assertEquals(2, scaled.height);
+		/* The centers of the destination pixels are at 1/8, 3/8, 5/8 and 7/8 */
+		int[] expected = {0x000000, 0x401032, 0xBF3096, 0xFF40C8};
+		int[] alphas = {0, 50, 150, 200};
+		for (int y = 0; y < 2; y++) {
+			for (int x = 0; x < 4; x++) {
+				assertEquals(expected[x], scaled.getPixel(x, y), "pixel " + x + "," + y);
+				assertEquals(alphas[x], scaled.getAlpha(x, y), "alpha " + x + "," + y);
+			}
+		}
+
+		ImageData flipped = data.scaledTo(-4, 2, SWT.LOW);
+		for (int x = 0; x < 4; x++) {
+			assertEquals(expected[3 - x], flipped.getPixel(x, 0));
+		}
+	}
+
+	@Test
+	void test_scaledToBilinearKeepsUniformColor() {
+		ImageData data = new ImageData(7, 5, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+		for (int y = 0; y < 5; y++) {
+			for (int x = 0; x < 7; x++) {
+				data.setPixel(x, y, 0x12345600);
+			}
+		}
+		ImageData scaled = data.scaledTo(3, 11, SWT.HIGH);
+		for (int y = 0; y < 11; y++) {
+			for (int x = 0; x < 3; x++) {
+				assertEquals(0x12345600, scaled.getPixel(x, y));
+			}
+		}
+	}
+
+	@Test
+	void test_scaledToConvertsToDirect() {
+		ImageData indexed = new ImageData(5, 3, 8, new PaletteData(new RGB(0, 0, 0), new RGB(255, 255, 255)), 1, new byte[15]);
+		for (int y = 0; y < 3; y++) {
+			for (int x = 1; x < 4; x++) {
+				indexed.setPixel(x, y, 1);
+			}
+		}
+		indexed.transparentPixel = 0;
+		ImageData scaled = indexed.scaledTo(10, 6, SWT.HIGH);
+		assertTrue(scaled.palette.isDirect);
+		assertEquals(-1, scaled.transparentPixel);
+		assertEquals(0, scaled.getAlpha(0, 0));
+		assertEquals(0xFFFFFF00, scaled.getPixel(5, 3));
+		assertEquals(255, scaled.getAlpha(5, 3));
+
+		ImageData direct = new ImageData(5, 3, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF), 1, random(45, 8));
+		assertArrayEquals(direct.scaledTo(9, 4).data, direct.scaledTo(9, 4, SWT.NONE).data);
+	}
+
+	@Test
+	void test_scaledToMitchellKeepsUniformColor() {
+		ImageData data = new ImageData(40, 23, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		for (int y = 0; y < 23; y++) {
+			for (int x = 0; x < 40; x++) {
+				data.setPixel(x, y, 0x123456);
+			}
+		}
+		ImageData scaled = data.scaledTo(13, 7, SWT.HIGH);
+		for (int y = 0; y < 7; y++) {
+			for (int x = 0; x < 13; x++) {
+				assertEquals(0x123456, scaled.getPixel(x, y));
+			}
+		}
+	}
+
+	@Test
+	void test_scaledToMitchellIgnoresTransparentColors() {
+		/* Opaque white next to transparent black must not turn gray */
+		ImageData data = new ImageData(32, 32, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+		data.alphaData = new byte[32 * 32];
+		for (int y = 0; y < 32; y++) {
+			for (int x = 0; x < 16; x++) {
+				data.setPixel(x, y, 0xFFFFFF00);
+				data.setAlpha(x, y, 255);
+			}
+		}
+		ImageData scaled = data.scaledTo(8, 8, SWT.HIGH);
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 8; x++) {
+				if (scaled.getAlpha(x, y) != 0) {
+					assertEquals(0xFFFFFF00, scaled.getPixel(x, y), x + "," + y);
+				}
+			}
+			assertEquals(255, scaled.getAlpha(0, y));
+			assertEquals(0, scaled.getAlpha(7, y));
+		}
+	}
+
+	@Test
+	void test_scaledToMitchellInParallel() {
+		ImageData data = new ImageData(97, 61, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF), 1, random(97 * 61 * 3, 9));
+		data.alphaData = random(97 * 61, 10);
+		ImageData[] results = new ImageData[2];
+		for (int i = 0; i < 2; i++) {
+			ImageResampler.parallelThreshold = i == 0 ? Integer.MAX_VALUE : 0;
+			results[i] = data.scaledTo(-31, 20, SWT.HIGH);
+		}
+		assertArrayEquals(results[0].data, results[1].data);
+		assertArrayEquals(results[0].alphaData, results[1].alphaData);
+	}
+
+}
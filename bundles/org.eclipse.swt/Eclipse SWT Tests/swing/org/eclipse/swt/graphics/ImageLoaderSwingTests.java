@@ -0,0 +1,482 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import javax.imageio.*;
+import javax.imageio.stream.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.image.*;
+
+import org.junit.jupiter.api.*;
+
+class ImageLoaderSwingTests {
+
+	static final int WIDTH = 403;
+	static final int HEIGHT = 301;
+
+	static byte[] encode(int type, String format) throws IOException {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				int r = x * 255 / WIDTH;
+				int g = y * 255 / HEIGHT;
+				int b = ((x / 40 + y / 40) & 1) == 0 ? 64 : 192;
+				image.setRGB(x, y, r << 16 | g << 8 | b);
+			}
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertTrue(ImageIO.write(image, format, out));
+		return out.toByteArray();
+	}
+
+	static ImageData load(byte[] bytes, int width, int height) {
+		ImageData[] data = new ImageLoader().load(new ByteArrayInputStream(bytes), width, height);
+		assertEquals(1, data.length);
+		return data[0];
+	}
+
+	/**
+	 * Returns the mean difference of the color components between the scaled
+	 * image and the block averages of the full image.
+	 */
+	static double meanError(ImageData full, ImageData scaled, int factor) {
+		long error = 0;
+		int count = 0;
+		for (int y = 0; y < full.height / factor; y++) {
+			for (int x = 0; x < full.width / factor; x++) {
+				int r = 0, g = 0, b = 0;
+				for (int j = 0; j < factor; j++) {
+					for (int i = 0; i < factor; i++) {
+						RGB rgb = full.palette.getRGB(full.getPixel(x * factor + i, y * factor + j));
+						r += rgb.red;
+						g += rgb.green;
+						b += rgb.blue;
+					}
+				}
+				int n = factor * factor;
+				RGB rgb = scaled.palette.getRGB(scaled.getPixel(x, y));
+				error += Math.abs(rgb.red - r / n) + Math.abs(rgb.green - g / n) + Math.abs(rgb.blue - b / n);
+				count += 3;
+			}
+		}
+		return (double) error / count;
+	}
+
+	@Test
+	void test_loadJPEGSelectsLargestReduction() throws IOException {
+		byte[] bytes = encode(BufferedImage.TYPE_INT_RGB, "jpeg");
+		ImageData full = load(bytes, 0, 0);
+		assertEquals(WIDTH, full.width);
+		assertEquals(HEIGHT, full.height);
+		ImageData half = load(bytes, 150, 151);
+		assertEquals(202, half.width);
+		assertEquals(151, half.height);
+		ImageData quarter = load(bytes, 101, 10);
+		assertEquals(101, quarter.width);
+		assertEquals(76, quarter.height);
+		ImageData eighth = load(bytes, 16, 16);
+		assertEquals(51, eighth.width);
+		assertEquals(38, eighth.height);
+		ImageData larger = load(bytes, 1000, 1000);
+		assertEquals(WIDTH, larger.width);
+		assertEquals(HEIGHT, larger.height);
+	}
+
+	@Test
+	void test_loadJPEGReducedMatchesFullDecode() throws IOException {
+		byte[] bytes = encode(BufferedImage.TYPE_INT_RGB, "jpeg");
+		ImageData full = load(bytes, 0, 0);
+		for (int factor = 2; factor <= 8; factor *= 2) {
+			ImageData scaled = load(bytes, WIDTH / factor, HEIGHT / factor);
+			assertEquals((WIDTH + factor - 1) / factor, scaled.width);
+			assertTrue(meanError(full, scaled, factor) < 6, "1/" + factor);
+		}
+	}
+
+	@Test
+	void test_loadGrayscaleJPEGReducedMatchesFullDecode() throws IOException {
+		byte[] bytes = encode(BufferedImage.TYPE_BYTE_GRAY, "jpeg");
+		ImageData full = load(bytes, 0, 0);
+		assertEquals(8, full.depth);
+		for (int factor = 2; factor <= 8; factor *= 2) {
+			ImageData scaled = load(bytes, WIDTH / factor, HEIGHT / factor);
+			assertEquals(8, scaled.depth);
+			assertEquals((HEIGHT + factor - 1) / factor, scaled.height);
+			assertTrue(meanError(full, scaled, factor) < 6, "1/" + factor);
+		}
+	}
+
+	@Test
+	void test_loadPNGIgnoresTargetSize() throws IOException {
+		byte[] bytes = encode(BufferedImage.TYPE_INT_RGB, "png");
+		ImageData data = load(bytes, 16, 16);
+		assertEquals(WIDTH, data.width);
+		assertEquals(HEIGHT, data.height);
+	}
+
+	/**
+	 * Loads the image in bands and checks that they tile it from top to bottom.
+	 */
+	static ImageData loadBands(byte[] bytes, ImageData full, List<Integer> bandHeights) {
+		ImageData result = new ImageData(full.width, full.height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		int[] nextRow = new int[1];
+		ImageLoader loader = new ImageLoader();
+		loader.loadBands(new ByteArrayInputStream(bytes), event -> {
+			assertEquals(full.width, loader.logicalScreenWidth);
+			assertEquals(full.height, loader.logicalScreenHeight);
+			ImageData band = event.imageData;
+			assertEquals(nextRow[0], band.y);
+			assertEquals(full.width, band.width);
+			assertEquals(band.y + band.height == full.height, event.endOfImage);
+			for (int y = 0; y < band.height; y++) {
+				for (int x = 0; x < band.width; x++) {
+					result.setPixel(x, band.y + y, result.palette.getPixel(band.palette.getRGB(band.getPixel(x, y))));
+				}
+			}
+			nextRow[0] += band.height;
+			bandHeights.add(band.height);
+		});
+		assertEquals(full.height, nextRow[0]);
+		assertNull(loader.data);
+		return result;
+	}
+
+	static void assertSamePixels(ImageData expected, ImageData actual) {
+		for (int y = 0; y < expected.height; y++) {
+			for (int x = 0; x < expected.width; x++) {
+				assertEquals(expected.palette.getRGB(expected.getPixel(x, y)), actual.palette.getRGB(actual.getPixel(x, y)));
+			}
+		}
+	}
+
+	@Test
+	void test_loadBandsJPEG() throws IOException {
+		byte[] bytes = encode(BufferedImage.TYPE_INT_RGB, "jpeg");
+		ImageData full = load(bytes, 0, 0);
+		List<Integer> bandHeights = new ArrayList<>();
+		assertSamePixels(full, loadBands(bytes, full, bandHeights));
+	}
+
+	@Test
+	void test_loadBandsPNG() throws IOException {
+		for (int type : new int[] {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_BYTE_INDEXED}) {
+			byte[] bytes = encode(type, "png");
+			ImageData full = load(bytes, 0, 0);
+			List<Integer> bandHeights = new ArrayList<>();
+			assertSamePixels(full, loadBands(bytes, full, bandHeights));
+		}
+	}
+
+	@Test
+	void test_loadBandsSplitsLargePNG() throws IOException {
+		BufferedImage image = new BufferedImage(2000, 700, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < image.getHeight(); y++) {
+			image.setRGB(y, y, 0xFF8040);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertTrue(ImageIO.write(image, "png", out));
+		byte[] bytes = out.toByteArray();
+		ImageData full = load(bytes, 0, 0);
+		List<Integer> bandHeights = new ArrayList<>();
+		assertSamePixels(full, loadBands(bytes, full, bandHeights));
+		assertTrue(bandHeights.size() > 1);
+		assertTrue(bandHeights.get(0) * full.bytesPerLine <= (1 << 20));
+	}
+
+	@Test
+	void test_loadBandsGIFDeliversSingleBand() throws IOException {
+		byte[] bytes = encode(BufferedImage.TYPE_BYTE_INDEXED, "gif");
+		ImageData full = load(bytes, 0, 0);
+		List<Integer> bandHeights = new ArrayList<>();
+		assertSamePixels(full, loadBands(bytes, full, bandHeights));
+		assertEquals(List.of(HEIGHT), bandHeights);
+	}
+
+	@Test
+	void test_getPixelsUsesBackgroundForTransparentPixels() {
+		ImageData data = new ImageData(2, 1, 8, new PaletteData(new RGB(255, 0, 0), new RGB(0, 0, 255)));
+		data.setPixel(1, 0, 1);
+		data.transparentPixel = 0;
+		int[] pixels = new int[2];
+		Image.getPixels(data, pixels, 0x12345678);
+		assertEquals(0x12345678, pixels[0]);
+		assertEquals(0xFF0000FF, pixels[1]);
+	}
+
+	static byte[] encodePNG(BufferedImage image, boolean interlaced) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setProgressiveMode(interlaced ? ImageWriteParam.MODE_DEFAULT : ImageWriteParam.MODE_DISABLED);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	@Test
+	void test_loadPNGMatchesImageIO() throws IOException {
+		Random random = new Random(1);
+		int[] types = {BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_BYTE_BINARY, BufferedImage.TYPE_USHORT_GRAY};
+		for (int type : types) {
+			BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+			for (int y = 0; y < HEIGHT; y++) {
+				for (int x = 0; x < WIDTH; x++) {
+					// Gradients, edges and noise make the encoder use all the filter types
+					int argb = (x * 255 / WIDTH) << 24 | (y & 0xF0) << 16 | ((x / 8 + y / 8) & 1) * 0xC000 | random.nextInt(32);
+					image.setRGB(x, y, y < HEIGHT / 2 ? argb : argb | random.nextInt() & 0xFFFFFF);
+				}
+			}
+			for (boolean interlaced : new boolean[] {false, true}) {
+				BufferedImage expected = ImageIO.read(new ByteArrayInputStream(encodePNG(image, interlaced)));
+				ImageData data = load(encodePNG(image, interlaced), 0, 0);
+				for (int y = 0; y < HEIGHT; y++) {
+					for (int x = 0; x < WIDTH; x++) {
+						int argb = expected.getRGB(x, y);
+						int rgb = argb & 0xFFFFFF;
+						if (expected.getColorModel().getNumColorComponents() == 1) {
+							// getRGB converts linear gray, compare the samples instead
+							int bits = expected.getColorModel().getComponentSize(0);
+							int sample = expected.getRaster().getSample(x, y, 0);
+							// 16-bit samples are truncated to their high byte
+							int gray = bits == 16 ? sample >> 8 : sample * 255 / ((1 << bits) - 1);
+							rgb = gray << 16 | gray << 8 | gray;
+						}
+						RGB actual = data.palette.getRGB(data.getPixel(x, y));
+						assertEquals(rgb, actual.red << 16 | actual.green << 8 | actual.blue, type + " " + interlaced);
+						if (type == BufferedImage.TYPE_INT_ARGB) {
+							assertEquals(argb >>> 24, data.getAlpha(x, y));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	static ImageData frame(int index) {
+		RGB[] rgbs = new RGB[256];
+		for (int i = 0; i < rgbs.length; i++) {
+			rgbs[i] = new RGB(i, (i * 3 + index * 40) & 0xFF, 255 - i);
+		}
+		ImageData data = new ImageData(WIDTH - index * 10, HEIGHT - index * 7, 8, new PaletteData(rgbs));
+		for (int y = 0; y < data.height; y++) {
+			for (int x = 0; x < data.width; x++) {
+				data.setPixel(x, y, (x / (index + 2) + y * index) & 0xFF);
+			}
+		}
+		data.x = index * 5;
+		data.y = index * 3;
+		data.delayTime = 10 + index;
+		return data;
+	}
+
+	static byte[] encodeAnimatedGIF(int frameCount) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[frameCount];
+		for (int i = 0; i < frameCount; i++) {
+			loader.data[i] = frame(i);
+		}
+		loader.logicalScreenWidth = WIDTH;
+		loader.logicalScreenHeight = HEIGHT;
+		loader.repeatCount = 0;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		loader.save(out, SWT.IMAGE_GIF);
+		return out.toByteArray();
+	}
+
+	static void assertSameFrame(ImageData expected, ImageData actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		assertEquals(expected.x, actual.x);
+		assertEquals(expected.y, actual.y);
+		assertEquals(expected.delayTime, actual.delayTime);
+		assertEquals(expected.transparentPixel, actual.transparentPixel);
+		assertArrayEquals(expected.data, actual.data);
+	}
+
+	@Test
+	void test_loadFramesGIFMatchesLoad() throws Exception {
+		byte[] bytes = encodeAnimatedGIF(6);
+		ImageData[] expected = new ImageLoader().load(new ByteArrayInputStream(bytes));
+		ImageLoader loader = new ImageLoader();
+		List<CompletableFuture<ImageData>> frames = loader.loadFrames(new ByteArrayInputStream(bytes));
+		assertEquals(expected.length, frames.size());
+		assertEquals(WIDTH, loader.logicalScreenWidth);
+		assertEquals(HEIGHT, loader.logicalScreenHeight);
+		assertEquals(0, loader.repeatCount);
+		assertNull(loader.data);
+		for (int i = 0; i < expected.length; i++) {
+			assertSameFrame(expected[i], frames.get(i).get(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void test_loadGIFFromListenerDuringLoad() throws IOException {
+		// The interlaced image notifies the listener in the middle of its decode.
+		byte[] bytes = encode(BufferedImage.TYPE_BYTE_INDEXED, "gif");
+		byte[] otherBytes = encodeAnimatedGIF(2);
+		ImageData[] expected = new ImageLoader().load(new ByteArrayInputStream(bytes));
+		List<ImageData[]> nested = new ArrayList<>();
+		ImageLoader loader = new ImageLoader();
+		loader.addImageLoaderListener(event -> nested.add(new ImageLoader().load(new ByteArrayInputStream(otherBytes))));
+		ImageData[] data = loader.load(new ByteArrayInputStream(bytes));
+		assertTrue(nested.size() > 1);
+		assertEquals(1, data.length);
+		assertSameFrame(expected[0], data[0]);
+		for (ImageData[] frames : nested) {
+			assertSameFrame(frame(1), frames[1]);
+		}
+	}
+
+	@Test
+	void test_loadFramesDecodesFirstFrameOnCallingThread() {
+		byte[] bytes = encodeAnimatedGIF(4);
+		List<Runnable> tasks = new ArrayList<>();
+		List<CompletableFuture<ImageData>> frames = new ImageLoader().loadFrames(new ByteArrayInputStream(bytes), tasks::add);
+		assertEquals(4, frames.size());
+		assertTrue(frames.get(0).isDone());
+		assertSameFrame(frame(0), frames.get(0).join());
+		assertEquals(3, tasks.size());
+		for (int i = 1; i < frames.size(); i++) {
+			assertFalse(frames.get(i).isDone());
+		}
+		for (int i = tasks.size() - 1; i >= 0; i--) {
+			tasks.get(i).run();
+		}
+		for (int i = 1; i < frames.size(); i++) {
+			assertSameFrame(frame(i), frames.get(i).join());
+		}
+	}
+
+	@Test
+	void test_loadFramesDecodesConcurrently() {
+		byte[] bytes = encodeAnimatedGIF(8);
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<CompletableFuture<ImageData>> frames = new ImageLoader().loadFrames(new ByteArrayInputStream(bytes), task -> executor.execute(() -> {
+				threads.add(Thread.currentThread());
+				count.incrementAndGet();
+				task.run();
+			}));
+			for (int i = 0; i < frames.size(); i++) {
+				assertSameFrame(frame(i), frames.get(i).join());
+			}
+			assertEquals(7, count.get());
+			assertFalse(threads.contains(Thread.currentThread()));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void test_loadFramesSingleImage() throws IOException {
+		byte[] bytes = encode(BufferedImage.TYPE_INT_RGB, "png");
+		List<CompletableFuture<ImageData>> frames = new ImageLoader().loadFrames(new ByteArrayInputStream(bytes), task -> fail());
+		assertEquals(1, frames.size());
+		assertSamePixels(load(bytes, 0, 0), frames.get(0).join());
+	}
+
+	@Test
+	void test_loadFramesMultiPageTIFF() throws Exception {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionType("PackBits");
+			writer.prepareWriteSequence(null);
+			for (int i = 0; i < 3; i++) {
+				BufferedImage image = new BufferedImage(100 + i, 80, BufferedImage.TYPE_INT_RGB);
+				for (int y = 0; y < image.getHeight(); y++) {
+					for (int x = 0; x < image.getWidth(); x++) {
+						image.setRGB(x, y, (x * 2 + i * 50) << 16 | y << 8 | (x + y) & 0xFF);
+					}
+				}
+				writer.writeToSequence(new IIOImage(image, null, null), param);
+			}
+			writer.endWriteSequence();
+		} finally {
+			writer.dispose();
+		}
+		byte[] bytes = out.toByteArray();
+		ImageData[] expected = new ImageLoader().load(new ByteArrayInputStream(bytes));
+		assertEquals(3, expected.length);
+		List<CompletableFuture<ImageData>> frames = new ImageLoader().loadFrames(new ByteArrayInputStream(bytes));
+		assertEquals(3, frames.size());
+		for (int i = 0; i < expected.length; i++) {
+			ImageData frame = frames.get(i).get(10, TimeUnit.SECONDS);
+			assertEquals(100 + i, frame.width);
+			assertArrayEquals(expected[i].data, frame.data);
+		}
+	}
+
+	@Test
+	void test_loadFileMatchesStream() throws IOException {
+		/* The BMP skips to its pixels */
+		for (String format : new String[] {"png", "bmp", "gif"}) {
+			byte[] bytes = encode(BufferedImage.TYPE_INT_RGB, format);
+			File file = File.createTempFile("swt", "." + format);
+			file.deleteOnExit();
+			try (OutputStream out = new FileOutputStream(file)) {
+				out.write(bytes);
+			}
+			ImageData[] data = new ImageLoader().load(file.getPath());
+			assertEquals(1, data.length);
+			assertSamePixels(load(bytes, 0, 0), data[0]);
+			assertTrue(file.delete(), "file closed after loading");
+		}
+	}
+
+	@Test
+	void test_loadLargeFile() throws IOException {
+		/* Larger than the files read into memory, so it is streamed */
+		int size = 2400;
+		ImageData source = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		for (int y = 0; y < size; y++) {
+			source.setPixel(y, y, 0xFF8000);
+		}
+		File file = File.createTempFile("swt", ".bmp");
+		file.deleteOnExit();
+		ImageLoader saver = new ImageLoader();
+		saver.data = new ImageData[] {source};
+		saver.save(file.getPath(), SWT.IMAGE_BMP);
+		assertTrue(file.length() > ByteBufferInputStream.HEAP_THRESHOLD);
+		ImageData[] data = new ImageLoader().load(file.getPath());
+		assertEquals(size, data[0].width);
+		assertEquals(size, data[0].height);
+		assertEquals(new RGB(0xFF, 0x80, 0), data[0].palette.getRGB(data[0].getPixel(1234, 1234)));
+		assertEquals(new RGB(0, 0, 0), data[0].palette.getRGB(data[0].getPixel(1234, 1233)));
+		assertTrue(file.delete(), "file closed after loading");
+	}
+
+	@Test
+	void test_loadMissingFile() {
+		SWTException e = assertThrows(SWTException.class, () -> new ImageLoader().load(new File("missing.png").getAbsolutePath() + "/missing"));
+		assertEquals(SWT.ERROR_IO, e.code);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.swt.internal.swing.*;
+import org.junit.jupiter.api.*;
+
+class ImageSwingTests {
+
+	/** A device without a screen, which images can be created on. */
+	static class TestDevice extends Device {
+		@Override
+		public CGC internal_new_GC(GCData data) {
+			return null;
+		}
+
+		@Override
+		public void internal_dispose_GC(CGC handle, GCData data) {
+		}
+	}
+
+	Device device;
+	Image image;
+	Image target;
+
+	@BeforeEach
+	void setUp() {
+		device = new TestDevice();
+		ImageData data = new ImageData(8, 8, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 8; x++) {
+				data.setPixel(x, y, 0x0000FF);
+			}
+		}
+		image = new Image(device, data);
+	}
+
+	@AfterEach
+	void tearDown() {
+		image.dispose();
+		if (target != null) target.dispose();
+		device.dispose();
+	}
+
+	static int getRGB(ImageData data, int x, int y) {
+		RGB rgb = data.palette.getRGB(data.getPixel(x, y));
+		return rgb.red << 16 | rgb.green << 8 | rgb.blue;
+	}
+
+	@Test
+	void test_getImageDataIsCached() {
+		ImageData variant = image.getImageData(200);
+		assertEquals(16, variant.width);
+		assertEquals(0x0000FF, getRGB(variant, 5, 5));
+		assertEquals(1, image.resolutionVariants.getResolutionVariants().size());
+		variant.setPixel(5, 5, 0);
+		assertEquals(0x0000FF, getRGB(image.getImageData(200), 5, 5));
+	}
+
+	@Test
+	void test_getImageDataAfterDrawing() {
+		image.getImageData(200);
+		GC gc = new GC(image);
+		gc.setBackground(new Color(device, 255, 0, 0));
+		gc.fillRectangle(0, 0, 8, 8);
+		assertEquals(0xFF0000, getRGB(image.getImageData(200), 5, 5), "drawn while the GC is open");
+		gc.setBackground(new Color(device, 0, 255, 0));
+		gc.fillRectangle(0, 0, 8, 8);
+		gc.dispose();
+		assertEquals(0x00FF00, getRGB(image.getImageData(200), 5, 5), "drawn before the GC is disposed");
+	}
+
+	@Test
+	void test_getImageDataAfterCopyArea() {
+		target = new Image(device, 8, 8);
+		target.getImageData(200);
+		GC gc = new GC(image);
+		gc.copyArea(target, 0, 0);
+		gc.dispose();
+		assertEquals(0x0000FF, getRGB(target.getImageData(200), 5, 5));
+	}
+
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.charset.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+import org.junit.jupiter.api.*;
+
+class FileFormatRegistrySwingTests {
+
+	/**
+	 * A format of a magic number followed by the width and the height,
+	 * loaded as a gray image.
+	 */
+	static class TestProvider implements FileFormatProvider {
+		final String name;
+		final byte[] magic;
+		int loadCount;
+
+		TestProvider(String name, byte[] magic) {
+			this.name = name;
+			this.magic = magic;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public boolean isFileFormat(byte[] header) {
+			assertEquals(FileFormatRegistry.HEADER_LENGTH, header.length);
+			for (int i = 0; i < magic.length; i++) {
+				if (header[i] != magic[i]) return false;
+			}
+			return true;
+		}
+
+		@Override
+		public ImageData[] load(InputStream stream, ImageLoader loader) {
+			loadCount++;
+			try {
+				stream.skip(magic.length);
+				int width = stream.read();
+				int height = stream.read();
+				return new ImageData[] {new ImageData(width, height, 8, new PaletteData(new RGB(0, 0, 0)))};
+			} catch (IOException e) {
+				SWT.error(SWT.ERROR_IO, e);
+				return null;
+			}
+		}
+	}
+
+	TestProvider provider;
+
+	@AfterEach
+	void tearDown() {
+		if (provider != null) FileFormatRegistry.deregister(provider);
+	}
+
+	static byte[] save(int format) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] {new ImageData(20, 10, 8, new PaletteData(new RGB(255, 0, 0), new RGB(0, 0, 255)))};
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		loader.save(out, format);
+		return out.toByteArray();
+	}
+
+	static ImageData load(byte[] bytes) {
+		return new ImageLoader().load(new ByteArrayInputStream(bytes))[0];
+	}
+
+	@Test
+	void test_recognizesBuiltInFormats() {
+		int[] formats = {SWT.IMAGE_BMP, SWT.IMAGE_GIF, SWT.IMAGE_ICO, SWT.IMAGE_JPEG, SWT.IMAGE_PNG};
+		for (int format : formats) {
+			ImageData data = load(save(format));
+			assertEquals(format, data.type);
+			assertEquals(20, data.width);
+			assertEquals(10, data.height);
+		}
+	}
+
+	@Test
+	void test_instantiatesFormatsOnce() {
+		load(save(SWT.IMAGE_PNG));
+		FileFormatRegistry.Entry[] entries = FileFormatRegistry.getEntries();
+		load(save(SWT.IMAGE_GIF));
+		assertSame(entries, FileFormatRegistry.getEntries());
+	}
+
+	@Test
+	void test_registerAddsFormat() {
+		byte[] bytes = "qoif\u0007\u0005".getBytes(StandardCharsets.ISO_8859_1);
+		SWTException e = assertThrows(SWTException.class, () -> load(bytes));
+		assertEquals(SWT.ERROR_UNSUPPORTED_FORMAT, e.code);
+		provider = new TestProvider("QOI", "qoif".getBytes(StandardCharsets.ISO_8859_1));
+		FileFormatRegistry.register(provider);
+		ImageData data = load(bytes);
+		assertEquals(7, data.width);
+		assertEquals(5, data.height);
+		assertEquals(1, provider.loadCount);
+		FileFormatRegistry.deregister(provider);
+		e = assertThrows(SWTException.class, () -> load(bytes));
+		assertEquals(SWT.ERROR_UNSUPPORTED_FORMAT, e.code);
+	}
+
+	@Test
+	void test_registerReplacesBuiltInFormat() {
+		byte[] bytes = save(SWT.IMAGE_PNG);
+		provider = new TestProvider("PNG", new byte[] {(byte) 137, 'P', 'N', 'G'});
+		FileFormatRegistry.register(provider);
+		// The provider reads the bytes of the signature after its magic as the size
+		ImageData data = load(bytes);
+		assertEquals(13, data.width);
+		assertEquals(10, data.height);
+		assertEquals(1, provider.loadCount);
+		FileFormatRegistry.deregister(provider);
+		assertEquals(20, load(bytes).width);
+		assertEquals(1, provider.loadCount);
+	}
+
+	@Test
+	void test_shortStreams() {
+		SWTException e = assertThrows(SWTException.class, () -> load(new byte[0]));
+		assertEquals(SWT.ERROR_UNSUPPORTED_FORMAT, e.code);
+		// A truncated stream is recognized from the bytes it has
+		try {
+			new ImageLoader().load(new ByteArrayInputStream(new byte[] {'G', 'I', 'F'}));
+		} catch (SWTException ex) {
+			assertNotEquals(SWT.ERROR_UNSUPPORTED_FORMAT, ex.code);
+		}
+	}
+
+}
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.eclipse.swt.graphics.*;
+import org.junit.jupiter.api.*;
+
+class LZWCodecSwingTests {
+
+	/**
+	 * The encoder with a binary tree dictionary which the hash table replaced,
+	 * kept to check that the output did not change.
+	 */
+	static class TreeEncoder {
+		static class Node {
+			Node left, right, children;
+			int code, suffix;
+		}
+
+		final ImageData image;
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int bitsPerPixel, codeSize, topSlot, clearCode, endCode, newCodes, currentSlot;
+		int bitsLeft = 8, currentByte, blockIndex = 1, imageX, imageY = -1;
+		final int blockSize = 255;
+		final byte[] block = new byte[blockSize];
+		byte[] lineArray;
+		Node[] nodeStack;
+
+		TreeEncoder(ImageData image) {
+			this.image = image;
+			bitsPerPixel = image.depth;
+			codeSize = bitsPerPixel + 1;
+			topSlot = 1 << codeSize;
+			clearCode = 1 << bitsPerPixel;
+			endCode = clearCode + 1;
+			newCodes = currentSlot = endCode + 1;
+			block[0] = (byte)(blockSize - 1);
+			nodeStack = new Node[1 << bitsPerPixel];
+			for (int i = 0; i < nodeStack.length; i++) {
+				nodeStack[i] = new Node();
+			}
+			lineArray = new byte[image.width];
+			imageX = image.width + 1;
+		}
+
+		byte[] encode() {
+			nextPutCode(clearCode);
+			nextPutCode(encodeLoop());
+			nextPutCode(endCode);
+			block[0] = (byte)(bitsLeft == 8 ? blockIndex - 1 : blockIndex);
+			writeBlock();
+			if (block[0] != 0) {
+				block[0] = 0;
+				writeBlock();
+			}
+			return out.toByteArray();
+		}
+
+		int encodeLoop() {
+			int pixel = nextPixel();
+			while (true) {
+				int currentPrefix = pixel;
+				Node node = nodeStack[currentPrefix];
+				boolean found = true;
+				pixel = nextPixel();
+				if (pixel < 0) return currentPrefix;
+				while (found && node.children != null) {
+					node = node.children;
+					while (found && node.suffix != pixel) {
+						if (pixel < node.suffix) {
+							if (node.left == null) {
+								node.left = new Node();
+								found = false;
+							}
+							node = node.left;
+						} else {
+							if (node.right == null) {
+								node.right = new Node();
+								found = false;
+							}
+							node = node.right;
+						}
+					}
+					if (found) {
+						currentPrefix = node.code;
+						pixel = nextPixel();
+						if (pixel < 0) return currentPrefix;
+					}
+				}
+				if (found) {
+					node.children = new Node();
+					node = node.children;
+				}
+				node.code = currentSlot;
+				node.suffix = pixel;
+				nextPutCode(currentPrefix);
+				currentSlot++;
+				if (currentSlot < 4096) {
+					if (currentSlot > topSlot) {
+						codeSize++;
+						topSlot *= 2;
+					}
+				} else {
+					nextPutCode(clearCode);
+					for (Node root : nodeStack) {
+						root.children = null;
+					}
+					codeSize = bitsPerPixel + 1;
+					currentSlot = newCodes;
+					topSlot = 1 << codeSize;
+				}
+			}
+		}
+
+		int nextPixel() {
+			imageX++;
+			if (imageX > image.width) {
+				imageY++;
+				if (imageY >= image.height) return -1;
+				image.getPixels(0, imageY, image.width, lineArray, 0);
+				imageX = 1;
+			}
+			return lineArray[imageX - 1] & 0xFF;
+		}
+
+		void nextPutCode(int aCode) {
+			int codeToDo = aCode;
+			int codeBitsToDo = codeSize;
+			int c = codeToDo & LZWCodec.MASK_TABLE[bitsLeft - 1];
+			currentByte = currentByte | (c << (8 - bitsLeft));
+			block[blockIndex] = (byte)currentByte;
+			codeBitsToDo -= bitsLeft;
+			if (codeBitsToDo < 1) {
+				bitsLeft -= codeSize;
+				if (bitsLeft == 0) {
+					bitsLeft = 8;
+					nextBlockIndex();
+					currentByte = 0;
+				}
+				return;
+			}
+			codeToDo = codeToDo >> bitsLeft;
+			nextBlockIndex();
+			while (codeBitsToDo >= 8) {
+				currentByte = codeToDo & 0xFF;
+				block[blockIndex] = (byte)currentByte;
+				codeToDo = codeToDo >> 8;
+				codeBitsToDo -= 8;
+				nextBlockIndex();
+			}
+			bitsLeft = 8 - codeBitsToDo;
+			currentByte = codeToDo;
+			block[blockIndex] = (byte)currentByte;
+		}
+
+		void nextBlockIndex() {
+			blockIndex++;
+			if (blockIndex >= blockSize) {
+				writeBlock();
+				blockIndex = 1;
+			}
+		}
+
+		void writeBlock() {
+			out.write(block, 0, (block[0] & 0xFF) + 1);
+		}
+	}
+
+	static ImageData createImage(int width, int height, int depth, long seed, int colors) {
+		RGB[] rgbs = new RGB[1 << depth];
+		for (int i = 0; i < rgbs.length; i++) {
+			rgbs[i] = new RGB(i & 0xFF, i & 0xFF, i & 0xFF);
+		}
+		ImageData image = new ImageData(width, height, depth, new PaletteData(rgbs));
+		Random random = new Random(seed);
+		int pixel = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				// Runs of random length give both long matches and frequent dictionary resets
+				if (random.nextInt(8) == 0) {
+					pixel = random.nextInt(Math.min(colors, 1 << depth));
+				}
+				image.setPixel(x, y, pixel);
+			}
+		}
+		return image;
+	}
+
+	static byte[] encode(LZWCodec codec, ImageData image) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		LEDataOutputStream stream = new LEDataOutputStream(out);
+		codec.encode(stream, image);
+		try {
+			stream.flush();
+		} catch (IOException e) {
+			fail();
+		}
+		return out.toByteArray();
+	}
+
+	static ImageData decode(byte[] bytes, ImageData image) {
+		ImageData result = new ImageData(image.width, image.height, image.depth, image.palette);
+		LZWCodec.getCodec().decode(new LEDataInputStream(new ByteArrayInputStream(bytes)), null, result, false, image.depth);
+		return result;
+	}
+
+	@Test
+	void test_encodeMatchesTreeEncoder() {
+		LZWCodec codec = new LZWCodec();
+		int[][] sizes = {{1, 1}, {7, 3}, {256, 256}, {1000, 333}, {3840, 40}};
+		for (int depth : new int[] {1, 4, 8}) {
+			for (int colors : new int[] {2, 16, 256}) {
+				for (int[] size : sizes) {
+					ImageData image = createImage(size[0], size[1], depth, depth * 31 + colors + size[0], colors);
+					byte[] expected = new TreeEncoder(image).encode();
+					// The same codec encodes all the images, as when saving the frames of an animation
+					byte[] actual = encode(codec, image);
+					assertArrayEquals(expected, actual);
+					if (depth > 1) {
+						// The decoder does not support the code size of 1-bit images
+						assertArrayEquals(image.data, decode(actual, image).data);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void test_encodeUniformImage() {
+		ImageData image = createImage(2000, 500, 8, 0, 1);
+		assertArrayEquals(new TreeEncoder(image).encode(), encode(new LZWCodec(), image));
+	}
+
+}
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.*;
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+import javax.imageio.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+import org.junit.jupiter.api.*;
+
+class PngEncoderSwingTests {
+
+	static ExecutorService executor;
+
+	@BeforeAll
+	static void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Creates an image with smooth and noisy areas, tall enough for many
+	 * chunks, so that every filter type is chosen.
+	 */
+	static ImageData createImage(int colorType, int width, int height) {
+		ImageData data;
+		if (colorType == 3) {
+			RGB[] rgbs = new RGB[256];
+			for (int i = 0; i < rgbs.length; i++) {
+				rgbs[i] = new RGB(i, 255 - i, (i * 3) & 0xFF);
+			}
+			data = new ImageData(width, height, 8, new PaletteData(rgbs));
+		} else {
+			data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		}
+		Random random = new Random(colorType);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int pixel = y % 64 < 48 ? (x * 3 + y) & 0xFF : random.nextInt(256);
+				data.setPixel(x, y, colorType == 3 ? pixel : pixel << 16 | (y & 0xFF) << 8 | (x ^ y) & 0xFF);
+				if (colorType == 6) data.setAlpha(x, y, (x + y) & 0xFF);
+			}
+		}
+		return data;
+	}
+
+	static byte[] save(ImageData data, int compression, Executor executor) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] {data};
+		loader.compression = compression;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (executor == null) {
+			loader.save(out, SWT.IMAGE_PNG);
+		} else {
+			loader.save(out, SWT.IMAGE_PNG, executor);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Answers the contents of the IDAT chunk, which the encoder writes as a
+	 * single chunk.
+	 */
+	static byte[] getImageData(byte[] png) {
+		int offset = 8;
+		while (offset < png.length) {
+			int length = (png[offset] & 0xFF) << 24 | (png[offset + 1] & 0xFF) << 16 | (png[offset + 2] & 0xFF) << 8 | png[offset + 3] & 0xFF;
+			String type = new String(png, offset + 4, 4, StandardCharsets.ISO_8859_1);
+			if (type.equals("IDAT")) return Arrays.copyOfRange(png, offset + 8, offset + 8 + length);
+			offset += length + 12;
+		}
+		fail("no IDAT chunk");
+		return null;
+	}
+
+	static byte[] inflate(byte[] zlib) throws DataFormatException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(zlib);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[65536];
+			while (!inflater.finished()) {
+				int count = inflater.inflate(buffer);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) fail("truncated zlib stream");
+				out.write(buffer, 0, count);
+			}
+			assertEquals(0, inflater.getRemaining());
+			return out.toByteArray();
+		} finally {
+			inflater.end();
+		}
+	}
+
+	static void assertSamePixels(ImageData expected, ImageData actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		for (int y = 0; y < expected.height; y++) {
+			for (int x = 0; x < expected.width; x++) {
+				assertEquals(expected.palette.getRGB(expected.getPixel(x, y)), actual.palette.getRGB(actual.getPixel(x, y)), "pixel " + x + "," + y);
+				if (expected.alphaData != null) assertEquals(expected.getAlpha(x, y), actual.getAlpha(x, y), "alpha " + x + "," + y);
+			}
+		}
+	}
+
+	@Test
+	void test_concurrentRoundTrip() {
+		for (int colorType : new int[] {2, 3, 6}) {
+			ImageData data = createImage(colorType, 300, 700);
+			for (int compression : new int[] {0, 1, 2, 3}) {
+				byte[] png = save(data, compression, executor);
+				ImageData loaded = new ImageLoader().load(new ByteArrayInputStream(png))[0];
+				assertSamePixels(data, loaded);
+			}
+		}
+	}
+
+	@Test
+	void test_concurrentWritesValidZlibStream() throws Exception {
+		ImageData data = createImage(6, 300, 700);
+		/* Both filter the rows adaptively at the best compression */
+		byte[] sequential = inflate(getImageData(save(data, 3, null)));
+		byte[] zlib = getImageData(save(data, 3, executor));
+		/* The check bits of the header and the Adler-32 checksum are verified by the Inflater */
+		assertEquals(0, ((zlib[0] & 0xFF) << 8 | zlib[1] & 0xFF) % 31);
+		assertEquals(0, zlib[1] & 0x20, "no preset dictionary");
+		assertArrayEquals(sequential, inflate(zlib));
+	}
+
+	@Test
+	void test_sequentialFiltersOnlyAtBestCompression() throws Exception {
+		ImageData data = createImage(2, 300, 100);
+		int stride = data.width * 3 + 1;
+		byte[] rows = inflate(getImageData(save(data, 2, null)));
+		for (int offset = 0; offset < rows.length; offset += stride) {
+			assertEquals(0, rows[offset], "filter None");
+		}
+		rows = inflate(getImageData(save(data, 3, null)));
+		boolean filtered = false;
+		for (int offset = 0; offset < rows.length; offset += stride) {
+			filtered |= rows[offset] != 0;
+		}
+		assertTrue(filtered, "adaptive filters");
+	}
+
+	@Test
+	void test_concurrentReadableByImageIO() throws IOException {
+		ImageData data = createImage(2, 300, 700);
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(save(data, 2, executor)));
+		for (int y = 0; y < data.height; y++) {
+			for (int x = 0; x < data.width; x++) {
+				RGB rgb = data.palette.getRGB(data.getPixel(x, y));
+				assertEquals(rgb.red << 16 | rgb.green << 8 | rgb.blue, image.getRGB(x, y) & 0xFFFFFF);
+			}
+		}
+	}
+
+	@Test
+	void test_concurrentUsesExecutor() {
+		ImageData data = createImage(2, 300, 700);
+		int[] tasks = new int[1];
+		Executor counting = command -> {
+			synchronized (tasks) {
+				tasks[0]++;
+			}
+			executor.execute(command);
+		};
+		save(data, 2, counting);
+		assertTrue(tasks[0] > 2, "chunks compressed by the executor");
+
+		tasks[0] = 0;
+		save(createImage(2, 16, 16), 2, counting);
+		assertEquals(0, tasks[0], "a single chunk is compressed on the calling thread");
+	}
+
+	@Test
+	void test_filterRowMinimizesSum() {
+		byte[] previous = new byte[12];
+		byte[] ramp = new byte[12];
+		for (int i = 0; i < ramp.length; i++) {
+			ramp[i] = (byte) (100 + i / 3 * 5);
+		}
+		byte[] filtered = new byte[13];
+		PngEncoder.filterRow(ramp, previous, 3, true, filtered);
+		assertEquals(1, filtered[0], "sub for a horizontal ramp");
+		PngEncoder.filterRow(ramp, ramp, 3, true, filtered);
+		assertEquals(2, filtered[0], "up for a repeated row");
+		PngEncoder.filterRow(ramp, previous, 3, false, filtered);
+		assertEquals(0, filtered[0]);
+		assertArrayEquals(ramp, Arrays.copyOfRange(filtered, 1, 13));
+	}
+
+	@Test
+	void test_saveNullExecutor() {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] {createImage(2, 4, 4)};
+		assertThrows(IllegalArgumentException.class, () -> loader.save(new ByteArrayOutputStream(), SWT.IMAGE_PNG, null));
+	}
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import javax.swing.*;
+
+/**
+ * Enters and leaves nested exclusive sections on the thread dispatching the
+ * AWT events, as event handlers sending events do, and reports the time per
+ * section next to the time of the locked section previously used for them.
+ * <p>
+ * It runs without a display: the outer section is marked as held by the
+ * thread instead of being handed over by the user-interface thread.
+ * </p>
+ */
+public class BenchmarkExclusiveSectionSwing {
+	private static final int CALL_COUNT = 10_000_000;
+
+	static int value;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 * @throws Exception if the benchmark cannot run on the event dispatch thread
+	 */
+	public static void main(String[] args) throws Exception {
+		SwingUtilities.invokeAndWait(() -> {
+			for (int runs = 0; runs < 5; runs++) {
+				long nanoTime = System.nanoTime();
+				for (int i = 0; i < CALL_COUNT; i++) {
+					synchronized (UIThreadUtils.UI_LOCK) {
+						UIThreadUtils.exclusiveSectionCount++;
+					}
+					value++;
+					synchronized (UIThreadUtils.UI_LOCK) {
+						UIThreadUtils.exclusiveSectionCount--;
+						if (UIThreadUtils.exclusiveSectionCount == 0) {
+							UIThreadUtils.UI_LOCK.notify();
+						}
+					}
+				}
+				long lockedTime = System.nanoTime() - nanoTime;
+				UIThreadUtils.exclusiveSectionOwner = Thread.currentThread();
+				UIThreadUtils.exclusiveSectionDepth = 1;
+				UIThreadUtils.resetExclusiveSectionStatistics();
+				nanoTime = System.nanoTime();
+				for (int i = 0; i < CALL_COUNT; i++) {
+					UIThreadUtils.startExclusiveSection(null);
+					value++;
+					UIThreadUtils.stopExclusiveSection();
+				}
+				long reentrantTime = System.nanoTime() - nanoTime;
+				UIThreadUtils.exclusiveSectionOwner = null;
+				UIThreadUtils.exclusiveSectionDepth = 0;
+				System.out.printf("locked section %5.2f ns, reentrant section %5.2f ns (%s)%n", (double) lockedTime / CALL_COUNT, (double) reentrantTime / CALL_COUNT, UIThreadUtils.getExclusiveSectionStatistics());
+			}
+		});
+		System.out.println(value);
+	}
+}
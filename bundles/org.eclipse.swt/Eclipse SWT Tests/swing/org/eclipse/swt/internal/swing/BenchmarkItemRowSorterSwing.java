@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import java.util.*;
+
+import javax.swing.table.*;
+
+/**
+ * Sorts the rows of a table model of 1M rows by the texts of a column in
+ * both directions and filters them, as a sorted Table does in its view, and
+ * reports the time per operation.
+ */
+public class BenchmarkItemRowSorterSwing {
+	private static final int ROW_COUNT = 1_000_000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		Random random = new Random(42);
+		String[] texts = new String[ROW_COUNT];
+		for (int i = 0; i < ROW_COUNT; i++) {
+			texts[i] = "Item " + random.nextInt(ROW_COUNT);
+		}
+		TableModel model = new AbstractTableModel() {
+			@Override
+			public int getRowCount() {
+				return ROW_COUNT;
+			}
+
+			@Override
+			public int getColumnCount() {
+				return 1;
+			}
+
+			@Override
+			public Object getValueAt(int rowIndex, int columnIndex) {
+				return texts[rowIndex];
+			}
+		};
+		ItemRowSorter sorter = new ItemRowSorter(model);
+		for (int runs = 0; runs < 5; runs++) {
+			long nanoTime = System.nanoTime();
+			sorter.setSorting(0, String.CASE_INSENSITIVE_ORDER, false, null);
+			long ascendingTime = System.nanoTime() - nanoTime;
+			nanoTime = System.nanoTime();
+			sorter.setSorting(0, String.CASE_INSENSITIVE_ORDER, true, null);
+			long descendingTime = System.nanoTime() - nanoTime;
+			nanoTime = System.nanoTime();
+			sorter.setSorting(0, String.CASE_INSENSITIVE_ORDER, false, index -> index % 3 != 0);
+			long filterTime = System.nanoTime() - nanoTime;
+			sorter.setSorting(-1, null, false, null);
+			System.out.printf("%,d rows: ascending %6.1f ms, descending %6.1f ms, filtered and sorted %6.1f ms (%,d rows shown)%n", ROW_COUNT, ascendingTime / 1e6, descendingTime / 1e6, filterTime / 1e6, (long) ROW_COUNT * 2 / 3);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.*;
+
+class ColumnWidthEstimatorSwingTests {
+
+	static class TextCell extends ColumnWidthEstimator.Cell {
+		String text;
+		int measureCount;
+
+		TextCell(String text) {
+			this.text = text;
+		}
+
+		void setText(String text) {
+			this.text = text;
+			invalidateWidth();
+		}
+
+		@Override
+		public String getText() {
+			measureCount++;
+			return text;
+		}
+
+		@Override
+		public Icon getIcon() {
+			return null;
+		}
+	}
+
+	ColumnWidthEstimator estimator;
+	JLabel label;
+
+	@BeforeEach
+	void setUp() {
+		label = new JLabel();
+		estimator = new ColumnWidthEstimator(label);
+		estimator.calibrate(new JLabel(), label.getFont());
+		estimator.setColumnCount(1);
+		estimator.reset(0);
+	}
+
+	int update(TextCell cell) {
+		int oldWidth = estimator.getMeasuredWidth(cell);
+		int width = estimator.measure(cell, null);
+		estimator.update(0, oldWidth, width);
+		return width;
+	}
+
+	@Test
+	void test_measureMatchesLabel() {
+		label.setText("Some cell text");
+		assertEquals(label.getPreferredSize().width, estimator.measure("Some cell text", null, null));
+		Font bold = label.getFont().deriveFont(Font.BOLD);
+		label.setFont(bold);
+		assertEquals(label.getPreferredSize().width, estimator.measure("Some cell text", null, bold));
+	}
+
+	@Test
+	void test_cellIsMeasuredOnce() {
+		TextCell cell = new TextCell("text");
+		int width = estimator.measure(cell, null);
+		assertEquals(width, estimator.measure(cell, null));
+		assertEquals(1, cell.measureCount);
+		cell.setText("longer text");
+		assertTrue(estimator.measure(cell, null) > width);
+		assertEquals(2, cell.measureCount);
+		estimator.measure(cell, label.getFont().deriveFont(24f));
+		assertEquals(3, cell.measureCount);
+	}
+
+	@Test
+	void test_maximumGrowsIncrementally() {
+		TextCell a = new TextCell("a");
+		TextCell b = new TextCell("bbbbbbbb");
+		update(a);
+		int width = update(b);
+		assertEquals(width, estimator.getWidth(0));
+		a.setText("bbbbbbbb");
+		update(a);
+		b.setText("b");
+		update(b);
+		assertTrue(estimator.isValid(0));
+		assertEquals(width, estimator.getWidth(0));
+	}
+
+	@Test
+	void test_shrinkingWidestCellInvalidates() {
+		TextCell a = new TextCell("a");
+		TextCell b = new TextCell("bbbbbbbb");
+		update(a);
+		update(b);
+		b.setText("b");
+		update(b);
+		assertFalse(estimator.isValid(0));
+	}
+
+	@Test
+	void test_calibrationChangeRemeasures() {
+		TextCell cell = new TextCell("text");
+		update(cell);
+		estimator.calibrate(new JLabel(), label.getFont().deriveFont(30f));
+		assertFalse(estimator.isValid(0));
+		assertEquals(-1, estimator.getMeasuredWidth(cell));
+		estimator.measure(cell, null);
+		assertEquals(2, cell.measureCount);
+	}
+
+	@Test
+	void test_sampleRows() {
+		assertArrayEquals(new int[] {0, 1, 2}, estimator.getSampleRows(3, 0, 1, 5));
+		int[] rows = estimator.getSampleRows(100_000, 10, 19, 5);
+		assertEquals(15, rows.length);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(10 + i, rows[i]);
+		}
+		for (int row : rows) {
+			assertTrue(0 <= row && row < 100_000);
+		}
+		assertEquals(5, estimator.getSampleRows(100_000, -1, -1, 5).length);
+	}
+
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import javax.swing.event.*;
+
+import org.junit.jupiter.api.*;
+
+class ComboItemModelSwingTests {
+
+	ComboItemModel model;
+	List<ListDataEvent> events;
+
+	@BeforeEach
+	void setUp() {
+		model = new ComboItemModel();
+		events = new ArrayList<>();
+		model.addListDataListener(new ListDataListener() {
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				events.add(e);
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				events.add(e);
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				events.add(e);
+			}
+		});
+	}
+
+	String[] items(int count) {
+		String[] items = new String[count];
+		for (int i = 0; i < count; i++) {
+			items[i] = "Item " + i;
+		}
+		return items;
+	}
+
+	@Test
+	void test_setElementsFiresOneEvent() {
+		model.addElement("old");
+		events.clear();
+		model.setElements(items(20_000));
+		assertEquals(1, events.size());
+		assertEquals(ListDataEvent.CONTENTS_CHANGED, events.get(0).getType());
+		assertEquals(20_000, model.getSize());
+		assertEquals("Item 0", model.getSelectedItem());
+		assertEquals("Item 19999", model.getElementAt(19_999));
+	}
+
+	@Test
+	void test_insertAndRemoveRange() {
+		model.setElements(new String[] {"a", "d"});
+		events.clear();
+		model.insertElementsAt(new String[] {"b", "c"}, 1);
+		assertEquals(Arrays.asList("a", "b", "c", "d"), Arrays.asList(model.getStrings()));
+		model.setSelectedItem("c");
+		events.clear();
+		model.removeRange(1, 2);
+		assertEquals(Arrays.asList("a", "d"), Arrays.asList(model.getStrings()));
+		assertEquals("a", model.getSelectedItem());
+		assertEquals(ListDataEvent.INTERVAL_REMOVED, events.get(events.size() - 1).getType());
+		assertEquals(1, events.get(events.size() - 1).getIndex0());
+		assertEquals(2, events.get(events.size() - 1).getIndex1());
+	}
+
+	@Test
+	void test_lazyItemsAreSuppliedWhenNeeded() {
+		List<Integer> supplied = new ArrayList<>();
+		model.setElements(100_000, index -> {
+			supplied.add(index);
+			return "Lazy " + index;
+		});
+		assertEquals(List.of(0), supplied);
+		assertEquals("Lazy 500", model.getElementAt(500));
+		assertEquals("Lazy 500", model.getElementAt(500));
+		assertEquals(List.of(0, 500), supplied);
+		model.insertElementAt("first", 0);
+		assertEquals("Lazy 500", model.getElementAt(501));
+	}
+
+	@Test
+	void test_indexOf() {
+		model.setElements(new String[] {"b", "A", "a", "B", "a"});
+		for (int i = 0; i < 2; i++) {
+			// The first search scans the items, the second one builds the index.
+			assertEquals(2, model.indexOf("a", 0));
+			assertEquals(4, model.indexOf("a", 3));
+			assertEquals(1, model.indexOf("A", 0));
+			assertEquals(-1, model.indexOf("A", 2));
+			assertEquals(-1, model.indexOf("c", 0));
+		}
+		assertNotNull(model.sortedIndices);
+		model.addElement("c");
+		assertNull(model.sortedIndices);
+		assertEquals(5, model.indexOf("c", 0));
+	}
+
+	@Test
+	void test_indexOfPrefix() {
+		model.setElements(new String[] {"Berlin", "Bern", "Amsterdam", "bonn", "Athens"});
+		for (int i = 0; i < 2; i++) {
+			assertEquals(0, model.indexOfPrefix("b", 0));
+			assertEquals(1, model.indexOfPrefix("b", 1));
+			assertEquals(3, model.indexOfPrefix("B", 2));
+			assertEquals(0, model.indexOfPrefix("b", 4));
+			assertEquals(1, model.indexOfPrefix("bern", 0));
+			assertEquals(2, model.indexOfPrefix("AM", 0));
+			assertEquals(-1, model.indexOfPrefix("z", 0));
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import javax.swing.*;
+import javax.swing.table.*;
+
+import org.junit.jupiter.api.*;
+
+class ItemRowSorterSwingTests {
+
+	DefaultTableModel model;
+	JTable table;
+	ItemRowSorter sorter;
+
+	@BeforeEach
+	void setUp() {
+		model = new DefaultTableModel(new Object[][] {{"b", "2"}, {"D", "1"}, {"a", "4"}, {"c", "3"}}, new Object[] {"Name", "Rank"});
+		table = new JTable(model);
+		sorter = new ItemRowSorter(model);
+		table.setRowSorter(sorter);
+	}
+
+	List<Object> viewColumn(int column) {
+		List<Object> values = new ArrayList<>();
+		for (int row = 0; row < table.getRowCount(); row++) {
+			values.add(table.getValueAt(row, column));
+		}
+		return values;
+	}
+
+	@Test
+	void test_sortKeepsModelOrder() {
+		sorter.setSorting(0, String.CASE_INSENSITIVE_ORDER, false, null);
+		assertEquals(List.of("a", "b", "c", "D"), viewColumn(0));
+		assertEquals(0, sorter.convertRowIndexToModel(1));
+		assertEquals(3, sorter.convertRowIndexToView(1));
+		assertEquals("b", model.getValueAt(0, 0));
+		sorter.setSorting(1, Comparator.comparing((String text) -> Integer.valueOf(text)), true, null);
+		assertEquals(List.of("a", "c", "b", "D"), viewColumn(0));
+		sorter.setSorting(-1, null, false, null);
+		assertEquals(List.of("b", "D", "a", "c"), viewColumn(0));
+	}
+
+	@Test
+	void test_filterAndSort() {
+		sorter.setSorting(0, Comparator.naturalOrder(), false, index -> index != 2);
+		assertEquals(3, sorter.getViewRowCount());
+		assertEquals(List.of("D", "b", "c"), viewColumn(0));
+		assertEquals(-1, sorter.convertRowIndexToView(2));
+		sorter.setSorting(-1, null, false, index -> index % 2 == 0);
+		assertEquals(List.of("b", "a"), viewColumn(0));
+	}
+
+	@Test
+	void test_updatesAreSortedAgain() {
+		sorter.setSorting(0, String.CASE_INSENSITIVE_ORDER, false, null);
+		model.setValueAt("e", 2, 0);
+		assertEquals(List.of("b", "c", "D", "e"), viewColumn(0));
+		model.addRow(new Object[] {"a0", "5"});
+		assertEquals(List.of("a0", "b", "c", "D", "e"), viewColumn(0));
+		model.removeRow(0);
+		assertEquals(List.of("a0", "c", "D", "e"), viewColumn(0));
+	}
+
+	@Test
+	void test_headerDoesNotToggleSortOrder() {
+		sorter.setSorting(0, String.CASE_INSENSITIVE_ORDER, true, null);
+		sorter.toggleSortOrder(1);
+		sorter.setSortKeys(null);
+		assertEquals(List.of(new RowSorter.SortKey(0, SortOrder.DESCENDING)), sorter.getSortKeys());
+		assertEquals(List.of("D", "c", "b", "a"), viewColumn(0));
+	}
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.eclipse.swt.graphics.*;
+import org.junit.jupiter.api.*;
+
+class ResolutionVariantsSwingTests {
+
+	ResolutionVariants variants;
+	ImageData source;
+	List<Integer> scaled;
+	IntFunction<ImageData> scaler;
+
+	@BeforeEach
+	void setUp() {
+		variants = new ResolutionVariants();
+		source = new ImageData(16, 16, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		scaled = new ArrayList<>();
+		scaler = zoom -> {
+			scaled.add(zoom);
+			return source.scaledTo(16 * zoom / 100, 16 * zoom / 100);
+		};
+	}
+
+	@Test
+	void test_variantsAreScaledOnce() {
+		ImageData variant = variants.getResolutionVariant(source, 200, scaler);
+		assertEquals(32, variant.width);
+		assertSame(variant, variants.getResolutionVariant(source, 200, scaler));
+		assertEquals(48, variants.getResolutionVariant(source, 300, scaler).width);
+		assertSame(variant, variants.getResolutionVariant(source, 200, scaler));
+		assertEquals(List.of(200, 300), scaled);
+	}
+
+	@Test
+	void test_variantsAreSortedByZoom() {
+		variants.getResolutionVariant(source, 300, scaler);
+		variants.getResolutionVariant(source, 150, scaler);
+		variants.getResolutionVariant(source, 200, scaler);
+		int[] widths = variants.getResolutionVariants().stream().mapToInt(variant -> variant.width).toArray();
+		assertArrayEquals(new int[] {24, 32, 48}, widths);
+	}
+
+	@Test
+	void test_variantsAreDroppedWithTheSource() {
+		variants.getResolutionVariant(source, 200, scaler);
+		variants.getResolutionVariant(new Object(), 200, scaler);
+		assertEquals(List.of(200, 200), scaled);
+		variants.clear();
+		assertTrue(variants.getResolutionVariants().isEmpty());
+		variants.getResolutionVariant(source, 200, scaler);
+		assertEquals(List.of(200, 200, 200), scaled);
+	}
+
+}
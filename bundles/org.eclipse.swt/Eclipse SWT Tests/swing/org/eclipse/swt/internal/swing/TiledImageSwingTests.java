@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.swing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.image.*;
+
+import org.junit.jupiter.api.*;
+
+class TiledImageSwingTests {
+
+	static final int WIDTH = 1000;
+	static final int HEIGHT = 700;
+	static final int TILE_SIZE = 128;
+
+	TiledImage tiledImage;
+
+	static int pixel(int x, int y) {
+		return 0xFF000000 | (x * 7 + y * 13) & 0xFFFFFF;
+	}
+
+	@BeforeEach
+	void setUp() {
+		tiledImage = new TiledImage(WIDTH, HEIGHT, TILE_SIZE, 4, 0);
+		int[] band = new int[WIDTH * 50];
+		for (int y = 0; y < HEIGHT; y += 50) {
+			for (int i = 0; i < 50; i++) {
+				for (int x = 0; x < WIDTH; x++) {
+					band[i * WIDTH + x] = pixel(x, y + i);
+				}
+			}
+			tiledImage.setRows(band, 0, 50);
+		}
+		tiledImage.finish();
+	}
+
+	@AfterEach
+	void tearDown() {
+		tiledImage.dispose();
+	}
+
+	static CGC createCGC(Graphics2D g, int width, int height) {
+		return new CGC.CGCGraphics2D() {
+			@Override
+			public Graphics2D getGraphics() {
+				return g;
+			}
+			@Override
+			public Dimension getDeviceSize() {
+				return new Dimension(width, height);
+			}
+		};
+	}
+
+	@Test
+	void test_getTile() {
+		BufferedImage tile = tiledImage.getTile(7, 5);
+		assertEquals(WIDTH - 7 * TILE_SIZE, tile.getWidth());
+		assertEquals(HEIGHT - 5 * TILE_SIZE, tile.getHeight());
+		for (int y = 0; y < tile.getHeight(); y++) {
+			for (int x = 0; x < tile.getWidth(); x++) {
+				assertEquals(pixel(7 * TILE_SIZE + x, 5 * TILE_SIZE + y), tile.getRGB(x, y));
+			}
+		}
+	}
+
+	@Test
+	void test_cacheEvictsLeastRecentlyUsedTiles() {
+		BufferedImage first = tiledImage.getTile(0, 0);
+		tiledImage.getTile(1, 0);
+		tiledImage.getTile(2, 0);
+		tiledImage.getTile(3, 0);
+		assertSame(first, tiledImage.getTile(0, 0));
+		tiledImage.getTile(4, 0);
+		assertEquals(4, tiledImage.tileCache.size());
+		assertFalse(tiledImage.tileCache.containsKey(1));
+		assertSame(first, tiledImage.getTile(0, 0));
+	}
+
+	@Test
+	void test_drawOnlyReadsVisibleTiles() {
+		BufferedImage target = new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = target.createGraphics();
+		g.clipRect(0, 0, 100, 100);
+		tiledImage.draw(createCGC(g, 300, 200), 200, 300, 300, 200, 0, 0, 300, 200);
+		g.dispose();
+		// Source columns 200..300 and rows 300..400 intersect tiles (1, 2), (2, 2), (1, 3) and (2, 3)
+		assertEquals(4, tiledImage.tileCache.size());
+		for (int y = 0; y < 100; y++) {
+			for (int x = 0; x < 100; x++) {
+				assertEquals(pixel(200 + x, 300 + y), target.getRGB(x, y));
+			}
+		}
+		assertEquals(0, target.getRGB(150, 150));
+	}
+
+	@Test
+	void test_drawScaledDownUsesOverview() {
+		BufferedImage target = new BufferedImage(100, 70, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = target.createGraphics();
+		tiledImage.draw(createCGC(g, 100, 70), 0, 0, WIDTH, HEIGHT, 0, 0, 100, 70);
+		g.dispose();
+		assertEquals(0, tiledImage.tileCache.size());
+		BufferedImage overview = tiledImage.getOverview();
+		for (int y = 0; y < overview.getHeight(); y++) {
+			for (int x = 0; x < overview.getWidth(); x++) {
+				assertEquals(0xFF000000, overview.getRGB(x, y) & 0xFF000000);
+			}
+		}
+		assertEquals(0xFF000000, target.getRGB(50, 35) & 0xFF000000);
+	}
+
+	@Test
+	void test_toBufferedImage() {
+		BufferedImage image = tiledImage.toBufferedImage();
+		for (int y = 0; y < HEIGHT; y += 31) {
+			for (int x = 0; x < WIDTH; x += 17) {
+				assertEquals(pixel(x, y), image.getRGB(x, y));
+			}
+		}
+	}
+
+}
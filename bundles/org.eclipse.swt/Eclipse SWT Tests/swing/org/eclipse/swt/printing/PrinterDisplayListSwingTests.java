@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.printing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.*;
+import java.awt.print.*;
+import java.io.*;
+
+import org.eclipse.swt.internal.swing.*;
+import org.junit.jupiter.api.*;
+
+class PrinterDisplayListSwingTests {
+
+	static final int WIDTH = 200;
+	static final int HEIGHT = 150;
+
+	/**
+	 * Stands in for a print service: renders every page of a pageable to an image.
+	 */
+	static BufferedImage[] print(Pageable pageable) throws PrinterException {
+		BufferedImage[] pages = new BufferedImage[pageable.getNumberOfPages()];
+		for (int i = 0; i < pages.length; i++) {
+			pages[i] = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = pages[i].createGraphics();
+			assertEquals(Printable.PAGE_EXISTS, pageable.getPrintable(i).print(g, pageable.getPageFormat(i), i));
+			g.dispose();
+		}
+		return pages;
+	}
+
+	static CGC createCGC(Graphics2D g) {
+		return new CGC.CGCGraphics2D() {
+			@Override
+			public Graphics2D getGraphics() {
+				return g;
+			}
+			@Override
+			public Dimension getDeviceSize() {
+				return new Dimension(WIDTH, HEIGHT);
+			}
+		};
+	}
+
+	static BufferedImage createImage(int seed) {
+		BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < 16; y++) {
+			for (int x = 0; x < 16; x++) {
+				image.setRGB(x, y, 0xFF000000 | (x * 16 << 16) | (y * 16 << 8) | seed);
+			}
+		}
+		return image;
+	}
+
+	PrinterDisplayList displayList;
+
+	@BeforeEach
+	void setUp() {
+		displayList = new PrinterDisplayList();
+	}
+
+	@AfterEach
+	void tearDown() {
+		displayList.dispose();
+	}
+
+	void writeState(Paint paint, AffineTransform transform) {
+		displayList.writeState(new Font("Dialog", Font.PLAIN, 12), paint, Color.WHITE, null, AlphaComposite.SrcOver, new RenderingHints(null), new BasicStroke(2), transform);
+	}
+
+	/** Draws the same content directly on the given graphics. */
+	static void drawPage(CGC cgc, int page) {
+		cgc.setFont(new Font("Dialog", Font.PLAIN, 12));
+		cgc.setBackground(Color.WHITE);
+		cgc.setStroke(new BasicStroke(2));
+		cgc.setColor(Color.RED);
+		cgc.fillRect(10, 10, 50, 20 + page);
+		cgc.setColor(Color.BLUE);
+		cgc.drawPolygon(new int[] {100, 150, 120}, new int[] {10, 20, 60}, 3);
+		cgc.draw(new Ellipse2D.Float(20, 60, 40, 30));
+		BufferedImage image = createImage(page);
+		cgc.drawImage(image, 120, 80, 152, 112, 0, 0, 16, 16, null);
+		cgc.setTransform(AffineTransform.getTranslateInstance(5, 5));
+		cgc.drawLine(0, 140, 190, 100);
+	}
+
+	/** Records the same content as {@link #drawPage(CGC, int)}. */
+	void recordPage(int page) {
+		writeState(Color.RED, new AffineTransform());
+		displayList.writeOp(PrinterDisplayList.OP_FILL_RECT, 10, 10, 50, 20 + page);
+		writeState(Color.BLUE, new AffineTransform());
+		displayList.writePolygonOp(PrinterDisplayList.OP_DRAW_POLYGON, new int[] {100, 150, 120}, new int[] {10, 20, 60}, 3);
+		writeState(Color.BLUE, new AffineTransform());
+		displayList.writeShapeOp(PrinterDisplayList.OP_DRAW, new Ellipse2D.Float(20, 60, 40, 30));
+		writeState(Color.BLUE, new AffineTransform());
+		displayList.writeImage(createImage(page), 120, 80, 152, 112, 0, 0, 16, 16);
+		writeState(Color.BLUE, AffineTransform.getTranslateInstance(5, 5));
+		displayList.writeOp(PrinterDisplayList.OP_DRAW_LINE, 0, 140, 190, 100);
+	}
+
+	@Test
+	void replayedPagesMatchDirectRendering() throws PrinterException {
+		int pageCount = 3;
+		for (int i = 0; i < pageCount; i++) {
+			displayList.startPage();
+			recordPage(i);
+		}
+		Pageable pageable = displayList.createPageable(new PageFormat(), new Dimension(WIDTH, HEIGHT));
+		BufferedImage[] pages = assertPrintsDirectRendering(pageable, pageCount);
+		// The print service may request the same page more than once
+		BufferedImage[] again = print(pageable);
+		assertEquals(pages[1].getRGB(30, 20), again[1].getRGB(30, 20));
+	}
+
+	static BufferedImage[] assertPrintsDirectRendering(Pageable pageable, int pageCount) throws PrinterException {
+		assertEquals(pageCount, pageable.getNumberOfPages());
+		BufferedImage[] pages = print(pageable);
+		for (int i = 0; i < pageCount; i++) {
+			BufferedImage expected = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = expected.createGraphics();
+			drawPage(createCGC(g), i);
+			g.dispose();
+			for (int y = 0; y < HEIGHT; y++) {
+				for (int x = 0; x < WIDTH; x++) {
+					assertEquals(expected.getRGB(x, y), pages[i].getRGB(x, y), "page " + i + " at " + x + "," + y);
+				}
+			}
+		}
+		return pages;
+	}
+
+	@Test
+	void recordedGCPagesMatchDirectRendering() throws PrinterException {
+		// Without a print service the printer cannot probe its initial state.
+		Printer printer = new Printer(new PrinterData("test", "test"));
+		try {
+			Printer.State state = printer.new State();
+			state.font = new Font("Dialog", Font.PLAIN, 12);
+			state.background = Color.WHITE;
+			state.color = Color.BLACK;
+			state.composite = AlphaComposite.SrcOver;
+			state.renderingHints = new RenderingHints(null);
+			state.stroke = new BasicStroke();
+			state.transform = new AffineTransform();
+			printer.initialState = state;
+			int pageCount = 2;
+			assertTrue(printer.startJob("test"));
+			for (int i = 0; i < pageCount; i++) {
+				printer.startPage();
+				drawPage(printer.internal_new_GC(null), i);
+				printer.endPage();
+			}
+			PrinterDisplayList recorded = printer.displayList;
+			File pageFile = recorded.pageFiles.get(0);
+			assertPrintsDirectRendering(recorded.createPageable(new PageFormat(), new Dimension(WIDTH, HEIGHT)), pageCount);
+			printer.dispose();
+			assertFalse(pageFile.exists(), "spool files must be deleted with the printer");
+		} finally {
+			if (!printer.isDisposed()) printer.dispose();
+		}
+	}
+
+	@Test
+	void unchangedStateIsNotWrittenAgain() {
+		displayList.startPage();
+		writeState(Color.RED, new AffineTransform());
+		displayList.writeOp(PrinterDisplayList.OP_FILL_RECT, 0, 0, 10, 10);
+		displayList.closePage();
+		long singleLength = displayList.pageFiles.get(0).length();
+		displayList.startPage();
+		for (int i = 0; i < 1000; i++) {
+			writeState(Color.RED, new AffineTransform());
+			displayList.writeOp(PrinterDisplayList.OP_FILL_RECT, 0, 0, 10, 10);
+		}
+		displayList.closePage();
+		long repeatedLength = displayList.pageFiles.get(1).length();
+		assertTrue(repeatedLength < singleLength + 1000 * 6, "state must only be written once: " + repeatedLength);
+	}
+
+	@Test
+	void identicalImagesAreStoredOnce() {
+		displayList.startPage();
+		for (int i = 0; i < 100; i++) {
+			writeState(Color.RED, new AffineTransform());
+			displayList.writeImage(createImage(7), i, 0, i + 16, 16, 0, 0, 16, 16);
+		}
+		displayList.writeImage(createImage(8), 0, 0, 16, 16, 0, 0, 16, 16);
+		assertEquals(2, displayList.images.size());
+	}
+
+	@Test
+	void imagesWithTheSameHashAreStoredSeparately() {
+		displayList.startPage();
+		writeState(Color.RED, new AffineTransform());
+		displayList.writeImage(createImage(7), 0, 0, 16, 16, 0, 0, 16, 16);
+		// Pretend that the pixels of another image have the same hash.
+		BufferedImage other = createImage(8);
+		int[] pixels = other.getRGB(0, 0, 16, 16, null, 0, 16);
+		displayList.imageIndexes.put(PrinterDisplayList.hash(pixels, 16, 16), 0);
+		displayList.writeImage(other, 0, 0, 16, 16, 0, 0, 16, 16);
+		assertEquals(2, displayList.images.size());
+		assertNull(displayList.imageIn, "the second hash must reject the image without reading the spooled pixels");
+		displayList.writeImage(createImage(8), 0, 0, 16, 16, 0, 0, 16, 16);
+		assertEquals(2, displayList.images.size());
+	}
+
+	@Test
+	void changedClipIsWrittenAgain() {
+		displayList.startPage();
+		Rectangle clip = new Rectangle(0, 0, 10, 10);
+		Path2D path = new Path2D.Float(new Ellipse2D.Float(0, 0, 10, 10));
+		displayList.writeState(null, Color.RED, null, clip, null, null, null, null);
+		assertTrue(displayList.isCurrent(PrinterDisplayList.CLIP, clip));
+		clip.width = 20;
+		assertFalse(displayList.isCurrent(PrinterDisplayList.CLIP, clip));
+		displayList.writeState(null, Color.RED, null, path, null, null, null, null);
+		assertTrue(displayList.isCurrent(PrinterDisplayList.CLIP, path));
+		path.lineTo(20, 20);
+		assertFalse(displayList.isCurrent(PrinterDisplayList.CLIP, path));
+	}
+
+	@Test
+	void disposeDeletesSpoolFiles() {
+		displayList.startPage();
+		writeState(Color.RED, new AffineTransform());
+		displayList.writeImage(createImage(1), 0, 0, 16, 16, 0, 0, 16, 16);
+		displayList.closePage();
+		File pageFile = displayList.pageFiles.get(0);
+		File imageFile = displayList.imageFile;
+		assertTrue(pageFile.exists());
+		assertTrue(imageFile.exists());
+		displayList.dispose();
+		assertFalse(pageFile.exists());
+		assertFalse(imageFile.exists());
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.layout.*;
+
+/**
+ * Scrolls a custom drawn grid of 10k rows with and without the retained back
+ * buffer of the Canvas and reports the time and the number of painted rows.
+ */
+public class BenchmarkCanvasScrollSwing {
+	private static final int ROW_COUNT = 10_000;
+	private static final int COLUMN_COUNT = 8;
+	private static final int ROW_HEIGHT = 18;
+	private static final int SCROLL_COUNT = 2_000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		Display display = new Display();
+		try {
+			for (int runs = 0; runs < 5; runs++) {
+				run(display, false);
+				run(display, true);
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	static void run(Display display, boolean retained) {
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		Canvas canvas = new Canvas(shell, SWT.V_SCROLL | SWT.NO_BACKGROUND);
+		canvas.setData(Display.RETAINED_BACK_BUFFER_KEY, Boolean.valueOf(retained));
+		int[] topRow = new int[1];
+		long[] paintedRows = new long[1];
+		canvas.addListener(SWT.Paint, event -> {
+			GC gc = event.gc;
+			int columnWidth = canvas.getClientArea().width / COLUMN_COUNT;
+			int first = event.y / ROW_HEIGHT;
+			int last = Math.min(ROW_COUNT - topRow[0], (event.y + event.height) / ROW_HEIGHT + 1);
+			for (int i = first; i < last; i++) {
+				int row = topRow[0] + i;
+				int y = i * ROW_HEIGHT;
+				gc.setBackground(display.getSystemColor(row % 2 == 0 ? SWT.COLOR_WHITE : SWT.COLOR_GRAY));
+				gc.fillRectangle(0, y, columnWidth * COLUMN_COUNT, ROW_HEIGHT);
+				for (int j = 0; j < COLUMN_COUNT; j++) {
+					gc.drawString("R" + row + "C" + j, j * columnWidth + 2, y + 2, true);
+					gc.drawLine(j * columnWidth, y, j * columnWidth, y + ROW_HEIGHT);
+				}
+				paintedRows[0]++;
+			}
+		});
+		shell.setSize(800, 600);
+		shell.open();
+		while (display.readAndDispatch()) {/*empty*/}
+		paintedRows[0] = 0;
+		long nanoTime = System.nanoTime();
+		for (int i = 0; i < SCROLL_COUNT; i++) {
+			Rectangle area = canvas.getClientArea();
+			topRow[0]++;
+			canvas.scroll(0, 0, 0, ROW_HEIGHT, area.width, area.height - ROW_HEIGHT, false);
+			canvas.update();
+			while (display.readAndDispatch()) {/*empty*/}
+		}
+		long durationNanos = System.nanoTime() - nanoTime;
+		System.out.println((retained ? "retained: " : "direct:   ") + String.format("%,15d", durationNanos) + " ns  painted rows: " + String.format("%,10d", paintedRows[0]));
+		shell.dispose();
+	}
+}
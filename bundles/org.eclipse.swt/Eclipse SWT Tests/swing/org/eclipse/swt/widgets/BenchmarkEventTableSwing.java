@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import org.eclipse.swt.*;
+
+/**
+ * Dispatches MouseMove events through the event table of a widget with 0, 1
+ * and 20 MouseMove listeners, among listeners of other types, checks whether
+ * it hooks MouseMove and owner draw events, and reports the time per call.
+ * <p>
+ * It runs without a display, so that the time of the event table is not
+ * hidden by the rest of the event processing.
+ * </p>
+ */
+public class BenchmarkEventTableSwing {
+	private static final int CALL_COUNT = 10_000_000;
+	private static final int[] HOOKS_TYPES = {SWT.EraseItem, SWT.MouseMove, SWT.PaintItem, SWT.MouseHover};
+	private static final int[] OTHER_TYPES = {SWT.KeyDown, SWT.KeyUp, SWT.MouseDown, SWT.MouseUp, SWT.Paint, SWT.Resize, SWT.Dispose, SWT.FocusIn, SWT.FocusOut, SWT.Selection};
+
+	static int handled;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		EventTable[] tables = {createTable(0), createTable(1), createTable(20)};
+		Event event = new Event();
+		for (int runs = 0; runs < 5; runs++) {
+			for (EventTable table : tables) {
+				int listenerCount = table.getListeners(SWT.MouseMove).length;
+				long nanoTime = System.nanoTime();
+				for (int i = 0; i < CALL_COUNT; i++) {
+					event.type = SWT.MouseMove;
+					table.sendEvent(event);
+				}
+				long sendTime = System.nanoTime() - nanoTime;
+				nanoTime = System.nanoTime();
+				int hooked = 0;
+				for (int i = 0; i < CALL_COUNT; i++) {
+					if (table.hooks(HOOKS_TYPES[i & 3])) hooked++;
+				}
+				long hooksTime = System.nanoTime() - nanoTime;
+				System.out.printf("%2d listeners: sendEvent %6.1f ns, hooks %5.2f ns (%d hooked)%n", listenerCount, (double) sendTime / CALL_COUNT, (double) hooksTime / CALL_COUNT, hooked);
+			}
+		}
+		System.out.println(handled);
+	}
+
+	static EventTable createTable(int listenerCount) {
+		EventTable table = new EventTable();
+		for (int type : OTHER_TYPES) {
+			table.hook(type, event -> handled++);
+		}
+		for (int i = 0; i < listenerCount; i++) {
+			table.hook(SWT.MouseMove, event -> handled++);
+		}
+		return table;
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+import javax.swing.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * Opens a popup menu of 500 items, which disposes and creates its items
+ * again on every Show event as dynamic menus do, and reports the time per
+ * opening and the number of Swing components created for the items.
+ */
+public class BenchmarkMenuSwing {
+	private static final int ITEM_COUNT = 500;
+	private static final int OPEN_COUNT = 50;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		Display display = new Display();
+		try {
+			Shell shell = new Shell(display);
+			shell.setSize(400, 300);
+			shell.open();
+			Menu menu = new Menu(shell, SWT.POP_UP);
+			Set<JComponent> peers = Collections.newSetFromMap(new IdentityHashMap<>());
+			int[] generation = new int[1];
+			menu.addListener(SWT.Show, event -> {
+				for (MenuItem item : menu.getItems()) {
+					item.dispose();
+				}
+				for (int i = 0; i < ITEM_COUNT; i++) {
+					MenuItem item = new MenuItem(menu, i % 50 == 49 ? SWT.SEPARATOR : SWT.PUSH);
+					if ((item.getStyle() & SWT.PUSH) != 0) {
+						// Most items stay the same, a few change on each opening.
+						item.setText(i % 100 == 0 ? "Entry " + i + " (" + generation[0] + ")" : "Entry " + i);
+					}
+					peers.add(item.handle);
+				}
+				generation[0]++;
+			});
+			for (int runs = 0; runs < 5; runs++) {
+				peers.clear();
+				long nanoTime = System.nanoTime();
+				for (int i = 0; i < OPEN_COUNT; i++) {
+					menu.setLocation(10, 10);
+					menu.setVisible(true);
+					while (display.readAndDispatch()) {/*empty*/}
+					menu.setVisible(false);
+					while (display.readAndDispatch()) {/*empty*/}
+				}
+				long time = System.nanoTime() - nanoTime;
+				System.out.printf("%d items: %6.2f ms per opening, %d Swing components for %d items created%n", ITEM_COUNT, time / 1e6 / OPEN_COUNT, peers.size(), ITEM_COUNT * OPEN_COUNT);
+			}
+			shell.dispose();
+		} finally {
+			display.dispose();
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.awt.*;
+import java.awt.image.*;
+import java.lang.management.*;
+
+import javax.swing.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.swing.*;
+import org.eclipse.swt.layout.*;
+
+/**
+ * Paints a check table of 50 columns and 10k rows at successive scroll
+ * positions, without owner draw listeners, and reports the time and the
+ * bytes allocated per painted cell.
+ */
+public class BenchmarkTableScrollSwing {
+	private static final int ROW_COUNT = 10_000;
+	private static final int COLUMN_COUNT = 50;
+	private static final int SCROLL_COUNT = 500;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 * @throws Exception if painting on the event dispatch thread fails
+	 */
+	public static void main(String[] args) throws Exception {
+		Display display = new Display();
+		try {
+			Shell shell = new Shell(display);
+			shell.setLayout(new FillLayout());
+			Table table = new Table(shell, SWT.CHECK | SWT.FULL_SELECTION);
+			for (int j = 0; j < COLUMN_COUNT; j++) {
+				new TableColumn(table, SWT.NONE).setWidth(60);
+			}
+			for (int i = 0; i < ROW_COUNT; i++) {
+				TableItem item = new TableItem(table, SWT.NONE);
+				for (int j = 0; j < COLUMN_COUNT; j++) {
+					item.setText(j, "R" + i + "C" + j);
+				}
+			}
+			shell.setSize(1200, 800);
+			shell.open();
+			while (display.readAndDispatch()) {/*empty*/}
+			JTable jTable = (JTable) ((CTable) table.handle).getSwingComponent();
+			com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			for (int runs = 0; runs < 5; runs++) {
+				SwingUtilities.invokeAndWait(() -> {
+					Rectangle visibleRect = jTable.getVisibleRect();
+					BufferedImage image = new BufferedImage(visibleRect.width, visibleRect.height, BufferedImage.TYPE_INT_RGB);
+					Graphics2D g = image.createGraphics();
+					int rowHeight = jTable.getRowHeight();
+					int visibleRows = visibleRect.height / rowHeight + 1;
+					long allocatedBytes = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+					long nanoTime = System.nanoTime();
+					for (int i = 0; i < SCROLL_COUNT; i++) {
+						int y = i * rowHeight;
+						g.translate(0, -y);
+						g.setClip(visibleRect.x, y, visibleRect.width, visibleRect.height);
+						jTable.paint(g);
+						g.translate(0, y);
+					}
+					long durationNanos = System.nanoTime() - nanoTime;
+					allocatedBytes = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBytes;
+					long cellCount = (long) SCROLL_COUNT * visibleRows * Math.min(COLUMN_COUNT, visibleRect.width / 60 + 1);
+					System.out.printf("%6.2f ms per paint, %6.1f bytes allocated per cell%n", durationNanos / 1e6 / SCROLL_COUNT, (double) allocatedBytes / cellCount);
+					g.dispose();
+				});
+			}
+			shell.dispose();
+		} finally {
+			display.dispose();
+		}
+	}
+}
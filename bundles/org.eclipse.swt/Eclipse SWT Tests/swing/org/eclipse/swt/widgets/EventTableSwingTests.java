@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.junit.jupiter.api.*;
+
+class EventTableSwingTests {
+
+	static final int CUSTOM_TYPE = 1000;
+
+	EventTable table;
+	java.util.List<String> calls;
+
+	@BeforeEach
+	void setUp() {
+		table = new EventTable();
+		calls = new ArrayList<>();
+	}
+
+	Listener record(String name) {
+		return event -> calls.add(name);
+	}
+
+	void send(int type) {
+		Event event = new Event();
+		event.type = type;
+		table.sendEvent(event);
+	}
+
+	@Test
+	void test_hooksAndListenersPerType() {
+		Listener a = record("a"), b = record("b"), c = record("c");
+		table.hook(SWT.MouseMove, a);
+		table.hook(SWT.MouseMove, b);
+		table.hook(SWT.KeyDown, c);
+		table.hook(CUSTOM_TYPE, c);
+		assertTrue(table.hooks(SWT.MouseMove));
+		assertTrue(table.hooks(CUSTOM_TYPE));
+		assertFalse(table.hooks(SWT.EraseItem));
+		assertFalse(table.hooks(-1));
+		assertEquals(java.util.List.of(a, b), Arrays.asList(table.getListeners(SWT.MouseMove)));
+		assertEquals(0, table.getListeners(SWT.EraseItem).length);
+		assertEquals(4, table.size());
+		send(SWT.MouseMove);
+		send(CUSTOM_TYPE);
+		assertEquals(java.util.List.of("a", "b", "c"), calls);
+		table.unhook(SWT.MouseMove, a);
+		table.unhook(SWT.MouseMove, b);
+		table.unhook(CUSTOM_TYPE, c);
+		assertFalse(table.hooks(SWT.MouseMove));
+		assertFalse(table.hooks(CUSTOM_TYPE));
+		assertEquals(1, table.size());
+	}
+
+	@Test
+	void test_unhookWhileSending() {
+		Listener b = record("b");
+		table.hook(SWT.MouseMove, event -> {
+			calls.add("a");
+			table.unhook(SWT.MouseMove, b);
+		});
+		table.hook(SWT.MouseMove, b);
+		table.hook(SWT.MouseMove, record("c"));
+		send(SWT.MouseMove);
+		assertEquals(java.util.List.of("a", "c"), calls);
+		assertEquals(2, table.getListeners(SWT.MouseMove).length);
+		calls.clear();
+		send(SWT.MouseMove);
+		assertEquals(java.util.List.of("a", "c"), calls);
+	}
+
+	@Test
+	void test_unhookLastWhileSending() {
+		Listener[] self = new Listener[1];
+		self[0] = event -> {
+			calls.add("a");
+			table.unhook(SWT.MouseMove, self[0]);
+		};
+		table.hook(SWT.MouseMove, self[0]);
+		send(SWT.MouseMove);
+		assertFalse(table.hooks(SWT.MouseMove));
+		send(SWT.MouseMove);
+		assertEquals(java.util.List.of("a"), calls);
+	}
+
+	@Test
+	void test_hookWhileSending() {
+		table.hook(SWT.MouseMove, event -> {
+			calls.add("a");
+			if (calls.size() == 1) table.hook(SWT.MouseMove, record("b"));
+		});
+		send(SWT.MouseMove);
+		assertEquals(java.util.List.of("a", "b"), calls);
+	}
+
+	@Test
+	void test_noneStopsSending() {
+		table.hook(SWT.MouseMove, event -> {
+			calls.add("a");
+			event.type = SWT.None;
+		});
+		table.hook(SWT.MouseMove, record("b"));
+		send(SWT.MouseMove);
+		assertEquals(java.util.List.of("a"), calls);
+	}
+
+}
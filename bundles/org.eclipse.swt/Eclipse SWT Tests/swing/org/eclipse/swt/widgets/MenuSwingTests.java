@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.util.*;
+
+import javax.swing.*;
+import javax.swing.event.*;
+
+import org.eclipse.swt.*;
+import org.junit.jupiter.api.*;
+
+class MenuSwingTests {
+
+	Display display;
+	Shell shell;
+	Menu menu;
+
+	@BeforeEach
+	void setUp() {
+		Assumptions.assumeFalse(GraphicsEnvironment.isHeadless(), "a display is needed to create shells");
+		display = new Display();
+		shell = new Shell(display);
+		menu = new Menu(shell, SWT.POP_UP);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (display != null) display.dispose();
+	}
+
+	/** Notifies the menu as Swing does before showing its popup. */
+	void show() {
+		JPopupMenu popup = (JPopupMenu) menu.handle;
+		for (PopupMenuListener listener : popup.getPopupMenuListeners()) {
+			listener.popupMenuWillBecomeVisible(new PopupMenuEvent(popup));
+		}
+	}
+
+	void assertPeersInOrder() {
+		Container container = menu.getPeerContainer();
+		MenuItem[] items = menu.getItems();
+		assertEquals(items.length, container.getComponentCount());
+		for (int i = 0; i < items.length; i++) {
+			assertSame(items[i].handle, container.getComponent(i), "peer of item " + i);
+		}
+	}
+
+	@Test
+	void test_showAttachesPeers() {
+		for (int i = 0; i < 3; i++) {
+			new MenuItem(menu, SWT.PUSH).setText("Item " + i);
+		}
+		show();
+		assertPeersInOrder();
+		assertEquals("Item 2", ((JMenuItem) menu.getItem(2).handle).getText());
+	}
+
+	@Test
+	void test_refillDuringShowReusesPeers() {
+		MenuItem disabled = new MenuItem(menu, SWT.PUSH);
+		disabled.setText("Old 0");
+		disabled.setEnabled(false);
+		new MenuItem(menu, SWT.SEPARATOR);
+		new MenuItem(menu, SWT.PUSH).setText("Old 1");
+		show();
+		Set<JComponent> oldPeers = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (MenuItem item : menu.getItems()) {
+			oldPeers.add(item.handle);
+		}
+		menu.addListener(SWT.Show, event -> {
+			for (MenuItem item : menu.getItems()) {
+				item.dispose();
+			}
+			new MenuItem(menu, SWT.CHECK).setText("New 0");
+			new MenuItem(menu, SWT.PUSH).setText("New 1");
+			new MenuItem(menu, SWT.PUSH).setText("New 2");
+			new MenuItem(menu, SWT.SEPARATOR);
+		});
+		show();
+		assertPeersInOrder();
+		MenuItem[] items = menu.getItems();
+		assertFalse(oldPeers.contains(items[0].handle), "no disposed check item to reuse");
+		assertTrue(oldPeers.contains(items[1].handle));
+		assertTrue(oldPeers.contains(items[2].handle));
+		assertTrue(oldPeers.contains(items[3].handle));
+		for (int i = 0; i < 3; i++) {
+			JMenuItem peer = (JMenuItem) items[i].handle;
+			assertEquals("New " + i, peer.getText());
+			assertTrue(peer.isEnabled(), "reused peers are reset");
+			assertSame(items[i], MenuItem.getOwner(peer));
+		}
+	}
+
+}
@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+/**
+ * Specialized blit loops for the common image formats, which
+ * <code>ImageData.blit</code> selects before falling back to its generic
+ * loops. The kernels handle direct formats whose channels are whole
+ * bytes, so that each pixel is converted by moving bytes to fixed
+ * offsets, without switching on the format or shifting by the masks.
+ * The source pixels of each destination pixel are looked up in tables
+ * of offsets, which are computed once per blit.
+ */
+final class BlitKernels {
+
+	/**
+	 * The byte offsets of the channels in a pixel of a direct format.
+	 * The unused offset is the fourth byte of a 32 bit pixel, which is
+	 * cleared like the generic loops do, or -1 for 24 bit pixels.
+	 */
+	static final class Layout {
+		final int bytesPerPixel, red, green, blue, unused;
+
+		Layout(int bytesPerPixel, int red, int green, int blue) {
+			this.bytesPerPixel = bytesPerPixel;
+			this.red = red;
+			this.green = green;
+			this.blue = blue;
+			this.unused = bytesPerPixel == 4 ? 6 - red - green - blue : -1;
+		}
+	}
+
+	/**
+	 * Converts the pixels of a region, reading the destination pixel at
+	 * (x, y) from <code>srcRows[y] + srcColumns[x]</code> and writing it
+	 * at <code>destOffset + x * destPixelStep + y * destRowStep</code>.
+	 */
+	interface Kernel {
+		void blit(byte[] srcData, int[] srcRows, int[] srcColumns, Layout src,
+			byte[] destData, int destOffset, int destPixelStep, int destRowStep, Layout dest,
+			int width, int height);
+	}
+
+	/**
+	 * Converts the pixels of an 8 bit index image, looking the index up in
+	 * a table of destination pixels.
+	 */
+	interface IndexKernel {
+		void blit(byte[] srcData, int srcStride, byte[] destData, int destStride, int width, int height, int[] pixels);
+	}
+
+	/** The kernels which copy pixels of the same format, by bytes per pixel. */
+	static final Kernel[] COPY = {
+		null,
+		BlitKernels::copy1,
+		BlitKernels::copy2,
+		BlitKernels::copy3,
+		BlitKernels::copy4,
+	};
+
+	/** The kernels which convert direct pixels, by source and destination bytes per pixel. */
+	static final Kernel[][] CONVERT = new Kernel[5][5];
+	static {
+		/* The size of the source pixels only matters to the tables of offsets */
+		CONVERT[3][3] = CONVERT[4][3] = BlitKernels::convertTo3;
+		CONVERT[3][4] = CONVERT[4][4] = BlitKernels::convertTo4;
+	}
+
+	/** The kernels which convert 8 bit index pixels: to 24 bit, to 32 bit MSB first and to 32 bit LSB first. */
+	static final IndexKernel[] INDEX_8 = {
+		BlitKernels::index8To24,
+		BlitKernels::index8To32Msb,
+		BlitKernels::index8To32Lsb,
+	};
+
+	/**
+	 * Disabled by the tests and the benchmarks to compare the kernels
+	 * with the generic loops.
+	 */
+	static boolean enabled = true;
+
+private BlitKernels() {
+}
+
+/**
+ * Answer the layout of a direct format whose channels are whole bytes,
+ * or null if it has another layout.
+ */
+static Layout getLayout(int depth, int order, int redMask, int greenMask, int blueMask) {
+	if (depth != 24 && depth != 32) return null;
+	int bytesPerPixel = depth / 8;
+	int red = getByteOffset(redMask, bytesPerPixel, order);
+	int green = getByteOffset(greenMask, bytesPerPixel, order);
+	int blue = getByteOffset(blueMask, bytesPerPixel, order);
+	if (red == -1 || green == -1 || blue == -1 || red == green || green == blue || red == blue) return null;
+	return new Layout(bytesPerPixel, red, green, blue);
+}
+
+/**
+ * Answer the offset of the byte of a channel in a pixel, or -1 if
+ * the channel is not a whole byte. 24 bit pixels are always stored
+ * most significant byte first.
+ */
+static int getByteOffset(int mask, int bytesPerPixel, int order) {
+	int shift = Integer.numberOfTrailingZeros(mask);
+	if (mask == 0 || mask != 0xFF << shift || (shift & 7) != 0) return -1;
+	int index = shift >> 3;
+	if (index >= bytesPerPixel) return -1;
+	return bytesPerPixel == 4 && order == ImageData.LSB_FIRST ? index : bytesPerPixel - 1 - index;
+}
+
+/**
+ * Answer the offsets of the source pixels sampled for each destination
+ * pixel along one axis, stepping in 16.16 fixed point exactly like the
+ * generic loops of <code>ImageData.blit</code>.
+ */
+static int[] getOffsets(int srcSize, int destSize, int step) {
+	int[] offsets = new int[destSize];
+	int dm1 = destSize - 1;
+	int sfi = (dm1 != 0) ? (int)((((long)srcSize << 16) - 1) / dm1) : 0;
+	for (int d = 0, s = 0, sf = sfi; d < destSize; d++, sf = (sf & 0xffff) + sfi) {
+		offsets[d] = s * step;
+		s += sf >>> 16;
+	}
+	return offsets;
+}
+
+/**
+ * Blit a direct image into a direct image with a kernel, if there is one
+ * for the formats, and answer whether it did.
+ *
+ * @see ImageData#blit(byte[], int, int, int, int, int, int, int, int, byte[], int, int, int, int, int, int, int, int, boolean, boolean)
+ */
+static boolean blit(
+	byte[] srcData, int srcDepth, int srcStride, int srcOrder,
+	int srcWidth, int srcHeight,
+	int srcRedMask, int srcGreenMask, int srcBlueMask,
+	byte[] destData, int destDepth, int destStride, int destOrder,
+	int destWidth, int destHeight,
+	int destRedMask, int destGreenMask, int destBlueMask,
+	boolean flipX, boolean flipY) {
+	if (!enabled) return false;
+	Kernel kernel;
+	Layout src = null, dest = null;
+	boolean sameOrder = srcOrder == destOrder || (srcDepth != 16 && srcDepth != 32);
+	if (srcDepth == destDepth && sameOrder && srcRedMask == destRedMask && srcGreenMask == destGreenMask && srcBlueMask == destBlueMask) {
+		if (srcDepth % 8 != 0 || srcDepth > 32) return false;
+		kernel = COPY[srcDepth / 8];
+	} else {
+		src = getLayout(srcDepth, srcOrder, srcRedMask, srcGreenMask, srcBlueMask);
+		dest = getLayout(destDepth, destOrder, destRedMask, destGreenMask, destBlueMask);
+		if (src == null || dest == null) return false;
+		kernel = CONVERT[src.bytesPerPixel][dest.bytesPerPixel];
+	}
+	int srcBpp = srcDepth / 8, destBpp = destDepth / 8;
+	int destOffset = (flipY ? destHeight - 1 : 0) * destStride + (flipX ? destWidth - 1 : 0) * destBpp;
+	if (kernel == COPY[srcBpp] && !flipX && srcWidth == destWidth) {
+		/* Whole rows are copied */
+		copyRows(srcData, getOffsets(srcHeight, destHeight, srcStride), destData, destOffset, flipY ? -destStride : destStride, destWidth * destBpp, destHeight);
+		return true;
+	}
+	kernel.blit(
+		srcData, getOffsets(srcHeight, destHeight, srcStride), getOffsets(srcWidth, destWidth, srcBpp), src,
+		destData, destOffset, flipX ? -destBpp : destBpp, flipY ? -destStride : destStride, dest,
+		destWidth, destHeight);
+	return true;
+}
+
+/**
+ * Blit an 8 bit index image into a 24 or 32 bit direct image with a
+ * kernel, if there is one for the formats, and answer whether it did.
+ * The destination pixel of each index is computed once, like the
+ * generic loops compute it for each pixel.
+ */
+static boolean blit(
+	int srcWidth, int srcHeight,
+	byte[] srcData, int srcDepth, int srcStride,
+	byte[] srcReds, byte[] srcGreens, byte[] srcBlues,
+	byte[] destData, int destDepth, int destStride, int destOrder,
+	int destRedMask, int destGreenMask, int destBlueMask) {
+	if (!enabled || srcDepth != 8 || (destDepth != 24 && destDepth != 32)) return false;
+	int destRedShift = ImageData.getChannelShift(destRedMask);
+	int destRedPreShift = 8 - ImageData.getChannelWidth(destRedMask, destRedShift);
+	int destGreenShift = ImageData.getChannelShift(destGreenMask);
+	int destGreenPreShift = 8 - ImageData.getChannelWidth(destGreenMask, destGreenShift);
+	int destBlueShift = ImageData.getChannelShift(destBlueMask);
+	int destBluePreShift = 8 - ImageData.getChannelWidth(destBlueMask, destBlueShift);
+	int length = Math.min(srcReds.length, Math.min(srcGreens.length, srcBlues.length));
+	int[] pixels = new int[length];
+	for (int i = 0; i < length; i++) {
+		pixels[i] =
+			((srcReds[i] & 0xff) >>> destRedPreShift << destRedShift) |
+			((srcGreens[i] & 0xff) >>> destGreenPreShift << destGreenShift) |
+			((srcBlues[i] & 0xff) >>> destBluePreShift << destBlueShift);
+	}
+	INDEX_8[destDepth == 24 ? 0 : destOrder == ImageData.MSB_FIRST ? 1 : 2].blit(srcData, srcStride, destData, destStride, srcWidth, srcHeight, pixels);
+	return true;
+}
+
+static void copyRows(byte[] srcData, int[] srcRows, byte[] destData, int destOffset, int destRowStep, int length, int height) {
+	for (int y = 0, dp = destOffset; y < height; y++, dp += destRowStep) {
+		System.arraycopy(srcData, srcRows[y], destData, dp, length);
+	}
+}
+
+static void copy1(byte[] srcData, int[] srcRows, int[] srcColumns, Layout src, byte[] destData, int destOffset, int destPixelStep, int destRowStep, Layout dest, int width, int height) {
+	for (int y = 0, dpr = destOffset; y < height; y++, dpr += destRowStep) {
+		int spr = srcRows[y];
+		for (int x = 0, dp = dpr; x < width; x++, dp += destPixelStep) {
+			destData[dp] = srcData[spr + srcColumns[x]];
+		}
+	}
+}
+
+static void copy2(byte[] srcData, int[] srcRows, int[] srcColumns, Layout src, byte[] destData, int destOffset, int destPixelStep, int destRowStep, Layout dest, int width, int height) {
+	for (int y = 0, dpr = destOffset; y < height; y++, dpr += destRowStep) {
+		int spr = srcRows[y];
+		for (int x = 0, dp = dpr; x < width; x++, dp += destPixelStep) {
+			int sp = spr + srcColumns[x];
+			destData[dp] = srcData[sp];
+			destData[dp + 1] = srcData[sp + 1];
+		}
+	}
+}
+
+static void copy3(byte[] srcData, int[] srcRows, int[] srcColumns, Layout src, byte[] destData, int destOffset, int destPixelStep, int destRowStep, Layout dest, int width, int height) {
+	for (int y = 0, dpr = destOffset; y < height; y++, dpr += destRowStep) {
+		int spr = srcRows[y];
+		for (int x = 0, dp = dpr; x < width; x++, dp += destPixelStep) {
+			int sp = spr + srcColumns[x];
+			destData[dp] = srcData[sp];
+			destData[dp + 1] = srcData[sp + 1];
+			destData[dp + 2] = srcData[sp + 2];
+		}
+	}
+}
+
+static void copy4(byte[] srcData, int[] srcRows, int[] srcColumns, Layout src, byte[] destData, int destOffset, int destPixelStep, int destRowStep, Layout dest, int width, int height) {
+	for (int y = 0, dpr = destOffset; y < height; y++, dpr += destRowStep) {
+		int spr = srcRows[y];
+		for (int x = 0, dp = dpr; x < width; x++, dp += destPixelStep) {
+			int sp = spr + srcColumns[x];
+			destData[dp] = srcData[sp];
+			destData[dp + 1] = srcData[sp + 1];
+			destData[dp + 2] = srcData[sp + 2];
+			destData[dp + 3] = srcData[sp + 3];
+		}
+	}
+}
+
+static void convertTo3(byte[] srcData, int[] srcRows, int[] srcColumns, Layout src, byte[] destData, int destOffset, int destPixelStep, int destRowStep, Layout dest, int width, int height) {
+	int sr = src.red, sg = src.green, sb = src.blue;
+	int dr = dest.red, dg = dest.green, db = dest.blue;
+	for (int y = 0, dpr = destOffset; y < height; y++, dpr += destRowStep) {
+		int spr = srcRows[y];
+		for (int x = 0, dp = dpr; x < width; x++, dp += destPixelStep) {
+			int sp = spr + srcColumns[x];
+			destData[dp + dr] = srcData[sp + sr];
+			destData[dp + dg] = srcData[sp + sg];
+			destData[dp + db] = srcData[sp + sb];
+		}
+	}
+}
+
+static void convertTo4(byte[] srcData, int[] srcRows, int[] srcColumns, Layout src, byte[] destData, int destOffset, int destPixelStep, int destRowStep, Layout dest, int width, int height) {
+	int sr = src.red, sg = src.green, sb = src.blue;
+	int dr = dest.red, dg = dest.green, db = dest.blue, du = dest.unused;
+	for (int y = 0, dpr = destOffset; y < height; y++, dpr += destRowStep) {
+		int spr = srcRows[y];
+		for (int x = 0, dp = dpr; x < width; x++, dp += destPixelStep) {
+			int sp = spr + srcColumns[x];
+			destData[dp + dr] = srcData[sp + sr];
+			destData[dp + dg] = srcData[sp + sg];
+			destData[dp + db] = srcData[sp + sb];
+			destData[dp + du] = 0;
+		}
+	}
+}
+
+static void index8To24(byte[] srcData, int srcStride, byte[] destData, int destStride, int width, int height, int[] pixels) {
+	for (int y = 0; y < height; y++) {
+		for (int x = 0, sp = y * srcStride, dp = y * destStride; x < width; x++, dp += 3) {
+			int pixel = pixels[srcData[sp + x] & 0xff];
+			destData[dp] = (byte) (pixel >>> 16);
+			destData[dp + 1] = (byte) (pixel >>> 8);
+			destData[dp + 2] = (byte) pixel;
+		}
+	}
+}
+
+static void index8To32Msb(byte[] srcData, int srcStride, byte[] destData, int destStride, int width, int height, int[] pixels) {
+	for (int y = 0; y < height; y++) {
+		for (int x = 0, sp = y * srcStride, dp = y * destStride; x < width; x++, dp += 4) {
+			int pixel = pixels[srcData[sp + x] & 0xff];
+			destData[dp] = (byte) (pixel >>> 24);
+			destData[dp + 1] = (byte) (pixel >>> 16);
+			destData[dp + 2] = (byte) (pixel >>> 8);
+			destData[dp + 3] = (byte) pixel;
+		}
+	}
+}
+
+static void index8To32Lsb(byte[] srcData, int srcStride, byte[] destData, int destStride, int width, int height, int[] pixels) {
+	for (int y = 0; y < height; y++) {
+		for (int x = 0, sp = y * srcStride, dp = y * destStride; x < width; x++, dp += 4) {
+			int pixel = pixels[srcData[sp + x] & 0xff];
+			destData[dp] = (byte) pixel;
+			destData[dp + 1] = (byte) (pixel >>> 8);
+			destData[dp + 2] = (byte) (pixel >>> 16);
+			destData[dp + 3] = (byte) (pixel >>> 24);
+		}
+	}
+}
+
+/**
+ * Scale an image whose channels are whole bytes with bilinear
+ * interpolation, sampling at the centers of the pixels. Each byte of a
+ * pixel is interpolated separately, so the layout of the channels does
+ * not matter.
+ */
+static void scaleBilinear(
+	byte[] srcData, int bytesPerPixel, int srcStride, int srcWidth, int srcHeight,
+	byte[] destData, int destStride, int destWidth, int destHeight,
+	boolean flipX, boolean flipY) {
+	if (destWidth <= 0 || destHeight <= 0) return;
+	int[] x0 = new int[destWidth], x1 = new int[destWidth], wx = new int[destWidth];
+	getSamples(srcWidth, destWidth, bytesPerPixel, x0, x1, wx);
+	int[] y0 = new int[destHeight], y1 = new int[destHeight], wy = new int[destHeight];
+	getSamples(srcHeight, destHeight, srcStride, y0, y1, wy);
+	int destOffset = (flipY ? destHeight - 1 : 0) * destStride + (flipX ? destWidth - 1 : 0) * bytesPerPixel;
+	int destPixelStep = flipX ? -bytesPerPixel : bytesPerPixel;
+	int destRowStep = flipY ? -destStride : destStride;
+	for (int y = 0, dpr = destOffset; y < destHeight; y++, dpr += destRowStep) {
+		int top = y0[y], bottom = y1[y], fy = wy[y], gy = 256 - fy;
+		for (int x = 0, dp = dpr; x < destWidth; x++, dp += destPixelStep) {
+			int left = x0[x], right = x1[x], fx = wx[x], gx = 256 - fx;
+			for (int i = 0; i < bytesPerPixel; i++) {
+				int upper = (srcData[top + left + i] & 0xff) * gx + (srcData[top + right + i] & 0xff) * fx;
+				int lower = (srcData[bottom + left + i] & 0xff) * gx + (srcData[bottom + right + i] & 0xff) * fx;
+				destData[dp + i] = (byte) ((upper * gy + lower * fy + 0x8000) >>> 16);
+			}
+		}
+	}
+}
+
+/**
+ * Compute the offsets of the two source pixels around the center of each
+ * destination pixel along one axis, and the weight of the second one in
+ * 1/256.
+ */
+static void getSamples(int srcSize, int destSize, int step, int[] offsets0, int[] offsets1, int[] weights) {
+	long max = (long) (srcSize - 1) << 16;
+	for (int d = 0; d < destSize; d++) {
+		long s = (((2L * d + 1) * srcSize << 16) / (2L * destSize)) - 0x8000;
+		s = Math.max(0, Math.min(max, s));
+		int s0 = (int) (s >> 16);
+		offsets0[d] = s0 * step;
+		offsets1[d] = Math.min(s0 + 1, srcSize - 1) * step;
+		weights[d] = (int) (s >> 8) & 0xff;
+	}
+}
+
+}
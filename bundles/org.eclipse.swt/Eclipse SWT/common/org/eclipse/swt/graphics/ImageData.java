@@ -1175,6 +1175,82 @@ public ImageData scaledTo(int width, int height) {
 	return dest;
 }
 
+/**
+ * Returns a copy of the receiver which has been stretched or
+ * shrunk to the specified size using the specified interpolation.
+ * If either the width or height is negative, the resulting image
+ * will be inverted in the associated axis.
+ * <p>
+ * <code>SWT.NONE</code> and <code>SWT.DEFAULT</code> scale like
+ * <code>scaledTo(int, int)</code>, which picks the nearest pixel.
+ * </p><p>
+ * <code>SWT.LOW</code> interpolates the colors and the alpha data
+ * bilinearly. <code>SWT.HIGH</code> does the same when enlarging the
+ * image, and filters it with a Mitchell-Netravali cubic filter when
+ * shrinking it in either direction. Large images are filtered in
+ * parallel.
+ * </p><p>
+ * Both interpolate direct images with 24 or 32 bits per pixel whose
+ * channels are 8 bits wide in their own format. Other images, and images
+ * with a mask or a transparent pixel, are first converted to a 32 bit
+ * direct image with alpha data.
+ * </p>
+ *
+ * @param width the width of the new ImageData
+ * @param height the height of the new ImageData
+ * @param interpolation the interpolation, one of <code>SWT.DEFAULT</code>,
+ *        <code>SWT.NONE</code>, <code>SWT.LOW</code> or <code>SWT.HIGH</code>
+ * @return a scaled copy of the image
+ *
+ * @see #scaledTo(int, int)
+ *
+ * @since 3.128
+ */
+public ImageData scaledTo(int width, int height, int interpolation) {
+	if (interpolation != SWT.LOW && interpolation != SWT.HIGH) return scaledTo(width, height);
+	ImageData source = this;
+	if (!palette.isDirect || maskData != null || transparentPixel != -1 ||
+		BlitKernels.getLayout(depth, getByteOrder(), palette.redMask, palette.greenMask, palette.blueMask) == null) {
+		source = ImageResampler.toDirect(this);
+	}
+
+	final boolean flipX = (width < 0);
+	if (flipX) width = - width;
+	final boolean flipY = (height < 0);
+	if (flipY) height = - height;
+
+	ImageData dest = new ImageData(
+		width, height, source.depth, source.palette,
+		source.scanlinePad, null, 0, null,
+		null, -1, -1, type,
+		x, y, disposalMethod, delayTime);
+	if (source.alpha != -1) {
+		dest.alpha = source.alpha;
+	} else if (source.alphaData != null) {
+		dest.alphaData = new byte[dest.width * dest.height];
+	}
+
+	if (interpolation == SWT.HIGH && (width < source.width || height < source.height)) {
+		ImageResampler.scale(
+			source.data, source.depth / 8, source.bytesPerLine, source.width, source.height, source.alphaData,
+			dest.data, dest.bytesPerLine, dest.width, dest.height, dest.alphaData,
+			flipX, flipY);
+		return dest;
+	}
+
+	BlitKernels.scaleBilinear(
+		source.data, source.depth / 8, source.bytesPerLine, source.width, source.height,
+		dest.data, dest.bytesPerLine, dest.width, dest.height,
+		flipX, flipY);
+	if (source.alphaData != null) {
+		BlitKernels.scaleBilinear(
+			source.alphaData, 1, source.width, source.width, source.height,
+			dest.alphaData, dest.width, dest.width, dest.height,
+			flipX, flipY);
+	}
+	return dest;
+}
+
 /**
  * Sets the alpha value at offset <code>x</code> in
  * scanline <code>y</code> in the receiver's alpha data.
@@ -1778,6 +1854,12 @@ static void blit(
 	final int dprxi = (flipX) ? -dbpp : dbpp;
 	final int dpryi = (flipY) ? -destStride : destStride;
 
+	/*** Fast blit (specialized kernels) ***/
+	if (BlitKernels.blit(
+		srcData, srcDepth, srcStride, srcOrder, srcWidth, srcHeight, srcRedMask, srcGreenMask, srcBlueMask,
+		destData, destDepth, destStride, destOrder, destWidth, destHeight, destRedMask, destGreenMask, destBlueMask,
+		flipX, flipY)) return;
+
 	/*** Blit ***/
 	int dp = dpr;
 	int sp = spr;
@@ -1828,36 +1910,6 @@ static void blit(
 		}
 		return;
 	}
-	/*Fast 32 to 32 blit */
-	if (stype == TYPE_GENERIC_32_MSB && dtype == TYPE_GENERIC_32_MSB) {
-		if (srcRedMask == 0xFF00 && srcGreenMask == 0xff0000 && srcBlueMask == 0xff000000 && destRedMask == 0xFF0000 && destGreenMask == 0xff00 && destBlueMask == 0xff) {
-			for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
-				for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
-					destData[dp] = srcData[sp + 3];
-					destData[dp + 1] = srcData[sp + 2];
-					destData[dp + 2] = srcData[sp + 1];
-					destData[dp + 3] = srcData[sp];
-					sp += (sfx >>> 16) * 4;
-				}
-			}
-			return;
-		}
-	}
-	/*Fast 24 to 32 blit */
-	if (stype == TYPE_GENERIC_24 && dtype == TYPE_GENERIC_32_MSB) {
-		if (srcRedMask == 0xFF && srcGreenMask == 0xff00 && srcBlueMask == 0xff0000 && destRedMask == 0xFF0000 && destGreenMask == 0xff00 && destBlueMask == 0xff) {
-			for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
-				for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
-					destData[dp] = 0;
-					destData[dp + 1] = srcData[sp + 2];
-					destData[dp + 2] = srcData[sp + 1];
-					destData[dp + 3] = srcData[sp];
-					sp += (sfx >>> 16) * 3;
-				}
-			}
-			return;
-		}
-	}
 
 	/*** Comprehensive blit (apply transformations) ***/
 	final int srcRedShift = getChannelShift(srcRedMask);
@@ -2254,30 +2306,10 @@ static void blit(
 	byte[] destData, int destDepth, int destStride, int destOrder,
 	int destRedMask, int destGreenMask, int destBlueMask) {
 
-	/*** Fast blit (straight copy) ***/
-	if (destDepth == 24 && srcDepth == 8 && destRedMask == 0xFF0000 && destGreenMask == 0xFF00 && destBlueMask == 0xFF) {
-		for (int y = 0, sp = 0, dp = 0, spad = srcStride - srcWidth, dpad = destStride - (srcWidth * 3); y < srcHeight; y++, sp += spad, dp += dpad) {
-			for (int x = 0; x < srcWidth; x++) {
-				int index = srcData[sp++] & 0xff;
-				destData[dp++] = srcReds[index];
-				destData[dp++] = srcGreens[index];
-				destData[dp++] = srcBlues[index];
-			}
-		}
-		return;
-	}
-	if (destDepth == 32 && destOrder == MSB_FIRST && srcDepth == 8 && destRedMask == 0xFF0000 && destGreenMask == 0xFF00 && destBlueMask == 0xFF) {
-		for (int y = 0, sp = 0, dp = 0, spad = srcStride - srcWidth, dpad = destStride - (srcWidth * 4); y < srcHeight; y++, sp += spad, dp += dpad) {
-			for (int x = 0; x < srcWidth; x++) {
-				int index = srcData[sp++] & 0xff;
-				dp++;
-				destData[dp++] = srcReds[index];
-				destData[dp++] = srcGreens[index];
-				destData[dp++] = srcBlues[index];
-			}
-		}
-		return;
-	}
+	/*** Fast blit (specialized kernels) ***/
+	if (BlitKernels.blit(
+		srcWidth, srcHeight, srcData, srcDepth, srcStride, srcReds, srcGreens, srcBlues,
+		destData, destDepth, destStride, destOrder, destRedMask, destGreenMask, destBlueMask)) return;
 
 	/*** Prepare source-related data ***/
 	final int stype;
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+import java.util.*;
+import java.util.stream.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * Scales images whose channels are whole bytes with the separable
+ * Mitchell-Netravali cubic filter (B = C = 1/3), which is widened by the
+ * scale factor when shrinking so that every source pixel contributes.
+ * Unlike Lanczos filters, it rings very little around the sharp edges
+ * of icons. The rows are filtered first and the columns of the result
+ * second; large images are filtered in parallel. The colors are weighted
+ * by the alpha data, if any, so that transparent pixels do not darken
+ * the edges of opaque areas.
+ */
+final class ImageResampler {
+
+	/** The number of source pixels from which the passes run in parallel. */
+	static int parallelThreshold = 512 * 512;
+
+	static final double B = 1.0 / 3, C = 1.0 / 3;
+
+	/**
+	 * The contributions of the source pixels to the destination pixels
+	 * along one axis. The source pixels of destination pixel d are
+	 * <code>start[d]</code> to <code>start[d] + count[d] - 1</code>, with
+	 * weights from <code>weights[d * width]</code>.
+	 */
+	static final class Contributions {
+		final int[] start, count;
+		final float[] weights;
+		final int width;
+
+		Contributions(int srcSize, int destSize) {
+			double scale = Math.min(1.0, (double) destSize / srcSize);
+			double support = 2 / scale;
+			width = (int) Math.ceil(support * 2) + 1;
+			start = new int[destSize];
+			count = new int[destSize];
+			weights = new float[destSize * width];
+			double[] w = new double[width];
+			for (int d = 0; d < destSize; d++) {
+				double center = (d + 0.5) * srcSize / destSize - 0.5;
+				int left = Math.max(0, (int) Math.ceil(center - support));
+				int right = Math.min(srcSize - 1, (int) Math.floor(center + support));
+				double sum = 0;
+				int n = 0;
+				for (int s = left; s <= right && n < width; s++, n++) {
+					w[n] = mitchell((s - center) * scale);
+					sum += w[n];
+				}
+				start[d] = left;
+				count[d] = n;
+				for (int i = 0; i < n; i++) {
+					weights[d * width + i] = (float) (sum != 0 ? w[i] / sum : i == 0 ? 1 : 0);
+				}
+			}
+		}
+	}
+
+private ImageResampler() {
+}
+
+static double mitchell(double x) {
+	x = Math.abs(x);
+	if (x < 1) return ((12 - 9 * B - 6 * C) * x * x * x + (-18 + 12 * B + 6 * C) * x * x + (6 - 2 * B)) / 6;
+	if (x < 2) return ((-B - 6 * C) * x * x * x + (6 * B + 30 * C) * x * x + (-12 * B - 48 * C) * x + (8 * B + 24 * C)) / 6;
+	return 0;
+}
+
+static IntStream rows(int count, boolean parallel) {
+	IntStream rows = IntStream.range(0, count);
+	return parallel ? rows.parallel() : rows;
+}
+
+/**
+ * Scale the pixels and the alpha data, if any, of an image. The
+ * destination alpha data is written if the source has alpha data.
+ */
+static void scale(
+	byte[] srcData, int bytesPerPixel, int srcStride, int srcWidth, int srcHeight, byte[] srcAlpha,
+	byte[] destData, int destStride, int destWidth, int destHeight, byte[] destAlpha,
+	boolean flipX, boolean flipY) {
+	if (destWidth <= 0 || destHeight <= 0) return;
+	boolean parallel = (long) srcWidth * srcHeight >= parallelThreshold;
+	Contributions horizontal = new Contributions(srcWidth, destWidth);
+	Contributions vertical = new Contributions(srcHeight, destHeight);
+	int channels = bytesPerPixel + (srcAlpha != null ? 1 : 0);
+	int rowLength = destWidth * channels;
+
+	/* Filter the rows into premultiplied channels, with the alpha last */
+	float[] rows = new float[srcHeight * rowLength];
+	rows(srcHeight, parallel).forEach(y -> {
+		float[] pixel = new float[channels];
+		for (int d = 0; d < destWidth; d++) {
+			Arrays.fill(pixel, 0);
+			int base = d * horizontal.width;
+			for (int i = 0; i < horizontal.count[d]; i++) {
+				int s = horizontal.start[d] + i;
+				float weight = horizontal.weights[base + i];
+				int sp = y * srcStride + s * bytesPerPixel;
+				float alpha = 1;
+				if (srcAlpha != null) {
+					alpha = (srcAlpha[y * srcWidth + s] & 0xFF) / 255f;
+					pixel[bytesPerPixel] += weight * alpha;
+				}
+				for (int c = 0; c < bytesPerPixel; c++) {
+					pixel[c] += weight * alpha * (srcData[sp + c] & 0xFF);
+				}
+			}
+			System.arraycopy(pixel, 0, rows, y * rowLength + d * channels, channels);
+		}
+	});
+
+	/* Filter the columns and write the result */
+	rows(destHeight, parallel).forEach(y -> {
+		float[] pixel = new float[channels];
+		int dy = flipY ? destHeight - 1 - y : y;
+		int base = y * vertical.width;
+		for (int d = 0; d < destWidth; d++) {
+			Arrays.fill(pixel, 0);
+			for (int i = 0; i < vertical.count[y]; i++) {
+				float weight = vertical.weights[base + i];
+				int rp = (vertical.start[y] + i) * rowLength + d * channels;
+				for (int c = 0; c < channels; c++) {
+					pixel[c] += weight * rows[rp + c];
+				}
+			}
+			int dx = flipX ? destWidth - 1 - d : d;
+			int dp = dy * destStride + dx * bytesPerPixel;
+			float alpha = 1;
+			if (srcAlpha != null) {
+				alpha = Math.max(0, Math.min(1, pixel[bytesPerPixel]));
+				destAlpha[dy * destWidth + dx] = (byte) Math.round(alpha * 255);
+			}
+			for (int c = 0; c < bytesPerPixel; c++) {
+				float value = alpha > 0 ? pixel[c] / alpha : 0;
+				destData[dp + c] = (byte) Math.max(0, Math.min(255, Math.round(value)));
+			}
+		}
+	});
+}
+
+/**
+ * Answer a copy of an image in a 32 bit direct format, which has the
+ * colors of its pixels and alpha data with the transparency of its
+ * alpha, mask or transparent pixel, if any.
+ */
+static ImageData toDirect(ImageData image) {
+	int width = image.width, height = image.height;
+	ImageData result = new ImageData(width, height, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+	int transparencyType = image.getTransparencyType();
+	if (transparencyType != SWT.TRANSPARENCY_NONE) result.alphaData = new byte[width * height];
+	PaletteData palette = image.palette;
+	RGB[] rgbs = palette.isDirect ? null : palette.getRGBs();
+	ImageData mask = transparencyType == SWT.TRANSPARENCY_MASK || transparencyType == SWT.TRANSPARENCY_PIXEL ? image.getTransparencyMask() : null;
+	int[] pixels = new int[width];
+	int[] maskPixels = new int[width];
+	for (int y = 0; y < height; y++) {
+		image.getPixels(0, y, width, pixels, 0);
+		if (mask != null) mask.getPixels(0, y, width, maskPixels, 0);
+		for (int x = 0; x < width; x++) {
+			RGB rgb;
+			if (rgbs != null) {
+				rgb = pixels[x] < rgbs.length ? rgbs[pixels[x]] : rgbs[0];
+			} else {
+				rgb = palette.getRGB(pixels[x]);
+			}
+			pixels[x] = rgb.red << 8 | rgb.green << 16 | rgb.blue << 24;
+			if (result.alphaData != null) {
+				int alpha = mask != null ? (maskPixels[x] != 0 ? 255 : 0) : image.getAlpha(x, y);
+				result.alphaData[y * width + x] = (byte) alpha;
+			}
+		}
+		result.setPixels(0, y, width, pixels, 0);
+	}
+	return result;
+}
+
+}
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+import java.lang.StackWalker.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Tracks the graphics resources allocated on a device for leak detection.
+ * <p>
+ * Registration and unregistration are constant time operations on an
+ * identity keyed concurrent map, so they can be called from any thread
+ * without a global lock. The stack is only walked for one in
+ * <code>samplingInterval</code> allocations, which capture the full
+ * creation stack trace and the allocation site (the first frame calling
+ * the resource constructor). The other allocations are counted on a site
+ * per resource type without a creator. The sites are aggregated in a
+ * histogram that can be read incrementally with
+ * {@link #getAllocationSites(long)}.
+ * </p>
+ */
+public class ResourceTracker {
+
+	/**
+	 * System property defining the initial stack trace sampling interval.
+	 */
+	public static final String SAMPLING_PROPERTY = "swt.tracking.sampling"; //$NON-NLS-1$
+
+	private static final StackWalker WALKER = StackWalker.getInstance(Option.RETAIN_CLASS_REFERENCE);
+
+	/**
+	 * Number of live and allocated resources for one allocation site.
+	 */
+	public static final class AllocationSite {
+		final String type;
+		final StackTraceElement creator;
+		final AtomicInteger live = new AtomicInteger();
+		final AtomicLong allocated = new AtomicLong();
+		volatile long stamp;
+
+		AllocationSite(String type, StackTraceElement creator) {
+			this.type = type;
+			this.creator = creator;
+		}
+
+		/** @return the simple class name of the allocated resources */
+		public String getType() {
+			return type;
+		}
+
+		/** @return the frame which called the resource constructor or <code>null</code> if unknown */
+		public StackTraceElement getCreator() {
+			return creator;
+		}
+
+		/** @return the number of resources created at this site which are not disposed yet */
+		public int getLiveCount() {
+			return live.get();
+		}
+
+		/** @return the number of resources created at this site since tracking started */
+		public long getAllocationCount() {
+			return allocated.get();
+		}
+
+		/** @return the modification stamp of the last change of this site */
+		public long getStamp() {
+			return stamp;
+		}
+
+		@Override
+		public String toString() {
+			return type + " @ " + (creator == null ? "?" : creator.toString()) + ": " + live.get() + " live / " + allocated.get(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	private static final class Key {
+		final Object object;
+		final int hash;
+
+		Key(Object object) {
+			this.object = object;
+			this.hash = System.identityHashCode(object);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).object == object;
+		}
+	}
+
+	private static final class SiteKey {
+		final Class<?> type;
+		final StackTraceElement creator;
+
+		SiteKey(Class<?> type, StackTraceElement creator) {
+			this.type = type;
+			this.creator = creator;
+		}
+
+		@Override
+		public int hashCode() {
+			return type.hashCode() * 31 + Objects.hashCode(creator);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof SiteKey)) return false;
+			SiteKey other = (SiteKey) obj;
+			return other.type == type && Objects.equals(other.creator, creator);
+		}
+	}
+
+	private static final class Entry {
+		final Error error;
+		final AllocationSite site;
+
+		Entry(Error error, AllocationSite site) {
+			this.error = error;
+			this.site = site;
+		}
+	}
+
+	private final ConcurrentHashMap<Key, Entry> objects = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<SiteKey, AllocationSite> sites = new ConcurrentHashMap<>();
+	private final AtomicLong allocationCount = new AtomicLong();
+	private final AtomicLong stamp = new AtomicLong();
+	private volatile int samplingInterval;
+
+	public ResourceTracker() {
+		samplingInterval = Math.max(1, Integer.getInteger(SAMPLING_PROPERTY, 1).intValue());
+	}
+
+	/**
+	 * Sets the stack trace sampling interval. A value of 1 captures the
+	 * creation stack of every resource, <code>n</code> captures one in
+	 * <code>n</code> allocations.
+	 */
+	public void setSamplingInterval(int samplingInterval) {
+		this.samplingInterval = Math.max(1, samplingInterval);
+	}
+
+	public int getSamplingInterval() {
+		return samplingInterval;
+	}
+
+	public void register(Object object) {
+		long count = allocationCount.getAndIncrement();
+		boolean sampled = count % samplingInterval == 0;
+		Error error = sampled ? new Error() : null;
+		AllocationSite site = getSite(object.getClass(), sampled);
+		site.live.incrementAndGet();
+		site.allocated.incrementAndGet();
+		site.stamp = stamp.incrementAndGet();
+		objects.put(new Key(object), new Entry(error, site));
+	}
+
+	public void unregister(Object object) {
+		Entry entry = objects.remove(new Key(object));
+		if (entry != null) {
+			entry.site.live.decrementAndGet();
+			entry.site.stamp = stamp.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @return the number of tracked resources
+	 */
+	public int size() {
+		return objects.size();
+	}
+
+	/**
+	 * Returns the tracked resources and their creation stacks. Resources
+	 * whose creation stack was not sampled have a <code>null</code> error.
+	 *
+	 * @param objects receives the tracked resources
+	 * @param errors receives the creation stacks, in the same order
+	 */
+	public void snapshot(List<Object> objects, List<Error> errors) {
+		this.objects.forEach((key, entry) -> {
+			objects.add(key.object);
+			errors.add(entry.error);
+		});
+	}
+
+	/**
+	 * @return the stamp of the most recent change, to be passed to {@link #getAllocationSites(long)}
+	 */
+	public long getStamp() {
+		return stamp.get();
+	}
+
+	/**
+	 * Returns the allocation sites which changed after the given stamp.
+	 * Passing <code>0</code> returns the whole histogram.
+	 *
+	 * @param since a stamp previously returned by {@link #getStamp()}
+	 * @return the changed allocation sites
+	 */
+	public List<AllocationSite> getAllocationSites(long since) {
+		List<AllocationSite> result = new ArrayList<>();
+		for (AllocationSite site : sites.values()) {
+			if (site.stamp > since) result.add(site);
+		}
+		return result;
+	}
+
+	private AllocationSite getSite(Class<?> type, boolean sampled) {
+		StackTraceElement creator = !sampled ? null : WALKER.walk(frames -> frames
+				.dropWhile(frame -> !isConstructorOf(frame, type))
+				.dropWhile(frame -> isConstructorOf(frame, type))
+				.findFirst()
+				.map(StackFrame::toStackTraceElement)
+				.orElse(null));
+		return sites.computeIfAbsent(new SiteKey(type, creator), k -> new AllocationSite(type.getSimpleName(), creator));
+	}
+
+	private static boolean isConstructorOf(StackFrame frame, Class<?> type) {
+		return frame.getDeclaringClass().isAssignableFrom(type) && "<init>".equals(frame.getMethodName()); //$NON-NLS-1$
+	}
+}
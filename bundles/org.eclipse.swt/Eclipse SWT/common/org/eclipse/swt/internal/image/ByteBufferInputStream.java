@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+/**
+ * An input stream reading the bytes of a buffer, which holds the whole
+ * content of a file. The bytes are read without system calls, and bulk
+ * reads copy them with a single <code>ByteBuffer.get</code>.
+ * <p>
+ * Files up to <code>HEAP_THRESHOLD</code> bytes are read into a heap
+ * buffer and closed before they are decoded. Larger files are streamed,
+ * so that loading them does not hold their whole content in memory. Files
+ * are not memory-mapped: a mapping is only released when its buffer is
+ * garbage collected, and keeps the file locked until then on Windows, so
+ * that it could not be deleted or replaced right after loading it.
+ * </p>
+ * <p>
+ * <b>IMPORTANT:</b> This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public final class ByteBufferInputStream extends InputStream {
+	/**
+	 * The size of the largest file which is read into a heap buffer.
+	 */
+	public static final int HEAP_THRESHOLD = 16 * 1024 * 1024;
+
+	final ByteBuffer buffer;
+	int mark;
+
+/**
+ * Create a stream reading the remaining bytes of the buffer, which is
+ * read from its current position on without changing it.
+ */
+public ByteBufferInputStream(ByteBuffer buffer) {
+	if (buffer == null) throw new NullPointerException();
+	this.buffer = buffer.slice();
+}
+
+/**
+ * Answer a stream reading the content of the file with the given name.
+ * Files up to <code>HEAP_THRESHOLD</code> bytes are read with as few
+ * system calls as possible, larger ones through a buffered stream.
+ */
+public static InputStream open(String filename) throws IOException {
+	FileInputStream stream = new FileInputStream(filename);
+	try {
+		FileChannel channel = stream.getChannel();
+		long size = channel.size();
+		if (size > HEAP_THRESHOLD) return new BufferedInputStream(stream);
+		ByteBuffer buffer = ByteBuffer.allocate((int) size);
+		while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+		}
+		buffer.flip();
+		stream.close();
+		return new ByteBufferInputStream(buffer);
+	} catch (IOException | RuntimeException e) {
+		stream.close();
+		throw e;
+	}
+}
+
+@Override
+public int available() {
+	return buffer.remaining();
+}
+
+@Override
+public void mark(int readLimit) {
+	mark = buffer.position();
+}
+
+@Override
+public boolean markSupported() {
+	return true;
+}
+
+@Override
+public int read() {
+	return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+}
+
+@Override
+public int read(byte[] b, int off, int len) {
+	if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+	if (len == 0) return 0;
+	int remaining = buffer.remaining();
+	if (remaining == 0) return -1;
+	int count = Math.min(len, remaining);
+	buffer.get(b, off, count);
+	return count;
+}
+
+@Override
+public byte[] readAllBytes() {
+	byte[] bytes = new byte[buffer.remaining()];
+	buffer.get(bytes);
+	return bytes;
+}
+
+@Override
+public void reset() {
+	buffer.position(mark);
+}
+
+@Override
+public long skip(long n) {
+	int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+	buffer.position(buffer.position() + count);
+	return count;
+}
+
+}
@@ -15,6 +15,9 @@ package org.eclipse.swt.internal.image;
 
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
@@ -24,30 +27,68 @@ import org.eclipse.swt.graphics.*;
  * in various image file formats.
  */
 public abstract class FileFormat {
-	static final String FORMAT_PACKAGE = "org.eclipse.swt.internal.image"; //$NON-NLS-1$
-	static final String FORMAT_SUFFIX = "FileFormat"; //$NON-NLS-1$
 	static final String[] FORMATS = {"WinBMP", "WinBMP", "GIF", "WinICO", "JPEG", "PNG", "TIFF", "OS2BMP"}; //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$//$NON-NLS-5$ //$NON-NLS-6$//$NON-NLS-7$//$NON-NLS-8$
 
 	LEDataInputStream inputStream;
 	LEDataOutputStream outputStream;
 	ImageLoader loader;
 	int compression;
+	/**
+	 * The smallest size the decoded images may have, or 0 to decode at full
+	 * size. Formats which cannot decode at reduced resolution ignore it.
+	 */
+	int targetWidth, targetHeight;
+	/**
+	 * Receives the image in bands of rows instead of a complete
+	 * <code>ImageData</code>, or <code>null</code>.
+	 */
+	ImageLoaderListener bandListener;
+	/**
+	 * Runs the tasks of formats which compress concurrently when saving,
+	 * or <code>null</code> to compress on the calling thread.
+	 */
+	Executor executor;
 
-static FileFormat getFileFormat (LEDataInputStream stream, String format) throws Exception {
-	Class<?> clazz = Class.forName(FORMAT_PACKAGE + '.' + format + FORMAT_SUFFIX);
-	FileFormat fileFormat = (FileFormat) clazz.getDeclaredConstructor().newInstance();
-	if (fileFormat.isFileFormat(stream)) return fileFormat;
-	return null;
-}
+	/** The approximate number of bytes of pixel data in one band of rows. */
+	static final int BAND_SIZE = 1 << 20;
 
 /**
- * Return whether or not the specified input stream
- * represents a supported file format.
+ * Return whether or not a stream starting with the specified
+ * bytes represents a supported file format. The header has
+ * <code>FileFormatRegistry.HEADER_LENGTH</code> bytes, padded
+ * with zeros if the stream is shorter.
  */
-abstract boolean isFileFormat(LEDataInputStream stream);
+abstract boolean isFileFormat(byte[] header);
 
 abstract ImageData[] loadFromByteStream();
 
+/**
+ * Decode the first image of the input stream and deliver it to the
+ * band listener. Formats which can decode progressively override
+ * this to deliver bands of rows as they are decoded; the default
+ * delivers the complete image as a single band.
+ */
+void loadBandsFromByteStream() {
+	ImageData image = loadFromByteStream()[0];
+	startBands(image.width, image.height);
+	fireBand(image, 0, true);
+}
+
+/**
+ * Read the compressed frames of the input stream and answer one
+ * decoder per frame. The decoders do not touch the input stream, so
+ * they may be run concurrently once this method has returned. Formats
+ * with several frames override this; the default decodes all the
+ * frames while reading them.
+ */
+List<Supplier<ImageData>> loadFramesFromByteStream() {
+	List<Supplier<ImageData>> frames = new ArrayList<>();
+	for (ImageData image : loadFromByteStream()) {
+		frames.add(() -> image);
+	}
+	return frames;
+}
+
 /**
  * Read the specified input stream, and return the
  * device independent image array represented by the stream.
@@ -66,46 +107,174 @@ public ImageData[] loadFromStream(LEDataInputStream stream) {
 	}
 }
 
+/**
+ * Read the first image of the specified input stream and deliver it
+ * to the band listener.
+ */
+public void loadBandsFromStream(LEDataInputStream stream) {
+	try {
+		inputStream = stream;
+		loadBandsFromByteStream();
+	} catch (Exception e) {
+		if (e instanceof IOException) {
+			SWT.error(SWT.ERROR_IO, e);
+		} else {
+			SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+		}
+	}
+}
+
+/**
+ * Read the compressed frames of the specified input stream and
+ * answer one decoder per frame.
+ */
+public List<Supplier<ImageData>> loadFramesFromStream(LEDataInputStream stream) {
+	try {
+		inputStream = stream;
+		List<Supplier<ImageData>> frames = loadFramesFromByteStream();
+		for (int i = 0; i < frames.size(); i++) {
+			Supplier<ImageData> frame = frames.get(i);
+			frames.set(i, () -> {
+				try {
+					return frame.get();
+				} catch (SWTException | IllegalArgumentException e) {
+					throw e;
+				} catch (Exception e) {
+					SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+					return null;
+				}
+			});
+		}
+		return frames;
+	} catch (Exception e) {
+		if (e instanceof IOException) {
+			SWT.error(SWT.ERROR_IO, e);
+		} else {
+			SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+		}
+		return null;
+	}
+}
+
+/**
+ * Answer the number of rows of a band of an image with the given
+ * number of bytes per row.
+ */
+static int getBandHeight(int bytesPerLine, int height) {
+	return Math.max(1, Math.min(height, BAND_SIZE / Math.max(1, bytesPerLine)));
+}
+
+/**
+ * Publish the size of the image before its first band is delivered.
+ * Like the logical screen of an animated GIF, it is the area in which
+ * the bands are placed.
+ */
+void startBands(int width, int height) {
+	loader.logicalScreenWidth = width;
+	loader.logicalScreenHeight = height;
+}
+
+/**
+ * Deliver a band of rows. The y field of the band is the index of its
+ * first row in the image. The band and its data may be reused for the
+ * next band once the listener returns.
+ */
+void fireBand(ImageData band, int bandCount, boolean endOfImage) {
+	bandListener.imageDataLoaded(new ImageLoaderEvent(loader, band, bandCount, endOfImage));
+}
+
+static FileFormat getFileFormat(LEDataInputStream stream) {
+	return FileFormatRegistry.getFileFormat(stream);
+}
+
 /**
  * Read the specified input stream using the specified loader, and
  * return the device independent image array represented by the stream.
  */
 public static ImageData[] load(InputStream is, ImageLoader loader) {
-	FileFormat fileFormat = null;
+	return load(is, loader, 0, 0);
+}
+
+/**
+ * Read the specified input stream using the specified loader, and
+ * return the device independent image array represented by the stream.
+ * The images may be decoded at a reduced resolution, but are never
+ * smaller than the target size unless the image itself is smaller.
+ */
+public static ImageData[] load(InputStream is, ImageLoader loader, int targetWidth, int targetHeight) {
 	LEDataInputStream stream = new LEDataInputStream(is);
-	for (int i = 1; i < FORMATS.length; i++) {
-		if (FORMATS[i] != null) {
-			try {
-				fileFormat = getFileFormat (stream, FORMATS[i]);
-				if (fileFormat != null) break;
-			} catch (ClassNotFoundException e) {
-				FORMATS[i] = null;
-			} catch (Exception e) {
-			}
-		}
-	}
-	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	FileFormat fileFormat = getFileFormat(stream);
 	fileFormat.loader = loader;
+	fileFormat.targetWidth = targetWidth;
+	fileFormat.targetHeight = targetHeight;
 	return fileFormat.loadFromStream(stream);
 }
 
+/**
+ * Read the first image of the specified input stream using the specified
+ * loader, and deliver it to the listener in bands of rows, from top to
+ * bottom, without keeping the complete image in memory where the format
+ * allows it.
+ */
+public static void loadBands(InputStream is, ImageLoader loader, ImageLoaderListener listener) {
+	LEDataInputStream stream = new LEDataInputStream(is);
+	FileFormat fileFormat = getFileFormat(stream);
+	fileFormat.loader = loader;
+	fileFormat.bandListener = listener;
+	fileFormat.loadBandsFromStream(stream);
+}
+
+/**
+ * Read the compressed frames of the specified input stream using the
+ * specified loader and answer one future per frame. The frames after
+ * the first are decoded concurrently by the executor, while the first
+ * frame is decoded by the calling thread, so its future is complete
+ * when this method returns.
+ */
+public static List<CompletableFuture<ImageData>> loadFrames(InputStream is, ImageLoader loader, Executor executor) {
+	LEDataInputStream stream = new LEDataInputStream(is);
+	FileFormat fileFormat = getFileFormat(stream);
+	fileFormat.loader = loader;
+	List<Supplier<ImageData>> decoders = fileFormat.loadFramesFromStream(stream);
+	List<CompletableFuture<ImageData>> frames = new ArrayList<>(decoders.size());
+	if (decoders.isEmpty()) return frames;
+	frames.add(null);
+	for (int i = 1; i < decoders.size(); i++) {
+		frames.add(CompletableFuture.supplyAsync(decoders.get(i), executor));
+	}
+	try {
+		frames.set(0, CompletableFuture.completedFuture(decoders.get(0).get()));
+	} catch (RuntimeException | Error e) {
+		for (int i = 1; i < frames.size(); i++) {
+			frames.get(i).cancel(false);
+		}
+		throw e;
+	}
+	return frames;
+}
+
 /**
  * Write the device independent image array stored in the specified loader
  * to the specified output stream using the specified file format.
  */
 public static void save(OutputStream os, int format, ImageLoader loader) {
+	save(os, format, loader, null);
+}
+
+/**
+ * Write the device independent image array stored in the specified loader
+ * to the specified output stream using the specified file format. Formats
+ * which support it compress the image concurrently with the executor,
+ * unless it is null.
+ */
+public static void save(OutputStream os, int format, ImageLoader loader, Executor executor) {
 	if (format < 0 || format >= FORMATS.length) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	if (FORMATS[format] == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
 	if (loader.data == null || loader.data.length < 1) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 
 	LEDataOutputStream stream = new LEDataOutputStream(os);
-	FileFormat fileFormat = null;
-	try {
-		Class<?> clazz = Class.forName(FORMAT_PACKAGE + '.' + FORMATS[format] + FORMAT_SUFFIX);
-		fileFormat = (FileFormat) clazz.getDeclaredConstructor().newInstance();
-	} catch (Exception e) {
-		SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	}
+	FileFormat fileFormat = FileFormatRegistry.createBuiltIn(FORMATS[format]);
+	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	fileFormat.executor = executor;
 	if (format == SWT.IMAGE_BMP_RLE) {
 		switch (loader.data[0].depth) {
 			case 8: fileFormat.compression = 1; break;
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+
+import java.io.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Loads images of a file format which is recognized by the first bytes of
+ * the stream. Providers are found with <code>ServiceLoader</code> or added
+ * with <code>FileFormatRegistry.register</code>. A provider with the name
+ * of a built-in format ("WinBMP", "GIF", "WinICO", "JPEG", "PNG", "TIFF"
+ * or "OS2BMP") replaces it for loading.
+ * <p>
+ * <b>IMPORTANT:</b> This interface is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ *
+ * @see FileFormatRegistry
+ */
+public interface FileFormatProvider {
+
+/**
+ * Answer the name of the format.
+ */
+String getName();
+
+/**
+ * Answer whether a stream starting with the given bytes is in this
+ * format. The header has <code>FileFormatRegistry.HEADER_LENGTH</code>
+ * bytes, padded with zeros if the stream is shorter.
+ */
+boolean isFileFormat(byte[] header);
+
+/**
+ * Load the images of the stream, which is positioned at its first byte.
+ * Errors are reported with <code>SWT.error</code>.
+ */
+ImageData[] load(InputStream stream, ImageLoader loader);
+
+}
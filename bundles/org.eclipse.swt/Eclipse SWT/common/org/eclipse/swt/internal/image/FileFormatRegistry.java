@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * The file formats which can load images, recognized by the first
+ * bytes of the stream. Each format is instantiated once to check the
+ * headers, and a new instance loads each stream.
+ * <p>
+ * The built-in formats are checked in a fixed order. The providers
+ * found with <code>ServiceLoader</code> and those registered by the
+ * application replace the built-in format of the same name, or are
+ * checked after the built-in formats.
+ * </p>
+ * <p>
+ * <b>IMPORTANT:</b> This class is <em>not</em> part of the public
+ * API for SWT. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms, and should never be called from application code.
+ * </p>
+ */
+public final class FileFormatRegistry {
+	/**
+	 * The number of bytes used to recognize a format. The BMP formats
+	 * are told apart by the size of the info header in bytes 14 to 17.
+	 */
+	public static final int HEADER_LENGTH = 18;
+
+	static final class Entry {
+		final String name;
+		final FileFormat prototype;
+		final Supplier<FileFormat> factory;
+
+		Entry(String name, Supplier<FileFormat> factory) {
+			this.name = name;
+			this.factory = factory;
+			this.prototype = factory.get();
+		}
+
+		boolean matches(byte[] header) {
+			try {
+				return prototype.isFileFormat(header);
+			} catch (RuntimeException e) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Loads the images of a stream with a provider.
+	 */
+	static final class ProviderFileFormat extends FileFormat {
+		final FileFormatProvider provider;
+
+		ProviderFileFormat(FileFormatProvider provider) {
+			this.provider = provider;
+		}
+
+		@Override
+		boolean isFileFormat(byte[] header) {
+			return provider.isFileFormat(header.clone());
+		}
+
+		@Override
+		ImageData[] loadFromByteStream() {
+			return provider.load(inputStream, loader);
+		}
+
+		@Override
+		void unloadIntoByteStream(ImageLoader loader) {
+			SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+		}
+	}
+
+	static final List<FileFormatProvider> providers = new ArrayList<>();
+	static boolean providersLoaded;
+	static volatile Entry[] entries;
+
+private FileFormatRegistry() {
+}
+
+/**
+ * Answer a new instance of the built-in format with the given name,
+ * or null if it is not available.
+ */
+static FileFormat createBuiltIn(String name) {
+	try {
+		Supplier<FileFormat> factory = getBuiltInFactory(name);
+		return factory == null ? null : factory.get();
+	} catch (LinkageError e) {
+		/* The format was removed from a reduced build */
+		return null;
+	}
+}
+
+static Supplier<FileFormat> getBuiltInFactory(String name) {
+	switch (name) {
+		case "WinBMP": return WinBMPFileFormat::new;
+		case "GIF": return GIFFileFormat::new;
+		case "WinICO": return WinICOFileFormat::new;
+		case "JPEG": return JPEGFileFormat::new;
+		case "PNG": return PNGFileFormat::new;
+		case "TIFF": return TIFFFileFormat::new;
+		case "OS2BMP": return OS2BMPFileFormat::new;
+	}
+	return null;
+}
+
+static Entry[] getEntries() {
+	Entry[] result = entries;
+	if (result == null) {
+		synchronized (providers) {
+			if (!providersLoaded) {
+				providersLoaded = true;
+				try {
+					for (FileFormatProvider provider : ServiceLoader.load(FileFormatProvider.class)) {
+						providers.add(0, provider);
+					}
+				} catch (ServiceConfigurationError e) {
+					/* Keep the providers loaded so far */
+				}
+			}
+			result = entries;
+			if (result == null) entries = result = createEntries();
+		}
+	}
+	return result;
+}
+
+/**
+ * Called with the providers locked.
+ */
+static Entry[] createEntries() {
+	Map<String, Entry> map = new LinkedHashMap<>();
+	for (int i = 1; i < FileFormat.FORMATS.length; i++) {
+		String name = FileFormat.FORMATS[i];
+		if (map.containsKey(name)) continue;
+		try {
+			Supplier<FileFormat> factory = getBuiltInFactory(name);
+			if (factory != null) map.put(name, new Entry(name, factory));
+		} catch (LinkageError e) {
+			/* The format was removed from a reduced build */
+		}
+	}
+	/* The providers registered last are checked first */
+	for (int i = providers.size() - 1; i >= 0; i--) {
+		FileFormatProvider provider = providers.get(i);
+		String name = provider.getName();
+		if (map.containsKey(name) && map.get(name).prototype instanceof ProviderFileFormat) continue;
+		map.put(name, new Entry(name, () -> new ProviderFileFormat(provider)));
+	}
+	return map.values().toArray(new Entry[map.size()]);
+}
+
+/**
+ * Read the first bytes of the stream and push them back.
+ */
+static byte[] readHeader(LEDataInputStream stream) {
+	byte[] header = new byte[HEADER_LENGTH];
+	int length = 0;
+	try {
+		int count;
+		while (length < HEADER_LENGTH && (count = stream.read(header, length, HEADER_LENGTH - length)) > 0) {
+			length += count;
+		}
+		if (length > 0) stream.unread(length == HEADER_LENGTH ? header : Arrays.copyOf(header, length));
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return header;
+}
+
+/**
+ * Answer a new instance of the format of the stream, whose first
+ * bytes are read and pushed back.
+ */
+static FileFormat getFileFormat(LEDataInputStream stream) {
+	byte[] header = readHeader(stream);
+	for (Entry entry : getEntries()) {
+		if (entry.matches(header)) return entry.factory.get();
+	}
+	SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	return null;
+}
+
+/**
+ * Add a provider of a file format, which replaces the built-in format
+ * or the provider of the same name, if any.
+ *
+ * @param provider the provider to add
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider or its name is null</li>
+ * </ul>
+ */
+public static void register(FileFormatProvider provider) {
+	if (provider == null || provider.getName() == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	synchronized (providers) {
+		providers.add(provider);
+		entries = null;
+	}
+}
+
+/**
+ * Remove a provider added with <code>register</code>. The format
+ * it replaced, if any, is used again.
+ *
+ * @param provider the provider to remove
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is null</li>
+ * </ul>
+ */
+public static void deregister(FileFormatProvider provider) {
+	if (provider == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	synchronized (providers) {
+		providers.remove(provider);
+		entries = null;
+	}
+}
+
+}
@@ -17,6 +17,8 @@ package org.eclipse.swt.internal.image;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import java.io.*;
+import java.util.*;
+import java.util.function.*;
 
 public final class GIFFileFormat extends FileFormat {
 	String signature;
@@ -51,15 +53,8 @@ public final class GIFFileFormat extends FileFormat {
 	}
 
 	@Override
-	boolean isFileFormat(LEDataInputStream stream) {
-		try {
-			byte[] signature = new byte[3];
-			stream.read(signature);
-			stream.unread(signature);
-			return signature[0] == 'G' && signature[1] == 'I' && signature[2] == 'F';
-		} catch (Exception e) {
-			return false;
-		}
+	boolean isFileFormat(byte[] header) {
+		return header[0] == 'G' && header[1] == 'I' && header[2] == 'F';
 	}
 
 	/**
@@ -68,6 +63,29 @@ public final class GIFFileFormat extends FileFormat {
 	 */
 	@Override
 	ImageData[] loadFromByteStream() {
+		List<Supplier<ImageData>> frames = readFrames(false);
+		ImageData[] images = new ImageData[frames.size()];
+		for (int i = 0; i < images.length; i++) {
+			images[i] = frames.get(i).get();
+		}
+		return images;
+	}
+
+	/**
+	 * Read the compressed GIF image(s) stored in the input stream.
+	 * Return one decoder per image, which can run on any thread.
+	 */
+	@Override
+	List<Supplier<ImageData>> loadFramesFromByteStream() {
+		return readFrames(true);
+	}
+
+	/**
+	 * Read the GIF image(s) stored in the input stream and return one
+	 * decoder per image. Unless buffered, the images are decoded while
+	 * reading and the loader is notified of each one.
+	 */
+	List<Supplier<ImageData>> readFrames(boolean buffered) {
 		byte[] signature = new byte[3];
 		byte[] versionBytes = new byte[3];
 		byte[] block = new byte[7];
@@ -104,18 +122,19 @@ public final class GIFFileFormat extends FileFormat {
 		}
 		loader.backgroundPixel = backgroundPixel;
 
-		ImageData[] images = new ImageData[0];
+		List<Supplier<ImageData>> frames = new ArrayList<>();
 		int id = readID();
 		while (id != GIF_TRAILER_ID && id != -1) {
 			if (id == GIF_IMAGE_BLOCK_ID) {
-				ImageData image = readImageBlock(palette);
-				if (loader.hasListeners()) {
-					loader.notifyListeners(new ImageLoaderEvent(loader, image, 3, true));
+				if (buffered) {
+					frames.add(readImageBlock(palette, true));
+				} else {
+					ImageData image = readImageBlock(palette);
+					if (loader.hasListeners()) {
+						loader.notifyListeners(new ImageLoaderEvent(loader, image, 3, true));
+					}
+					frames.add(() -> image);
 				}
-				ImageData[] oldImages = images;
-				images = new ImageData[oldImages.length + 1];
-				System.arraycopy(oldImages, 0, images, 0, oldImages.length);
-				images[images.length - 1] = image;
 			} else if (id == GIF_EXTENSION_BLOCK_ID) {
 				/* Read the extension block. Currently, only the
 				 * interesting parts of certain extensions are kept,
@@ -127,13 +146,13 @@ public final class GIFFileFormat extends FileFormat {
 			} else {
 				/* The GIF is not to spec, but try to salvage it
 				 * if we read at least one image. */
-				if (images.length > 0) break;
+				if (!frames.isEmpty()) break;
 				SWT.error(SWT.ERROR_INVALID_IMAGE);
 			}
 			id = readID(); // block terminator (0)
 			if (id == 0) id = readID(); // next block ID (unless we just read it)
 		}
-		return images;
+		return frames;
 	}
 
 	/**
@@ -320,6 +339,16 @@ public final class GIFFileFormat extends FileFormat {
 	 * Throw an error if an error occurs.
 	 */
 	ImageData readImageBlock(PaletteData defaultPalette) {
+		return readImageBlock(defaultPalette, false).get();
+	}
+
+	/**
+	 * We have just read the image block identifier from the input stream.
+	 * Read the image descriptor and answer the decoder of the image. If
+	 * buffered, the compressed data is read now, so that the decoder does
+	 * not touch the input stream and can run on any thread.
+	 */
+	Supplier<ImageData> readImageBlock(PaletteData defaultPalette, boolean buffered) {
 		int depth;
 		PaletteData palette;
 		byte[] block = new byte[9];
@@ -386,9 +415,40 @@ public final class GIFFileFormat extends FileFormat {
 			top,
 			disposalMethod,
 			delayTime);
-		LZWCodec codec = new LZWCodec();
-		codec.decode(inputStream, loader, image, interlaced, initialCodeSize);
-		return image;
+		int codeSize = initialCodeSize;
+		if (!buffered) {
+			LZWCodec.getCodec().decode(inputStream, loader, image, interlaced, codeSize);
+			return () -> image;
+		}
+		LEDataInputStream blocks = new LEDataInputStream(new ByteArrayInputStream(readDataBlocks()));
+		return () -> {
+			LZWCodec.getCodec().decode(blocks, null, image, interlaced, codeSize);
+			return image;
+		};
+	}
+
+	/**
+	 * Read the data sub-blocks of an image, up to and including the
+	 * block terminator, and answer them as they appear in the stream.
+	 */
+	byte[] readDataBlocks() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] block = new byte[256];
+		try {
+			int size;
+			do {
+				size = inputStream.read();
+				if (size < 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+				block[0] = (byte)size;
+				if (size > 0 && inputStream.read(block, 1, size) != size) {
+					SWT.error(SWT.ERROR_INVALID_IMAGE);
+				}
+				out.write(block, 0, size + 1);
+			} while (size != 0);
+		} catch (IOException e) {
+			SWT.error(SWT.ERROR_IO, e);
+		}
+		return out.toByteArray();
 	}
 
 	/**
@@ -530,7 +590,7 @@ public final class GIFFileFormat extends FileFormat {
 			} catch (IOException e) {
 				SWT.error(SWT.ERROR_IO, e);
 			}
-			new LZWCodec().encode(outputStream, data[frame]);
+			LZWCodec.getCodec().encode(outputStream, data[frame]);
 		}
 
 		/* Step 10: Write GIF terminator. */
@@ -1363,14 +1363,9 @@ void inverseDCT(int[] dataUnit) {
 	}
 }
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		JPEGStartOfImage soi = new JPEGStartOfImage(stream);
-		stream.unread(soi.reference);
-		return soi.verify();  // we no longer check for appN
-	} catch (Exception e) {
-		return false;
-	}
+boolean isFileFormat(byte[] header) {
+	JPEGStartOfImage soi = new JPEGStartOfImage(new byte[] {header[0], header[1]});
+	return soi.verify();  // we no longer check for appN
 }
 boolean isZeroInColumn(int[] dataUnit, int col) {
 	return dataUnit[col + 8] == 0 && dataUnit[col + 16] == 0
@@ -1385,10 +1380,19 @@ boolean isZeroInRow(int[] dataUnit, int rIndex) {
 			&& dataUnit[rIndex + 7] == 0;
 }
 @Override
+void loadBandsFromByteStream() {
+	//TEMPORARY CODE
+	if (System.getProperty("org.eclipse.swt.internal.image.JPEGFileFormat_3.2") == null) {
+		JPEGDecoder.loadBandsFromByteStream(inputStream, this);
+		return;
+	}
+	super.loadBandsFromByteStream();
+}
+@Override
 ImageData[] loadFromByteStream() {
 	//TEMPORARY CODE
 	if (System.getProperty("org.eclipse.swt.internal.image.JPEGFileFormat_3.2") == null) {
-		return JPEGDecoder.loadFromByteStream(inputStream, loader);
+		return JPEGDecoder.loadFromByteStream(inputStream, loader, targetWidth, targetHeight);
 	}
 	JPEGStartOfImage soi = new JPEGStartOfImage(inputStream);
 	if (!soi.verify()) SWT.error(SWT.ERROR_INVALID_IMAGE);
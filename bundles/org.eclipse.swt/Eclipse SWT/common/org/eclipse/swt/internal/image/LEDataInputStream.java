@@ -148,6 +148,21 @@ final class LEDataInputStream extends InputStream {
 		return cacheCopied;
 	}
 
+	/**
+	 * Skip bytes by moving the position of an in-memory stream instead
+	 * of reading them.
+	 */
+	@Override
+	public long skip(long n) throws IOException {
+		if (!(in instanceof ByteBufferInputStream) || n <= 0) return super.skip(n);
+		if (buf == null) throw new IOException();
+		int cached = (int) Math.min(n, buf.length - pos);
+		pos += cached;
+		long skipped = cached + in.skip(n - cached);
+		position += skipped;
+		return skipped;
+	}
+
 	/**
 	 * Answer an integer comprised of the next
 	 * four bytes of the input stream.
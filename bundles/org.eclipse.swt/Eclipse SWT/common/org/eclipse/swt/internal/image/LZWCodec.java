@@ -14,6 +14,8 @@
 package org.eclipse.swt.internal.image;
 
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 
@@ -23,16 +25,33 @@ final class LZWCodec {
 		imageWidth, imageHeight, imageX, imageY, pass, line, codeMask;
 	byte[] block, lineArray;
 	int[] stack, suffix, prefix;
-	LZWNode[] nodeStack;
+	/* Encoding dictionary, an open-addressing hash table of (prefix code, pixel) keys */
+	int[] hashKeys, hashCodes;
 	LEDataInputStream inputStream;
 	LEDataOutputStream outputStream;
 	ImageData image;
 	ImageLoader loader;
 	boolean interlaced;
+	/* Whether the codec is decoding or encoding, so that it cannot be shared */
+	boolean isBusy;
 	static final int[] MASK_TABLE = new int[] {
 		0x1, 0x3, 0x7, 0xF, 0x1F, 0x3F, 0x7F,
 		0xFF, 0x1FF, 0x3FF, 0x7FF, 0xFFF
 	};
+	/* At most 4096 codes, so the table is never more than half full */
+	static final int HASH_SIZE = 8192;
+	static final int HASH_SHIFT = 32 - 13;
+	/* Codecs keep their tables and block buffer, so each thread allocates them once */
+	static final ThreadLocal<LZWCodec> CODECS = ThreadLocal.withInitial(LZWCodec::new);
+
+/**
+ * Answer the codec of the current thread, or a new codec if it is in use,
+ * for example when a listener notified during a decode loads another image.
+ */
+static LZWCodec getCodec() {
+	LZWCodec codec = CODECS.get();
+	return codec.isBusy ? new LZWCodec() : codec;
+}
 
 /**
  * Decode the input.
@@ -114,8 +133,16 @@ public void decode(LEDataInputStream inputStream, ImageLoader loader, ImageData
 	this.image = image;
 	this.interlaced = interlaced;
 	this.bitsPerPixel = depth;
-	initializeForDecoding();
-	decode();
+	isBusy = true;
+	try {
+		initializeForDecoding();
+		decode();
+	} finally {
+		isBusy = false;
+		this.inputStream = null;
+		this.loader = null;
+		this.image = null;
+	}
 }
 /**
  * Encode the image.
@@ -147,57 +174,36 @@ void encode() {
 public void encode(LEDataOutputStream byteStream, ImageData image) {
 	this.outputStream = byteStream;
 	this.image = image;
-	initializeForEncoding();
-	encode();
+	isBusy = true;
+	try {
+		initializeForEncoding();
+		encode();
+	} finally {
+		isBusy = false;
+		this.outputStream = null;
+		this.image = null;
+	}
 }
 /**
  * Encoding loop broken out to allow early return.
  */
 int encodeLoop() {
-	int pixel = nextPixel();
-	boolean found;
-	LZWNode node;
-	while (true) {
-		int currentPrefix = pixel;
-		node = nodeStack[currentPrefix];
-		found = true;
-		pixel = nextPixel();
-		if (pixel < 0)
-			return currentPrefix;
-		while (found && (node.children != null)) {
-			node = node.children;
-			while (found && (node.suffix != pixel)) {
-				if (pixel < node.suffix) {
-					if (node.left == null) {
-						node.left = new LZWNode();
-						found = false;
-					}
-					node = node.left;
-				} else {
-					if (node.right == null) {
-						node.right = new LZWNode();
-						found = false;
-					}
-					node = node.right;
-				}
-			}
-			if (found) {
-				currentPrefix = node.code;
-				pixel = nextPixel();
-				if (pixel < 0)
-					return currentPrefix;
-			}
+	int[] hashKeys = this.hashKeys, hashCodes = this.hashCodes;
+	int currentPrefix = nextPixel();
+	int pixel;
+	while ((pixel = nextPixel()) >= 0) {
+		int key = currentPrefix << 8 | pixel;
+		int index = (key * 0x9E3779B1) >>> HASH_SHIFT;
+		int entry;
+		while ((entry = hashKeys[index]) != key && entry != -1) {
+			index = (index + 1) & (HASH_SIZE - 1);
 		}
-		if (found) {
-			node.children = new LZWNode();
-			node = node.children;
+		if (entry == key) {
+			currentPrefix = hashCodes[index];
+			continue;
 		}
-		node.children = null;
-		node.left = null;
-		node.right = null;
-		node.code = currentSlot;
-		node.prefix = currentPrefix;
-		node.suffix = pixel;
+		hashKeys[index] = key;
+		hashCodes[index] = currentSlot;
 		nextPutCode(currentPrefix);
 		currentSlot++;
 		// Off by one?
@@ -209,15 +215,15 @@ int encodeLoop() {
 			}
 		} else {
 			nextPutCode(clearCode);
-			for (LZWNode lzwnode : nodeStack) {
-				lzwnode.children = null;
-			}
+			Arrays.fill(hashKeys, -1);
 			codeSize = bitsPerPixel + 1;
 			codeMask = MASK_TABLE[codeSize - 1];
 			currentSlot = newCodes;
 			topSlot = 1 << codeSize;
 		}
+		currentPrefix = pixel;
 	}
+	return currentPrefix;
 }
 /**
  * Initialize the receiver for decoding the given
@@ -235,10 +241,12 @@ void initializeForDecoding() {
 	blockSize = bitsLeft = 0;
 	blockIndex = 0;
 	codeMask = MASK_TABLE[codeSize - 1];
-	stack = new int[4096];
-	suffix = new int[4096];
-	prefix = new int[4096];
-	block = new byte[256];
+	if (stack == null) {
+		stack = new int[4096];
+		suffix = new int[4096];
+		prefix = new int[4096];
+	}
+	if (block == null || block.length < 256) block = new byte[256];
 	imageWidth = image.width;
 	imageHeight = image.height;
 }
@@ -258,20 +266,17 @@ void initializeForEncoding() {
 	currentByte = 0;
 	blockIndex = 1;
 	blockSize = 255;
-	block = new byte[blockSize];
+	if (block == null || block.length < 256) block = new byte[256];
 	block[0] = (byte)(blockSize - 1);
-	nodeStack = new LZWNode[1 << bitsPerPixel];
-	for (int i = 0; i < nodeStack.length; i++) {
-		LZWNode node = new LZWNode();
-		node.code = i + 1;
-		node.prefix = -1;
-		node.suffix = i + 1;
-		nodeStack[i] = node;
+	if (hashKeys == null) {
+		hashKeys = new int[HASH_SIZE];
+		hashCodes = new int[HASH_SIZE];
 	}
+	Arrays.fill(hashKeys, -1);
 	imageWidth = image.width;
 	imageHeight = image.height;
 	imageY = -1;
-	lineArray = new byte[imageWidth];
+	if (lineArray == null || lineArray.length < imageWidth) lineArray = new byte[imageWidth];
 	imageX = imageWidth + 1; // Force a read
 }
 /**
@@ -421,7 +426,7 @@ void nextPutPixels(byte[] buf) {
 			else if (pass == 4) line = 1;
 			else if (pass == 5) line = 0;
 			if (pass < 5) {
-				if (loader.hasListeners()) {
+				if (loader != null && loader.hasListeners()) {
 					ImageData imageCopy = (ImageData) image.clone();
 					loader.notifyListeners(
 						new ImageLoaderEvent(loader, imageCopy, pass - 2, false));
@@ -51,11 +51,19 @@ ImageData[] loadFromByteStream() {
 		headerChunk = chunkReader.getIhdrChunk();
 		int width = headerChunk.getWidth(), height = headerChunk.getHeight();
 		if (width <= 0 || height <= 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
-		int imageSize = getAlignedBytesPerRow() * height;
+		/*
+		* When loading bands of a non-interlaced image, the image data
+		* only holds the rows of one band.
+		*/
+		int rows = height;
+		if (bandListener != null && headerChunk.getInterlaceMethod() == PngIhdrChunk.INTERLACE_METHOD_NONE) {
+			rows = getBandHeight(getAlignedBytesPerRow(), height);
+		}
+		int imageSize = getAlignedBytesPerRow() * rows;
 		data = new byte[imageSize];
 		imageData = ImageData.internal_new(
 			width,
-			height,
+			rows,
 			headerChunk.getSwtBitsPerPixel(),
 			new PaletteData(0, 0, 0),
 			4,
@@ -86,6 +94,19 @@ ImageData[] loadFromByteStream() {
 		return null;
 	}
 }
+/**
+ * Load the PNG image from the byte stream and deliver it in
+ * bands of rows. Interlaced images are delivered as a single
+ * band once all passes have been read.
+ */
+@Override
+void loadBandsFromByteStream() {
+	ImageData[] images = loadFromByteStream();
+	if (headerChunk.getInterlaceMethod() != PngIhdrChunk.INTERLACE_METHOD_NONE) {
+		startBands(images[0].width, images[0].height);
+		fireBand(images[0], 0, true);
+	}
+}
 /**
  * Read and handle the next chunk of data from the
  * PNG file.
@@ -149,26 +170,20 @@ void readNextChunk(PngChunkReader chunkReader) throws IOException {
 @Override
 void unloadIntoByteStream(ImageLoader loader) {
 	PngEncoder encoder = new PngEncoder(loader);
+	encoder.executor = executor;
 	encoder.encode(outputStream);
 }
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		byte[] signature = new byte[SIGNATURE_LENGTH];
-		stream.read(signature);
-		stream.unread(signature);
-		if ((signature[0] & 0xFF) != 137) return false; //137
-		if ((signature[1] & 0xFF) != 80) return false; //P
-		if ((signature[2] & 0xFF) != 78) return false; //N
-		if ((signature[3] & 0xFF) != 71) return false; //G
-		if ((signature[4] & 0xFF) != 13) return false; //<RETURN>
-		if ((signature[5] & 0xFF) != 10) return false; //<LINEFEED>
-		if ((signature[6] & 0xFF) != 26) return false; //<CTRL/Z>
-		if ((signature[7] & 0xFF) != 10) return false; //<LINEFEED>
-		return true;
-	} catch (Exception e) {
-		return false;
-	}
+boolean isFileFormat(byte[] signature) {
+	if ((signature[0] & 0xFF) != 137) return false; //137
+	if ((signature[1] & 0xFF) != 80) return false; //P
+	if ((signature[2] & 0xFF) != 78) return false; //N
+	if ((signature[3] & 0xFF) != 71) return false; //G
+	if ((signature[4] & 0xFF) != 13) return false; //<RETURN>
+	if ((signature[5] & 0xFF) != 10) return false; //<LINEFEED>
+	if ((signature[6] & 0xFF) != 26) return false; //<CTRL/Z>
+	if ((signature[7] & 0xFF) != 10) return false; //<LINEFEED>
+	return true;
 }
 /**
  * SWT does not support 16-bit depths. If this image uses
@@ -388,25 +403,25 @@ void readInterlaceFrame(
 
 	int pixelsPerRow = (width - startColumn + columnInterval - 1) / columnInterval;
 	int bytesPerRow = getBytesPerRow(pixelsPerRow);
-	byte[] row1 = new byte[bytesPerRow];
-	byte[] row2 = new byte[bytesPerRow];
+	byte[] row1 = new byte[bytesPerRow + 1];
+	byte[] row2 = new byte[bytesPerRow + 1];
 	byte[] currentRow = row1;
 	byte[] lastRow = row2;
 	for (int row = startRow; row < height; row += rowInterval) {
-		byte filterType = (byte)inputStream.read();
-		int read = 0;
-		while (read != bytesPerRow) {
-			read += inputStream.read(currentRow, read, bytesPerRow - read);
-		}
-		filterRow(currentRow, lastRow, filterType);
-		if (headerChunk.getBitDepth() >= 8) {
+		readRow(inputStream, currentRow);
+		filterRow(currentRow, lastRow, currentRow[0]);
+		if (columnInterval == 1) {
+			/* The last pass holds whole rows */
+			System.arraycopy(currentRow, 1, data, row * alignedBytesPerRow, bytesPerRow);
+		} else if (headerChunk.getBitDepth() >= 8) {
 			int bytesPerPixel = getBytesPerPixel();
 			int dataOffset = (row * alignedBytesPerRow) + (startColumn * bytesPerPixel);
-			for (int rowOffset = 0; rowOffset < currentRow.length; rowOffset += bytesPerPixel) {
+			int dataStep = columnInterval * bytesPerPixel;
+			for (int rowOffset = 1; rowOffset < currentRow.length; rowOffset += bytesPerPixel) {
 				for (int byteOffset = 0; byteOffset < bytesPerPixel; byteOffset++) {
 					data[dataOffset + byteOffset] = currentRow[rowOffset + byteOffset];
 				}
-				dataOffset += (columnInterval * bytesPerPixel);
+				dataOffset += dataStep;
 			}
 		} else {
 			int bitsPerPixel = headerChunk.getBitDepth();
@@ -419,7 +434,8 @@ void readInterlaceFrame(
 				valueMask |= 1;
 			}
 			int maxShift = 8 - bitsPerPixel;
-			for (byte element : currentRow) {
+			for (int i = 1; i < currentRow.length; i++) {
+				byte element = currentRow[i];
 				for (int bitOffset = maxShift; bitOffset >= 0; bitOffset -= bitsPerPixel) {
 					if (column < width) {
 						int dataOffset = rowBase + (column * bitsPerPixel / 8);
@@ -472,24 +488,59 @@ void readNonInterlacedImage(InputStream inputStream) throws IOException {
 	int dataOffset = 0;
 	int alignedBytesPerRow = getAlignedBytesPerRow();
 	int bytesPerRow = getBytesPerRow();
-	byte[] row1 = new byte[bytesPerRow];
-	byte[] row2 = new byte[bytesPerRow];
+	byte[] row1 = new byte[bytesPerRow + 1];
+	byte[] row2 = new byte[bytesPerRow + 1];
 	byte[] currentRow = row1;
 	byte[] lastRow = row2;
 	int height = headerChunk.getHeight();
+	int bandHeight = imageData.height, bandRow = 0, bandCount = 0;
+	if (bandListener != null) startBands(headerChunk.getWidth(), height);
 	for (int row = 0; row < height; row++) {
-		byte filterType = (byte)inputStream.read();
-		int read = 0;
-		while (read != bytesPerRow) {
-			read += inputStream.read(currentRow, read, bytesPerRow - read);
-		}
-		filterRow(currentRow, lastRow, filterType);
-		System.arraycopy(currentRow, 0, data, dataOffset, bytesPerRow);
+		readRow(inputStream, currentRow);
+		filterRow(currentRow, lastRow, currentRow[0]);
+		System.arraycopy(currentRow, 1, data, dataOffset, bytesPerRow);
 		dataOffset += alignedBytesPerRow;
 		currentRow = (currentRow == row1) ? row2 : row1;
 		lastRow = (lastRow == row1) ? row2 : row1;
+		if (bandListener != null && (++bandRow == bandHeight || row == height - 1)) {
+			fireRowBand(row + 1 - bandRow, bandRow, bandCount++, row == height - 1);
+			bandRow = 0;
+			dataOffset = 0;
+		}
 	}
-	setImageDataValues(data, imageData);
+	if (bandListener == null) setImageDataValues(data, imageData);
+}
+/**
+ * Convert the rows collected in the data buffer and deliver
+ * them to the band listener.
+ */
+void fireRowBand(int y, int rows, int bandCount, boolean endOfImage) {
+	ImageData band = imageData;
+	byte[] bandData = data;
+	if (rows != imageData.height) {
+		bandData = new byte[getAlignedBytesPerRow() * rows];
+		System.arraycopy(data, 0, bandData, 0, bandData.length);
+		band = ImageData.internal_new(
+			imageData.width,
+			rows,
+			imageData.depth,
+			imageData.palette,
+			4,
+			bandData,
+			0,
+			null,
+			null,
+			-1,
+			imageData.transparentPixel,
+			SWT.IMAGE_PNG,
+			0,
+			0,
+			0,
+			0);
+	}
+	setImageDataValues(bandData, band);
+	band.y = y;
+	fireBand(band, bandCount, endOfImage);
 }
 /**
  * SWT does not support 16-bit depth color formats.
@@ -531,59 +582,82 @@ static int compress16BitDepthTo8BitDepth(int value) {
 	//byte compressedValue = (byte)(value * multiplier);
 	return value >> 8;
 }
+/**
+ * Read a row of the data stream into the given buffer. The
+ * buffer receives the filter type at index 0, followed by the
+ * filtered bytes of the row, so that both are read at once.
+ */
+static void readRow(InputStream inputStream, byte[] row) throws IOException {
+	int read = 0;
+	while (read != row.length) {
+		int count = inputStream.read(row, read, row.length - read);
+		if (count < 0) throw new EOFException();
+		read += count;
+	}
+}
 /**
  * PNG supports four filtering types. These types are applied
- * per row of image data. This method unfilters the given row
- * based on the filterType.
+ * per row of image data. This method unfilters the given row,
+ * read by readRow, based on the filterType.
  */
 void filterRow(byte[] row, byte[] previousRow, int filterType) {
-	int byteOffset = headerChunk.getFilterByteOffset();
+	unfilterRow(row, previousRow, headerChunk.getFilterByteOffset(), filterType);
+}
+/**
+ * Unfilter the bytes of a row, which start at index 1, in place.
+ * The first pixel has no left neighbour and is handled by its own
+ * loop, so that the main loops have no conditions and the Paeth
+ * predictor is selected with masks instead of branches.
+ */
+static void unfilterRow(byte[] row, byte[] previousRow, int byteOffset, int filterType) {
+	int length = row.length;
+	int first = Math.min(length, byteOffset + 1);
 	switch (filterType) {
 		case PngIhdrChunk.FILTER_NONE:
 			break;
 		case PngIhdrChunk.FILTER_SUB:
-			for (int i = byteOffset; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int left = row[i - byteOffset] & 0xFF;
-				row[i] = (byte)((current + left) & 0xFF);
+			for (int i = first; i < length; i++) {
+				row[i] = (byte)(row[i] + row[i - byteOffset]);
 			}
 			break;
 		case PngIhdrChunk.FILTER_UP:
-			for (int i = 0; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-				row[i] = (byte)((current + above) & 0xFF);
+			for (int i = 1; i < length; i++) {
+				row[i] = (byte)(row[i] + previousRow[i]);
 			}
 			break;
 		case PngIhdrChunk.FILTER_AVERAGE:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
+			for (int i = 1; i < first; i++) {
+				row[i] = (byte)(row[i] + ((previousRow[i] & 0xFF) >> 1));
+			}
+			for (int i = first; i < length; i++) {
+				int left = row[i - byteOffset] & 0xFF;
 				int above = previousRow[i] & 0xFF;
-				int current = row[i] & 0xFF;
-				row[i] = (byte)((current + ((left + above) / 2)) & 0xFF);
+				row[i] = (byte)(row[i] + ((left + above) >> 1));
 			}
 			break;
 		case PngIhdrChunk.FILTER_PAETH:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
-				int aboveLeft = (i < byteOffset) ? 0 : previousRow[i - byteOffset] & 0xFF;
+			/* Without left neighbours the predictor is the byte above */
+			for (int i = 1; i < first; i++) {
+				row[i] = (byte)(row[i] + previousRow[i]);
+			}
+			for (int i = first; i < length; i++) {
+				int left = row[i - byteOffset] & 0xFF;
+				int aboveLeft = previousRow[i - byteOffset] & 0xFF;
 				int above = previousRow[i] & 0xFF;
 
-				int a = Math.abs(above - aboveLeft);
-				int b = Math.abs(left - aboveLeft);
-				int c = Math.abs(left - aboveLeft + above - aboveLeft);
+				int b = left - aboveLeft;
+				int a = above - aboveLeft;
+				int c = Math.abs(a + b);
+				a = Math.abs(a);
+				b = Math.abs(b);
 
-				int preductor = 0;
-				if (a <= b && a <= c) {
-					preductor = left;
-				} else if (b <= c) {
-					preductor = above;
-				} else {
-					preductor = aboveLeft;
-				}
+				/* left if a <= b and a <= c, otherwise above if b <= c, otherwise aboveLeft */
+				int notLeft = ((b - a) | (c - a)) >> 31;
+				int notAbove = (c - b) >> 31;
+				int other = above ^ ((above ^ aboveLeft) & notAbove);
+				int predictor = left ^ ((left ^ other) & notLeft);
 
-				int currentValue = row[i] & 0xFF;
-				row[i] = (byte) ((currentValue + preductor) & 0xFF);
+				row[i] = (byte)(row[i] + predictor);
 			}
 			break;
 	}
@@ -14,6 +14,8 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.zip.*;
 
 import org.eclipse.swt.*;
@@ -33,6 +35,11 @@ final class PngEncoder extends Object {
 	static final int BEST_COMPRESSION = 9;
 	static final int DEFAULT_COMPRESSION = -1;
 
+	/** The approximate number of bytes of filtered rows in a chunk compressed concurrently. */
+	static final int CHUNK_SIZE = 128 * 1024;
+	/** The size of the deflate window, which is preset from the previous chunk. */
+	static final int DICTIONARY_SIZE = 32 * 1024;
+
 	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
 	PngChunk chunk;
 
@@ -42,6 +49,12 @@ final class PngEncoder extends Object {
 
 	int width, height, bitDepth, colorType;
 
+	int bytesPerPixel, bytesPerRow;
+	boolean filtering;
+
+	/** Compresses the image data concurrently, or <code>null</code>. */
+	Executor executor;
+
 	int compressionMethod = 0;
 	int filterMethod = 0;
 	int interlaceMethod = 0;
@@ -70,6 +83,9 @@ public PngEncoder(ImageLoader loader) {
 
 	if (!(colorType == 2 || colorType == 3 || colorType == 6)) SWT.error(SWT.ERROR_INVALID_IMAGE);
 
+	this.bytesPerPixel = colorType == 3 ? 1 : colorType == 6 ? 4 : 3;
+	this.bytesPerRow = width * bytesPerPixel;
+
 }
 
 void writeShort(ByteArrayOutputStream baos, int theShort) {
@@ -233,92 +249,366 @@ void writeTransparency() {
 
 }
 
-void writeImageData() throws IOException {
+int getLevel() {
 
-	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-	OutputStream os = new DeflaterOutputStream(baos, new Deflater(switch (loader.compression) {
+	return switch (loader.compression) {
 	case 0 -> NO_COMPRESSION;
 	case 1 -> BEST_SPEED;
 	case 3 -> BEST_COMPRESSION;
 	default -> DEFAULT_COMPRESSION;
-	}));
+	};
+
+}
+
+/**
+ * Convert the pixels of a row to the samples of the PNG color type.
+ * The pixels and alphas arrays are scratch space of one row, which
+ * are only used by the direct color types.
+ */
+void readRow(int y, byte[] row, int[] pixels, byte[] alphas) {
 
 	if (colorType == 3) {
 
-		byte[] lineData = new byte[width];
+		data.getPixels(0, y, width, row, 0);
+		return;
 
-		for (int y = 0; y < height; y++) {
+	}
+
+	data.getPixels(0, y, width, pixels, 0);
+
+	if (colorType == 6) {
+		data.getAlphas(0, y, width, alphas, 0);
+	}
+
+	int redMask = data.palette.redMask;
+	int redShift = data.palette.redShift;
+	int greenMask = data.palette.greenMask;
+	int greenShift = data.palette.greenShift;
+	int blueShift = data.palette.blueShift;
+	int blueMask = data.palette.blueMask;
 
-			int filter = 0;
-			os.write(filter);
+	int offset = 0;
+	for (int x = 0; x < width; x++) {
 
-			data.getPixels(0, y, width, lineData, 0);
+		int pixel = pixels[x];
 
-			os.write(lineData);
+		int r = pixel & redMask;
+		row[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
+				: r << redShift);
+		int g = pixel & greenMask;
+		row[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
+				: g << greenShift);
+		int b = pixel & blueMask;
+		row[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
+				: b << blueShift);
 
+		if (colorType == 6) {
+			row[offset++] = alphas[x];
 		}
 
 	}
 
-	else {
+}
+
+static int paethPredictor(int a, int b, int c) {
+
+	int p = a + b - c;
+	int pa = Math.abs(p - a);
+	int pb = Math.abs(p - b);
+	int pc = Math.abs(p - c);
+	if (pa <= pb && pa <= pc) return a;
+	return pb <= pc ? b : c;
+
+}
+
+/**
+ * Filter a row into the filtered row, which starts with the filter type.
+ * When adaptive, the filter is the one whose output has the smallest sum
+ * of absolute values, as the PNG specification suggests. Otherwise the
+ * row is not filtered.
+ */
+static void filterRow(byte[] row, byte[] previousRow, int bytesPerPixel, boolean adaptive, byte[] filtered) {
+
+	int length = row.length;
+	int filterType = 0;
+
+	if (adaptive) {
+
+		int none = 0, sub = 0, up = 0, average = 0, paeth = 0;
+
+		for (int i = 0; i < length; i++) {
+
+			int x = row[i] & 0xFF;
+			int a = i < bytesPerPixel ? 0 : row[i - bytesPerPixel] & 0xFF;
+			int b = previousRow[i] & 0xFF;
+			int c = i < bytesPerPixel ? 0 : previousRow[i - bytesPerPixel] & 0xFF;
+
+			none += Math.abs((byte) x);
+			sub += Math.abs((byte) (x - a));
+			up += Math.abs((byte) (x - b));
+			average += Math.abs((byte) (x - ((a + b) >> 1)));
+			paeth += Math.abs((byte) (x - paethPredictor(a, b, c)));
 
-		int[] lineData = new int[width];
-		byte[] alphaData = null;
-		if (colorType == 6) {
-			alphaData = new byte[width];
 		}
 
-		int redMask = data.palette.redMask;
-		int redShift = data.palette.redShift;
-		int greenMask = data.palette.greenMask;
-		int greenShift = data.palette.greenShift;
-		int blueShift = data.palette.blueShift;
-		int blueMask = data.palette.blueMask;
+		int min = none;
+		if (sub < min) { min = sub; filterType = 1; }
+		if (up < min) { min = up; filterType = 2; }
+		if (average < min) { min = average; filterType = 3; }
+		if (paeth < min) { filterType = 4; }
+
+	}
+
+	filtered[0] = (byte) filterType;
 
-		byte[] lineBytes = new byte[width * (colorType == 6 ? 4 : 3)];
+	switch (filterType) {
 
-		for (int y = 0; y < height; y++) {
+		case 0:
+			System.arraycopy(row, 0, filtered, 1, length);
+			break;
+
+		case 1:
+			for (int i = 0; i < length; i++) {
+				int a = i < bytesPerPixel ? 0 : row[i - bytesPerPixel];
+				filtered[i + 1] = (byte) (row[i] - a);
+			}
+			break;
 
-			int filter = 0;
-			os.write(filter);
+		case 2:
+			for (int i = 0; i < length; i++) {
+				filtered[i + 1] = (byte) (row[i] - previousRow[i]);
+			}
+			break;
 
-			data.getPixels(0, y, width, lineData, 0);
+		case 3:
+			for (int i = 0; i < length; i++) {
+				int a = i < bytesPerPixel ? 0 : row[i - bytesPerPixel] & 0xFF;
+				filtered[i + 1] = (byte) (row[i] - ((a + (previousRow[i] & 0xFF)) >> 1));
+			}
+			break;
 
-			if (colorType == 6) {
-				data.getAlphas(0, y, width, alphaData, 0);
+		case 4:
+			for (int i = 0; i < length; i++) {
+				int a = i < bytesPerPixel ? 0 : row[i - bytesPerPixel] & 0xFF;
+				int c = i < bytesPerPixel ? 0 : previousRow[i - bytesPerPixel] & 0xFF;
+				filtered[i + 1] = (byte) (row[i] - paethPredictor(a, previousRow[i] & 0xFF, c));
 			}
+			break;
 
-			int offset = 0;
-			for (int x = 0; x < lineData.length; x++) {
+	}
 
-				int pixel = lineData[x];
+}
 
-				int r = pixel & redMask;
-				lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
-						: r << redShift);
-				int g = pixel & greenMask;
-				lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
-						: g << greenShift);
-				int b = pixel & blueMask;
-				lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
-						: b << blueShift);
+/**
+ * Write the filtered rows from startY up to endY. The row before startY
+ * is read again to filter the first row.
+ */
+void writeRows(int startY, int endY, OutputStream os) throws IOException {
 
-				if (colorType == 6) {
-					lineBytes[offset++] = alphaData[x];
-				}
+	byte[] row = new byte[bytesPerRow];
+	byte[] previousRow = new byte[bytesPerRow];
+	byte[] filtered = new byte[bytesPerRow + 1];
+	int[] pixels = colorType == 3 ? null : new int[width];
+	byte[] alphas = colorType == 6 ? new byte[width] : null;
+
+	if (startY > 0 && filtering) {
+		readRow(startY - 1, previousRow, pixels, alphas);
+	}
+
+	for (int y = startY; y < endY; y++) {
+
+		readRow(y, row, pixels, alphas);
+		filterRow(row, previousRow, bytesPerPixel, filtering, filtered);
+		os.write(filtered);
+
+		byte[] temp = previousRow;
+		previousRow = row;
+		row = temp;
+
+	}
+
+}
+
+void writeImageData() throws IOException {
+
+	int level = getLevel();
+	/*
+	 * Adaptive filtering makes truecolor images smaller but costs about
+	 * as much as the compression, so the sequential save, which usually
+	 * runs on the user-interface thread, only filters when the best
+	 * compression is requested.
+	 */
+	filtering = colorType != 3 && level != NO_COMPRESSION && (executor != null || level == BEST_COMPRESSION);
+
+	int rowsPerChunk = Math.max(1, CHUNK_SIZE / (bytesPerRow + 1));
+
+	if (executor != null && height > rowsPerChunk) {
+
+		writeChunk(TAG_IDAT, deflateConcurrently(level, rowsPerChunk));
+		return;
+
+	}
+
+	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+	Deflater deflater = new Deflater(level);
+
+	try (OutputStream os = new DeflaterOutputStream(baos, deflater)) {
+
+		writeRows(0, height, os);
+
+	}
+
+	finally {
+
+		deflater.end();
 
+	}
+
+	writeChunk(TAG_IDAT, baos.toByteArray());
+
+}
+
+/**
+ * Filter and compress chunks of rows concurrently, in the way of pigz.
+ * Each chunk is compressed as raw deflate data which ends with a sync
+ * flush, so that the chunks can be appended to each other, and with the
+ * end of the previous chunk as preset dictionary, so that matches can
+ * still reach back across chunks. The chunks are wrapped in a single
+ * zlib header and checksum.
+ */
+byte[] deflateConcurrently(int level, int rowsPerChunk) throws IOException {
+
+	int chunkCount = (height + rowsPerChunk - 1) / rowsPerChunk;
+	List<CompletableFuture<byte[]>> filteredChunks = new ArrayList<>(chunkCount);
+	List<CompletableFuture<byte[]>> deflatedChunks = new ArrayList<>(chunkCount);
+
+	for (int i = 0; i < chunkCount; i++) {
+
+		int startY = i * rowsPerChunk;
+		int endY = Math.min(height, startY + rowsPerChunk);
+		boolean last = i == chunkCount - 1;
+
+		CompletableFuture<byte[]> filtered = CompletableFuture.supplyAsync(() -> filterChunk(startY, endY), executor);
+		CompletableFuture<byte[]> deflated = i == 0
+			? filtered.thenApplyAsync(chunk -> deflateChunk(chunk, null, level, last), executor)
+			: filtered.thenCombineAsync(filteredChunks.get(i - 1), (chunk, previous) -> deflateChunk(chunk, previous, level, last), executor);
+
+		filteredChunks.add(filtered);
+		deflatedChunks.add(deflated);
+
+	}
+
+	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+
+	/* The window size is 32K, and the level only informs the decoder */
+	int header = 0x7800 | (level == NO_COMPRESSION || level == BEST_SPEED ? 0 : level == BEST_COMPRESSION ? 3 : 2) << 6;
+	writeShort(baos, header + (31 - header % 31) % 31);
+
+	Adler32 adler32 = new Adler32();
+
+	try {
+
+		for (int i = 0; i < chunkCount; i++) {
+
+			adler32.update(filteredChunks.get(i).join());
+			baos.write(deflatedChunks.get(i).join());
+
+		}
+
+	}
+
+	catch (CompletionException e) {
+
+		for (CompletableFuture<byte[]> deflated : deflatedChunks) {
+			deflated.cancel(false);
+		}
+
+		Throwable cause = e.getCause();
+		if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+		if (cause instanceof Error) throw (Error) cause;
+		throw e;
+
+	}
+
+	writeInt(baos, (int) adler32.getValue());
+
+	return baos.toByteArray();
+
+}
+
+byte[] filterChunk(int startY, int endY) {
+
+	ByteArrayOutputStream baos = new ByteArrayOutputStream((endY - startY) * (bytesPerRow + 1));
+
+	try {
+
+		writeRows(startY, endY, baos);
+
+	}
+
+	catch (IOException e) {
+
+		SWT.error(SWT.ERROR_IO, e);
+
+	}
+
+	return baos.toByteArray();
+
+}
+
+/**
+ * Compress a chunk of filtered rows to raw deflate data. The last chunk
+ * ends the deflate stream, and the others end with a sync flush at a
+ * byte boundary.
+ */
+static byte[] deflateChunk(byte[] chunk, byte[] previousChunk, int level, boolean last) {
+
+	Deflater deflater = new Deflater(level, true);
+
+	try {
+
+		if (previousChunk != null) {
+
+			int length = Math.min(previousChunk.length, DICTIONARY_SIZE);
+			deflater.setDictionary(previousChunk, previousChunk.length - length, length);
+
+		}
+
+		deflater.setInput(chunk);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(chunk.length / 2 + 64);
+		byte[] buffer = new byte[16384];
+		int count;
+
+		if (last) {
+
+			deflater.finish();
+
+			while (!deflater.finished()) {
+				count = deflater.deflate(buffer);
+				baos.write(buffer, 0, count);
 			}
 
-			os.write(lineBytes);
+		}
+
+		else {
+
+			do {
+				count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+				baos.write(buffer, 0, count);
+			} while (count == buffer.length);
 
 		}
 
+		return baos.toByteArray();
+
 	}
 
-	os.flush();
-	os.close();
+	finally {
 
-	writeChunk(TAG_IDAT, baos.toByteArray());
+		deflater.end();
+
+	}
 
 }
 
@@ -17,6 +17,7 @@ package org.eclipse.swt.internal.image;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import java.io.*;
+import java.util.function.*;
 
 final class TIFFDirectory {
 
@@ -160,29 +161,57 @@ void decodePixels(ImageData image) throws IOException {
 	int length = stripOffsets.length;
 	for (int i = 0; i < length; i++) {
 		/* Read a strip */
-		byte[] data = new byte[stripByteCounts[i]];
-		file.seek(stripOffsets[i]);
-		file.read(data);
-		if (compression == COMPRESSION_NONE) {
-			System.arraycopy(data, 0, imageData, destIndex, data.length);
-			destIndex += data.length;
-		} else if (compression == COMPRESSION_PACKBITS) {
-			destIndex += decodePackBits(data, imageData, destIndex);
-		} else if (compression == COMPRESSION_CCITT_3_1 || compression == 3) {
-			TIFFModifiedHuffmanCodec codec = new TIFFModifiedHuffmanCodec();
-			int nRows = rowsPerStrip;
-			if (i == length -1) {
-				int n = imageLength % rowsPerStrip;
-				if (n != 0) nRows = n;
-			}
-			destIndex += codec.decode(data, imageData, destIndex, imageWidth, nRows);
-		}
+		byte[] data = readStrip(i);
+		destIndex = decodeStrip(i, data, imageData, destIndex);
 		if (loader.hasListeners()) {
 			loader.notifyListeners(new ImageLoaderEvent(loader, image, i, i == length - 1));
 		}
 	}
 }
 
+/**
+ * Decode the strips read by <code>readStrip</code> into the image.
+ * This does not touch the file, so it can run on any thread.
+ */
+void decodePixels(ImageData image, byte[][] strips) {
+	/* Each row is byte aligned */
+	byte[] imageData = new byte[(imageWidth * depth + 7) / 8 * imageLength];
+	image.data = imageData;
+	int destIndex = 0;
+	for (int i = 0; i < strips.length; i++) {
+		destIndex = decodeStrip(i, strips[i], imageData, destIndex);
+	}
+}
+
+byte[] readStrip(int i) throws IOException {
+	byte[] data = new byte[stripByteCounts[i]];
+	file.seek(stripOffsets[i]);
+	file.read(data);
+	return data;
+}
+
+/**
+ * Decode a strip into the image data at the given index and
+ * answer the index following the decoded bytes.
+ */
+int decodeStrip(int i, byte[] data, byte[] imageData, int destIndex) {
+	if (compression == COMPRESSION_NONE) {
+		System.arraycopy(data, 0, imageData, destIndex, data.length);
+		destIndex += data.length;
+	} else if (compression == COMPRESSION_PACKBITS) {
+		destIndex += decodePackBits(data, imageData, destIndex);
+	} else if (compression == COMPRESSION_CCITT_3_1 || compression == 3) {
+		TIFFModifiedHuffmanCodec codec = new TIFFModifiedHuffmanCodec();
+		int nRows = rowsPerStrip;
+		if (i == stripOffsets.length - 1) {
+			int n = imageLength % rowsPerStrip;
+			if (n != 0) nRows = n;
+		}
+		destIndex += codec.decode(data, imageData, destIndex, imageWidth, nRows);
+	}
+	return destIndex;
+}
+
 PaletteData getColorMap() throws IOException {
 	int numColors = 1 << bitsPerSample[0];
 	/* R, G, B entries are 16 bit wide (2 bytes) */
@@ -427,6 +456,29 @@ void parseEntries(byte[] buffer) throws IOException {
 }
 
 public ImageData read(int [] nextIFDOffset) throws IOException {
+	ImageData image = readHeader(nextIFDOffset);
+	decodePixels(image);
+	return image;
+}
+
+/**
+ * Read the directory and the strips of its image, and answer the
+ * decoder of the image. The decoder does not touch the file, so it
+ * can run on any thread.
+ */
+public Supplier<ImageData> readFrame(int [] nextIFDOffset) throws IOException {
+	ImageData image = readHeader(nextIFDOffset);
+	byte[][] strips = new byte[stripOffsets.length][];
+	for (int i = 0; i < strips.length; i++) {
+		strips[i] = readStrip(i);
+	}
+	return () -> {
+		decodePixels(image, strips);
+		return image;
+	};
+}
+
+ImageData readHeader(int [] nextIFDOffset) throws IOException {
 	/* Set TIFF default values */
 	bitsPerSample = new int[] {1};
 	colorMapOffset = NO_VALUE;
@@ -496,7 +548,6 @@ public ImageData read(int [] nextIFDOffset) throws IOException {
 			0,
 			0,
 			0);
-	decodePixels(image);
 	return image;
 }
 
@@ -17,6 +17,8 @@ package org.eclipse.swt.internal.image;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import java.io.*;
+import java.util.*;
+import java.util.function.*;
 
 /**
  * Baseline TIFF decoder revision 6.0
@@ -25,27 +27,38 @@ import java.io.*;
 public final class TIFFFileFormat extends FileFormat {
 
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		byte[] header = new byte[4];
-		stream.read(header);
-		stream.unread(header);
-		if (header[0] != header[1]) return false;
-		if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
-			!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
-			return false;
-		}
-		return true;
-	} catch (Exception e) {
+boolean isFileFormat(byte[] header) {
+	if (header[0] != header[1]) return false;
+	if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
+		!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
 		return false;
 	}
+	return true;
 }
 
 @Override
 ImageData[] loadFromByteStream() {
+	List<Supplier<ImageData>> frames = readFrames(false);
+	ImageData[] images = new ImageData[frames.size()];
+	for (int i = 0; i < images.length; i++) {
+		images[i] = frames.get(i).get();
+	}
+	return images;
+}
+
+@Override
+List<Supplier<ImageData>> loadFramesFromByteStream() {
+	return readFrames(true);
+}
+
+/**
+ * Read the pages of the file and return one decoder per page.
+ * Unless buffered, the pages are decoded while reading.
+ */
+List<Supplier<ImageData>> readFrames(boolean buffered) {
 	byte[] header = new byte[8];
 	boolean isLittleEndian;
-	ImageData[] images = new ImageData[0];
+	List<Supplier<ImageData>> frames = new ArrayList<>();
 	TIFFRandomFileAccess file = new TIFFRandomFileAccess(inputStream);
 	try {
 		file.read(header);
@@ -62,17 +75,18 @@ ImageData[] loadFromByteStream() {
 			file.seek(offset);
 			TIFFDirectory directory = new TIFFDirectory(file, isLittleEndian, loader);
 			int [] nextIFDOffset = new int[1];
-			ImageData image = directory.read(nextIFDOffset);
+			if (buffered) {
+				frames.add(directory.readFrame(nextIFDOffset));
+			} else {
+				ImageData image = directory.read(nextIFDOffset);
+				frames.add(() -> image);
+			}
 			offset = nextIFDOffset[0];
-			ImageData[] oldImages = images;
-			images = new ImageData[oldImages.length + 1];
-			System.arraycopy(oldImages, 0, images, 0, oldImages.length);
-			images[images.length - 1] = image;
 		}
 	} catch (IOException e) {
 		SWT.error(SWT.ERROR_IO, e);
 	}
-	return images;
+	return frames;
 }
 
 @Override
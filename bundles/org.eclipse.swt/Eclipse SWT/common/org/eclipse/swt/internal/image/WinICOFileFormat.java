@@ -54,15 +54,8 @@ int iconSize(ImageData i) {
 	return WinBMPFileFormat.BMPHeaderFixedSize + paletteSize + dataSize;
 }
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		byte[] header = new byte[4];
-		stream.read(header);
-		stream.unread(header);
-		return header[0] == 0 && header[1] == 0 && header[2] == 1 && header[3] == 0;
-	} catch (Exception e) {
-		return false;
-	}
+boolean isFileFormat(byte[] header) {
+	return header[0] == 0 && header[1] == 0 && header[2] == 1 && header[3] == 0;
 }
 boolean isValidIcon(ImageData i) {
 	switch (i.depth) {
@@ -130,8 +123,8 @@ ImageData[] loadFromByteStream() {
  */
 ImageData loadIcon(int[] iconHeader) {
 	try {
-		FileFormat png = getFileFormat(inputStream, "PNG");
-		if (png != null) {
+		FileFormat png = new PNGFileFormat();
+		if (png.isFileFormat(FileFormatRegistry.readHeader(inputStream))) {
 			png.loader = this.loader;
 			return png.loadFromStream(inputStream)[0];
 		}
@@ -24,138 +24,238 @@ import org.eclipse.swt.internal.*;
  * look up mechanism that maps an event type
  * to a listener.  Multiple listeners for the
  * same event type are supported.
+ * <p>
+ * The listeners are kept in one array per event type, so that sending an
+ * event only visits the listeners of its type and does not copy them. The
+ * arrays of the event types below <code>MASK_SIZE</code>, which include
+ * all the types defined in <code>SWT</code>, are indexed by type, and a
+ * bit mask tells which of them have listeners, so that <code>hooks</code>
+ * is a single test for them.
+ * </p><p>
+ * Listeners removed while an event is sent are replaced by
+ * <code>null</code>, and the arrays are compacted when the outermost
+ * event has been sent.
+ * </p>
  */
 
 class EventTable {
+	/* Listeners of the types below MASK_SIZE, indexed by type */
+	Listener [][] lists;
+	/* The other types and their listeners */
 	int [] types;
-	Listener [] listeners;
+	Listener [][] typeLists;
+	/* Bit n is set when type n has a listener */
+	long mask;
 	int level;
+	static final int MASK_SIZE = 64;
 	static final int GROW_SIZE = 4;
+	static final Listener [] NO_LISTENERS = new Listener [0];
 
-public Listener [] getListeners (int eventType) {
-	if (types == null) return new Listener [0];
-	int count = 0;
-	for (int type : types) {
-		if (type == eventType) count++;
+Listener [] getList (int eventType) {
+	if (0 <= eventType && eventType < MASK_SIZE) {
+		return lists != null && eventType < lists.length ? lists [eventType] : null;
+	}
+	if (types != null) {
+		for (int i=0; i<types.length; i++) {
+			if (types [i] == eventType) return typeLists [i];
+		}
+	}
+	return null;
+}
+
+void setList (int eventType, Listener [] list) {
+	if (0 <= eventType && eventType < MASK_SIZE) {
+		if (lists == null || eventType >= lists.length) {
+			if (list == null) return;
+			Listener [][] newLists = new Listener [eventType + 1][];
+			if (lists != null) System.arraycopy (lists, 0, newLists, 0, lists.length);
+			lists = newLists;
+		}
+		lists [eventType] = list;
+		if (list != null) {
+			mask |= 1L << eventType;
+		} else {
+			mask &= ~(1L << eventType);
+		}
+		return;
 	}
-	if (count == 0) return new Listener [0];
-	Listener [] result = new Listener [count];
-	count = 0;
-	for (int i=0; i<types.length; i++) {
+	int length = types == null ? 0 : types.length;
+	for (int i=0; i<length; i++) {
 		if (types [i] == eventType) {
-			result [count++] = listeners [i];
+			if (list != null) {
+				typeLists [i] = list;
+			} else {
+				int [] newTypes = new int [length - 1];
+				System.arraycopy (types, 0, newTypes, 0, i);
+				System.arraycopy (types, i + 1, newTypes, i, length - i - 1);
+				Listener [][] newTypeLists = new Listener [length - 1][];
+				System.arraycopy (typeLists, 0, newTypeLists, 0, i);
+				System.arraycopy (typeLists, i + 1, newTypeLists, i, length - i - 1);
+				types = length == 1 ? null : newTypes;
+				typeLists = length == 1 ? null : newTypeLists;
+			}
+			return;
 		}
 	}
+	if (list == null) return;
+	int [] newTypes = new int [length + 1];
+	Listener [][] newTypeLists = new Listener [length + 1][];
+	if (types != null) {
+		System.arraycopy (types, 0, newTypes, 0, length);
+		System.arraycopy (typeLists, 0, newTypeLists, 0, length);
+	}
+	newTypes [length] = eventType;
+	newTypeLists [length] = list;
+	types = newTypes;
+	typeLists = newTypeLists;
+}
+
+static int count (Listener [] list) {
+	int count = 0;
+	for (Listener listener : list) {
+		if (listener != null) count++;
+	}
+	return count;
+}
+
+public Listener [] getListeners (int eventType) {
+	Listener [] list = getList (eventType);
+	if (list == null) return NO_LISTENERS;
+	Listener [] result = new Listener [count (list)];
+	int count = 0;
+	for (Listener listener : list) {
+		if (listener != null) result [count++] = listener;
+	}
 	return result;
 }
 
 public void hook (int eventType, Listener listener) {
-	if (types == null) types = new int [GROW_SIZE];
-	if (listeners == null) listeners = new Listener [GROW_SIZE];
-	int length = types.length, index = length - 1;
-	while (index >= 0) {
-		if (types [index] != 0) break;
-		--index;
-	}
-	index++;
-	if (index == length) {
-		int [] newTypes = new int [length + GROW_SIZE];
-		System.arraycopy (types, 0, newTypes, 0, length);
-		types = newTypes;
-		Listener [] newListeners = new Listener [length + GROW_SIZE];
-		System.arraycopy (listeners, 0, newListeners, 0, length);
-		listeners = newListeners;
+	Listener [] list = getList (eventType);
+	int index = 0;
+	if (list == null) {
+		list = new Listener [1];
+	} else {
+		int length = list.length;
+		index = length;
+		while (index > 0 && list [index - 1] == null) --index;
+		if (index == length) {
+			Listener [] newList = new Listener [length + GROW_SIZE];
+			System.arraycopy (list, 0, newList, 0, length);
+			list = newList;
+		}
 	}
-	types [index] = eventType;
-	listeners [index] = listener;
+	list [index] = listener;
+	setList (eventType, list);
 }
 
 public boolean hooks (int eventType) {
-	if (types == null) return false;
-	for (int type : types) {
-		if (type == eventType) return true;
+	if (0 <= eventType && eventType < MASK_SIZE) {
+		return (mask & (1L << eventType)) != 0;
 	}
-	return false;
+	return getList (eventType) != null;
 }
 
 public void sendEvent (Event event) {
-	if (types == null) return;
+	int eventType = event.type;
+	if (!hooks (eventType)) return;
 	level += level >= 0 ? 1 : -1;
-	try (ExceptionStash exceptions = new ExceptionStash ()) {
-		for (int i=0; i<types.length; i++) {
+	ExceptionStash exceptions = null;
+	try {
+		/*
+		* The list is fetched again for each listener, since the
+		* listeners may add and remove listeners of the same type.
+		*/
+		for (int i=0; ; i++) {
 			if (event.type == SWT.None) return;
-			if (types [i] == event.type) {
-				Listener listener = listeners [i];
-				if (listener != null) {
-					try {
-						listener.handleEvent (event);
-					} catch (Error | RuntimeException ex) {
-						exceptions.stash (ex);
-					}
+			Listener [] list = getList (eventType);
+			if (list == null || i >= list.length) return;
+			Listener listener = list [i];
+			if (listener != null) {
+				try {
+					listener.handleEvent (event);
+				} catch (Error | RuntimeException ex) {
+					if (exceptions == null) exceptions = new ExceptionStash ();
+					exceptions.stash (ex);
 				}
 			}
 		}
 	} finally {
 		boolean compact = level < 0;
 		level -= level >= 0 ? 1 : -1;
-		if (compact && level == 0) {
-			int index = 0;
-			for (int i=0; i<types.length; i++) {
-				if (types [i] != 0) {
-					types [index] = types [i];
-					listeners [index] = listeners [i];
-					index++;
-				}
-			}
-			for (int i=index; i<types.length; i++) {
-				types [i] = 0;
-				listeners [i] = null;
-			}
+		if (compact && level == 0) compact ();
+		if (exceptions != null) exceptions.close ();
+	}
+}
+
+void compact () {
+	if (lists != null) {
+		for (Listener [] list : lists) {
+			if (list != null) compact (list);
 		}
 	}
+	if (typeLists != null) {
+		for (Listener [] list : typeLists) {
+			compact (list);
+		}
+	}
+}
+
+static void compact (Listener [] list) {
+	int index = 0;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] != null) list [index++] = list [i];
+	}
+	for (int i=index; i<list.length; i++) {
+		list [i] = null;
+	}
 }
 
 public int size () {
-	if (types == null) return 0;
 	int count = 0;
-	for (int type : types) {
-		if (type != 0) count++;
+	if (lists != null) {
+		for (Listener [] list : lists) {
+			if (list != null) count += count (list);
+		}
+	}
+	if (typeLists != null) {
+		for (Listener [] list : typeLists) {
+			count += count (list);
+		}
 	}
 	return count;
 }
 
-void remove (int index) {
+void remove (int eventType, Listener [] list, int index) {
 	if (level == 0) {
-		int end = types.length - 1;
-		System.arraycopy (types, index + 1, types, index, end - index);
-		System.arraycopy (listeners, index + 1, listeners, index, end - index);
+		int end = list.length - 1;
+		System.arraycopy (list, index + 1, list, index, end - index);
 		index = end;
 	} else {
 		if (level > 0) level = -level;
 	}
-	types [index] = 0;
-	listeners [index] = null;
+	list [index] = null;
+	if (count (list) == 0) setList (eventType, null);
 }
 
 public void unhook (int eventType, Listener listener) {
-	if (types == null) return;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType && listeners [i] == listener) {
-			remove (i);
+	Listener [] list = getList (eventType);
+	if (list == null) return;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] == listener) {
+			remove (eventType, list, i);
 			return;
 		}
 	}
 }
 
 public void unhook (int eventType, EventListener listener) {
-	if (types == null) return;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType) {
-			if (listeners [i] instanceof TypedListener typedListener) {
-				if (typedListener.eventListener == listener) {
-					remove (i);
-					return;
-				}
+	Listener [] list = getList (eventType);
+	if (list == null) return;
+	for (int i=0; i<list.length; i++) {
+		if (list [i] instanceof TypedListener typedListener) {
+			if (typedListener.eventListener == listener) {
+				remove (eventType, list, i);
+				return;
 			}
 		}
 	}
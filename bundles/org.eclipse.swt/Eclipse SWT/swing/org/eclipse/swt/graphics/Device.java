@@ -14,6 +14,7 @@ package org.eclipse.swt.graphics;
 import java.awt.*;
 
 import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
 import org.eclipse.swt.internal.swing.*;
 
 /**
@@ -28,8 +29,7 @@ public abstract class Device implements Drawable {
 	public static boolean DEBUG;
 	boolean debug = DEBUG;
 	boolean tracking = DEBUG;
-	Error [] errors;
-	Object [] objects;
+	ResourceTracker tracker;
 
 //	/**
 //	 * Palette
@@ -124,8 +124,7 @@ public Device(DeviceData data) {
   	create (data);
   	init ();
   	if (tracking) {
-  		errors = new Error [128];
-  		objects = new Object [128];
+  		tracker = new ResourceTracker ();
   	}
   }
 }
@@ -257,19 +256,14 @@ public void dispose () {
 	destroy ();
 	disposed = true;
 	if (tracking) {
-		objects = null;
-		errors = null;
+		tracking = false;
+		tracker = null;
 	}
 }
 
 void dispose_Object (Object object) {
-	for (int i=0; i<objects.length; i++) {
-		if (objects [i] == object) {
-			objects [i] = null;
-			errors [i] = null;
-			return;
-		}
-	}
+	ResourceTracker tracker = this.tracker;
+	if (tracker != null) tracker.unregister (object);
 }
 
 //int EnumFontFamProc (int lpelfe, int lpntme, int FontType, int lParam) {
@@ -328,21 +322,12 @@ public DeviceData getDeviceData () {
 	DeviceData data = new DeviceData ();
 	data.debug = debug;
 	data.tracking = tracking;
-	int count = 0, length = 0;
-	if (tracking) length = objects.length;
-	for (int i=0; i<length; i++) {
-		if (objects [i] != null) count++;
-	}
-	int index = 0;
-	data.objects = new Object [count];
-	data.errors = new Error [count];
-	for (int i=0; i<length; i++) {
-		if (objects [i] != null) {
-			data.objects [index] = objects [i];
-			data.errors [index] = errors [i];
-			index++;
-		}
-	}
+	java.util.List<Object> objects = new java.util.ArrayList<> ();
+	java.util.List<Error> errors = new java.util.ArrayList<> ();
+	ResourceTracker tracker = this.tracker;
+	if (tracker != null) tracker.snapshot (objects, errors);
+	data.objects = objects.toArray ();
+	data.errors = errors.toArray (new Error [errors.size ()]);
 	return data;
 }
 
@@ -755,21 +740,8 @@ public boolean isDisposed () {
 }
 
 void new_Object (Object object) {
-	for (int i=0; i<objects.length; i++) {
-		if (objects [i] == null) {
-			objects [i] = object;
-			errors [i] = new Error ();
-			return;
-		}
-	}
-	Object [] newObjects = new Object [objects.length + 128];
-	System.arraycopy (objects, 0, newObjects, 0, objects.length);
-	newObjects [objects.length] = object;
-	objects = newObjects;
-	Error [] newErrors = new Error [errors.length + 128];
-	System.arraycopy (errors, 0, newErrors, 0, errors.length);
-	newErrors [errors.length] = new Error ();
-	errors = newErrors;
+	ResourceTracker tracker = this.tracker;
+	if (tracker != null) tracker.register (object);
 }
 
 /**
@@ -824,12 +796,46 @@ public void setWarnings (boolean warnings) {
 	checkDevice ();
 }
 
+/**
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @since 3.115
+ */
 public boolean isTracking() {
-	System.out.println("WARN: Not implemented yet: " + new Throwable().getStackTrace()[0]);
-	return false;
+	checkDevice();
+	return tracking;
 }
+
+/**
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @since 3.115
+ */
 public void setTracking(boolean tracking) {
-	System.out.println("WARN: Not implemented yet: " + new Throwable().getStackTrace()[0]);
+	checkDevice();
+	if (tracking == this.tracking) {
+		return;
+	}
+	tracker = tracking ? new ResourceTracker () : null;
+	this.tracking = tracking;
+}
+
+/**
+ * Returns the resource tracker of the receiver, or <code>null</code>
+ * if tracking is disabled.
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the SWT
+ * public API. It is marked public only so that it can be shared
+ * within the packages provided by SWT. It is not available on all
+ * platforms and should never be accessed from application code.
+ * </p>
+ *
+ * @noreference This method is not intended to be referenced by clients.
+ */
+public ResourceTracker internal_getResourceTracker () {
+	return tracker;
 }
 
 }
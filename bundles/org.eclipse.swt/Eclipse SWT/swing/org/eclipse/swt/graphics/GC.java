@@ -184,43 +184,46 @@ static int checkStyle(int style) {
  * </ul>
  */
 public void copyArea(Image image, int x, int y) {
-	if (drawable instanceof Control) {
-		Control control = (Control) drawable;
-		Graphics graphics = image.handle.getGraphics();
-		graphics.translate(-x, -y);
-    control.handle.paint(graphics);
-    graphics.translate(x, y);
-    return;
-	}
-	if (drawable instanceof Display) {
-	  // TODO: better way?
-		Rectangle r = image.getBounds();
-    try {
-			image.handle = new Robot().createScreenCapture(new java.awt.Rectangle(r.x, r.y, r.width, r.height));
-		} catch (AWTException e) {
-			e.printStackTrace();
-		}
-		return;
-	}
-	// TODO: what about other cases?
 	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 	if (image == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
-	if (image.type != SWT.BITMAP || image.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-
-  // TODO: check that it works
-  java.awt.Composite oldComposite = handle.getComposite();
-  java.awt.Composite newComposite = (srcColorModel, dstColorModel, hints) -> new java.awt.CompositeContext() {
-    @Override
-	public void compose(java.awt.image.Raster src, java.awt.image.Raster dstIn, java.awt.image.WritableRaster dstOut) {
-      // TODO: do the composition
-    }
-    @Override
-	public void dispose() {
+	if (image.type != SWT.BITMAP || image.isDisposed() || image.tiledImage != null) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+  java.awt.image.BufferedImage target = image.handle;
+  image.pixelsChanged();
+  int width = target.getWidth();
+  int height = target.getHeight();
+  if (drawable instanceof Image) {
+    // Copy the pixels directly, the source image is the back buffer.
+    java.awt.image.BufferedImage source = ((Image) drawable).handle;
+    Graphics2D g = target.createGraphics();
+    g.setComposite(AlphaComposite.Src);
+    g.drawImage(source, 0, 0, width, height, x, y, x + width, y + height, null);
+    g.dispose();
+    return;
+  }
+  if (drawable instanceof Control) {
+    // Only the requested area is painted, through the Swing double buffer.
+    Control control = (Control) drawable;
+    Graphics2D g = target.createGraphics();
+    g.setBackground(control.handle.getBackground());
+    g.clearRect(0, 0, width, height);
+    control.internal_paintArea(g, x, y, width, height);
+    g.dispose();
+    return;
+  }
+  if (drawable instanceof Display) {
+    try {
+      Robot robot = Utils.getRobot(Utils.getGraphicsDevice(x, y));
+      java.awt.image.BufferedImage capture = robot.createScreenCapture(new java.awt.Rectangle(x, y, width, height));
+      Graphics2D g = target.createGraphics();
+      g.setComposite(AlphaComposite.Src);
+      g.drawImage(capture, 0, 0, null);
+      g.dispose();
+    } catch (AWTException e) {
+      e.printStackTrace();
     }
-  };
-  handle.setComposite(newComposite);
-  // TODO: find how to flush
-  handle.setComposite(oldComposite);
+    return;
+  }
+  // Other drawables, such as printers, cannot be read back.
 //
 //
 //	/* Get the HDC for the device */
@@ -277,9 +280,16 @@ public void copyArea(int srcX, int srcY, int width, int height, int destX, int d
  * @since 3.1
  */
 public void copyArea(int srcX, int srcY, int width, int height, int destX, int destY, boolean paint) {
-  // TODO: check what to do with the paint argument
 	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
   handle.copyArea(srcX, srcY, width, height, destX - srcX, destY - srcY);
+  if (paint && drawable instanceof Control) {
+    // Paint the part of the source area that the copy did not cover.
+    java.awt.Rectangle source = new java.awt.Rectangle(srcX, srcY, width, height);
+    java.awt.Rectangle exposed = RetainedBuffer.subtract(source, new java.awt.Rectangle(destX, destY, width, height));
+    if (exposed != null) {
+      ((Control) drawable).redraw(exposed.x, exposed.y, exposed.width, exposed.height, false);
+    }
+  }
 //  ensureAreaClean(destX, destY, width, height);
 }
 
@@ -598,11 +608,12 @@ public void drawImage(Image image, int srcX, int srcY, int srcWidth, int srcHeig
 }
 
 void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight, boolean simple) {
+  TiledImage tiledImage = srcImage.tiledImage;
   if(srcWidth == -1) {
-    srcWidth = srcImage.handle.getWidth();
+    srcWidth = tiledImage != null? tiledImage.getWidth(): srcImage.handle.getWidth();
   }
   if(srcHeight == -1) {
-    srcHeight = srcImage.handle.getHeight();
+    srcHeight = tiledImage != null? tiledImage.getHeight(): srcImage.handle.getHeight();
   }
   if(destWidth == -1) {
     destWidth = srcWidth;
@@ -610,6 +621,10 @@ void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcHeight,
   if(destHeight == -1) {
     destHeight = srcHeight;
   }
+  if(tiledImage != null) {
+    tiledImage.draw(handle, srcX, srcY, srcWidth, srcHeight, destX, destY, destWidth, destHeight);
+    return;
+  }
   // Simple == no stretch
   if(!simple || srcWidth == destWidth && srcHeight == destHeight) {
     handle.drawImage(srcImage.handle, destX, destY, destX + destWidth, destY + destHeight, srcX, srcY, srcX + srcWidth, srcY + srcHeight, null);
@@ -3990,6 +4005,134 @@ public static GC swing_new(CGC handle, GCData data) {
 	return gc;
 }
 
+/**
+ * The attributes of a graphics context, which are set back when it is
+ * reused for another paint event.
+ */
+static final class State {
+	final GCData data = new GCData();
+	final boolean isXORMode;
+	final int fillRule;
+	final AffineTransform saveAT, gcAT, transform;
+	final java.awt.Color color, background;
+	final java.awt.Font font;
+	final Paint paint;
+	final java.awt.Composite composite;
+	final Stroke stroke;
+	final RenderingHints renderingHints;
+
+	State(GC gc) {
+		GCData source = gc.data;
+		data.device = source.device;
+		data.style = source.style;
+		data.state = source.state;
+		data.image = source.image;
+		data.foreground = source.foreground;
+		data.background = source.background;
+		data.lineWidth = source.lineWidth;
+		data.lineStyle = source.lineStyle;
+		data.lineCap = source.lineCap;
+		data.lineJoin = source.lineJoin;
+		data.lineDashesOffset = source.lineDashesOffset;
+		data.lineMiterLimit = source.lineMiterLimit;
+		data.dashes = source.dashes;
+		data.hFont = source.hFont;
+		data.hwnd = source.hwnd;
+		data.layout = source.layout;
+		data.alpha = source.alpha;
+		data.advanced = source.advanced;
+		data.foregroundPattern = source.foregroundPattern;
+		data.backgroundPattern = source.backgroundPattern;
+		isXORMode = gc.isXORMode;
+		fillRule = gc.fillRule;
+		saveAT = gc.saveAT;
+		gcAT = gc.gcAT;
+		CGC handle = gc.handle;
+		transform = handle.getTransform();
+		color = handle.getColor();
+		background = handle.getBackground();
+		font = handle.getFont();
+		paint = handle.getPaint();
+		composite = handle.getComposite();
+		stroke = handle.getStroke();
+		renderingHints = (RenderingHints) handle.getRenderingHints().clone();
+	}
+
+	void restore(GC gc) {
+		GCData target = gc.data;
+		target.style = data.style;
+		target.state = data.state;
+		target.foreground = data.foreground;
+		target.background = data.background;
+		target.lineWidth = data.lineWidth;
+		target.lineStyle = data.lineStyle;
+		target.lineCap = data.lineCap;
+		target.lineJoin = data.lineJoin;
+		target.lineDashesOffset = data.lineDashesOffset;
+		target.lineMiterLimit = data.lineMiterLimit;
+		target.dashes = data.dashes;
+		target.hFont = data.hFont;
+		target.layout = data.layout;
+		target.alpha = data.alpha;
+		target.advanced = data.advanced;
+		target.foregroundPattern = data.foregroundPattern;
+		target.backgroundPattern = data.backgroundPattern;
+		gc.isXORMode = isXORMode;
+		gc.fillRule = fillRule;
+		gc.saveAT = saveAT;
+		gc.gcAT = gcAT;
+		CGC handle = gc.handle;
+		handle.setPaintMode();
+		handle.setTransform(transform);
+		handle.setColor(color);
+		handle.setBackground(background);
+		handle.setFont(font);
+		handle.setPaint(paint);
+		handle.setComposite(composite);
+		handle.setStroke(stroke);
+		handle.setRenderingHints(renderingHints);
+	}
+}
+
+/**
+ * Invokes platform specific functionality to remember the attributes of
+ * the receiver, so that it can be reused for several paint events.
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the public
+ * API for <code>GC</code>. It is marked public only so that it
+ * can be shared within the packages provided by SWT. It is not
+ * available on all platforms, and should never be called from
+ * application code.
+ * </p>
+ *
+ * @return the attributes, to be passed to <code>swing_restoreState</code>
+ *
+ * @see #swing_restoreState(Object)
+ */
+public Object swing_saveState() {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	return new State(this);
+}
+
+/**
+ * Invokes platform specific functionality to set back the attributes
+ * remembered by <code>swing_saveState</code>, except the clipping.
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the public
+ * API for <code>GC</code>. It is marked public only so that it
+ * can be shared within the packages provided by SWT. It is not
+ * available on all platforms, and should never be called from
+ * application code.
+ * </p>
+ *
+ * @param state the attributes returned by <code>swing_saveState</code>
+ */
+public void swing_restoreState(Object state) {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (!(state instanceof State)) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	((State) state).restore(this);
+}
+
 static final float[] lineDashArray = new float[] {18, 6};
 static final float[] lineDotArray = new float[] {3, 3};
 static final float[] lineDashDotArray = new float[] {9, 6, 3, 6};
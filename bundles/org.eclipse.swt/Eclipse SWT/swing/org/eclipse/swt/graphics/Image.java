@@ -114,6 +114,32 @@ public final class Image extends Resource implements Drawable {
 	int height = -1;
 
 	private ImageData imageData;
+
+	/**
+	 * The tiles holding the pixels of an image created by
+	 * <code>swing_new_tiled</code>, or <code>null</code>. The handle of
+	 * such an image is a small overview of it.
+	 */
+	TiledImage tiledImage;
+
+	/**
+	 * The image data scaled to the zoom levels requested from
+	 * <code>getImageData(int)</code>.
+	 */
+	final ResolutionVariants resolutionVariants = new ResolutionVariants();
+
+	/**
+	 * The number of GCs drawing on the image. The variants are not cached
+	 * while it is drawn on.
+	 */
+	int gcCount;
+
+	/**
+	 * Whether the smooth auto-scale method is requested. DPIUtil scales
+	 * smoothly by drawing through a GC, which does not work on this port,
+	 * so the image data is filtered with <code>ImageData.scaledTo</code>.
+	 */
+	static final boolean SMOOTH_SCALING = "smooth".equalsIgnoreCase (System.getProperty ("swt.autoScale.method")); //$NON-NLS-1$ //$NON-NLS-2$
 //	/**
 //	 * specifies the transparent pixel
 //	 */
@@ -605,6 +631,11 @@ public void dispose () {
 	if (handle == null) return;
 	if (device.isDisposed()) return;
 	handle = null;
+	resolutionVariants.clear();
+	if (tiledImage != null) {
+		tiledImage.dispose();
+		tiledImage = null;
+	}
 	if (device.tracking) device.dispose_Object(this);
 	device = null;
 }
@@ -724,6 +755,9 @@ public Color getBackground() {
  */
 public Rectangle getBounds() {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+  if(tiledImage != null) {
+    return new Rectangle(0, 0, tiledImage.getWidth(), tiledImage.getHeight());
+  }
   return new Rectangle(0, 0, handle.getWidth(), handle.getHeight());
 }
 
@@ -742,6 +776,7 @@ public Rectangle getBounds() {
  * @see ImageData
  */
 public ImageData getImageData() {
+  BufferedImage handle = tiledImage != null? tiledImage.toBufferedImage(): this.handle;
   ColorModel colorModel = handle.getColorModel();
   PaletteData paletteData = new PaletteData(0xFF0000, 0xFF00, 0xFF);
   int width = handle.getWidth();
@@ -1532,6 +1567,8 @@ void init(Device device, ImageData i) {
 @Override
 public CGC internal_new_GC (GCData data) {
 	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (tiledImage != null) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+  pixelsChanged();
   if(data != null) {
     int mask = SWT.LEFT_TO_RIGHT | SWT.RIGHT_TO_LEFT;
     if ((data.style & mask) != 0) {
@@ -1547,6 +1584,7 @@ public CGC internal_new_GC (GCData data) {
   if(g == null) {
     return null;
   }
+  gcCount++;
   return new CGC.CGCGraphics2D() {
     @Override
 	public Graphics2D getGraphics() {
@@ -1575,6 +1613,17 @@ public CGC internal_new_GC (GCData data) {
 @Override
 public void internal_dispose_GC (CGC handle, GCData data) {
 	handle.dispose();
+	gcCount--;
+	pixelsChanged();
+}
+
+/**
+ * Forgets the pixels derived from the handle, when it is drawn on: the
+ * image data the image was created from and the variants scaled from it.
+ */
+void pixelsChanged() {
+	imageData = null;
+	resolutionVariants.clear();
 }
 
 /**
@@ -1699,6 +1748,121 @@ public static Image swing_new(Device device, int type, java.awt.Image handle) {
 	return image;
 }
 
+/**
+ * Invokes platform specific functionality to allocate a new image
+ * whose pixels are kept in tiles spooled to a temporary file instead
+ * of in memory.
+ * <p>
+ * The image is decoded in bands of rows with
+ * <code>ImageLoader.loadBands</code>, so that very large images can be
+ * drawn with a GC without ever holding all their pixels in memory:
+ * drawing only decodes the tiles in the clip of the GC and keeps the
+ * most recently drawn tiles in a small cache. A GC cannot be created on
+ * such an image, and <code>getImageData()</code> assembles all the
+ * pixels. Widgets which use the image directly show a small overview.
+ * </p>
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the public
+ * API for <code>Image</code>. It is marked public only so that it
+ * can be shared within the packages provided by SWT. It is not
+ * available on all platforms, and should never be called from
+ * application code.
+ * </p>
+ *
+ * @param device the device on which to allocate the image
+ * @param stream the input stream to load the image from
+ * @param tileSize the width and height of the tiles
+ * @param cacheSize the number of decoded tiles to keep in memory
+ * @return a new image object
+ */
+public static Image swing_new_tiled(Device device, InputStream stream, int tileSize, int cacheSize) {
+	if (device == null) device = Device.getDevice();
+	if (device == null || stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (tileSize <= 0 || cacheSize <= 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	int background = device instanceof Display? 0: 0xFFFFFFFF;
+	TiledImage[] tiledImage = new TiledImage[1];
+	ImageLoader loader = new ImageLoader();
+	try {
+		loader.loadBands(stream, event -> {
+			if (tiledImage[0] == null) {
+				tiledImage[0] = new TiledImage(loader.logicalScreenWidth, loader.logicalScreenHeight, tileSize, cacheSize, background);
+			}
+			ImageData band = event.imageData;
+			int[] pixels = new int[band.width * band.height];
+			getPixels(band, pixels, background);
+			tiledImage[0].setRows(pixels, 0, band.height);
+		});
+	} catch (RuntimeException e) {
+		if (tiledImage[0] != null) tiledImage[0].dispose();
+		throw e;
+	}
+	// The decoder delivers no band for an empty or truncated stream.
+	if (tiledImage[0] == null) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	tiledImage[0].finish();
+	Image image = new Image();
+	image.type = SWT.BITMAP;
+	image.device = device;
+	image.tiledImage = tiledImage[0];
+	image.handle = tiledImage[0].getOverview();
+	image.width = tiledImage[0].getWidth();
+	image.height = tiledImage[0].getHeight();
+	if (device.tracking) device.new_Object(image);
+	return image;
+}
+
+/**
+ * Converts the image data to ARGB pixels the way <code>init</code> does:
+ * transparent pixels keep the background.
+ */
+static void getPixels(ImageData data, int[] pixels, int background) {
+	int width = data.width;
+	int[] row = new int[width];
+	byte[] alphas = new byte[width];
+	int[] maskRow = null;
+	ImageData transparencyMask = null;
+	int transparencyType = data.getTransparencyType();
+	if (transparencyType == SWT.TRANSPARENCY_PIXEL || transparencyType == SWT.TRANSPARENCY_MASK) {
+		transparencyMask = data.getTransparencyMask();
+		maskRow = new int[width];
+	}
+	PaletteData palette = data.palette;
+	int[] colors = null;
+	if (!palette.isDirect) {
+		colors = new int[palette.colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			RGB rgb = palette.colors[i];
+			colors[i] = rgb.red << 16 | rgb.green << 8 | rgb.blue;
+		}
+	}
+	for (int y = 0; y < data.height; y++) {
+		data.getPixels(0, y, width, row, 0);
+		data.getAlphas(0, y, width, alphas, 0);
+		if (transparencyMask != null) transparencyMask.getPixels(0, y, width, maskRow, 0);
+		int offset = y * width;
+		for (int x = 0; x < width; x++) {
+			int alpha = alphas[x] & 0xFF;
+			if (alpha == 0 || maskRow != null && maskRow[x] == 0) {
+				pixels[offset + x] = background;
+				continue;
+			}
+			int pixel = row[x];
+			int rgb;
+			if (colors != null) {
+				rgb = pixel < colors.length? colors[pixel]: 0;
+			} else {
+				int red = pixel & palette.redMask;
+				red = (palette.redShift < 0) ? red >>> -palette.redShift : red << palette.redShift;
+				int green = pixel & palette.greenMask;
+				green = (palette.greenShift < 0) ? green >>> -palette.greenShift : green << palette.greenShift;
+				int blue = pixel & palette.blueMask;
+				blue = (palette.blueShift < 0) ? blue >>> -palette.blueShift : blue << palette.blueShift;
+				rgb = red << 16 | green << 8 | blue;
+			}
+			pixels[offset + x] = alpha << 24 | rgb;
+		}
+	}
+}
+
 static BufferedImage duplicateImage(java.awt.Image handle) {
   GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
   GraphicsDevice gs = ge.getDefaultScreenDevice();
@@ -1751,48 +1915,35 @@ static BufferedImage duplicateImage(java.awt.Image handle) {
  */
 public ImageData getImageData (int zoom) {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (zoom == 100 || !device.isAutoScalable()) {
+		return scaleImageData (getImageDataAtCurrentZoom (), zoom);
+	}
+	/*
+	* The pixels are identified by the image data, or by the tiles or the
+	* handle they were read from. Drawing on the image clears the variants,
+	* and they are not cached while a GC may still draw on it.
+	*/
+	if (gcCount > 0) {
+		return scaleImageData (getImageDataAtCurrentZoom (), zoom);
+	}
+	Object source = imageData != null ? imageData : tiledImage != null ? tiledImage : handle;
+	ImageData variant = resolutionVariants.getResolutionVariant (source, zoom,
+		targetZoom -> scaleImageData (getImageDataAtCurrentZoom (), targetZoom));
+	return variant != null ? (ImageData) variant.clone () : null;
+}
 
-	return DPIUtil.scaleImageData (device, getImageDataAtCurrentZoom (), zoom, 100);
+ImageData scaleImageData (ImageData data, int zoom) {
+	if (SMOOTH_SCALING && data != null && zoom != 100 && device.isAutoScalable ()) {
+		float scaleFactor = zoom / 100f;
+		return data.scaledTo (Math.round (data.width * scaleFactor), Math.round (data.height * scaleFactor), SWT.HIGH);
+	}
+	return DPIUtil.scaleImageData (device, data, zoom, 100);
 }
 
 public ImageData getImageDataAtCurrentZoom() {
 	if (imageData != null)
 		return imageData;
-
-	 ByteArrayOutputStream baos = new ByteArrayOutputStream();
-     try {
-		ImageIO.write(handle, "png", baos);
-		byte[] data = baos.toByteArray();
-
-		// Get the pixel size (in bits)
-		ColorModel colorModel = handle.getColorModel();
-        int depth = colorModel.getPixelSize();
-        int[] data2 = ((DataBufferInt)handle.getData().getDataBuffer()).getData();
-
-        new ImageData(handle.getWidth(), handle.getHeight(), depth, getPaletteData(depth), height, data);
-	} catch (IOException e) {
-		e.printStackTrace();
-	}
-
-	// something went wrong
-	return null;
-}
-
-private PaletteData getPaletteData(int depth) {
-	/* Calculate the palette */
-	PaletteData palette = null;
-	if (depth <= 8) {
-		throw new UnsupportedOperationException("Not implemented yet");
-	} else if (depth == 16) {
-		palette = new PaletteData(0x7C00, 0x3E0, 0x1F);
-	} else if (depth == 24) {
-		palette = new PaletteData(0xFF, 0xFF00, 0xFF0000);
-	} else if (depth == 32) {
-		palette = new PaletteData(0xFF00, 0xFF0000, 0xFF000000);
-	} else {
-		SWT.error(SWT.ERROR_UNSUPPORTED_DEPTH);
-	}
-	return palette;
+	return getImageData();
 }
 
 //private static BufferedImage createBufferedImageIndexPalette(ImageData data, PaletteData p) {
@@ -16,6 +16,7 @@ package org.eclipse.swt.graphics;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.image.*;
@@ -160,6 +161,10 @@ public ImageData[] load(InputStream stream) {
  * file with the specified name. Throws an error if either
  * an error occurs while loading the images, or if the images are
  * not of a supported type. Returns the loaded image data array.
+ * <p>
+ * The file is read into memory with a single system call and
+ * closed before the images are decoded.
+ * </p>
  *
  * @param filename the name of the file to load the images from
  * @return an array of <code>ImageData</code> objects loaded from the specified file
@@ -175,7 +180,7 @@ public ImageData[] load(InputStream stream) {
  */
 public ImageData[] load(String filename) {
 	if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
-	try (InputStream stream = new FileInputStream(filename)) {
+	try (InputStream stream = ByteBufferInputStream.open(filename)) {
 		return load(stream);
 	} catch (IOException e) {
 		SWT.error(SWT.ERROR_IO, e);
@@ -183,6 +188,245 @@ public ImageData[] load(String filename) {
 	return null;
 }
 
+/**
+ * Loads an array of <code>ImageData</code> objects from the
+ * specified input stream, decoding them at a reduced resolution
+ * when the image format allows it. This is much faster than
+ * loading the full image and scaling it down, for example to
+ * create thumbnails.
+ * <p>
+ * The returned images are at least <code>width</code> by
+ * <code>height</code> pixels (or the full image size, if it is
+ * smaller) and are typically scaled to their final size by the
+ * caller. JPEG images are decoded at 1/2, 1/4 or 1/8 of their
+ * size; images in other formats are loaded at full size.
+ * </p>
+ *
+ * @param stream the input stream to load the images from
+ * @param width the smallest width the images may be decoded at
+ * @param height the smallest height the images may be decoded at
+ * @return an array of <code>ImageData</code> objects loaded from the specified input stream
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the width or height is negative</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see ImageData#scaledTo(int, int)
+ *
+ * @since 3.128
+ */
+public ImageData[] load(InputStream stream, int width, int height) {
+	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (width < 0 || height < 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	reset();
+	data = FileFormat.load(stream, this, width, height);
+	return data;
+}
+
+/**
+ * Loads an array of <code>ImageData</code> objects from the
+ * file with the specified name, decoding them at a reduced
+ * resolution when the image format allows it.
+ *
+ * @param filename the name of the file to load the images from
+ * @param width the smallest width the images may be decoded at
+ * @param height the smallest height the images may be decoded at
+ * @return an array of <code>ImageData</code> objects loaded from the specified file
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the width or height is negative</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the file</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image file contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image file contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #load(InputStream, int, int)
+ *
+ * @since 3.128
+ */
+public ImageData[] load(String filename, int width, int height) {
+	if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	try (InputStream stream = ByteBufferInputStream.open(filename)) {
+		return load(stream, width, height);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return null;
+}
+
+/**
+ * Loads the first image of the specified input stream and delivers
+ * it to the given listener in bands of rows, from top to bottom,
+ * instead of building a complete <code>ImageData</code>. This allows
+ * very large images to be processed with a small amount of memory.
+ * <p>
+ * Before the first band is delivered, <code>logicalScreenWidth</code>
+ * and <code>logicalScreenHeight</code> are set to the size of the image.
+ * The image data of each event spans the width of the image, its
+ * <code>y</code> field is the index of its first row, and the
+ * <code>endOfImage</code> field of the event is set for the last band.
+ * The image data and its pixels are only valid during the notification
+ * and may be reused for the next band. JPEG and non-interlaced PNG
+ * images are decoded band by band; other images are decoded completely
+ * and delivered as a single band. The <code>data</code> field of the
+ * receiver is not set.
+ * </p>
+ *
+ * @param stream the input stream to load the image from
+ * @param listener the listener receiving the bands
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream or the listener is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see ImageLoaderEvent
+ *
+ * @since 3.128
+ */
+public void loadBands(InputStream stream, ImageLoaderListener listener) {
+	if (stream == null || listener == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	reset();
+	FileFormat.loadBands(stream, this, listener);
+}
+
+/**
+ * Loads the first image of the file with the specified name and
+ * delivers it to the given listener in bands of rows.
+ *
+ * @param filename the name of the file to load the image from
+ * @param listener the listener receiving the bands
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name or the listener is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the file</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image file contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image file contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #loadBands(InputStream, ImageLoaderListener)
+ *
+ * @since 3.128
+ */
+public void loadBands(String filename, ImageLoaderListener listener) {
+	if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+		loadBands(stream, listener);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+}
+
+/**
+ * Loads the frames of the specified input stream and decodes them
+ * concurrently, so that an animation can start playing before all of
+ * its frames are decoded. The stream is read completely by the calling
+ * thread, which then decodes the first frame while the common
+ * <code>ForkJoinPool</code> decodes the others.
+ *
+ * @param stream the input stream to load the frames from
+ * @return one future per frame, in the order of the frames
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #loadFrames(InputStream, Executor)
+ *
+ * @since 3.128
+ */
+public List<CompletableFuture<ImageData>> loadFrames(InputStream stream) {
+	return loadFrames(stream, ForkJoinPool.commonPool());
+}
+
+/**
+ * Loads the frames of the specified input stream and decodes them
+ * concurrently, so that an animation can start playing before all of
+ * its frames are decoded.
+ * <p>
+ * The stream is read completely by the calling thread, which also sets
+ * the animation fields of the receiver, such as
+ * <code>logicalScreenWidth</code> and <code>repeatCount</code>. The
+ * frames of animated GIF and multi-page TIFF images after the first are
+ * then decoded by the given executor, while the calling thread decodes
+ * the first frame, whose future is complete when this method returns.
+ * A frame which cannot be decoded completes its future exceptionally.
+ * The <code>data</code> field of the receiver is not set and its
+ * listeners are not notified; the futures take their place, and
+ * complete on the thread of the executor.
+ * </p>
+ *
+ * @param stream the input stream to load the frames from
+ * @param executor the executor decoding the frames after the first
+ * @return one future per frame, in the order of the frames
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream or the executor is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @since 3.128
+ */
+public List<CompletableFuture<ImageData>> loadFrames(InputStream stream, Executor executor) {
+	if (stream == null || executor == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	reset();
+	return FileFormat.loadFrames(stream, this, executor);
+}
+
+/**
+ * Loads the frames of the file with the specified name and decodes
+ * them concurrently.
+ *
+ * @param filename the name of the file to load the frames from
+ * @return one future per frame, in the order of the frames
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the file</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image file contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image file contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #loadFrames(InputStream, Executor)
+ *
+ * @since 3.128
+ */
+public List<CompletableFuture<ImageData>> loadFrames(String filename) {
+	if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+		return loadFrames(stream);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return null;
+}
+
 /**
  * Saves the image data in this ImageLoader to the specified stream.
  * The format parameter can have one of the following values:
@@ -218,6 +462,42 @@ public void save(OutputStream stream, int format) {
 	FileFormat.save(stream, format, this);
 }
 
+/**
+ * Saves the image data in this ImageLoader to the specified stream,
+ * compressing it concurrently with the given executor where the format
+ * supports it, so that saving a large image does not take the time of
+ * compressing it on a single thread.
+ * <p>
+ * PNG images are split into chunks of rows, which are filtered and
+ * compressed by the executor. The result is a standard PNG file, which
+ * may be slightly larger than the one written by
+ * <code>save(OutputStream, int)</code>. The other formats are saved on
+ * the calling thread. The calling thread waits until the image is
+ * written, so the executor should not be bound to it.
+ * </p>
+ *
+ * @param stream the output stream to write the images to
+ * @param format the format to write the images in
+ * @param executor the executor compressing the image
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream or the executor is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while writing to the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image data contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image data cannot be saved to the requested format</li>
+ * </ul>
+ *
+ * @see #save(OutputStream, int)
+ *
+ * @since 3.128
+ */
+public void save(OutputStream stream, int format, Executor executor) {
+	if (stream == null || executor == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	FileFormat.save(stream, format, this, executor);
+}
+
 /**
  * Saves the image data in this ImageLoader to a file with the specified name.
  * The format parameter can have one of the following values:
@@ -196,22 +196,32 @@ public void scroll (int destX, int destY, int x, int y, int width, int height, b
 	if (isFocus) caret.killFocus ();
 //  handle.repaint();
   Container clientArea = ((CControl)handle).getClientArea();
-  java.awt.Graphics g = clientArea.getGraphics();
   int dx = destX - x;
   int dy = destY - y;
-  if (g != null) {
-	  g.copyArea(x, y, width, height, dx, dy);
-  }
-  java.awt.Dimension size = clientArea.getSize();
-  if(dx < 0) {
-    clientArea.repaint(size.width + dx, 0, -dx, size.height);
-  } else if(dx > 0) {
-    clientArea.repaint(0, 0, dx, size.height);
-  }
-  if(dy < 0) {
-    clientArea.repaint(0, size.height + dy, size.width, -dy);
-  } else if(dy > 0) {
-    clientArea.repaint(0, 0, size.width, dy);
+  RetainedBuffer retainedBuffer = RetainedBuffer.getRetainedBuffer(clientArea);
+  if (retainedBuffer != null) {
+    java.awt.Rectangle repaintRect = retainedBuffer.scroll(x, y, width, height, dx, dy);
+    if (repaintRect != null) {
+      clientArea.repaint(repaintRect.x, repaintRect.y, repaintRect.width, repaintRect.height);
+    } else {
+      clientArea.repaint();
+    }
+  } else {
+    java.awt.Graphics g = clientArea.getGraphics();
+    if (g != null) {
+      g.copyArea(x, y, width, height, dx, dy);
+    }
+    java.awt.Dimension size = clientArea.getSize();
+    if(dx < 0) {
+      clientArea.repaint(size.width + dx, 0, -dx, size.height);
+    } else if(dx > 0) {
+      clientArea.repaint(0, 0, dx, size.height);
+    }
+    if(dy < 0) {
+      clientArea.repaint(0, size.height + dy, size.width, -dy);
+    } else if(dy > 0) {
+      clientArea.repaint(0, 0, size.width, dy);
+    }
   }
 //	RECT sourceRect = new RECT ();
 //	OS.SetRect (sourceRect, x, y, x + width, y + height);
@@ -257,6 +267,24 @@ public void scroll (int destX, int destY, int x, int y, int width, int height, b
 	if (isFocus) caret.setFocus ();
 }
 
+@Override
+public void redraw (int x, int y, int width, int height, boolean all) {
+  checkWidget ();
+  RetainedBuffer retainedBuffer = RetainedBuffer.getRetainedBuffer(((CControl)handle).getClientArea());
+  if (retainedBuffer != null && width > 0 && height > 0) {
+    retainedBuffer.invalidate(new java.awt.Rectangle(x - 1, y - 1, width + 2, height + 2));
+  }
+  super.redraw (x, y, width, height, all);
+}
+
+@Override
+public void setData (String key, Object value) {
+  super.setData (key, value);
+  if (Display.RETAINED_BACK_BUFFER_KEY.equals (key)) {
+    RetainedBuffer.setRetainedBufferEnabled (((CControl)handle).getClientArea (), Boolean.TRUE.equals (value));
+  }
+}
+
 /**
  * Sets the receiver's caret.
  * <p>
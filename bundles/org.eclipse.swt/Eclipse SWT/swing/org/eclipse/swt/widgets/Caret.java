@@ -11,11 +11,6 @@
 package org.eclipse.swt.widgets;
 
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
-import javax.swing.Timer;
-
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Font;
@@ -23,7 +18,7 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
-import org.eclipse.swt.internal.swing.LookAndFeelUtils;
+import org.eclipse.swt.internal.swing.CControl;
 
 /**
  * Instances of this class provide an i-beam that is typically used
@@ -89,31 +84,24 @@ void createWidget () {
   }
 }
 
-Timer timer = new Timer (LookAndFeelUtils.getCaretBlinkRate(), new ActionListener () {
-  public void actionPerformed (ActionEvent e) {
-    Caret.this.blink = !Caret.this.blink;
-    if (Caret.this.parent != null && Caret.this.parent.caret == Caret.this) {
-      // XXX redraw rect is not correct. for now, redraw all.
-      // Rectangle r = Caret.this.getBounds();
-      // Caret.this.parent.redraw(x, r.y, r.width, r.height, true);
-      // redraw causes GC to throw exceptions in some conditions. Let's directly call the Swing component
-      Caret.this.parent.handle.repaint();
-    } else {
-      timer.stop();
-    }
-  }
-}) {
-  public void stop() {
-    super.stop();
-    blink = true;
-    if(Caret.this.parent != null) {
-//      Caret.this.parent.redraw ();
-      Caret.this.parent.handle.repaint();
-    }
-  }
-};
+boolean blink = true;
 
-private boolean blink;
+/**
+ * Repaints the area covered by the caret. The Swing component is called
+ * directly, since the blinker repaints from the event dispatch thread.
+ */
+void repaintCaret () {
+  Canvas parent = this.parent;
+  if (parent == null) return;
+  int right = x + Math.max (1, width), bottom = y + height;
+  if (image != null && !image.isDisposed ()) {
+    Rectangle rect = image.getBounds ();
+    right = Math.max (right, x + rect.width);
+    bottom = Math.max (bottom, y + rect.height);
+  }
+  // The area is enlarged like in Control.redraw.
+  ((CControl)parent.handle).getClientArea ().repaint (x - 1, y - 1, right - x + 2, bottom - y + 2);
+}
 
 void paintCaret (GC gc) {
   if (blink && isVisible()) {
@@ -303,7 +291,9 @@ public boolean isVisible () {
 }
 
 void killFocus () {
-  timer.stop ();
+  display.getCaretBlinker ().remove (this);
+  blink = true;
+  repaintCaret ();
 //	OS.DestroyCaret ();
 //	if (font != null) restoreIMEFont ();
 }
@@ -343,6 +333,7 @@ void releaseParent () {
 
 void releaseWidget () {
 	super.releaseWidget ();
+	if (display != null) display.getCaretBlinker ().remove (this);
 	parent = null;
 	image = null;
 	font = null;
@@ -404,7 +395,7 @@ public void setBounds (int x, int y, int width, int height) {
 	boolean samePosition = this.x == x && this.y == y;
 	boolean sameExtent = this.width == width && this.height == height;
 	if (samePosition && sameExtent) return;
-  timer.stop();
+  repaintCaret ();
 	this.x = x;  this.y = y;
 	this.width = width;  this.height = height;
 	if (sameExtent) {
@@ -414,7 +405,7 @@ public void setBounds (int x, int y, int width, int height) {
 		resized = true;
 		if (isVisible && hasFocus ()) resize ();
 	}
-  timer.start();
+  restartBlink ();
 }
 
 /**
@@ -435,8 +426,16 @@ public void setBounds (Rectangle rect) {
 	setBounds (rect.x, rect.y, rect.width, rect.height);
 }
 
+void restartBlink () {
+  blink = true;
+  repaintCaret ();
+  if (isFocusCaret ()) display.getCaretBlinker ().restart ();
+}
+
 void setFocus () {
-  timer.start ();
+  blink = true;
+  repaintCaret ();
+  if (isVisible) display.getCaretBlinker ().add (this);
 //TODO
 //	int hwnd = parent.handle;
 //	int hBitmap = 0;
@@ -504,8 +503,10 @@ public void setImage (Image image) {
 	if (image != null && image.isDisposed ()) {
 		error (SWT.ERROR_INVALID_ARGUMENT);
 	}
+  repaintCaret ();
 	this.image = image;
 	if (isVisible && hasFocus ()) resize ();
+  restartBlink ();
 }
 
 void setIMEFont (int hFont) {
@@ -536,11 +537,11 @@ void setIMEFont (int hFont) {
 public void setLocation (int x, int y) {
 	checkWidget();
 	if (this.x == x && this.y == y) return;
-  timer.stop();
+  repaintCaret ();
 	this.x = x;  this.y = y;
 	moved = true;
 	if (isVisible && hasFocus ()) move ();
-  timer.start();
+  restartBlink ();
 }
 
 /**
@@ -575,9 +576,11 @@ public void setLocation (Point location) {
 public void setSize (int width, int height) {
 	checkWidget();
 	if (this.width == width && this.height == height) return;
+  repaintCaret ();
 	this.width = width;  this.height = height;
 	resized = true;
 	if (isVisible && hasFocus ()) resize ();
+  restartBlink ();
 }
 
 /**
@@ -619,6 +622,13 @@ public void setVisible (boolean visible) {
   checkWidget ();
   if (visible == isVisible) return;
   isVisible = visible;
+  if (isFocusCaret ()) {
+    if (visible) {
+      setFocus ();
+    } else {
+      killFocus ();
+    }
+  }
 //TODO
 //	checkWidget();
 //	if (visible == isVisible) return;
@@ -635,7 +645,6 @@ public void setVisible (boolean visible) {
 //		}
 //		OS.ShowCaret (hwnd);
 //	}
-  // TODO activate or deactivate caret timer.
 }
 
 }
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.awt.Frame;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import org.eclipse.swt.internal.swing.LookAndFeelUtils;
+
+/**
+ * The clock which makes the carets of a display blink.
+ * <p>
+ * A caret is registered while its canvas has the focus, so usually a
+ * single caret blinks. Each tick repaints the bounds of the registered
+ * carets only. Carets whose window is inactive or iconified are dropped,
+ * and the timer is stopped when no caret is left, until a canvas with a
+ * caret gains the focus again.
+ * </p>
+ * All methods must be called from the thread dispatching the AWT events,
+ * except <code>add</code>, <code>remove</code> and <code>restart</code>
+ * which may also be called from the user-interface thread.
+ */
+class CaretBlinker implements ActionListener {
+
+  final ArrayList<Caret> carets = new ArrayList<Caret>();
+  Timer timer;
+
+  /**
+   * Starts making a caret blink, showing it first.
+   */
+  synchronized void add(Caret caret) {
+    if(!carets.contains(caret)) {
+      carets.add(caret);
+    }
+    restart();
+  }
+
+  synchronized void remove(Caret caret) {
+    carets.remove(caret);
+    if(carets.isEmpty()) {
+      stop();
+    }
+  }
+
+  /**
+   * Starts a new blink period, when a caret moved.
+   */
+  synchronized void restart() {
+    if(carets.isEmpty()) {
+      return;
+    }
+    int blinkRate = LookAndFeelUtils.getCaretBlinkRate();
+    if(blinkRate <= 0) {
+      // The caret does not blink.
+      stop();
+      return;
+    }
+    if(timer == null) {
+      timer = new Timer(blinkRate, this);
+    } else {
+      timer.setDelay(blinkRate);
+      timer.setInitialDelay(blinkRate);
+    }
+    timer.restart();
+  }
+
+  synchronized void stop() {
+    if(timer != null) {
+      timer.stop();
+    }
+  }
+
+  static boolean isBlinking(Caret caret) {
+    Canvas parent = caret.parent;
+    if(caret.isDisposed() || parent == null || parent.caret != caret || !caret.isVisible || !parent.handle.isShowing()) {
+      return false;
+    }
+    Window window = SwingUtilities.getWindowAncestor(parent.handle);
+    if(window == null || !window.isActive()) {
+      return false;
+    }
+    return !(window instanceof Frame) || (((Frame)window).getExtendedState() & Frame.ICONIFIED) == 0;
+  }
+
+  public void actionPerformed(ActionEvent e) {
+    Caret[] carets;
+    synchronized(this) {
+      carets = this.carets.toArray(new Caret[this.carets.size()]);
+    }
+    for(Caret caret: carets) {
+      if(isBlinking(caret)) {
+        caret.blink = !caret.blink;
+        caret.repaintCaret();
+      } else {
+        caret.blink = true;
+        caret.repaintCaret();
+        remove(caret);
+      }
+    }
+  }
+
+}
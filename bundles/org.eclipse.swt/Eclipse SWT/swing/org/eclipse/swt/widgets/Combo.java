@@ -480,10 +480,7 @@ public int getItemHeight () {
  */
 public String [] getItems () {
 	checkWidget ();
-	int count = getItemCount ();
-	String [] result = new String [count];
-	for (int i=0; i<count; i++) result [i] = getItem (i);
-	return result;
+  return ((CCombo)handle).getItems();
 }
 
 @Override
@@ -671,10 +668,8 @@ public int indexOf (String string, int start) {
 	checkWidget ();
 	if (string == null) error (SWT.ERROR_NULL_ARGUMENT);
 	int count = getItemCount ();
-	for (int i=start; i<count; i++) {
-		if (string.equals (getItem (i))) return i;
-	}
-	return -1;
+	if (!(0 <= start && start < count)) return -1;
+  return ((CCombo)handle).indexOf(string, start);
 }
 
 @Override
@@ -756,10 +751,7 @@ public void remove (int start, int end) {
 		error (SWT.ERROR_INVALID_RANGE);
 	}
   isAdjustingSelection = true;
-  CCombo cCombo = (CCombo)handle;
-  for (int i=start; i<=end; i++) {
-    cCombo.removeItemAt(i);
-  }
+  ((CCombo)handle).removeItems(start, end);
   isAdjustingSelection = false;
 }
 
@@ -961,11 +953,7 @@ public void setItems (String... items) {
 		if (items [i] == null) error (SWT.ERROR_INVALID_ARGUMENT);
 	}
   isAdjustingSelection = true;
-  CCombo cCombo = (CCombo)handle;
-  cCombo.removeAllItems();
-  for (int i=0; i<items.length; i++) {
-    cCombo.addItem(items[i]);
-  }
+  ((CCombo)handle).setItems(items);
   isAdjustingSelection = false;
 	// widget could be disposed at this point
 	sendEvent (SWT.Modify);
@@ -75,6 +75,8 @@ public abstract class Control extends Widget implements Drawable {
 //	int drawCount, foreground, background;
 //  long lastPressed = 0;
   Image backgroundImage;
+  /* Overrides the display mouse event coalescing when not null */
+  Boolean coalesceMouseEvents;
 
 /**
  * Prevents uninitialized instances from being created outside the package.
@@ -1292,6 +1294,13 @@ public CGC internal_new_GC (GCData data) {
       boolean resetClip = false;
       // sGraphics2D == null is needed because it seems it is not always the same GC for the native component.
       if(internalSwingGraphics2D != sGraphics2D || sGraphics2D == null || graphics2D == null || graphics2D instanceof NullGraphics2D) {
+        if(sGraphics2D == null) {
+          RetainedBuffer retainedBuffer = RetainedBuffer.getRetainedBuffer(clientArea);
+          if(retainedBuffer != null) {
+            // Drawing outside of a paint bypasses the buffer.
+            retainedBuffer.invalidate();
+          }
+        }
         Graphics2D newGraphics2D = (Graphics2D)clientArea.getGraphics();
         if(newGraphics2D == null) {
           newGraphics2D = new NullGraphics2D();
@@ -1389,6 +1398,38 @@ public void internal_dispose_GC (CGC hDC, GCData data) {
 //		OS.EndPaint (hwnd, data.ps);
 //	}
 }
+
+/**
+ * Paints a rectangular area of the receiver, in GC coordinates, into
+ * the graphics with its origin at the top left corner of the area.
+ * Only the components intersecting the area are painted.
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the public
+ * API for <code>Control</code>. It is marked public only so that it
+ * can be shared within the packages provided by SWT. It is not
+ * available on all platforms, and should never be called from
+ * application code.
+ * </p>
+ *
+ * @param g the graphics to paint into
+ * @param x the x coordinate of the area
+ * @param y the y coordinate of the area
+ * @param width the width of the area
+ * @param height the height of the area
+ */
+public void internal_paintArea (Graphics2D g, int x, int y, int width, int height) {
+  checkWidget ();
+  Container clientArea = ((CControl)handle).getClientArea();
+  Point internalOffset = getInternalOffset();
+  Graphics2D g2D = (Graphics2D)g.create();
+  try {
+    g2D.translate(internalOffset.x - x, internalOffset.y - y);
+    g2D.clipRect(x - internalOffset.x, y - internalOffset.y, width, height);
+    clientArea.paint(g2D);
+  } finally {
+    g2D.dispose();
+  }
+}
 //
 //boolean isActive () {
 //	Shell dialogShell = display.getModalDialogShell ();
@@ -2426,6 +2467,19 @@ void sendMouseEvent(int eventType, Event event) {
 //	OS.SendMessage (handle, OS.WM_SETCURSOR, handle, lParam);
 //}
 
+@Override
+public void setData (String key, Object value) {
+  super.setData (key, value);
+  if (Display.COALESCE_MOUSE_EVENTS_KEY.equals (key)) {
+    coalesceMouseEvents = value == null ? null : Boolean.valueOf (Boolean.TRUE.equals (value));
+    if (!isCoalescingMouseEvents ()) MouseEventCoalescer.scheduleFlush ();
+  }
+}
+
+boolean isCoalescingMouseEvents () {
+  return coalesceMouseEvents != null ? coalesceMouseEvents.booleanValue () : display.coalesceMouseEvents;
+}
+
 /**
  * Sets the receiver's cursor to the cursor specified by the
  * argument, or to the default cursor for that kind of control
@@ -4423,6 +4477,16 @@ public void processEvent(AWTEvent e) {
   if(isDisposed()) {
     return;
   }
+  switch(id) {
+  case java.awt.event.MouseEvent.MOUSE_DRAGGED:
+  case java.awt.event.MouseEvent.MOUSE_MOVED:
+  case java.awt.event.MouseEvent.MOUSE_WHEEL: {
+    // The first drag of a gesture is a state transition (DragDetect) and is never held back.
+    boolean isCoalescing = isCoalescingMouseEvents() && (id != java.awt.event.MouseEvent.MOUSE_DRAGGED || isDragging);
+    if(MouseEventCoalescer.coalesce(this, (java.awt.event.MouseEvent)e, isCoalescing)) return;
+    break;
+  }
+  }
   UIThreadUtils.startExclusiveSection(getDisplay());
   if(isDisposed()) {
     UIThreadUtils.stopExclusiveSection();
@@ -4433,9 +4497,18 @@ public void processEvent(AWTEvent e) {
     case java.awt.event.PaintEvent.PAINT: {
       Event event = new Event();
       event.gc = new GC(this);
-      Rectangle r = this.getBounds ();
-      event.width = r.width;
-      event.height = r.height;
+      java.awt.Rectangle updateRect = ((java.awt.event.PaintEvent)e).getUpdateRect();
+      if(updateRect != null) {
+        Point internalOffset = getInternalOffset();
+        event.x = updateRect.x + internalOffset.x;
+        event.y = updateRect.y + internalOffset.y;
+        event.width = updateRect.width;
+        event.height = updateRect.height;
+      } else {
+        Rectangle r = this.getBounds ();
+        event.width = r.width;
+        event.height = r.height;
+      }
       sendEvent(SWT.Paint, event);
       if (this instanceof Canvas) {
         Canvas canvas = (Canvas) this;
@@ -4590,6 +4663,10 @@ public void processEvent(AWTEvent e) {
         shell.setActiveControl(this);
       }
       sendEvent(SWT.FocusIn);
+      if (this instanceof Canvas) {
+        Caret caret = ((Canvas) this).caret;
+        if (caret != null && !caret.isDisposed()) caret.setFocus ();
+      }
       break;
     }
     case java.awt.event.FocusEvent.FOCUS_LOST: {
@@ -4608,6 +4685,10 @@ public void processEvent(AWTEvent e) {
               shell.setActiveControl (null);
             }
             sendEvent(SWT.FocusOut);
+            if (Control.this instanceof Canvas && !isDisposed()) {
+              Caret caret = ((Canvas) Control.this).caret;
+              if (caret != null && !caret.isDisposed()) caret.killFocus ();
+            }
           } catch(Throwable t) {
             UIThreadUtils.storeException(t);
           } finally {
@@ -4742,6 +4823,16 @@ Event createMouseEvent(java.awt.event.MouseEvent me, boolean isPreviousInputStat
   } else if (SwingUtilities.isMiddleMouseButton (me)) {
     event.button = 3;
   }
+  if(me instanceof MouseWheelEvent) {
+    MouseWheelEvent mwe = (MouseWheelEvent)me;
+    if(mwe.getScrollType() == MouseWheelEvent.WHEEL_UNIT_SCROLL) {
+      event.detail = SWT.SCROLL_LINE;
+      event.count = -mwe.getWheelRotation() * mwe.getScrollAmount();
+    } else {
+      event.detail = SWT.SCROLL_PAGE;
+      event.count = -mwe.getWheelRotation();
+    }
+  }
   event.stateMask = isPreviousInputState? Display.getPreviousInputState(): Display.getInputState();
   return event;
 }
@@ -124,7 +124,7 @@ public class Display extends Device implements Executor{
 
 	/* Menus */
 	Menu [] bars, popups;
-	ArrayList menuItemsList = new ArrayList();
+	Set<MenuItem> menuItemsList = new HashSet<MenuItem>();
 
 //	static final String AWT_WINDOW_CLASS = "SunAwtWindow";
 
@@ -139,6 +139,9 @@ public class Display extends Device implements Executor{
 	/* System Tray */
 	Tray tray;
 
+	/* Caret Blinking */
+	CaretBlinker caretBlinker;
+
 	/* System Images Cache */
 	java.awt.Image errorIcon, workingIcon, infoIcon, questionIcon, warningIcon;
 
@@ -250,6 +253,34 @@ public class Display extends Device implements Executor{
 	/* Package Name */
 	static final String PACKAGE_PREFIX = "org.eclipse.swt.widgets."; //$NON-NLS-1$
 
+	/*
+	* Mouse event coalescing. When enabled, consecutive mouse moves,
+	* drags and wheel rotations that are still pending are collapsed
+	* into a single SWT event. Controls can override the display
+	* setting using the same key with Widget.setData(String, Object).
+	* The statistics key returns a long[] {received, delivered}, counting
+	* every mouse move, drag and wheel rotation dispatched to a control,
+	* whether coalescing is enabled or not, and the ones sent as SWT events.
+	*/
+	static final String COALESCE_MOUSE_EVENTS_KEY = "org.eclipse.swt.internal.swing.coalesceMouseEvents"; //$NON-NLS-1$
+	static final String MOUSE_EVENT_STATISTICS_KEY = "org.eclipse.swt.internal.swing.mouseEventStatistics"; //$NON-NLS-1$
+	boolean coalesceMouseEvents;
+
+	/*
+	* Resource tracking. Returns the org.eclipse.swt.internal.ResourceTracker
+	* of the display or null when tracking is disabled, so that tools like
+	* Sleak can read the allocation site histogram incrementally.
+	*/
+	static final String RESOURCE_TRACKER_KEY = "org.eclipse.swt.internal.resourceTracker"; //$NON-NLS-1$
+
+	/*
+	* Retained back buffer. A Canvas whose data contains this key with
+	* Boolean.TRUE keeps its pixels in a VolatileImage, so that scrolling
+	* moves the existing pixels and only the exposed strip is sent as a
+	* Paint event.
+	*/
+	static final String RETAINED_BACK_BUFFER_KEY = "org.eclipse.swt.internal.swing.retainedBackBuffer"; //$NON-NLS-1$
+
   static {
     Utils.initializeProperties();
     CShell.ModalityHandler.initialize();
@@ -258,6 +289,10 @@ public class Display extends Device implements Executor{
       @Override
 	public void eventDispatched(AWTEvent event) {
         java.awt.event.InputEvent ie = (java.awt.event.InputEvent)event;
+        // Pending coalesced mouse events must be delivered before any other input changes the state.
+        if(!MouseEventCoalescer.isCoalescable(ie.getID())) {
+          MouseEventCoalescer.flush();
+        }
         Utils.storeModifiersEx(ie.getModifiersEx());
         if(ie instanceof MouseEvent) {
           if(!Compatibility.IS_JAVA_5_OR_GREATER) {
@@ -403,6 +438,11 @@ public static void swtExec(Runnable runnable) {
   UIThreadUtils.swtExec(runnable);
 }
 
+synchronized CaretBlinker getCaretBlinker () {
+	if (caretBlinker == null) caretBlinker = new CaretBlinker ();
+	return caretBlinker;
+}
+
 void addBar (Menu menu) {
 	if (bars == null) bars = new Menu [4];
 	int length = bars.length;
@@ -987,6 +1027,14 @@ public Object getData (String key) {
 //  if (key.equals (RUN_MESSAGES_IN_IDLE_KEY)) {
 //    return new Boolean (runMessagesInIdle);
 //  }
+	switch (key) {
+		case COALESCE_MOUSE_EVENTS_KEY:
+			return coalesceMouseEvents;
+		case MOUSE_EVENT_STATISTICS_KEY:
+			return new long [] {MouseEventCoalescer.receivedCount, MouseEventCoalescer.deliveredCount};
+		case RESOURCE_TRACKER_KEY:
+			return internal_getResourceTracker ();
+	}
 	if (keys == null) return null;
 	for (int i=0; i<keys.length; i++) {
 		if (keys [i].equals (key)) return values [i];
@@ -1150,13 +1198,8 @@ public Point [] getIconSizes () {
 }
 
 MenuItem getMenuItem (JComponent component) {
-  for(int i=0; i<menuItemsList.size(); i++) {
-    MenuItem menuItem = (MenuItem)menuItemsList.get(i);
-    if(menuItem.handle == component) {
-      return menuItem;
-    }
-  }
-  return null;
+  MenuItem menuItem = MenuItem.getOwner(component);
+  return menuItem != null && menuItemsList.contains(menuItem)? menuItem: null;
 }
 
 
@@ -1875,7 +1918,7 @@ public boolean post (Event event) {
         if(keyCode == 0) {
           return false;
         }
-        new Robot().keyPress(keyCode);
+        Utils.getRobot(null).keyPress(keyCode);
         return true;
       }
   		case SWT.KeyUp:
@@ -1883,10 +1926,10 @@ public boolean post (Event event) {
   		  if(keyCode == 0) {
   		    return false;
   		  }
-        new Robot().keyRelease(keyCode);
+        Utils.getRobot(null).keyRelease(keyCode);
         return true;
       case SWT.MouseMove:
-        new Robot().mouseMove(event.x, event.y);
+        Utils.getRobot(null).mouseMove(event.x, event.y);
         return true;
   		case SWT.MouseDown:
   		case SWT.MouseUp: {
@@ -1898,9 +1941,9 @@ public boolean post (Event event) {
           default: return false;
         }
         if(type == SWT.MouseDown) {
-          new Robot().mousePress(buttons);
+          Utils.getRobot(null).mousePress(buttons);
         } else {
-          new Robot().mouseRelease(buttons);
+          Utils.getRobot(null).mouseRelease(buttons);
         }
         return true;
   		}
@@ -2070,6 +2113,7 @@ protected void release () {
 void releaseDisplay () {
 	errorIcon = warningIcon = infoIcon = questionIcon = warningIcon = null;
 	bars = popups = null;
+	if (caretBlinker != null) caretBlinker.stop ();
 }
 
 /**
@@ -2235,7 +2279,7 @@ void sendEvent (int eventType, Event event) {
 public void setCursorLocation (int x, int y) {
 	checkDevice ();
   try {
-    new Robot().mouseMove(x, y);
+    Utils.getRobot(null).mouseMove(x, y);
   } catch(Exception e) {}
 }
 
@@ -2293,6 +2337,12 @@ public void setData (String key, Object value) {
 //    runMessagesInIdle = data != null && data.booleanValue ();
 //    return;
 //  }
+	switch (key) {
+		case COALESCE_MOUSE_EVENTS_KEY:
+			coalesceMouseEvents = Boolean.TRUE.equals (value);
+			if (!coalesceMouseEvents) MouseEventCoalescer.scheduleFlush ();
+			return;
+	}
 
 	/* Remove the key/value pair */
 	if (value == null) {
@@ -12,8 +12,12 @@ package org.eclipse.swt.widgets;
 
  
 import java.awt.Component;
+import java.awt.Container;
 import java.awt.MouseInfo;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import javax.swing.JComponent;
 import javax.swing.JMenu;
@@ -68,6 +72,12 @@ public class Menu extends Widget {
 	boolean hasLocation;
 	MenuItem cascade;
 	Decorations parent;
+	ArrayList<MenuItem> itemList = new ArrayList<MenuItem>();
+
+	/* Lazy peers */
+	boolean isPeersAttached, isPeersDirty;
+	int peerDeferral;
+	ArrayList<MenuItem> recycledItems;
 //	ImageList imageList;
 	
 //	/* Resource ID for SHMENUBARINFO */
@@ -334,16 +344,19 @@ void createHandle () {
         }
       }
       public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
-        if(!hooks(SWT.Show)) return;
         UIThreadUtils.startExclusiveSection(getDisplay());
         if(isDisposed()) {
           UIThreadUtils.stopExclusiveSection();
           return;
         }
         try {
+          if(!hooks(SWT.Show)) {
+            updatePeers();
+            return;
+          }
           Event event = new Event();
           event.widget = Menu.this;
-          sendEvent(SWT.Show, event);
+          sendShowEvent(event);
         } catch(Throwable t) {
           UIThreadUtils.storeException(t);
         } finally {
@@ -358,10 +371,14 @@ void createHandle () {
 }
 
 void createItem (MenuItem item, int index) {
-  int count = handle.getComponentCount();
-	if (!(0 <= index && index <= count)) error (SWT.ERROR_INVALID_RANGE);
+	if (!(0 <= index && index <= itemList.size())) error (SWT.ERROR_INVALID_RANGE);
 	display.addMenuItem (item);
-  handle.add(item.handle, index);
+  itemList.add(index, item);
+  if(isPeersAttached && !isPeersDirty && peerDeferral == 0) {
+    getPeerContainer().add(item.handle, index);
+  } else {
+    isPeersDirty = true;
+  }
 //  handle.invalidate();
 //  handle.validate();
 //  handle.repaint();
@@ -376,6 +393,8 @@ void createItem (MenuItem item, int index) {
 void createWidget () {
 	checkOrientation (parent);
 	createHandle ();
+	// The items of a menu bar are always shown, the others are added to their menu when it is first shown.
+	isPeersAttached = (style & SWT.BAR) != 0;
 	parent.addMenu (this);
 }
 
@@ -398,8 +417,21 @@ void createWidget () {
 //}
 
 void destroyItem (MenuItem item) {
+  itemList.remove(item);
+  if(peerDeferral > 0 && !(item.handle instanceof JMenu)) {
+    // The menu is probably filled again with similar items, which can reuse the peer.
+    if(recycledItems == null) recycledItems = new ArrayList<MenuItem>();
+    recycledItems.add(item);
+    item.handle.putClientProperty(MenuItem.class, null);
+    isPeersDirty = true;
+    return;
+  }
+  if(!isPeersAttached || isPeersDirty) {
+    isPeersDirty = true;
+    return;
+  }
   java.awt.Component comp = item.handle.getParent();
-  handle.remove(item.handle);
+  getPeerContainer().remove(item.handle);
   if(comp instanceof JPopupMenu) {
     ((JPopupMenu)comp).pack();
   }
@@ -416,6 +448,91 @@ void destroyWidget () {
 //	}
 }
 
+Container getPeerContainer () {
+  return handle instanceof JMenu? ((JMenu)handle).getPopupMenu(): handle;
+}
+
+/**
+ * Sends the Show event, deferring the changes of the peers of the items
+ * until it is handled, so that a menu which is filled again when it is
+ * shown updates its Swing components once, reusing those of the items
+ * it disposed for the new items of the same kind.
+ */
+void sendShowEvent (Event event) {
+  peerDeferral++;
+  try {
+    sendEvent(SWT.Show, event);
+  } finally {
+    peerDeferral--;
+    if(!isDisposed()) updatePeers();
+  }
+}
+
+/**
+ * Returns the peer of an item disposed while the Show event was sent,
+ * which is not used by another item and was created for the same style,
+ * or null.
+ */
+MenuItem takeRecycledItem (int style) {
+  if(recycledItems == null || peerDeferral == 0) return null;
+  int mask = SWT.PUSH | SWT.CHECK | SWT.RADIO | SWT.SEPARATOR | SWT.CASCADE;
+  for(int i=0; i<recycledItems.size(); i++) {
+    MenuItem item = recycledItems.get(i);
+    if((item.style & mask) == (style & mask)) {
+      recycledItems.remove(i);
+      return item;
+    }
+  }
+  return null;
+}
+
+/**
+ * Makes the Swing components of the menu match its items, moving only
+ * the components which are not already in place.
+ */
+void updatePeers () {
+  isPeersAttached = true;
+  recycledItems = null;
+  if(!isPeersDirty) return;
+  isPeersDirty = false;
+  Container container = getPeerContainer();
+  int count = itemList.size();
+  Set<Component> peers = Collections.newSetFromMap(new IdentityHashMap<Component, Boolean>(count * 2));
+  for(int i=0; i<count; i++) {
+    peers.add(itemList.get(i).handle);
+  }
+  for(int i=container.getComponentCount()-1; i>=0; i--) {
+    if(!peers.contains(container.getComponent(i))) {
+      container.remove(i);
+    }
+  }
+  for(int i=0; i<count; i++) {
+    MenuItem item = itemList.get(i);
+    if(i >= container.getComponentCount() || container.getComponent(i) != item.handle) {
+      container.add(item.handle, i);
+    }
+    if(item.isPeerTextStale) item.updatePeerText();
+  }
+  if(container instanceof JComponent) {
+    ((JComponent)container).revalidate();
+  }
+  if(container instanceof JPopupMenu) {
+    ((JPopupMenu)container).pack();
+  }
+}
+
+/**
+ * Adds the items of the menu and of its parent menus to their Swing
+ * components, so that their accelerators are active.
+ */
+void attachPeers () {
+  for(Menu menu = this; menu != null && !menu.isDisposed(); menu = menu.cascade == null? null: menu.cascade.parent) {
+    if(menu.peerDeferral == 0 && (!menu.isPeersAttached || menu.isPeersDirty)) {
+      menu.updatePeers();
+    }
+  }
+}
+
 void fixMenus (Decorations newParent) {
 	MenuItem [] items = getItems ();
 	for (int i=0; i<items.length; i++) {
@@ -546,19 +663,8 @@ public boolean getEnabled () {
  */
 public MenuItem getItem (int index) {
 	checkWidget ();
-  if(index < 0) error (SWT.ERROR_INVALID_RANGE);
-  int result = 0;
-  int count = handle.getComponentCount();
-  if(index > count) error (SWT.ERROR_INVALID_RANGE);
-  for(int i=0; i<count; i++) {
-    MenuItem item = display.getMenuItem ((JComponent)handle.getComponent(i));
-    if(item != null) {
-      if(result == index) return item;
-      result++;
-    }
-  }
-  error (SWT.ERROR_INVALID_RANGE);
-  return null;
+  if(!(0 <= index && index < itemList.size())) error (SWT.ERROR_INVALID_RANGE);
+  return itemList.get(index);
 }
 
 /**
@@ -573,15 +679,7 @@ public MenuItem getItem (int index) {
  */
 public int getItemCount () {
 	checkWidget ();
-  int count = handle.getComponentCount();
-  int result = 0;
-  for(int i=0; i<count; i++) {
-    MenuItem item = display.getMenuItem ((JComponent)handle.getComponent(i));
-    if(item != null) {
-      result++;
-    }
-  }
-	return result;
+	return itemList.size();
 }
 
 /**
@@ -602,15 +700,7 @@ public int getItemCount () {
  */
 public MenuItem [] getItems () {
 	checkWidget ();
-  int count = handle.getComponentCount();
-  java.util.List arrayList = new ArrayList(count);
-  for(int i=0; i<count; i++) {
-    MenuItem item = display.getMenuItem ((JComponent)handle.getComponent(i));
-    if(item != null) {
-      arrayList.add(item);
-    }
-  }
-  return (MenuItem[])arrayList.toArray(new MenuItem[0]);
+  return itemList.toArray(new MenuItem[itemList.size()]);
 }
 
 //int GetMenuItemCount (int handle) {
@@ -791,13 +881,7 @@ public int indexOf (MenuItem item) {
 	if (item == null) error (SWT.ERROR_NULL_ARGUMENT);
 	if (item.isDisposed()) error(SWT.ERROR_INVALID_ARGUMENT);
 	if (item.parent != this) return -1;
-  int componentCount = handle.getComponentCount();
-  for(int i=0; i<componentCount; i++) {
-    if(handle.getComponent(i) == item.handle) {
-      return i;
-    }
-  }
-	return -1;
+	return itemList.indexOf(item);
 }
 
 /**
@@ -863,6 +947,8 @@ void releaseChildren (boolean destroy) {
       item.release (false);
     }
   }
+  itemList.clear();
+  recycledItems = null;
   super.releaseChildren (destroy);
 }
 
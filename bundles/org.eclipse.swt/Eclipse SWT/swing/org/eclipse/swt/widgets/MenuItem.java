@@ -45,6 +45,7 @@ public class MenuItem extends Item {
 //	int id, accelerator;
   int accelerator;
   JComponent handle;
+  boolean isPeerTextStale;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -627,6 +628,9 @@ public void setAccelerator (int accelerator) {
     }
     ((JMenuItem)handle).setAccelerator(KeyStroke.getKeyStroke(key, modifiers));
   }
+  if(accelerator != 0) {
+    parent.attachPeers();
+  }
 //	parent.destroyAccelerators ();
 }
 
@@ -767,16 +771,19 @@ public void setMenu (Menu menu) {
       @Override
 	public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
         if(MenuItem.this.menu == null) return;
-        if(!MenuItem.this.menu.hooks(SWT.Show)) return;
         UIThreadUtils.startExclusiveSection(getDisplay());
-        if(isDisposed()) {
+        if(isDisposed() || MenuItem.this.menu == null || MenuItem.this.menu.isDisposed()) {
           UIThreadUtils.stopExclusiveSection();
           return;
         }
         try {
+          if(!MenuItem.this.menu.hooks(SWT.Show)) {
+            MenuItem.this.menu.updatePeers();
+            return;
+          }
           Event event = new Event();
           event.widget = MenuItem.this.menu;
-          MenuItem.this.menu.sendEvent(SWT.Show, event);
+          MenuItem.this.menu.sendShowEvent(event);
         } catch(Throwable t) {
           UIThreadUtils.storeException(t);
         } finally {
@@ -809,22 +816,22 @@ public void setMenu (Menu menu) {
     popup.setSelected(menuItem.isSelected());
     popup.setIcon(menuItem.getIcon());
     handle = popup;
+    handle.putClientProperty(MenuItem.class, this);
 	}
 	JMenu menuHandle = (JMenu)handle;
 	JPopupMenu popupMenu = menuHandle.getPopupMenu();
-  popupMenu.removeAll();
   /* Assign the new menu */
 	Menu oldMenu = this.menu;
 	if (oldMenu == menu) return;
+  popupMenu.removeAll();
 	if (oldMenu != null) oldMenu.cascade = null;
 	this.menu = menu;
   if (menu != null) {
     menu.cascade = this;
-    Component[] components = ((JMenu)menu.handle).getPopupMenu().getComponents();
-    for(int i=0; i<components.length; i++) {
-      popupMenu.add(components[i]);
-    }
     menu.handle = popupMenu;
+    // The items are added to the popup menu when it is first shown, or now if they were already shown.
+    menu.isPeersDirty = true;
+    if (menu.isPeersAttached) menu.updatePeers();
   }
 //	parent.destroyAccelerators ();
 }
@@ -907,6 +914,13 @@ public void setText (String string) {
 	if ((style & SWT.SEPARATOR) != 0) return;
 	if (text.equals (string)) return;
 	super.setText (string);
+  updatePeerText();
+//	parent.redraw ();
+}
+
+void updatePeerText () {
+  isPeerTextStale = false;
+  String string = text;
   AbstractButton button = (AbstractButton)handle;
   int index = findMnemonicIndex(string);
   if(index != -1) {
@@ -926,7 +940,6 @@ public void setText (String string) {
   if(comp instanceof javax.swing.JPopupMenu) {
     ((javax.swing.JPopupMenu)comp).pack();
   }
-//	parent.redraw ();
 }
 
 //int widgetStyle () {
@@ -1036,42 +1049,54 @@ public void setText (String string) {
 //}
 
 void createHandle() {
+  MenuItem recycledItem = parent.takeRecycledItem(style);
+  if(recycledItem != null) {
+    handle = recycledItem.handle;
+    resetPeer();
+  } else {
+    handle = createPeer(style);
+  }
+  handle.putClientProperty(MenuItem.class, this);
+}
+
+/**
+ * Resets the state of a peer taken from a disposed item. The text is only
+ * reset when the peers are updated, as it is usually set to the same one.
+ */
+void resetPeer() {
+  if(handle instanceof AbstractButton) {
+    AbstractButton button = (AbstractButton)handle;
+    isPeerTextStale = true;
+    button.setIcon(null);
+    button.setEnabled(true);
+    button.setSelected(false);
+    if(button instanceof JMenuItem) {
+      ((JMenuItem)button).setAccelerator(null);
+    }
+  }
+}
+
+static MenuItem getOwner(JComponent peer) {
+  return (MenuItem)peer.getClientProperty(MenuItem.class);
+}
+
+/**
+ * Creates the Swing component of an item. Its listeners notify the item
+ * which currently owns it, as it can be reused by another item.
+ */
+static JComponent createPeer(int style) {
   if((style & SWT.SEPARATOR) != 0) {
-    handle = new JSeparator();
-  } else if((style & SWT.CASCADE) != 0 || (style & SWT.PUSH) != 0) {
+    return new JSeparator();
+  }
+  if((style & SWT.CASCADE) != 0 || (style & SWT.PUSH) != 0) {
     JMenuItem menuItem = new JMenuItem() {
       @Override
 	public void menuSelectionChanged(boolean isIncluded) {
         super.menuSelectionChanged(isIncluded);
-        if(!isIncluded) {
-          if(parent == null || parent.cascade == null) return;
-          if(!parent.cascade.hooks(SWT.Arm)) return;
-          UIThreadUtils.startExclusiveSection(getDisplay());
-          if(isDisposed()) {
-            UIThreadUtils.stopExclusiveSection();
-            return;
-          }
-//          Event event = new Event();
-//          event.stateMask = Display.getInputState();
-//          sendEvent(SWT.Arm, event);
-          parent.cascade.sendEvent(SWT.Arm);
-          UIThreadUtils.stopExclusiveSection();
-          return;
-        }
-        if(!hooks(SWT.Arm)) return;
-        UIThreadUtils.startExclusiveSection(getDisplay());
-        if(isDisposed()) {
-          UIThreadUtils.stopExclusiveSection();
-          return;
-        }
-//        Event event = new Event();
-//        event.stateMask = Display.getInputState();
-//        sendEvent(SWT.Arm, event);
-        sendEvent(SWT.Arm);
-        UIThreadUtils.stopExclusiveSection();
+        MenuItem item = getOwner(this);
+        if(item != null) item.armFromPeer(isIncluded);
       }
     };
-    handle = menuItem;
 //    menuItem.addChangeListener(new ChangeListener() {
 //      boolean isSelected;
 //      public void stateChanged(ChangeEvent e) {
@@ -1091,92 +1116,99 @@ void createHandle() {
 //      }
 //    });
     menuItem.addActionListener(e -> {
-        if(!hooks(SWT.Selection)) return;
-        UIThreadUtils.startExclusiveSection(getDisplay());
-        if(isDisposed()) {
-          UIThreadUtils.stopExclusiveSection();
-          return;
-        }
-        try {
-          Event event = new Event();
-          event.stateMask = Display.getInputState();
-          sendEvent(SWT.Selection, event);
-        } catch(Throwable t) {
-          UIThreadUtils.storeException(t);
-        } finally {
-          UIThreadUtils.stopExclusiveSection();
-        }
+        MenuItem item = getOwner(menuItem);
+        if(item != null) item.selectFromPeer();
       });
-  } else if((style & SWT.CHECK) != 0) {
+    return menuItem;
+  }
+  if((style & SWT.CHECK) != 0) {
     JCheckBoxMenuItem menuItem = new JCheckBoxMenuItem();
-    handle = menuItem;
     menuItem.addItemListener(e -> {
-        if(adjustSelection || !hooks(SWT.Selection)) return;
-        UIThreadUtils.startExclusiveSection(getDisplay());
-        if(isDisposed()) {
-          UIThreadUtils.stopExclusiveSection();
-          return;
-        }
-        try {
-//          Event event = new Event();
-//          event.stateMask = Display.getInputState();
-//          sendEvent(SWT.Selection, event);
-          sendEvent(SWT.Selection);
-        } catch(Throwable t) {
-          UIThreadUtils.storeException(t);
-        } finally {
-          UIThreadUtils.stopExclusiveSection();
-        }
+        MenuItem item = getOwner(menuItem);
+        if(item != null) item.selectFromPeer();
       });
-  } else if((style & SWT.RADIO) != 0) {
-    JRadioButtonMenuItem menuItem = new JRadioButtonMenuItem() {
-      @Override
+    return menuItem;
+  }
+  JRadioButtonMenuItem menuItem = new JRadioButtonMenuItem() {
+    @Override
 	protected void fireActionPerformed(ActionEvent e) {
-        if(!isSelected()) {
-          setSelected(true);
-        }
-        Component[] components = getParent().getComponents();
-        for(int i=0; i<components.length; i++) {
-          Component component = components[i];
-          if(component instanceof JRadioButton && component != this) {
-            ((JRadioButton)component).setSelected(false);
-          }
-        }
-        super.fireActionPerformed(e);
-        if(adjustSelection || !hooks(SWT.Selection)) return;
-        UIThreadUtils.startExclusiveSection(getDisplay());
-        if(isDisposed()) {
-          UIThreadUtils.stopExclusiveSection();
-          return;
-        }
-        Event event = new Event();
-        event.stateMask = Display.getInputState();
-        sendEvent(SWT.Selection, event);
-        UIThreadUtils.stopExclusiveSection();
+      if(!isSelected()) {
+        setSelected(true);
       }
-    };
-    handle = menuItem;
-    menuItem.addItemListener(e -> {
-        if(e.getStateChange() == ItemEvent.SELECTED) {
-          selectRadio();
-        }
-        if(!hooks(SWT.Arm)) return;
-        UIThreadUtils.startExclusiveSection(getDisplay());
-        if(isDisposed()) {
-          UIThreadUtils.stopExclusiveSection();
-          return;
-        }
-        try {
-//          Event event = new Event();
-//          event.stateMask = Display.getInputState();
-//          sendEvent(SWT.Arm, event);
-          sendEvent(SWT.Arm);
-        } catch(Throwable t) {
-          UIThreadUtils.storeException(t);
-        } finally {
-          UIThreadUtils.stopExclusiveSection();
+      Component[] components = getParent().getComponents();
+      for(int i=0; i<components.length; i++) {
+        Component component = components[i];
+        if(component instanceof JRadioButton && component != this) {
+          ((JRadioButton)component).setSelected(false);
         }
-      });
+      }
+      super.fireActionPerformed(e);
+      MenuItem item = getOwner(this);
+      if(item != null) item.selectFromPeer();
+    }
+  };
+  menuItem.addItemListener(e -> {
+      MenuItem item = getOwner(menuItem);
+      if(item == null) return;
+      if(e.getStateChange() == ItemEvent.SELECTED) {
+        item.selectRadio();
+      }
+      item.armFromPeer(true);
+    });
+  return menuItem;
+}
+
+void armFromPeer(boolean isIncluded) {
+  if(!isIncluded) {
+    if(parent == null || parent.cascade == null) return;
+    if(!parent.cascade.hooks(SWT.Arm)) return;
+    UIThreadUtils.startExclusiveSection(getDisplay());
+    if(isDisposed()) {
+      UIThreadUtils.stopExclusiveSection();
+      return;
+    }
+//    Event event = new Event();
+//    event.stateMask = Display.getInputState();
+//    sendEvent(SWT.Arm, event);
+    try {
+      parent.cascade.sendEvent(SWT.Arm);
+    } catch(Throwable t) {
+      UIThreadUtils.storeException(t);
+    } finally {
+      UIThreadUtils.stopExclusiveSection();
+    }
+    return;
+  }
+  if(!hooks(SWT.Arm)) return;
+  UIThreadUtils.startExclusiveSection(getDisplay());
+  if(isDisposed()) {
+    UIThreadUtils.stopExclusiveSection();
+    return;
+  }
+  try {
+    sendEvent(SWT.Arm);
+  } catch(Throwable t) {
+    UIThreadUtils.storeException(t);
+  } finally {
+    UIThreadUtils.stopExclusiveSection();
+  }
+}
+
+void selectFromPeer() {
+  if(adjustSelection || !hooks(SWT.Selection)) return;
+  UIThreadUtils.startExclusiveSection(getDisplay());
+  if(isDisposed()) {
+    UIThreadUtils.stopExclusiveSection();
+    return;
+  }
+  try {
+    Event event = new Event();
+    event.stateMask = Display.getInputState();
+    sendEvent(SWT.Selection, event);
+  } catch(Throwable t) {
+    UIThreadUtils.storeException(t);
+  } finally {
+    UIThreadUtils.stopExclusiveSection();
   }
 }
 
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Collapses consecutive mouse moves, drags and wheel rotations of a control
+ * into a single event before they are turned into SWT events.
+ * <p>
+ * At most one event is pending at any time. It is delivered when the event
+ * queue reaches the flush request posted with the first pending event, or
+ * earlier when an event that cannot be merged arrives (another control,
+ * another event type or different button and modifier state). Every other
+ * input event flushes the pending one first, so that presses, releases and
+ * key strokes are never reordered with the moves that preceded them.
+ * </p>
+ * All methods must be called from the thread dispatching the AWT events.
+ */
+class MouseEventCoalescer {
+
+  static Control pendingControl;
+  static MouseEvent pendingEvent;
+  static boolean isFlushScheduled;
+  static boolean isDelivering;
+
+  /** The mouse moves, drags and wheel rotations dispatched to controls, coalesced or not. */
+  static long receivedCount;
+  /** The mouse moves, drags and wheel rotations turned into SWT events. */
+  static long deliveredCount;
+
+  static final Runnable FLUSH_RUNNABLE = () -> {
+    isFlushScheduled = false;
+    flush();
+  };
+
+  private MouseEventCoalescer() {}
+
+  static boolean isCoalescable(int id) {
+    switch(id) {
+      case MouseEvent.MOUSE_MOVED:
+      case MouseEvent.MOUSE_DRAGGED:
+      case MouseEvent.MOUSE_WHEEL:
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Holds back the event until the next flush if it is coalesced, and
+   * counts it.
+   *
+   * @param isCoalescing whether the event may be held back
+   * @return false if the event has to be dispatched immediately by the caller
+   */
+  static boolean coalesce(Control control, MouseEvent me, boolean isCoalescing) {
+    if(isDelivering) {
+      // The event was counted when it was held back.
+      return false;
+    }
+    receivedCount++;
+    if(!isCoalescing) {
+      // The pending event was received first and must be delivered first.
+      flush();
+      deliveredCount++;
+      return false;
+    }
+    if(pendingEvent != null) {
+      if(pendingControl == control && canMerge(pendingEvent, me)) {
+        pendingEvent = merge(pendingEvent, me);
+        return true;
+      }
+      flush();
+    }
+    pendingControl = control;
+    pendingEvent = me;
+    if(!isFlushScheduled) {
+      isFlushScheduled = true;
+      SwingUtilities.invokeLater(FLUSH_RUNNABLE);
+    }
+    return true;
+  }
+
+  /**
+   * Delivers the pending event from the thread dispatching the AWT events,
+   * when coalescing is disabled from another thread.
+   */
+  static void scheduleFlush() {
+    SwingUtilities.invokeLater(FLUSH_RUNNABLE);
+  }
+
+  static void flush() {
+    if(pendingEvent == null) {
+      return;
+    }
+    Control control = pendingControl;
+    MouseEvent me = pendingEvent;
+    pendingControl = null;
+    pendingEvent = null;
+    if(control.isDisposed()) {
+      return;
+    }
+    deliveredCount++;
+    isDelivering = true;
+    try {
+      control.processEvent(me);
+    } finally {
+      isDelivering = false;
+    }
+  }
+
+  static boolean canMerge(MouseEvent pending, MouseEvent me) {
+    if(pending.getID() != me.getID() || pending.getComponent() != me.getComponent() || pending.getModifiersEx() != me.getModifiersEx()) {
+      return false;
+    }
+    if(me.getID() == MouseEvent.MOUSE_WHEEL) {
+      return ((MouseWheelEvent)pending).getScrollType() == ((MouseWheelEvent)me).getScrollType();
+    }
+    return true;
+  }
+
+  static MouseEvent merge(MouseEvent pending, MouseEvent me) {
+    if(me.getID() != MouseEvent.MOUSE_WHEEL) {
+      return me;
+    }
+    MouseWheelEvent pmwe = (MouseWheelEvent)pending;
+    MouseWheelEvent mwe = (MouseWheelEvent)me;
+    return new MouseWheelEvent(mwe.getComponent(), mwe.getID(), mwe.getWhen(), mwe.getModifiersEx(), mwe.getX(), mwe.getY(), mwe.getXOnScreen(), mwe.getYOnScreen(), mwe.getClickCount(), mwe.isPopupTrigger(), mwe.getScrollType(), mwe.getScrollAmount(), pmwe.getWheelRotation() + mwe.getWheelRotation(), pmwe.getPreciseWheelRotation() + mwe.getPreciseWheelRotation());
+  }
+
+}
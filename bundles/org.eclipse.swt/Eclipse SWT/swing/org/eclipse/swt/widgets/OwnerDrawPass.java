@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.awt.Shape;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.internal.swing.UIThreadUtils;
+
+/**
+ * The resources shared by the EraseItem, PaintItem and MeasureItem events
+ * of the cells painted in one paint pass of a Table or a Tree.
+ * <p>
+ * The exclusive section is entered once for the pass instead of once per
+ * cell. The cells are drawn with a single graphics context, whose
+ * attributes are set back and whose clipping is moved to the cell before
+ * each event, and the events are reused as well. Cell events which arrive
+ * outside of a pass, for example when the width of a column is computed,
+ * or while the shared resources are in use by an enclosing event, get
+ * resources of their own.
+ * </p>
+ * All methods must be called from the thread painting the control.
+ */
+class OwnerDrawPass {
+
+  final Control control;
+  int depth;
+  GC gc;
+  Object gcState;
+  boolean isGCInUse;
+  Event event;
+
+  OwnerDrawPass(Control control) {
+    this.control = control;
+  }
+
+  static boolean hooksOwnerDraw(Control control) {
+    return control.hooks(SWT.EraseItem) || control.hooks(SWT.PaintItem) || control.hooks(SWT.MeasureItem);
+  }
+
+  /**
+   * Starts a paint pass, entering the exclusive section if the control
+   * has owner draw listeners.
+   */
+  void begin() {
+    if(depth > 0) {
+      depth++;
+      return;
+    }
+    if(control.isDisposed() || !hooksOwnerDraw(control)) {
+      return;
+    }
+    UIThreadUtils.startExclusiveSection(control.getDisplay());
+    depth = 1;
+  }
+
+  /**
+   * Ends a paint pass, releasing the graphics context and leaving the
+   * exclusive section.
+   */
+  void end() {
+    if(depth == 0 || --depth > 0) {
+      return;
+    }
+    if(gc != null) {
+      gc.dispose();
+      gc = null;
+      gcState = null;
+    }
+    isGCInUse = false;
+    UIThreadUtils.stopExclusiveSection();
+  }
+
+  boolean isActive() {
+    return depth > 0;
+  }
+
+  /**
+   * Returns a graphics context drawing on the control, clipped to the
+   * cell, which has to be given back with <code>releaseGC</code>.
+   */
+  GC obtainGC(Shape clip) {
+    GC result;
+    if(depth == 0 || isGCInUse) {
+      result = new GC(control);
+    } else {
+      if(gc == null || gc.isDisposed()) {
+        gc = new GC(control);
+        gcState = gc.swing_saveState();
+      } else {
+        gc.swing_restoreState(gcState);
+      }
+      isGCInUse = true;
+      result = gc;
+    }
+    result.handle.setUserClip(clip);
+    return result;
+  }
+
+  void releaseGC(GC gc) {
+    if(gc == this.gc) {
+      isGCInUse = false;
+    } else {
+      gc.dispose();
+    }
+  }
+
+  /**
+   * Returns an event with default values, which has to be given back
+   * with <code>releaseEvent</code>.
+   */
+  Event obtainEvent() {
+    Event result = event;
+    if(result == null || depth == 0) {
+      return new Event();
+    }
+    event = null;
+    result.display = null;
+    result.widget = null;
+    result.type = 0;
+    result.detail = 0;
+    result.item = null;
+    result.index = 0;
+    result.gc = null;
+    result.x = result.y = result.width = result.height = 0;
+    result.count = 0;
+    result.time = 0;
+    result.button = 0;
+    result.character = 0;
+    result.keyCode = 0;
+    result.keyLocation = 0;
+    result.stateMask = 0;
+    result.start = result.end = 0;
+    result.text = null;
+    result.segments = null;
+    result.segmentsChars = null;
+    result.doit = true;
+    result.data = null;
+    result.touches = null;
+    result.xDirection = result.yDirection = 0;
+    result.magnification = 0;
+    result.rotation = 0;
+    return result;
+  }
+
+  void releaseEvent(Event event) {
+    if(depth > 0) {
+      this.event = event;
+    }
+  }
+
+}
@@ -16,6 +16,7 @@ import java.awt.event.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.util.*;
+import java.util.function.*;
 
 import javax.swing.*;
 import javax.swing.event.*;
@@ -88,6 +89,8 @@ public class Table extends Composite {
 	static final int GRID_WIDTH = 1;
 	static final int HEADER_MARGIN = 10;
 	Color headerBackground, headerForeground;
+  OwnerDrawPass ownerDrawPass;
+  Predicate<? super TableItem> filter;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -575,6 +578,7 @@ void createItem (TableColumn column, int index) {
   columnModel.addColumn(tableColumn);
   tableColumn.setModelIndex(index);
   ((CTable)handle).moveColumn(getColumnCount()-1, index);
+  updateRowSorting();
   // TODO: check it is enough
   handle.repaint();
 }
@@ -614,11 +618,10 @@ public void deselect (int [] indices) {
 	checkWidget ();
 	if (indices == null) error (SWT.ERROR_NULL_ARGUMENT);
 	if (indices.length == 0) return;
-	DefaultListSelectionModel selectionModel = ((CTable)handle).getSelectionModel();
   isAdjustingSelection = true;
   for(int i=0; i<indices.length; i++) {
     int index = indices[i];
-    selectionModel.removeSelectionInterval(index, index);
+    setRowsSelected(index, index, false);
   }
   isAdjustingSelection = false;
 }
@@ -639,7 +642,7 @@ public void deselect (int index) {
 	checkWidget ();
 	if (index < 0) return;
   isAdjustingSelection = true;
-  ((CTable)handle).getSelectionModel().removeSelectionInterval(index, index);
+  setRowsSelected(index, index, false);
   isAdjustingSelection = false;
 }
 
@@ -661,7 +664,7 @@ public void deselect (int index) {
 public void deselect (int start, int end) {
 	checkWidget ();
   isAdjustingSelection = true;
-  ((CTable)handle).getSelectionModel().removeSelectionInterval(start, end);
+  setRowsSelected(start, end, false);
   isAdjustingSelection = false;
 }
 
@@ -699,6 +702,7 @@ void destroyItem (TableColumn column) {
     sortColumn = null;
     sortDirection = SWT.NONE;
   }
+  updateRowSorting();
   handle.repaint();
 }
 
@@ -836,6 +840,26 @@ public TableColumn [] getColumns () {
 //	return OS.SendMessage (handle, OS.LVM_GETNEXTITEM, -1, OS.LVNI_FOCUSED);
 //}
 
+/**
+ * Returns the filter of the items shown by the receiver, or null if
+ * all the items are shown.
+ *
+ * @return the filter of the items
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setFilter(Predicate)
+ *
+ * @since 3.128
+ */
+public Predicate<? super TableItem> getFilter () {
+  checkWidget ();
+  return filter;
+}
+
 /**
  * Returns the width in pixels of a grid line.
  *
@@ -1062,7 +1086,7 @@ public TableItem [] getSelection () {
   int count = 0;
   for(int i=minSelectionIndex; i<=maxSelectionIndex; i++) {
     if(selectionModel.isSelectedIndex(i)) {
-      selectedIndices_[count++] = _getItem(i);
+      selectedIndices_[count++] = _getItem(itemIndex(i));
     }
   }
   TableItem[] selectedIndices = new TableItem[count];
@@ -1108,7 +1132,7 @@ public int getSelectionCount () {
 public int getSelectionIndex () {
 	checkWidget ();
   DefaultListSelectionModel selectionModel = ((CTable)handle).getSelectionModel();
-  return selectionModel.getMinSelectionIndex();
+  return itemIndex(selectionModel.getMinSelectionIndex());
 }
 
 /**
@@ -1139,7 +1163,7 @@ public int [] getSelectionIndices () {
   int count = 0;
   for(int i=minSelectionIndex; i<=maxSelectionIndex; i++) {
     if(selectionModel.isSelectedIndex(i)) {
-      selectedIndices_[count++] = i;
+      selectedIndices_[count++] = itemIndex(i);
     }
   }
   int[] selectedIndices = new int[count];
@@ -1318,7 +1342,16 @@ public int indexOf (TableItem item) {
  */
 public boolean isSelected (int index) {
 	checkWidget ();
-  return ((CTable)handle).getSelectionModel().isSelectedIndex(index);
+  int row = viewRow(index);
+  return row != -1 && ((CTable)handle).getSelectionModel().isSelectedIndex(row);
+}
+
+/*
+ * Returns the index of the item shown in a row of the view, which differs
+ * from the row when the rows are sorted or filtered.
+ */
+int itemIndex (int row) {
+  return ((CTable)handle).convertRowIndexToModel(row);
 }
 
 @Override
@@ -1509,14 +1542,19 @@ public void remove (int start, int end) {
  */
 public void removeAll () {
 	checkWidget ();
-  for(int i=itemList.size()-1; i>=0; i--) {
-    TableItem tableItem = (TableItem)itemList.get(i);
-    if(tableItem != null) {
-      tableItem.dispose();
-    } else {
-      itemList.remove(i);
-      ((CTable)handle).removeItem(i);
+  boolean isRowSorted = suspendRowSorting();
+  try {
+    for(int i=itemList.size()-1; i>=0; i--) {
+      TableItem tableItem = (TableItem)itemList.get(i);
+      if(tableItem != null) {
+        tableItem.dispose();
+      } else {
+        itemList.remove(i);
+        ((CTable)handle).removeItem(i);
+      }
     }
+  } finally {
+    if(isRowSorted) updateRowSorting();
   }
 }
 
@@ -1575,11 +1613,10 @@ public void select (int [] indices) {
 	if (indices == null) error (SWT.ERROR_NULL_ARGUMENT);
 	int length = indices.length;
 	if (length == 0 || ((style & SWT.SINGLE) != 0 && length > 1)) return;
-	DefaultListSelectionModel selectionModel = ((CTable)handle).getSelectionModel();
   isAdjustingSelection = true;
   for(int i=0; i<indices.length; i++) {
     int index = indices[i];
-    selectionModel.addSelectionInterval(index, index);
+    setRowsSelected(index, index, true);
   }
   isAdjustingSelection = false;
 }
@@ -1599,7 +1636,7 @@ public void select (int [] indices) {
 public void select (int index) {
 	checkWidget ();
   isAdjustingSelection = true;
-  ((CTable)handle).getSelectionModel().addSelectionInterval(index, index);
+  setRowsSelected(index, index, true);
   isAdjustingSelection = false;
 }
 
@@ -1630,7 +1667,7 @@ public void select (int start, int end) {
 	checkWidget ();
 	if (end < 0 || start > end || ((style & SWT.SINGLE) != 0 && start != end)) return;
   isAdjustingSelection = true;
-  ((CTable)handle).getSelectionModel().addSelectionInterval(start, end);
+  setRowsSelected(start, end, true);
   isAdjustingSelection = false;
 }
 
@@ -1650,7 +1687,11 @@ public void selectAll () {
 	if ((style & SWT.SINGLE) != 0) return;
   if(!itemList.isEmpty()) {
     isAdjustingSelection = true;
-    ((CTable)handle).getSelectionModel().addSelectionInterval(0, itemList.size() - 1);
+    CTable cTable = (CTable)handle;
+    int rowCount = cTable.isRowSorted()? cTable.getViewRowCount(): itemList.size();
+    if(rowCount > 0) {
+      cTable.getSelectionModel().addSelectionInterval(0, rowCount - 1);
+    }
     isAdjustingSelection = false;
   }
 }
@@ -1880,13 +1921,46 @@ public void setColumnOrder (int [] order) {
 //	if (hOldStateList != 0) OS.ImageList_Destroy (hOldStateList);
 //}
 
+/**
+ * Sets the filter of the items shown by the receiver. The items which
+ * are not accepted by the filter are hidden in the view, but keep their
+ * indices. A null value shows all the items.
+ * <p>
+ * The filter is applied to the items again when they change, and when
+ * this method is called, for example after the state tested by the
+ * filter changed.
+ * </p><p>
+ * The filter is called with the item at every index. In a table with the
+ * <code>SWT.VIRTUAL</code> style, this creates all the items, not only
+ * the visible ones.
+ * </p>
+ *
+ * @param filter the filter of the items, or <code>null</code>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see TableColumn#setComparator(Comparator)
+ *
+ * @since 3.128
+ */
+public void setFilter (Predicate<? super TableItem> filter) {
+  checkWidget ();
+  this.filter = filter;
+  updateRowSorting();
+}
+
 void setFocusIndex (int index) {
 //	checkWidget ();
   if(index < 0 || index >= getItemCount()) return;
+  int row = viewRow(index);
+  if(row == -1) return;
   DefaultListSelectionModel selectionModel = ((CTable)handle).getSelectionModel();
-  selectionModel.addSelectionInterval(index, index);
-  selectionModel.setAnchorSelectionIndex(index);
-  selectionModel.setLeadSelectionIndex(index);
+  selectionModel.addSelectionInterval(row, row);
+  selectionModel.setAnchorSelectionIndex(row);
+  selectionModel.setLeadSelectionIndex(row);
 }
 
 /**
@@ -1929,6 +2003,7 @@ public void setItemCount (int count) {
 	if (count == itemCount) return;
 	boolean isVirtual = (style & SWT.VIRTUAL) != 0;
 //	if (!isVirtual) setRedraw (false);
+	boolean isRowSorted = suspendRowSorting();
 	int index = count;
 	int tmpItemCount = itemCount;
 	while (index < tmpItemCount) {
@@ -1962,6 +2037,7 @@ public void setItemCount (int count) {
 //		}
 //	}
   ((CTable)handle).getModel().fireTableDataChanged();
+  if(isRowSorted) updateRowSorting();
 //	if (!isVirtual) setRedraw (true);
 }
 
@@ -2172,6 +2248,38 @@ public void setLinesVisible (boolean show) {
 //	return false;
 //}
 
+/*
+ * Selects or deselects the rows of the view showing the items between two
+ * indices, inclusive, which are converted one at a time when the rows are
+ * sorted or filtered.
+ */
+void setRowsSelected (int start, int end, boolean selected) {
+  CTable cTable = (CTable)handle;
+  DefaultListSelectionModel selectionModel = cTable.getSelectionModel();
+  if(!cTable.isRowSorted()) {
+    if(selected) {
+      selectionModel.addSelectionInterval(start, end);
+    } else {
+      selectionModel.removeSelectionInterval(start, end);
+    }
+    return;
+  }
+  start = Math.max(start, 0);
+  end = Math.min(end, getItemCount() - 1);
+  if(start > end) return;
+  selectionModel.setValueIsAdjusting(true);
+  for(int i=start; i<=end; i++) {
+    int row = viewRow(i);
+    if(row == -1) continue;
+    if(selected) {
+      selectionModel.addSelectionInterval(row, row);
+    } else {
+      selectionModel.removeSelectionInterval(row, row);
+    }
+  }
+  selectionModel.setValueIsAdjusting(false);
+}
+
 /**
  * Selects the items at the given zero-relative indices in the receiver.
  * The current selection is cleared before the new items are selected.
@@ -2323,7 +2431,11 @@ public void setSelection (int start, int end) {
 	checkWidget ();
 	deselectAll ();
 	if (end < 0 || start > end || ((style & SWT.SINGLE) != 0 && start != end)) return;
-  ((CTable)handle).getSelectionModel().setSelectionInterval(start, end);
+  if(((CTable)handle).isRowSorted()) {
+    setRowsSelected(start, end, true);
+  } else {
+    ((CTable)handle).getSelectionModel().setSelectionInterval(start, end);
+  }
 	showSelection ();
 }
 
@@ -2348,6 +2460,7 @@ public void setSortColumn (TableColumn column) {
   checkWidget ();
   if (column != null && column.isDisposed ()) error (SWT.ERROR_INVALID_ARGUMENT);
   sortColumn = column;
+  updateRowSorting();
   handle.repaint();
 }
 
@@ -2368,6 +2481,7 @@ public void setSortDirection (int direction) {
   checkWidget ();
   if ((direction & (SWT.UP | SWT.DOWN)) == 0 && direction != SWT.NONE) return;
   sortDirection = direction;
+  updateRowSorting();
   handle.repaint();
 }
 
@@ -2494,6 +2608,51 @@ public void showSelection () {
   ((CTable)handle).ensureRowVisible(selectionIndex);
 }
 
+/*
+ * Shows the rows of the view in the order of the items, so that adding or
+ * removing many items does not sort and filter them one at a time, and
+ * returns whether the rows were sorted or filtered.
+ */
+boolean suspendRowSorting () {
+  CTable cTable = (CTable)handle;
+  if(!cTable.isRowSorted()) return false;
+  boolean isAdjustingSelection = this.isAdjustingSelection;
+  this.isAdjustingSelection = true;
+  try {
+    cTable.setRowSorting(-1, null, false, null);
+  } finally {
+    this.isAdjustingSelection = isAdjustingSelection;
+  }
+  return true;
+}
+
+/*
+ * Sorts the rows of the view by the sort column if it has a comparator, and
+ * filters them. The selected items stay selected.
+ */
+void updateRowSorting () {
+  CTable cTable = (CTable)handle;
+  Comparator<? super String> comparator = sortColumn != null && sortDirection != SWT.NONE? sortColumn.comparator: null;
+  if(comparator == null && filter == null && !cTable.isRowSorted()) return;
+  final Predicate<? super TableItem> filter = this.filter;
+  IntPredicate rowFilter = filter == null? null: index -> filter.test(_getItem(index));
+  boolean isAdjustingSelection = this.isAdjustingSelection;
+  this.isAdjustingSelection = true;
+  try {
+    cTable.setRowSorting(comparator == null? -1: indexOf(sortColumn), comparator, sortDirection == SWT.DOWN, rowFilter);
+  } finally {
+    this.isAdjustingSelection = isAdjustingSelection;
+  }
+}
+
+/*
+ * Returns the row of the view showing the item at an index, or -1 if the
+ * item is filtered out.
+ */
+int viewRow (int index) {
+  return ((CTable)handle).convertRowIndexToView(index);
+}
+
 static int checkStyle (int style) {
   style |= SWT.H_SCROLL | SWT.V_SCROLL;
 	return checkBits (style, SWT.SINGLE, SWT.MULTI, 0, 0, 0, 0);
@@ -3310,6 +3469,16 @@ static int checkStyle (int style) {
 public void processEvent(EventObject e) {
   if(e instanceof CellPaintEvent) {
     switch(((CellPaintEvent)e).getType()) {
+    case CellPaintEvent.BEGIN_PASS_TYPE:
+      ((CellPaintEvent)e).isOwnerDrawn = hooks(SWT.EraseItem) || hooks(SWT.PaintItem);
+      if(ownerDrawPass == null) ownerDrawPass = new OwnerDrawPass(this);
+      ownerDrawPass.begin();
+      super.processEvent(e);
+      return;
+    case CellPaintEvent.END_PASS_TYPE:
+      if(ownerDrawPass != null) ownerDrawPass.end();
+      super.processEvent(e);
+      return;
     case CellPaintEvent.ERASE_TYPE: if(!hooks(SWT.EraseItem)) { super.processEvent(e); return; } break;
     case CellPaintEvent.PAINT_TYPE: if(!hooks(SWT.PaintItem)) { super.processEvent(e); return; } break;
     case CellPaintEvent.MEASURE_TYPE: if(!hooks(SWT.MeasureItem)) { super.processEvent(e); return; } break;
@@ -3321,32 +3490,42 @@ public void processEvent(EventObject e) {
     super.processEvent(e);
     return;
   }
-  UIThreadUtils.startExclusiveSection(getDisplay());
+  // The paint pass has already entered the exclusive section.
+  boolean isExclusive = !(e instanceof CellPaintEvent) || ownerDrawPass == null || !ownerDrawPass.isActive();
+  // The shared event and GC of the pass, given back even if a listener throws.
+  Event ownerDrawEvent = null;
+  if(isExclusive) {
+    UIThreadUtils.startExclusiveSection(getDisplay());
+  }
   if(isDisposed()) {
-    UIThreadUtils.stopExclusiveSection();
+    if(isExclusive) {
+      UIThreadUtils.stopExclusiveSection();
+    }
     super.processEvent(e);
     return;
   }
   try {
     if(e instanceof CellPaintEvent) {
       CellPaintEvent cellPaintEvent = (CellPaintEvent)e;
+      if(ownerDrawPass == null) ownerDrawPass = new OwnerDrawPass(this);
+      TableItem tableItem = cellPaintEvent.tableItem.getTableItem();
+      Event event = ownerDrawPass.obtainEvent();
+      ownerDrawEvent = event;
+      event.item = tableItem;
+      event.index = cellPaintEvent.column;
       switch(cellPaintEvent.getType()) {
       case CellPaintEvent.ERASE_TYPE: {
-        TableItem tableItem = cellPaintEvent.tableItem.getTableItem();
-        Rectangle cellBounds = tableItem.getBounds(cellPaintEvent.column);
-        Event event = new Event();
-        event.x = cellBounds.x;
-        event.y = cellBounds.y;
-        event.width = cellBounds.width;
-        event.height = cellBounds.height;
-        event.item = tableItem;
-        event.index = cellPaintEvent.column;
+        java.awt.Rectangle cellRect = ((CTable)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false);
+        Point offset = getInternalOffset();
+        event.x = cellRect.x + offset.x;
+        event.y = cellRect.y + offset.y;
+        event.width = cellRect.width;
+        event.height = cellRect.height;
         if(!cellPaintEvent.ignoreDrawForeground) event.detail |= SWT.FOREGROUND;
         if(!cellPaintEvent.ignoreDrawBackground) event.detail |= SWT.BACKGROUND;
         if(!cellPaintEvent.ignoreDrawSelection) event.detail |= SWT.SELECTED;
         if(!cellPaintEvent.ignoreDrawFocused) event.detail |= SWT.FOCUSED;
-        event.gc = new GC(this);
-        event.gc.handle.setUserClip(((CTable)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false));
+        event.gc = ownerDrawPass.obtainGC(cellRect);
 //        event.gc.isSwingPainting = true;
         sendEvent(SWT.EraseItem, event);
         if(event.doit) {
@@ -3364,36 +3543,23 @@ public void processEvent(EventObject e) {
         break;
       }
       case CellPaintEvent.PAINT_TYPE: {
-        TableItem tableItem = cellPaintEvent.tableItem.getTableItem();
-        Rectangle cellBounds = tableItem.getBounds(cellPaintEvent.column);
-        Event event = new Event();
-        event.x = cellBounds.x;
-        event.y = cellBounds.y;
-        event.width = cellBounds.width;
-        event.height = cellBounds.height;
-        event.item = tableItem;
-        event.index = cellPaintEvent.column;
+        java.awt.Rectangle cellRect = ((CTable)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false);
+        Point offset = getInternalOffset();
+        event.x = cellRect.x + offset.x;
+        event.y = cellRect.y + offset.y;
+        event.width = cellRect.width;
+        event.height = cellRect.height;
         if(!cellPaintEvent.ignoreDrawForeground) event.detail |= SWT.FOREGROUND;
         if(!cellPaintEvent.ignoreDrawBackground) event.detail |= SWT.BACKGROUND;
         if(!cellPaintEvent.ignoreDrawSelection) event.detail |= SWT.SELECTED;
         if(!cellPaintEvent.ignoreDrawFocused) event.detail |= SWT.FOCUSED;
-        event.gc = new GC(this);
-        event.gc.handle.setUserClip(((CTable)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false));
+        event.gc = ownerDrawPass.obtainGC(cellRect);
         sendEvent(SWT.PaintItem, event);
         break;
       }
       case CellPaintEvent.MEASURE_TYPE:
-        TableItem tableItem = cellPaintEvent.tableItem.getTableItem();
-//        Rectangle cellBounds = tableItem.getBounds(cellPaintEvent.column);
-        Event event = new Event();
-//        event.x = cellBounds.x;
-//        event.y = cellBounds.y;
-//        event.width = cellBounds.width;
-//        event.height = cellBounds.height;
         event.height = cellPaintEvent.rowHeight;
-        event.item = tableItem;
-        event.index = cellPaintEvent.column;
-        event.gc = new GC(this);
+        event.gc = ownerDrawPass.obtainGC(null);
 //        event.gc.handle.clip(((CTable)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false));
         sendEvent(SWT.MeasureItem, event);
 //        cellPaintEvent.rowHeight -= event.height - cellBounds.height;
@@ -3406,7 +3572,7 @@ public void processEvent(EventObject e) {
         int selectionIndex = ((CTable)handle).getSelectionModel().getLeadSelectionIndex();
         if(selectionIndex != -1) {
           // TODO: should we send the previous item?
-          event.item = _getItem(selectionIndex);
+          event.item = _getItem(itemIndex(selectionIndex));
         }
         sendEvent(SWT.Selection, event);
       }
@@ -3415,7 +3581,15 @@ public void processEvent(EventObject e) {
   } catch(Throwable t) {
     UIThreadUtils.storeException(t);
   } finally {
-    UIThreadUtils.stopExclusiveSection();
+    if(ownerDrawEvent != null) {
+      if(ownerDrawEvent.gc != null) {
+        ownerDrawPass.releaseGC(ownerDrawEvent.gc);
+      }
+      ownerDrawPass.releaseEvent(ownerDrawEvent);
+    }
+    if(isExclusive) {
+      UIThreadUtils.stopExclusiveSection();
+    }
   }
 }
 
@@ -3453,14 +3627,14 @@ public void processEvent(AWTEvent e) {
     case KeyEvent.KEY_PRESSED:
       if(((CTable)handle).getSelectionModel().getLeadSelectionIndex() != -1) {
         Event event = new Event ();
-        event.item = _getItem(((CTable)handle).getSelectionModel().getLeadSelectionIndex());
+        event.item = _getItem(itemIndex(((CTable)handle).getSelectionModel().getLeadSelectionIndex()));
         sendEvent(SWT.DefaultSelection, event);
       }
       break;
     case MouseEvent.MOUSE_PRESSED:
       if(((CTable)handle).getSelectionModel().getLeadSelectionIndex() != -1) {
         Event event = new Event ();
-        event.item = _getItem(((CTable)handle).getSelectionModel().getLeadSelectionIndex());
+        event.item = _getItem(itemIndex(((CTable)handle).getSelectionModel().getLeadSelectionIndex()));
         sendEvent(SWT.DefaultSelection, event);
       }
       break;
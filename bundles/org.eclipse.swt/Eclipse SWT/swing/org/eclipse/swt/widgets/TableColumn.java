@@ -13,6 +13,7 @@ package org.eclipse.swt.widgets;
  
 import java.awt.AWTEvent;
 import java.beans.PropertyChangeEvent;
+import java.util.Comparator;
 import java.util.EventObject;
 
 import javax.swing.ImageIcon;
@@ -223,6 +224,28 @@ public int getAlignment () {
 	return SWT.LEFT;
 }
 
+Comparator<? super String> comparator;
+
+/**
+ * Returns the comparator of the texts of the receiver which sorts the
+ * rows of its parent, or null if the rows are not sorted by the receiver.
+ *
+ * @return the comparator of the texts
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setComparator(Comparator)
+ *
+ * @since 3.128
+ */
+public Comparator<? super String> getComparator () {
+	checkWidget ();
+	return comparator;
+}
+
 String getNameText () {
 	return getText ();
 }
@@ -518,6 +541,42 @@ public void setAlignment (int alignment) {
   // TODO: notify change
 }
 
+/**
+ * Sets the comparator of the texts of the receiver. When the receiver is
+ * the sort column of its parent and the sort direction is <code>UP</code>
+ * or <code>DOWN</code>, the rows of the parent are sorted in the view by
+ * comparing the texts of the items in the receiver, in reversed order for
+ * <code>DOWN</code>. The items are neither moved nor recreated: they keep
+ * their indices, so that the indices of the selection and of the events
+ * are still the indices of the items.
+ * <p>
+ * The rows are sorted again when the texts of the items change, and when
+ * the sort column or direction is set.
+ * </p><p>
+ * Sorting reads the text of every item. In a table with the
+ * <code>SWT.VIRTUAL</code> style, this requests the data of all the
+ * items, not only of the visible ones.
+ * </p>
+ *
+ * @param comparator the comparator of the texts, or <code>null</code> to let the application order the items
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see Table#setSortColumn(TableColumn)
+ * @see Table#setSortDirection(int)
+ * @see Table#setFilter(java.util.function.Predicate)
+ *
+ * @since 3.128
+ */
+public void setComparator (Comparator<? super String> comparator) {
+	checkWidget ();
+	this.comparator = comparator;
+	if (parent.sortColumn == this) parent.updateRowSorting ();
+}
+
 public void setImage (Image image) {
 	checkWidget();
 	if (image != null && image.isDisposed ()) {
@@ -844,7 +844,7 @@ public void setImage (int index, Image image) {
   }
   handle.getTableItemObject(index).setIcon(image != null? new ImageIcon(image.handle): null);
   if ((parent.style & SWT.VIRTUAL) != 0) cached = true;
-  ((CTable)parent.handle).getModel().fireTableCellUpdated(index, index);
+  ((CTable)parent.handle).getModel().fireTableCellUpdated(parent.indexOf(this), index);
   parent.adjustColumnWidth();
 //
 //  
@@ -85,6 +85,7 @@ public class Tree extends Composite {
   ArrayList itemList;
   ArrayList columnList;
   TreeItem currentItem;
+  OwnerDrawPass ownerDrawPass;
 Color headerBackground, headerForeground;
 
 //	TreeColumn [] columns;
@@ -3575,6 +3576,15 @@ public void processEvent(EventObject e) {
     if(!hooks(SWT.Selection)) { super.processEvent(e); return; }
   } else if(e instanceof CellPaintEvent) {
       switch(((CellPaintEvent)e).getType()) {
+      case CellPaintEvent.BEGIN_PASS_TYPE:
+        if(ownerDrawPass == null) ownerDrawPass = new OwnerDrawPass(this);
+        ownerDrawPass.begin();
+        super.processEvent(e);
+        return;
+      case CellPaintEvent.END_PASS_TYPE:
+        if(ownerDrawPass != null) ownerDrawPass.end();
+        super.processEvent(e);
+        return;
       case CellPaintEvent.ERASE_TYPE: if(!hooks(SWT.EraseItem)) { super.processEvent(e); return; } break;
       case CellPaintEvent.PAINT_TYPE: if(!hooks(SWT.PaintItem)) { super.processEvent(e); return; } break;
       case CellPaintEvent.MEASURE_TYPE: if(!hooks(SWT.MeasureItem)) { super.processEvent(e); return; } break;
@@ -3588,10 +3598,15 @@ public void processEvent(EventObject e) {
     super.processEvent(e);
     return;
   }
-  try {
+  // The paint pass has already entered the exclusive section.
+  boolean isExclusive = !(e instanceof CellPaintEvent) || ownerDrawPass == null || !ownerDrawPass.isActive();
+  // The shared event and GC of the pass, given back even if a listener throws.
+  Event ownerDrawEvent = null;
+  if(isExclusive) {
     UIThreadUtils.startExclusiveSection(getDisplay());
+  }
+  try {
     if(isDisposed()) {
-      UIThreadUtils.stopExclusiveSection();
       super.processEvent(e);
       return;
     }
@@ -3614,23 +3629,24 @@ public void processEvent(EventObject e) {
       sendEvent(SWT.Selection, event);
     } else   if(e instanceof CellPaintEvent) {
       CellPaintEvent cellPaintEvent = (CellPaintEvent)e;
+      if(ownerDrawPass == null) ownerDrawPass = new OwnerDrawPass(this);
+      TreeItem treeItem = cellPaintEvent.treeItem.getTreeItem();
+      Event event = ownerDrawPass.obtainEvent();
+      ownerDrawEvent = event;
+      event.item = treeItem;
+      event.index = cellPaintEvent.column;
       switch(cellPaintEvent.getType()) {
       case CellPaintEvent.ERASE_TYPE: {
-        TreeItem treeItem = cellPaintEvent.treeItem.getTreeItem();
-        Rectangle cellBounds = treeItem.getBounds(cellPaintEvent.column);
-        Event event = new Event();
-        event.x = cellBounds.x;
-        event.y = cellBounds.y;
-        event.width = cellBounds.width;
-        event.height = cellBounds.height;
-        event.item = treeItem;
-        event.index = cellPaintEvent.column;
+        java.awt.Rectangle cellRect = ((CTree)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false);
+        event.x = cellRect.x;
+        event.y = cellRect.y;
+        event.width = cellRect.width;
+        event.height = cellRect.height;
         if(!cellPaintEvent.ignoreDrawForeground) event.detail |= SWT.FOREGROUND;
         if(!cellPaintEvent.ignoreDrawBackground) event.detail |= SWT.BACKGROUND;
         if(!cellPaintEvent.ignoreDrawSelection) event.detail |= SWT.SELECTED;
         if(!cellPaintEvent.ignoreDrawFocused) event.detail |= SWT.FOCUSED;
-        event.gc = new GC(this);
-        event.gc.handle.setUserClip(((CTree)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false));
+        event.gc = ownerDrawPass.obtainGC(cellRect);
 //        event.gc.isSwingPainting = true;
         sendEvent(SWT.EraseItem, event);
         if(event.doit) {
@@ -3648,36 +3664,22 @@ public void processEvent(EventObject e) {
         break;
       }
       case CellPaintEvent.PAINT_TYPE: {
-        TreeItem treeItem = cellPaintEvent.treeItem.getTreeItem();
-        Rectangle cellBounds = treeItem.getBounds(cellPaintEvent.column);
-        Event event = new Event();
-        event.x = cellBounds.x;
-        event.y = cellBounds.y;
-        event.width = cellBounds.width;
-        event.height = cellBounds.height;
-        event.item = treeItem;
-        event.index = cellPaintEvent.column;
+        java.awt.Rectangle cellRect = ((CTree)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false);
+        event.x = cellRect.x;
+        event.y = cellRect.y;
+        event.width = cellRect.width;
+        event.height = cellRect.height;
         if(!cellPaintEvent.ignoreDrawForeground) event.detail |= SWT.FOREGROUND;
         if(!cellPaintEvent.ignoreDrawBackground) event.detail |= SWT.BACKGROUND;
         if(!cellPaintEvent.ignoreDrawSelection) event.detail |= SWT.SELECTED;
         if(!cellPaintEvent.ignoreDrawFocused) event.detail |= SWT.FOCUSED;
-        event.gc = new GC(this);
-        event.gc.handle.setUserClip(((CTree)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false));
+        event.gc = ownerDrawPass.obtainGC(cellRect);
         sendEvent(SWT.PaintItem, event);
         break;
       }
       case CellPaintEvent.MEASURE_TYPE:
-        TreeItem treeItem = cellPaintEvent.treeItem.getTreeItem();
-//        Rectangle cellBounds = tableItem.getBounds(cellPaintEvent.column);
-        Event event = new Event();
-//        event.x = cellBounds.x;
-//        event.y = cellBounds.y;
-//        event.width = cellBounds.width;
-//        event.height = cellBounds.height;
         event.height = cellPaintEvent.rowHeight;
-        event.item = treeItem;
-        event.index = cellPaintEvent.column;
-        event.gc = new GC(this);
+        event.gc = ownerDrawPass.obtainGC(null);
 //        event.gc.handle.clip(((CTree)handle).getCellRect(cellPaintEvent.row, cellPaintEvent.column, false));
         sendEvent(SWT.MeasureItem, event);
 //        cellPaintEvent.rowHeight -= event.height - cellBounds.height;
@@ -3689,7 +3691,15 @@ public void processEvent(EventObject e) {
   } catch(Throwable t) {
     UIThreadUtils.storeException(t);
   } finally {
-    UIThreadUtils.stopExclusiveSection();
+    if(ownerDrawEvent != null) {
+      if(ownerDrawEvent.gc != null) {
+        ownerDrawPass.releaseGC(ownerDrawEvent.gc);
+      }
+      ownerDrawPass.releaseEvent(ownerDrawEvent);
+    }
+    if(isExclusive) {
+      UIThreadUtils.stopExclusiveSection();
+    }
   }
 }
 
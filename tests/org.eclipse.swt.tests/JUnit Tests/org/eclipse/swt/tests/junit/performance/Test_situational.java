@@ -35,6 +35,8 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Slider;
 import org.eclipse.swt.widgets.TabFolder;
 import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.test.performance.Dimension;
@@ -396,6 +398,56 @@ public void test_fastStringDrawing() {
 	disposeMeter(meter);
 }
 
+@Test
+public void test_ownerDrawTableScrolling() {
+	PerformanceMeter meter = createMeterWithoutSummary("Scroll an owner-drawn table");
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		Table table = new Table(shell, SWT.FULL_SELECTION);
+		table.setHeaderVisible(true);
+		for (int i = 0; i < 20; i++) {
+			TableColumn column = new TableColumn(table, SWT.NONE);
+			column.setText("Column " + i);
+			column.setWidth(60);
+		}
+		for (int i = 0; i < 1000; i++) {
+			TableItem item = new TableItem(table, SWT.NONE);
+			for (int j = 0; j < 20; j++) {
+				item.setText(j, "R" + i + "C" + j);
+			}
+		}
+		Color color1 = new Color(0xff, 0xf0, 0xe0);
+		Color color2 = new Color(0, 0x40, 0x80);
+		table.addListener(SWT.EraseItem, event -> {
+			if ((event.index & 1) == 0) {
+				event.gc.setBackground(color1);
+				event.gc.fillRectangle(event.x, event.y, event.width, event.height);
+				event.detail &= ~SWT.BACKGROUND;
+			}
+		});
+		table.addListener(SWT.PaintItem, event -> {
+			event.gc.setForeground(color2);
+			event.gc.drawLine(event.x, event.y + event.height - 1, event.x + event.width, event.y + event.height - 1);
+		});
+		shell.setSize(1200, 50 * table.getItemHeight() + table.getHeaderHeight());
+		shell.open();
+		while(display.readAndDispatch()){/*empty*/}
+		meter.start();
+		for (int i = 0; i < 200; i++) {
+			table.setTopIndex(i * 4);
+			table.update();
+			while(display.readAndDispatch()){/*empty*/}
+		}
+		meter.stop();
+		shell.dispose();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
 /* custom */
 Display display;
 }